@@ -22,6 +22,7 @@ import org.jgrapht.*;
 import org.jgrapht.event.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.traverse.*;
+import org.jgrapht.util.*;
 
 /**
  * Allows obtaining various connectivity aspects of a graph. The <i>inspected graph</i> is specified
@@ -33,10 +34,28 @@ import org.jgrapht.traverse.*;
  * necessary. Computation are done once and results and cached within this class for future need.
  *
  * <p>The inspector is also a {@link org.jgrapht.event.GraphListener}. If added as a listener to the
- * inspected graph, the inspector will amend internal cached results instead of recomputing them. It
- * is efficient when a few modifications are applied to a large graph. If many modifications are
- * expected it will not be efficient due to added overhead on graph update operations. If inspector
- * is added as listener to a graph other than the one it inspects, results are undefined.
+ * inspected graph, the inspector will amend internal cached results instead of recomputing them.
+ * Adding a vertex or an edge costs constant time, except when an edge joins two components, in
+ * which case the smaller component is merged into the larger one. Over any sequence of additions
+ * each vertex is thus moved at most a logarithmic number of times. To handle removals the inspector
+ * maintains a spanning forest of the graph as Euler tour trees, which is built by a single
+ * traversal when the first edge is removed after the components have been computed. From then on,
+ * adding an edge and removing an edge which is not part of the forest costs logarithmic time.
+ * Removing an edge of the forest splits its tree, and the edges which are not part of the forest
+ * are searched for a replacement which reconnects the parts. The search only visits the vertices of
+ * the smaller part which have such edges, and takes logarithmic time per edge. Only if no
+ * replacement exists the component splits, and the vertices of the smaller part are moved into a
+ * new set. As the forest does not prefer any replacement, a sequence of removals may search the
+ * same edges repeatedly. Therefore the work spent on removals between two queries is limited to the
+ * size of the graph; when the limit is exceeded, the cached results are dropped and recomputed
+ * lazily by the next query. Batches of modifications are applied in the same way. If only the
+ * connected sets of some vertices have been computed, a removal discards the affected set. The sets
+ * returned by this inspector are updated in place and must not be modified. If inspector is added
+ * as listener to a graph other than the one it inspects, results are undefined.
+ *
+ * <p>If the inspected graph is an {@link IntGraph} the connected sets are computed by a breadth
+ * first search over primitive arrays, using both the outgoing and the incoming edges of directed
+ * graphs instead of wrapping them in an undirected view.
  *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -50,7 +69,14 @@ public class ConnectivityInspector<V, E> implements GraphListener<V, E> {
 
   private List<Set<V>> connectedSets;
   private Map<V, Set<V>> vertexToConnectedSet;
+  private boolean complete;
+  private int componentCount;
   private Graph<V, E> graph;
+  private IntGraph intGraph;
+  // a spanning forest whose vertices are weighted by their number of non-forest edges, or null
+  private EulerTourForest<V> forest;
+  // the number of vertices and edges which removals may visit until the next query
+  private long budget;
 
   /**
    * Creates a connectivity inspector for the specified graph.
@@ -59,6 +85,9 @@ public class ConnectivityInspector<V, E> implements GraphListener<V, E> {
    */
   public ConnectivityInspector(Graph<V, E> g) {
     init();
+    if (g instanceof IntGraph) {
+      this.intGraph = (IntGraph) g;
+    }
     if (g.getType().isDirected()) {
       this.graph = new AsUndirectedGraph<>(g);
     } else if (g.getType().isUndirected()) {
@@ -74,7 +103,11 @@ public class ConnectivityInspector<V, E> implements GraphListener<V, E> {
    * @return <code>true</code> if and only if inspected graph is connected.
    */
   public boolean isGraphConnected() {
-    return lazyFindConnectedSets().size() == 1;
+    if (!complete) {
+      lazyFindConnectedSets();
+    }
+    resetBudget();
+    return componentCount == 1;
   }
 
   /**
@@ -88,6 +121,10 @@ public class ConnectivityInspector<V, E> implements GraphListener<V, E> {
    *     specified vertex.
    */
   public Set<V> connectedSetOf(V vertex) {
+    if (intGraph != null && !complete) {
+      lazyFindConnectedSets();
+    }
+    resetBudget();
     Set<V> connectedSet = vertexToConnectedSet.get(vertex);
 
     if (connectedSet == null) {
@@ -96,10 +133,10 @@ public class ConnectivityInspector<V, E> implements GraphListener<V, E> {
       BreadthFirstIterator<V, E> i = new BreadthFirstIterator<>(graph, vertex);
 
       while (i.hasNext()) {
-        connectedSet.add(i.next());
+        V v = i.next();
+        connectedSet.add(v);
+        vertexToConnectedSet.put(v, connectedSet);
       }
-
-      vertexToConnectedSet.put(vertex, connectedSet);
     }
 
     return connectedSet;
@@ -116,23 +153,23 @@ public class ConnectivityInspector<V, E> implements GraphListener<V, E> {
    *     the same maximally connected component.
    */
   public List<Set<V>> connectedSets() {
+    resetBudget();
     return lazyFindConnectedSets();
   }
 
   /** @see GraphListener#edgeAdded(GraphEdgeChangeEvent) */
   @Override
   public void edgeAdded(GraphEdgeChangeEvent<V, E> e) {
-    init(); // for now invalidate cached results, in the future need to
-    // amend them.
+    addEdge(e.getEdgeSource(), e.getEdgeTarget());
   }
 
   /** @see GraphListener#edgeRemoved(GraphEdgeChangeEvent) */
   @Override
   public void edgeRemoved(GraphEdgeChangeEvent<V, E> e) {
-    init(); // for now invalidate cached results, in the future need to
-    // amend them.
+    removeEdge(e.getEdgeSource(), e.getEdgeTarget());
   }
 
+
   /**
    * Tests if there is a path from the specified source vertex to the specified target vertices. For
    * a directed graph, direction is ignored for this interpretation of path.
@@ -157,29 +194,310 @@ public class ConnectivityInspector<V, E> implements GraphListener<V, E> {
   /** @see VertexSetListener#vertexAdded(GraphVertexChangeEvent) */
   @Override
   public void vertexAdded(GraphVertexChangeEvent<V> e) {
-    init(); // for now invalidate cached results, in the future need to
-    // amend them.
+    if (complete) {
+      V v = e.getVertex();
+      Set<V> connectedSet = new HashSet<>();
+      connectedSet.add(v);
+      vertexToConnectedSet.put(v, connectedSet);
+      componentCount++;
+      connectedSets = null;
+      if (forest != null) {
+        forest.addVertex(v, 0);
+      }
+    }
   }
 
   /** @see VertexSetListener#vertexRemoved(GraphVertexChangeEvent) */
   @Override
   public void vertexRemoved(GraphVertexChangeEvent<V> e) {
-    init(); // for now invalidate cached results, in the future need to
-    // amend them.
+    // the touching edges have been removed before, hence the vertex is isolated
+    Set<V> connectedSet = vertexToConnectedSet.remove(e.getVertex());
+    if (connectedSet != null) {
+      connectedSet.remove(e.getVertex());
+      if (forest != null) {
+        forest.removeVertex(e.getVertex());
+      }
+      if (complete && connectedSet.isEmpty()) {
+        componentCount--;
+        connectedSets = null;
+      }
+    }
+  }
+
+  /**
+   * Amends the cached results by the additions of the batch, followed by its removals, which are
+   * checked against the graph after the batch. If only some components are known, a batch with
+   * removals invalidates them.
+   *
+   * @see GraphListener#graphChanged(GraphBatchChangeEvent)
+   */
+  @Override
+  public void graphChanged(GraphBatchChangeEvent<V, E> e) {
+    boolean removals = !e.getRemovedVertices().isEmpty() || !e.getRemovedEdges().isEmpty();
+    if (removals && !complete) {
+      init();
+      return;
+    }
+    Object source = e.getSource();
+    for (V v : e.getAddedVertices()) {
+      // a vertex which has been removed and added again keeps its component
+      if (!vertexToConnectedSet.containsKey(v)) {
+        vertexAdded(new GraphVertexChangeEvent<>(source, GraphVertexChangeEvent.VERTEX_ADDED, v));
+      }
+    }
+    for (E edge : e.getAddedEdges()) {
+      addEdge(e.getAddedEdgeSource(edge), e.getAddedEdgeTarget(edge));
+    }
+    if (!removals) {
+      return;
+    }
+
+    if (forest == null) {
+      // the forest spans the graph after the batch, split the touched components along its trees
+      buildForest();
+      Set<Set<V>> touched = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (E edge : e.getRemovedEdges()) {
+        touched.add(vertexToConnectedSet.get(e.getRemovedEdgeSource(edge)));
+        touched.add(vertexToConnectedSet.get(e.getRemovedEdgeTarget(edge)));
+      }
+      touched.remove(null);
+      for (Set<V> connectedSet : touched) {
+        splitAlongForest(connectedSet);
+      }
+    } else {
+      for (E edge : e.getRemovedEdges()) {
+        removeEdge(e.getRemovedEdgeSource(edge), e.getRemovedEdgeTarget(edge));
+      }
+    }
+    for (V v : e.getRemovedVertices()) {
+      if (!graph.containsVertex(v)) {
+        vertexRemoved(
+            new GraphVertexChangeEvent<>(source, GraphVertexChangeEvent.VERTEX_REMOVED, v));
+      }
+    }
   }
 
   private void init() {
     connectedSets = null;
     vertexToConnectedSet = new HashMap<>();
+    complete = false;
+    componentCount = 0;
+    forest = null;
+  }
+
+  private void addEdge(V source, V target) {
+    Set<V> sourceSet = vertexToConnectedSet.get(source);
+    Set<V> targetSet = vertexToConnectedSet.get(target);
+    if (sourceSet == targetSet) {
+      if (forest != null && sourceSet != null && !source.equals(target)) {
+        forest.addWeight(source, 1);
+        forest.addWeight(target, 1);
+      }
+      return;
+    }
+    if (sourceSet == null || targetSet == null) {
+      // only some components are known, forget the one which grew by an unknown amount
+      vertexToConnectedSet.keySet().removeAll(sourceSet == null ? targetSet : sourceSet);
+      return;
+    }
+
+    // merge the smaller component into the larger one
+    Set<V> from = sourceSet;
+    Set<V> to = targetSet;
+    if (from.size() > to.size()) {
+      from = targetSet;
+      to = sourceSet;
+    }
+    to.addAll(from);
+    for (V v : from) {
+      vertexToConnectedSet.put(v, to);
+    }
+    componentCount--;
+    connectedSets = null;
+    if (forest != null) {
+      forest.link(source, target);
+    }
+  }
+
+  private void removeEdge(V source, V target) {
+    Set<V> connectedSet = vertexToConnectedSet.get(source);
+    if (source.equals(target) || connectedSet == null) {
+      return;
+    }
+    if (!complete) {
+      if (!isAdjacent(source, target)) {
+        // only some components are known, forget the one which may have been split
+        vertexToConnectedSet.keySet().removeAll(connectedSet);
+      }
+      return;
+    }
+    if (forest == null) {
+      // the forest spans the graph without the edge
+      buildForest();
+      if (!forest.connected(source, target)) {
+        split(connectedSet, smallerTree(source, target));
+      }
+      return;
+    }
+    if (isAdjacent(source, target) || !forest.cut(source, target)) {
+      // a non-forest edge has been removed, possibly one parallel to a forest edge
+      forest.addWeight(source, -1);
+      forest.addWeight(target, -1);
+      return;
+    }
+    V smaller = smallerTree(source, target);
+    if (!reconnect(smaller)) {
+      if (budget < 0) {
+        // the search has been cut short, leave the recomputation to the next query
+        init();
+      } else {
+        split(connectedSet, smaller);
+      }
+    }
+  }
+
+  private boolean isAdjacent(V source, V target) {
+    // after a batch the endpoints of a removed edge might have been removed as well
+    return graph.containsVertex(source)
+        && graph.containsVertex(target)
+        && graph.containsEdge(source, target);
+  }
+
+  /**
+   * Looks for a non-forest edge which leaves the tree of a vertex, and adds it to the forest. Every
+   * edge which is inspected is charged to the budget.
+   *
+   * @return true if such an edge has been found
+   */
+  private boolean reconnect(V vertex) {
+    for (Iterator<V> it = forest.weightedVertices(vertex); it.hasNext(); ) {
+      V v = it.next();
+      if (!graph.containsVertex(v)) {
+        continue;
+      }
+      for (E edge : graph.edgesOf(v)) {
+        V u = Graphs.getOppositeVertex(graph, edge, v);
+        if (!forest.connected(v, u)) {
+          // the component was connected, hence u is in the other part of the split tree
+          forest.addWeight(v, -1);
+          forest.addWeight(u, -1);
+          forest.link(v, u);
+          return true;
+        }
+        if (--budget < 0) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+
+  private V smallerTree(V u, V v) {
+    return forest.treeSize(u) <= forest.treeSize(v) ? u : v;
+  }
+
+  /** Moves the vertices of the tree of a vertex from a connected set into a new one. */
+  private void split(Set<V> connectedSet, V vertex) {
+    Set<V> split = forest.treeVertices(vertex);
+    connectedSet.removeAll(split);
+    for (V v : split) {
+      vertexToConnectedSet.put(v, split);
+    }
+    componentCount++;
+    connectedSets = null;
+  }
+
+  private void resetBudget() {
+    budget = (long) graph.vertexSet().size() + graph.edgeSet().size();
+  }
+
+  /**
+   * Builds a spanning forest of the graph by breadth first searches, and weights each vertex by the
+   * number of its edges which are not in the forest.
+   */
+  private void buildForest() {
+    forest = new EulerTourForest<>();
+    Set<V> seen = new HashSet<>();
+    Map<V, List<V>> children = new HashMap<>();
+    Map<V, Long> weights = new HashMap<>();
+    ArrayDeque<V> queue = new ArrayDeque<>();
+    for (V s : graph.vertexSet()) {
+      if (!seen.add(s)) {
+        continue;
+      }
+      queue.add(s);
+      while (!queue.isEmpty()) {
+        V v = queue.poll();
+        long nonForestEdges = v.equals(s) ? 0 : -1;
+        for (E edge : graph.edgesOf(v)) {
+          V u = Graphs.getOppositeVertex(graph, edge, v);
+          if (u.equals(v)) {
+            continue;
+          }
+          nonForestEdges++;
+          if (seen.add(u)) {
+            children.computeIfAbsent(v, k -> new ArrayList<>()).add(u);
+            nonForestEdges--;
+            queue.add(u);
+          }
+        }
+        weights.put(v, nonForestEdges);
+      }
+      forest.addTree(s, children, weights::get);
+    }
+  }
+
+  /**
+   * Splits a connected set into the trees of the forest, keeping the first tree in the set.
+   * Vertices which have been removed from the graph form trees on their own.
+   */
+  private void splitAlongForest(Set<V> connectedSet) {
+    Set<V> seen = new HashSet<>();
+    for (V s : new ArrayList<>(connectedSet)) {
+      if (seen.contains(s)) {
+        continue;
+      }
+      Set<V> tree = new HashSet<>();
+      if (forest.containsVertex(s)) {
+        tree.addAll(forest.treeVertices(s));
+      } else {
+        tree.add(s);
+      }
+      if (seen.isEmpty()) {
+        seen.addAll(tree);
+        continue;
+      }
+      seen.addAll(tree);
+      connectedSet.removeAll(tree);
+      for (V v : tree) {
+        vertexToConnectedSet.put(v, tree);
+      }
+      componentCount++;
+      connectedSets = null;
+    }
   }
 
   private List<Set<V>> lazyFindConnectedSets() {
-    if (connectedSets == null) {
+    if (connectedSets == null && complete) {
+      // the components have been amended, collect them again
+      connectedSets = new ArrayList<>(componentCount);
+      Set<Set<V>> found = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (V v : graph.vertexSet()) {
+        Set<V> connectedSet = vertexToConnectedSet.get(v);
+        if (found.add(connectedSet)) {
+          connectedSets.add(connectedSet);
+        }
+      }
+    } else if (connectedSets == null) {
       connectedSets = new ArrayList<>();
+      vertexToConnectedSet = new HashMap<>();
+      forest = null;
 
       Set<V> vertexSet = graph.vertexSet();
 
-      if (vertexSet.size() > 0) {
+      if (intGraph != null) {
+        findIntConnectedSets();
+      } else if (vertexSet.size() > 0) {
         BreadthFirstIterator<V, E> i = new BreadthFirstIterator<>(graph);
         i.addTraversalListener(new MyTraversalListener());
 
@@ -187,11 +505,54 @@ public class ConnectivityInspector<V, E> implements GraphListener<V, E> {
           i.next();
         }
       }
+      complete = true;
+      componentCount = connectedSets.size();
     }
 
     return connectedSets;
   }
 
+  private void findIntConnectedSets() {
+    int n = intGraph.getVertexCapacity();
+    BitSet seen = new BitSet(n);
+    int[] queue = new int[n];
+
+    for (int s = 0; s < n; s++) {
+      if (seen.get(s) || !intGraph.containsVertex(s)) {
+        continue;
+      }
+      seen.set(s);
+      int head = 0;
+      int tail = 0;
+      queue[tail++] = s;
+      while (head < tail) {
+        int v = queue[head++];
+        for (int i = 0, count = intGraph.getOutgoingEdgeCount(v); i < count; i++) {
+          int u = intGraph.getOppositeVertex(intGraph.getOutgoingEdge(v, i), v);
+          if (!seen.get(u)) {
+            seen.set(u);
+            queue[tail++] = u;
+          }
+        }
+        for (int i = 0, count = intGraph.getIncomingEdgeCount(v); i < count; i++) {
+          int u = intGraph.getOppositeVertex(intGraph.getIncomingEdge(v, i), v);
+          if (!seen.get(u)) {
+            seen.set(u);
+            queue[tail++] = u;
+          }
+        }
+      }
+
+      Set<V> connectedSet = new HashSet<>(tail * 4 / 3 + 1);
+      for (int i = 0; i < tail; i++) {
+        V v = TypeUtil.uncheckedCast(queue[i], null);
+        connectedSet.add(v);
+        vertexToConnectedSet.put(v, connectedSet);
+      }
+      connectedSets.add(connectedSet);
+    }
+  }
+
   /**
    * A traversal listener that groups all vertices according to to their containing connected set.
    *
@@ -142,6 +142,38 @@ public class DirectedNeighborIndex<V, E> implements GraphListener<V, E> {
     }
   }
 
+  /**
+   * Updates the cached entries in one pass. Entries which are not cached yet are left to be built
+   * on demand from the graph, which already reflects the whole batch.
+   *
+   * @see GraphListener#graphChanged(GraphBatchChangeEvent)
+   */
+  @Override
+  public void graphChanged(GraphBatchChangeEvent<V, E> e) {
+    for (E edge : e.getRemovedEdges()) {
+      V source = e.getRemovedEdgeSource(edge);
+      V target = e.getRemovedEdgeTarget(edge);
+      if (successorMap.containsKey(source)) {
+        successorMap.get(source).removeNeighbor(target);
+      }
+      if (predecessorMap.containsKey(target)) {
+        predecessorMap.get(target).removeNeighbor(source);
+      }
+    }
+    predecessorMap.keySet().removeAll(e.getRemovedVertices());
+    successorMap.keySet().removeAll(e.getRemovedVertices());
+    for (E edge : e.getAddedEdges()) {
+      V source = e.getAddedEdgeSource(edge);
+      V target = e.getAddedEdgeTarget(edge);
+      if (successorMap.containsKey(source)) {
+        successorMap.get(source).addNeighbor(target);
+      }
+      if (predecessorMap.containsKey(target)) {
+        predecessorMap.get(target).addNeighbor(source);
+      }
+    }
+  }
+
   /** @see VertexSetListener#vertexAdded(GraphVertexChangeEvent) */
   @Override
   public void vertexAdded(GraphVertexChangeEvent<V> e) {
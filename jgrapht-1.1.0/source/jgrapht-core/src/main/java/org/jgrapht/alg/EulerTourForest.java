@@ -0,0 +1,426 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+import java.util.function.*;
+import org.jgrapht.util.*;
+
+/**
+ * A forest whose trees are stored as Euler tours in randomized balanced search trees, which allows
+ * to link and cut trees, to test whether two vertices are in the same tree and to obtain the size
+ * of a tree in logarithmic expected time. Each tree is stored as a cyclic sequence which contains
+ * one node for each of its vertices and two nodes for each of its edges, one per direction. Each
+ * vertex carries a weight, and the vertices of a tree with a positive weight can be enumerated in
+ * logarithmic expected time per vertex.
+ *
+ * @param <V> the vertex type
+ */
+final class EulerTourForest<V> {
+  private final Map<V, Node> vertices = new HashMap<>();
+  private final Map<V, Map<V, Node>> arcs = new HashMap<>();
+  private final Random random = new Random(17);
+
+  /**
+   * Adds a vertex as a tree on its own.
+   *
+   * @param v the vertex
+   * @param weight the weight of the vertex
+   */
+  void addVertex(V v, long weight) {
+    vertices.put(v, new Node(v, random.nextInt(), weight));
+  }
+
+  /**
+   * Adds a tree of new vertices. This takes linear time, while linking the vertices one by one
+   * would take linearithmic time.
+   *
+   * @param root the root of the tree
+   * @param children the children of the vertices of the tree, vertices without children may be
+   *     missing
+   * @param weights the weights of the vertices
+   */
+  void addTree(V root, Map<V, List<V>> children, ToLongFunction<V> weights) {
+    // lay out the tour by a depth first traversal
+    List<Node> tour = new ArrayList<>();
+    ArrayDeque<V> path = new ArrayDeque<>();
+    ArrayDeque<Iterator<V>> pending = new ArrayDeque<>();
+    Node rootNode = new Node(root, random.nextInt(), weights.applyAsLong(root));
+    vertices.put(root, rootNode);
+    tour.add(rootNode);
+    path.push(root);
+    pending.push(children.getOrDefault(root, Collections.emptyList()).iterator());
+    while (!path.isEmpty()) {
+      V v = path.peek();
+      Iterator<V> it = pending.peek();
+      if (it.hasNext()) {
+        V c = it.next();
+        tour.add(newArc(v, c));
+        Node node = new Node(c, random.nextInt(), weights.applyAsLong(c));
+        vertices.put(c, node);
+        tour.add(node);
+        path.push(c);
+        pending.push(children.getOrDefault(c, Collections.emptyList()).iterator());
+      } else {
+        path.pop();
+        pending.pop();
+        if (!path.isEmpty()) {
+          tour.add(newArc(v, path.peek()));
+        }
+      }
+    }
+
+    // build the search tree of the tour as a cartesian tree of the priorities
+    ArrayDeque<Node> spine = new ArrayDeque<>();
+    for (Node node : tour) {
+      Node last = null;
+      while (!spine.isEmpty() && spine.peek().priority < node.priority) {
+        last = spine.pop();
+      }
+      node.left = last;
+      if (last != null) {
+        last.parent = node;
+      }
+      if (!spine.isEmpty()) {
+        spine.peek().right = node;
+        node.parent = spine.peek();
+      }
+      spine.push(node);
+    }
+    // update the nodes bottom up, i.e. in the reverse order of a preorder traversal
+    ArrayDeque<Node> stack = new ArrayDeque<>();
+    stack.push(spine.peekLast());
+    ArrayDeque<Node> preorder = new ArrayDeque<>(tour.size());
+    while (!stack.isEmpty()) {
+      Node node = stack.pop();
+      preorder.push(node);
+      if (node.left != null) {
+        stack.push(node.left);
+      }
+      if (node.right != null) {
+        stack.push(node.right);
+      }
+    }
+    for (Node node : preorder) {
+      node.update();
+    }
+  }
+
+  /**
+   * Removes a vertex which is a tree on its own. Nothing happens if the vertex is not contained.
+   *
+   * @param v the vertex
+   */
+  void removeVertex(V v) {
+    vertices.remove(v);
+    arcs.remove(v);
+  }
+
+  boolean containsVertex(V v) {
+    return vertices.containsKey(v);
+  }
+
+  /**
+   * Tests whether two vertices are in the same tree.
+   *
+   * @param u the first vertex
+   * @param v the second vertex
+   * @return true if the vertices are in the same tree
+   */
+  boolean connected(V u, V v) {
+    return root(vertices.get(u)) == root(vertices.get(v));
+  }
+
+  /**
+   * Returns the number of vertices in the tree of a vertex.
+   *
+   * @param v the vertex
+   * @return the number of vertices in the tree of the vertex
+   */
+  int treeSize(V v) {
+    return root(vertices.get(v)).vertexCount;
+  }
+
+  /**
+   * Returns the vertices in the tree of a vertex.
+   *
+   * @param v the vertex
+   * @return the vertices in the tree of the vertex
+   */
+  Set<V> treeVertices(V v) {
+    Node root = root(vertices.get(v));
+    Set<V> result = new HashSet<>(root.vertexCount * 4 / 3 + 1);
+    ArrayDeque<Node> stack = new ArrayDeque<>();
+    stack.push(root);
+    while (!stack.isEmpty()) {
+      Node node = stack.pop();
+      if (node.isVertex()) {
+        result.add(TypeUtil.uncheckedCast(node.vertex, null));
+      }
+      if (node.left != null && node.left.vertexCount > 0) {
+        stack.push(node.left);
+      }
+      if (node.right != null && node.right.vertexCount > 0) {
+        stack.push(node.right);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns an iterator over the vertices in the tree of a vertex which have a positive weight. The
+   * iterator must not be used after this forest has been modified.
+   *
+   * @param v the vertex
+   * @return an iterator over the vertices with a positive weight
+   */
+  Iterator<V> weightedVertices(V v) {
+    ArrayDeque<Node> stack = new ArrayDeque<>();
+    stack.push(root(vertices.get(v)));
+    return new Iterator<V>() {
+      private Node next = advance();
+
+      private Node advance() {
+        while (!stack.isEmpty()) {
+          Node node = stack.pop();
+          if (node.weightSum <= 0) {
+            continue;
+          }
+          if (node.left != null) {
+            stack.push(node.left);
+          }
+          if (node.right != null) {
+            stack.push(node.right);
+          }
+          if (node.weight > 0) {
+            return node;
+          }
+        }
+        return null;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public V next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        V result = TypeUtil.uncheckedCast(next.vertex, null);
+        next = advance();
+        return result;
+      }
+    };
+  }
+
+  /**
+   * Adds to the weight of a vertex.
+   *
+   * @param v the vertex
+   * @param delta the amount to add
+   */
+  void addWeight(V v, long delta) {
+    Node node = vertices.get(v);
+    node.weight += delta;
+    for (; node != null; node = node.parent) {
+      node.update();
+    }
+  }
+
+  /**
+   * Tests whether the forest contains an edge.
+   *
+   * @param u the first vertex
+   * @param v the second vertex
+   * @return true if the edge is contained
+   */
+  boolean containsEdge(V u, V v) {
+    Map<V, Node> out = arcs.get(u);
+    return out != null && out.containsKey(v);
+  }
+
+  /**
+   * Links the trees of two vertices by an edge. The vertices must be in different trees.
+   *
+   * @param u the first vertex
+   * @param v the second vertex
+   */
+  void link(V u, V v) {
+    Node uv = newArc(u, v);
+    Node vu = newArc(v, u);
+    Node tu = reroot(vertices.get(u));
+    Node tv = reroot(vertices.get(v));
+    merge(merge(tu, uv), merge(tv, vu));
+  }
+
+  /**
+   * Removes an edge of the forest, splitting its tree in two.
+   *
+   * @param u the first vertex
+   * @param v the second vertex
+   * @return true if the forest contained the edge
+   */
+  boolean cut(V u, V v) {
+    Map<V, Node> out = arcs.get(u);
+    Node uv = out == null ? null : out.remove(v);
+    if (uv == null) {
+      return false;
+    }
+    Node vu = arcs.get(v).remove(u);
+    int i = index(uv);
+    int j = index(vu);
+    int first = Math.min(i, j);
+    int last = Math.max(i, j);
+    // the tour is A uv B vu C, where B is the tour of one of the trees and C A of the other
+    Node[] parts = split(root(uv), first);
+    Node a = parts[0];
+    parts = split(parts[1], 1);
+    parts = split(parts[1], last - first - 1);
+    parts = split(parts[1], 1);
+    merge(parts[1], a);
+    return true;
+  }
+
+  private Node newArc(V u, V v) {
+    Node node = new Node(null, random.nextInt(), 0);
+    arcs.computeIfAbsent(u, k -> new HashMap<>(4)).put(v, node);
+    return node;
+  }
+
+  /** Rotates the tour of the tree of a node such that it starts with the node. */
+  private Node reroot(Node node) {
+    Node[] parts = split(root(node), index(node));
+    return merge(parts[1], parts[0]);
+  }
+
+  private static Node root(Node node) {
+    while (node.parent != null) {
+      node = node.parent;
+    }
+    return node;
+  }
+
+  private static int index(Node node) {
+    int index = size(node.left);
+    for (; node.parent != null; node = node.parent) {
+      if (node == node.parent.right) {
+        index += size(node.parent.left) + 1;
+      }
+    }
+    return index;
+  }
+
+  private static int size(Node node) {
+    return node == null ? 0 : node.size;
+  }
+
+  /** Splits the sequence of a tree into its first nodes and the others. */
+  private static Node[] split(Node node, int count) {
+    Node[] parts = new Node[2];
+    if (node == null) {
+      return parts;
+    }
+    node.parent = null;
+    if (size(node.left) >= count) {
+      Node[] left = split(node.left, count);
+      node.left = left[1];
+      if (node.left != null) {
+        node.left.parent = node;
+      }
+      node.update();
+      parts[0] = left[0];
+      parts[1] = node;
+    } else {
+      Node[] right = split(node.right, count - size(node.left) - 1);
+      node.right = right[0];
+      if (node.right != null) {
+        node.right.parent = node;
+      }
+      node.update();
+      parts[0] = node;
+      parts[1] = right[1];
+    }
+    return parts;
+  }
+
+  /** Concatenates the sequences of two trees. */
+  private static Node merge(Node a, Node b) {
+    if (a == null) {
+      return b;
+    }
+    if (b == null) {
+      return a;
+    }
+    if (a.priority > b.priority) {
+      a.right = merge(a.right, b);
+      a.right.parent = a;
+      a.update();
+      return a;
+    } else {
+      b.left = merge(a, b.left);
+      b.left.parent = b;
+      b.update();
+      return b;
+    }
+  }
+
+  /** A node of a search tree, standing for either a vertex or a directed edge. */
+  private static final class Node {
+    final Object vertex;
+    final int priority;
+    Node left;
+    Node right;
+    Node parent;
+    int size;
+    int vertexCount;
+    long weight;
+    long weightSum;
+
+    Node(Object vertex, int priority, long weight) {
+      this.vertex = vertex;
+      this.priority = priority;
+      this.weight = weight;
+      update();
+    }
+
+    boolean isVertex() {
+      return vertex != null;
+    }
+
+    void update() {
+      size = 1;
+      vertexCount = isVertex() ? 1 : 0;
+      weightSum = weight;
+      if (left != null) {
+        size += left.size;
+        vertexCount += left.vertexCount;
+        weightSum += left.weightSum;
+      }
+      if (right != null) {
+        size += right.size;
+        vertexCount += right.vertexCount;
+        weightSum += right.weightSum;
+      }
+    }
+  }
+}
+
+// End EulerTourForest.java
@@ -119,6 +119,37 @@ public class NeighborIndex<V, E> implements GraphListener<V, E> {
     }
   }
 
+  /**
+   * Updates the cached entries in one pass. Entries which are not cached yet are left to be built
+   * on demand from the graph, which already reflects the whole batch.
+   *
+   * @see GraphListener#graphChanged(GraphBatchChangeEvent)
+   */
+  @Override
+  public void graphChanged(GraphBatchChangeEvent<V, E> e) {
+    for (E edge : e.getRemovedEdges()) {
+      V source = e.getRemovedEdgeSource(edge);
+      V target = e.getRemovedEdgeTarget(edge);
+      if (neighborMap.containsKey(source)) {
+        neighborMap.get(source).removeNeighbor(target);
+      }
+      if (neighborMap.containsKey(target)) {
+        neighborMap.get(target).removeNeighbor(source);
+      }
+    }
+    neighborMap.keySet().removeAll(e.getRemovedVertices());
+    for (E edge : e.getAddedEdges()) {
+      V source = e.getAddedEdgeSource(edge);
+      V target = e.getAddedEdgeTarget(edge);
+      if (neighborMap.containsKey(source)) {
+        neighborMap.get(source).addNeighbor(target);
+      }
+      if (neighborMap.containsKey(target)) {
+        neighborMap.get(target).addNeighbor(source);
+      }
+    }
+  }
+
   /** @see VertexSetListener#vertexAdded(GraphVertexChangeEvent) */
   @Override
   public void vertexAdded(GraphVertexChangeEvent<V> e) {
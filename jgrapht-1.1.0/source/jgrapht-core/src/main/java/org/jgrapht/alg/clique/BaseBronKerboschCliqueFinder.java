@@ -21,6 +21,7 @@ import java.util.*;
 import java.util.concurrent.*;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
 
 /**
  * Base implementation of the Bron-Kerbosch algorithm.
@@ -41,6 +42,8 @@ abstract class BaseBronKerboschCliqueFinder<V, E>
   protected List<Set<V>> allMaximalCliques;
   /** Size of biggest maximal clique found. */
   protected int maxSize;
+  /** The neighbors of the vertices, computed once per vertex */
+  protected final NeighborCache<V, E> neighborCache;
 
   /**
    * Constructor
@@ -60,6 +63,7 @@ abstract class BaseBronKerboschCliqueFinder<V, E>
       throw new IllegalArgumentException("Invalid timeout, must be positive");
     }
     this.timeLimitReached = false;
+    this.neighborCache = new NeighborCache<>(graph);
   }
 
   @Override
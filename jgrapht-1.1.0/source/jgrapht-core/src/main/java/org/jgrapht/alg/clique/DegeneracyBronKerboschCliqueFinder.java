@@ -92,10 +92,7 @@ public class DegeneracyBronKerboschCliqueFinder<V, E> extends PivotBronKerboschC
       int n = ordering.size();
       for (int i = 0; i < n; i++) {
         V vi = ordering.get(i);
-        Set<V> viNeighbors = new HashSet<>();
-        for (E e : graph.edgesOf(vi)) {
-          viNeighbors.add(Graphs.getOppositeVertex(graph, e, vi));
-        }
+        Set<V> viNeighbors = neighborCache.neighborsOf(vi);
 
         Set<V> P = new HashSet<>();
         for (int j = i + 1; j < n; j++) {
@@ -102,8 +102,8 @@ public class PivotBronKerboschCliqueFinder<V, E> extends BaseBronKerboschCliqueF
     while (it.hasNext()) {
       V u = it.next();
       int count = 0;
-      for (E e : graph.edgesOf(u)) {
-        if (P.contains(Graphs.getOppositeVertex(graph, e, u))) {
+      for (V w : neighborCache.neighborsOf(u)) {
+        if (P.contains(w)) {
           count++;
         }
       }
@@ -151,10 +151,7 @@ public class PivotBronKerboschCliqueFinder<V, E> extends BaseBronKerboschCliqueF
     /*
      * Find candidates for addition
      */
-    Set<V> uNeighbors = new HashSet<>();
-    for (E e : graph.edgesOf(u)) {
-      uNeighbors.add(Graphs.getOppositeVertex(graph, e, u));
-    }
+    Set<V> uNeighbors = neighborCache.neighborsOf(u);
     Set<V> candidates = new HashSet<>();
     for (V v : P) {
       if (!uNeighbors.contains(v)) {
@@ -166,10 +163,7 @@ public class PivotBronKerboschCliqueFinder<V, E> extends BaseBronKerboschCliqueF
      * Main loop
      */
     for (V v : candidates) {
-      Set<V> vNeighbors = new HashSet<>();
-      for (E e : graph.edgesOf(v)) {
-        vNeighbors.add(Graphs.getOppositeVertex(graph, e, v));
-      }
+      Set<V> vNeighbors = neighborCache.neighborsOf(v);
 
       Set<V> newP = P.stream().filter(x -> vNeighbors.contains(x)).collect(Collectors.toSet());
       Set<V> newX = X.stream().filter(x -> vNeighbors.contains(x)).collect(Collectors.toSet());
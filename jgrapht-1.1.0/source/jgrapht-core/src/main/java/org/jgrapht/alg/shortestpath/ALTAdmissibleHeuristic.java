@@ -18,11 +18,11 @@
 package org.jgrapht.alg.shortestpath;
 
 import java.util.*;
+import java.util.concurrent.*;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
-import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
 import org.jgrapht.alg.util.*;
-import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 /**
  * An admissible heuristic for the A* algorithm using a set of landmarks and the triangle
@@ -37,6 +37,11 @@ import org.jgrapht.graph.*;
  * the number of vertices of the graph. In case of undirected graphs only one Dijkstra's algorithm
  * execution is performed per landmark.
  *
+ * <p>The shortest path computations of the landmarks run in parallel on a {@link ForkJoinPool}.
+ * The distances are stored in arrays indexed by vertex, with the distances of all landmarks of a
+ * vertex next to each other, so that an estimate costs two vertex lookups and a scan of two short
+ * ranges of an array.
+ *
  * <p>The method generally abbreviated as ALT (from A*, Landmarks and Triangle inequality) is
  * described in detail in the following <a href=
  * "https://www.microsoft.com/en-us/research/publication/computing-the-shortest-path-a-search-meets-graph-theory">
@@ -55,21 +60,28 @@ import org.jgrapht.graph.*;
  *
  * <p>In general more landmarks will speed up A* but will need more space. Given an A* query with
  * vertices source and target, a good landmark appears "before" source or "after" target where
- * before and after are relative to the "direction" from source to target.
+ * before and after are relative to the "direction" from source to target. Landmarks can be chosen
+ * by {@link #selectFarthestLandmarks(Graph, int, Random)} or {@link
+ * #selectAvoidLandmarks(Graph, int, Random)}.
  *
  * @author Dimitrios Michail
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  */
 public class ALTAdmissibleHeuristic<V, E> implements AStarAdmissibleHeuristic<V> {
-  private final Graph<V, E> graph;
-  private final Comparator<Double> comparator;
-  private final Map<V, Map<V, Double>> fromLandmark;
-  private final Map<V, Map<V, Double>> toLandmark;
   private final boolean directed;
+  private final Map<V, Integer> index;
+  private final int landmarkCount;
+  // the position of each vertex among the landmarks, -1 for the other vertices
+  private final int[] landmarkPosition;
+  // the distances from and to the landmarks, at the vertex index times the number of landmarks
+  // plus the landmark position
+  private final double[] fromLandmark;
+  private final double[] toLandmark;
 
   /**
-   * Constructs a new {@link AStarAdmissibleHeuristic} using a set of landmarks.
+   * Constructs a new {@link AStarAdmissibleHeuristic} using a set of landmarks, computing the
+   * landmark distances on the common pool.
    *
    * @param graph the graph
    * @param landmarks a set of vertices of the graph which will be used as landmarks
@@ -77,32 +89,72 @@ public class ALTAdmissibleHeuristic<V, E> implements AStarAdmissibleHeuristic<V>
    * @throws IllegalArgumentException if the graph contains edges with negative weights
    */
   public ALTAdmissibleHeuristic(Graph<V, E> graph, Set<V> landmarks) {
-    this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+    this(graph, landmarks, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a new {@link AStarAdmissibleHeuristic} using a set of landmarks.
+   *
+   * @param graph the graph
+   * @param landmarks a set of vertices of the graph which will be used as landmarks
+   * @param pool the pool which runs the shortest path computations of the landmarks
+   * @throws IllegalArgumentException if no landmarks are provided
+   * @throws IllegalArgumentException if the graph contains edges with negative weights
+   */
+  public ALTAdmissibleHeuristic(Graph<V, E> graph, Set<V> landmarks, ForkJoinPool pool) {
+    Objects.requireNonNull(graph, "Graph cannot be null");
     Objects.requireNonNull(landmarks, "Landmarks cannot be null");
+    Objects.requireNonNull(pool, "Pool cannot be null");
     if (landmarks.isEmpty()) {
       throw new IllegalArgumentException("At least one landmark must be provided");
     }
-    this.fromLandmark = new HashMap<>();
     if (graph.getType().isDirected()) {
       this.directed = true;
-      this.toLandmark = new HashMap<>();
     } else if (graph.getType().isUndirected()) {
       this.directed = false;
-      this.toLandmark = this.fromLandmark;
     } else {
       throw new IllegalArgumentException("Graph must be directed or undirected");
     }
-    this.comparator = new ToleranceDoubleComparator();
 
-    // precomputation and validation
+    Adjacency<V, E> adjacency = new Adjacency<>(graph);
+    this.index = adjacency.index;
+    int n = adjacency.vertices.length;
+    int k = landmarks.size();
+    this.landmarkCount = k;
+    this.landmarkPosition = new int[n];
+    Arrays.fill(landmarkPosition, -1);
+    int[] landmark = new int[k];
+    int l = 0;
     for (V v : landmarks) {
-      for (E e : graph.edgesOf(v)) {
-        if (comparator.compare(graph.getEdgeWeight(e), 0d) < 0) {
-          throw new IllegalArgumentException("Graph edge weights cannot be negative");
-        }
+      Integer i = index.get(v);
+      if (i == null) {
+        throw new IllegalArgumentException("Landmark is not a vertex of the graph: " + v);
       }
-      precomputeToFromLandmark(v);
+      landmarkPosition[i] = l;
+      landmark[l++] = i;
     }
+
+    // precomputation
+    this.fromLandmark = new double[n * k];
+    this.toLandmark = directed ? new double[n * k] : fromLandmark;
+    ForkJoinChunks.forEach(
+        pool,
+        k,
+        position -> {
+          LandmarkSearch search = adjacency.forward();
+          search.run(landmark[position], -1);
+          for (int v = 0; v < n; v++) {
+            fromLandmark[v * k + position] = search.getDistance(v);
+          }
+          if (directed) {
+            // compute distances to landmark (using reverse graph)
+            search = adjacency.reverse();
+            search.run(landmark[position], -1);
+            for (int v = 0; v < n; v++) {
+              toLandmark[v * k + position] = search.getDistance(v);
+            }
+          }
+        });
   }
 
   /**
@@ -124,31 +176,37 @@ public class ALTAdmissibleHeuristic<V, E> implements AStarAdmissibleHeuristic<V>
       return maxEstimate;
     }
 
+    int k = landmarkCount;
+    int ui = indexOf(u);
+    int ti = indexOf(t);
+
     /*
      * Special case, source is landmark
      */
-    if (fromLandmark.containsKey(u)) {
-      return fromLandmark.get(u).get(t);
+    if (landmarkPosition[ui] >= 0) {
+      return fromLandmark[ti * k + landmarkPosition[ui]];
     }
 
     /*
      * Special case, target is landmark
      */
-    if (toLandmark.containsKey(t)) {
-      return toLandmark.get(t).get(u);
+    if (landmarkPosition[ti] >= 0) {
+      return toLandmark[ui * k + landmarkPosition[ti]];
     }
 
     /*
      * Compute from landmarks
      */
-    for (V l : fromLandmark.keySet()) {
+    ui *= k;
+    ti *= k;
+    for (int l = 0; l < k; l++) {
       double estimate;
-      Map<V, Double> from = fromLandmark.get(l);
       if (directed) {
-        Map<V, Double> to = toLandmark.get(l);
-        estimate = Math.max(to.get(u) - to.get(t), from.get(t) - from.get(u));
+        estimate =
+            Math.max(
+                toLandmark[ui + l] - toLandmark[ti + l], fromLandmark[ti + l] - fromLandmark[ui + l]);
       } else {
-        estimate = Math.abs(from.get(u) - from.get(t));
+        estimate = Math.abs(fromLandmark[ui + l] - fromLandmark[ti + l]);
       }
 
       // max over all landmarks
@@ -160,31 +218,359 @@ public class ALTAdmissibleHeuristic<V, E> implements AStarAdmissibleHeuristic<V>
     return maxEstimate;
   }
 
+  private int indexOf(V v) {
+    Integer i = index.get(v);
+    if (i == null) {
+      throw new IllegalArgumentException("no such vertex in graph: " + v);
+    }
+    return i;
+  }
+
   /**
-   * Compute all distances to and from a landmark
+   * Selects landmarks which are far from each other. The first landmark is the vertex farthest
+   * from a random vertex, and each further landmark is the vertex whose distance from the closest
+   * landmark selected so far is largest. Vertices which cannot be reached from any landmark are
+   * selected first, so that every component which is reachable receives a landmark.
    *
-   * @param landmark the landmark
+   * @param graph the graph
+   * @param count the number of landmarks, at most the number of vertices
+   * @param rng the random number generator choosing the starting vertex
+   * @param <V> the graph vertex type
+   * @param <E> the graph edge type
+   * @return the landmarks in the order of their selection
+   * @throws IllegalArgumentException if count is not positive or exceeds the number of vertices
+   * @throws IllegalArgumentException if the graph contains edges with negative weights
    */
-  private void precomputeToFromLandmark(V landmark) {
-    // compute distances from landmark
-    SingleSourcePaths<V, E> fromLandmarkPaths =
-        new DijkstraShortestPath<>(graph).getPaths(landmark);
-    Map<V, Double> fromLandMarkDistances = new HashMap<>();
-    for (V v : graph.vertexSet()) {
-      fromLandMarkDistances.put(v, fromLandmarkPaths.getWeight(v));
-    }
-    fromLandmark.put(landmark, fromLandMarkDistances);
-
-    // compute distances to landmark (using reverse graph)
-    if (directed) {
-      Graph<V, E> reverseGraph = new EdgeReversedGraph<>(graph);
-      SingleSourcePaths<V, E> toLandmarkPaths =
-          new DijkstraShortestPath<>(reverseGraph).getPaths(landmark);
-      Map<V, Double> toLandMarkDistances = new HashMap<>();
+  public static <V, E> Set<V> selectFarthestLandmarks(Graph<V, E> graph, int count, Random rng) {
+    Adjacency<V, E> adjacency = new Adjacency<>(graph);
+    int n = checkCount(adjacency, count);
+    LandmarkSearch search = adjacency.forward();
+    double[] closest = new double[n];
+    boolean[] selected = new boolean[n];
+    Set<V> landmarks = new LinkedHashSet<>();
+
+    // the first landmark is chosen by the distances from the random vertex only
+    search.run(rng.nextInt(n), -1);
+    for (int u = 0; u < n; u++) {
+      closest[u] = search.getDistance(u);
+    }
+    while (true) {
+      int v = -1;
+      for (int u = 0; u < n; u++) {
+        if (!selected[u] && (v < 0 || closest[u] > closest[v])) {
+          v = u;
+        }
+      }
+      selected[v] = true;
+      landmarks.add(adjacency.vertex(v));
+      if (landmarks.size() == count) {
+        return landmarks;
+      }
+      search.run(v, -1);
+      for (int u = 0; u < n; u++) {
+        double d = search.getDistance(u);
+        closest[u] = landmarks.size() == 1 ? d : Math.min(closest[u], d);
+      }
+    }
+  }
+
+  /**
+   * Selects landmarks using the avoid strategy of A. Goldberg and R. Werneck, Computing
+   * point-to-point shortest paths from external memory, ALENEX 2005. Each landmark is found by
+   * computing a shortest path tree from a random vertex and weighting every vertex by how much the
+   * landmarks selected so far underestimate its distance from the root. The landmark is a leaf
+   * below the vertex whose subtree has the largest weight among the subtrees without a landmark, so
+   * that it covers the region where the current estimates are worst. If every subtree of the tree
+   * contains a landmark, the vertex farthest from the landmarks selected so far is chosen instead.
+   *
+   * @param graph the graph
+   * @param count the number of landmarks, at most the number of vertices
+   * @param rng the random number generator choosing the roots of the trees
+   * @param <V> the graph vertex type
+   * @param <E> the graph edge type
+   * @return the landmarks in the order of their selection
+   * @throws IllegalArgumentException if count is not positive or exceeds the number of vertices
+   * @throws IllegalArgumentException if the graph contains edges with negative weights
+   */
+  public static <V, E> Set<V> selectAvoidLandmarks(Graph<V, E> graph, int count, Random rng) {
+    Adjacency<V, E> adjacency = new Adjacency<>(graph);
+    int n = checkCount(adjacency, count);
+    boolean directed = graph.getType().isDirected();
+    LandmarkSearch search = adjacency.forward();
+    LandmarkSearch reverse = directed ? adjacency.reverse() : null;
+    List<double[]> from = new ArrayList<>();
+    List<double[]> to = new ArrayList<>();
+    boolean[] selected = new boolean[n];
+    Set<V> landmarks = new LinkedHashSet<>();
+
+    int[] childStart = new int[n + 1];
+    int[] children = new int[n];
+    double[] size = new double[n];
+    boolean[] covered = new boolean[n];
+    while (landmarks.size() < count) {
+      int root = rng.nextInt(n);
+      search.run(root, -1);
+
+      // the shortest path tree from the root, as lists of children
+      Arrays.fill(childStart, 0);
+      for (int v = 0; v < n; v++) {
+        if (v != root && search.isReached(v)) {
+          childStart[search.getOppositeVertex(search.getPredecessor(v), v) + 1]++;
+        }
+      }
+      for (int v = 0; v < n; v++) {
+        childStart[v + 1] += childStart[v];
+      }
+      int[] next = Arrays.copyOf(childStart, n);
+      for (int v = 0; v < n; v++) {
+        if (v != root && search.isReached(v)) {
+          children[next[search.getOppositeVertex(search.getPredecessor(v), v)]++] = v;
+        }
+      }
+
+      // the weight of the subtrees in post-order, zero for subtrees containing a landmark
+      int[] order = postOrder(root, childStart, children);
+      for (int v : order) {
+        double d = search.getDistance(v);
+        double bound = 0d;
+        for (int l = 0; l < from.size(); l++) {
+          double estimate =
+              directed
+                  ? Math.max(to.get(l)[root] - to.get(l)[v], from.get(l)[v] - from.get(l)[root])
+                  : Math.abs(from.get(l)[root] - from.get(l)[v]);
+          if (Double.isFinite(estimate)) {
+            bound = Math.max(bound, estimate);
+          }
+        }
+        size[v] = Math.max(0d, d - bound);
+        covered[v] = selected[v];
+        for (int i = childStart[v]; i < childStart[v + 1]; i++) {
+          size[v] += size[children[i]];
+          covered[v] |= covered[children[i]];
+        }
+        if (covered[v]) {
+          size[v] = 0d;
+        }
+      }
+
+      int best = -1;
+      for (int v : order) {
+        if (!covered[v] && (best < 0 || size[v] > size[best])) {
+          best = v;
+        }
+      }
+      if (best < 0) {
+        /*
+         * Every subtree reachable from the root holds a landmark, which is the case for any root
+         * once the remaining vertices are internal nodes of all shortest path trees. Fall back to
+         * the vertex farthest from the landmarks instead of trying other roots.
+         */
+        best = farthestUnselected(from, selected);
+      }
+      // descend to a leaf, following the heaviest child without a landmark
+      while (true) {
+        int heaviest = -1;
+        for (int i = childStart[best]; i < childStart[best + 1]; i++) {
+          int c = children[i];
+          if (!covered[c] && (heaviest < 0 || size[c] > size[heaviest])) {
+            heaviest = c;
+          }
+        }
+        if (heaviest < 0) {
+          break;
+        }
+        best = heaviest;
+      }
+
+      selected[best] = true;
+      landmarks.add(adjacency.vertex(best));
+      if (landmarks.size() < count) {
+        from.add(distances(search, best, n));
+        if (directed) {
+          to.add(distances(reverse, best, n));
+        }
+      }
+    }
+    return landmarks;
+  }
+
+  private static int checkCount(Adjacency<?, ?> adjacency, int count) {
+    int n = adjacency.vertices.length;
+    if (count < 1 || count > n) {
+      throw new IllegalArgumentException("Invalid number of landmarks: " + count);
+    }
+    return n;
+  }
+
+  /** Returns the unselected vertex whose distance from the closest landmark is largest. */
+  private static int farthestUnselected(List<double[]> from, boolean[] selected) {
+    int best = -1;
+    double bestDistance = 0d;
+    for (int v = 0; v < selected.length; v++) {
+      if (!selected[v]) {
+        double d = Double.POSITIVE_INFINITY;
+        for (double[] distance : from) {
+          d = Math.min(d, distance[v]);
+        }
+        if (best < 0 || d > bestDistance) {
+          best = v;
+          bestDistance = d;
+        }
+      }
+    }
+    return best;
+  }
+
+  private static double[] distances(LandmarkSearch search, int source, int n) {
+    search.run(source, -1);
+    double[] distance = new double[n];
+    for (int v = 0; v < n; v++) {
+      distance[v] = search.getDistance(v);
+    }
+    return distance;
+  }
+
+  /** Returns the vertices of a tree such that every vertex comes after its children. */
+  private static int[] postOrder(int root, int[] childStart, int[] children) {
+    int size = childStart[childStart.length - 1] + 1;
+    int[] order = new int[size];
+    // fill the order backwards with a pre-order of the reversed child lists
+    int[] stack = new int[size];
+    int top = 0;
+    stack[top++] = root;
+    int k = size;
+    while (top > 0) {
+      int v = stack[--top];
+      order[--k] = v;
+      for (int i = childStart[v]; i < childStart[v + 1]; i++) {
+        stack[top++] = children[i];
+      }
+    }
+    return order;
+  }
+
+  /** The graph as arrays of vertex indices, with the outgoing and the incoming edges. */
+  private static class Adjacency<V, E> {
+    private final Map<V, Integer> index;
+    private final Object[] vertices;
+    private final int[] outStart;
+    private final int[] outSource;
+    private final int[] outTarget;
+    private final double[] outWeight;
+    private final int[] inStart;
+    private final int[] inSource;
+    private final int[] inTarget;
+    private final double[] inWeight;
+
+    Adjacency(Graph<V, E> graph) {
+      int n = graph.vertexSet().size();
+      this.index = new HashMap<>(Math.max(16, 4 * n / 3 + 1));
+      this.vertices = new Object[n];
+      for (V v : graph.vertexSet()) {
+        vertices[index.size()] = v;
+        index.put(v, index.size());
+      }
+
+      Comparator<Double> comparator = new ToleranceDoubleComparator();
+      int m = 0;
       for (V v : graph.vertexSet()) {
-        toLandMarkDistances.put(v, toLandmarkPaths.getWeight(v));
+        m += graph.outgoingEdgesOf(v).size();
       }
-      toLandmark.put(landmark, toLandMarkDistances);
+      this.outStart = new int[n + 1];
+      this.outSource = new int[m];
+      this.outTarget = new int[m];
+      this.outWeight = new double[m];
+      int pos = 0;
+      for (int i = 0; i < n; i++) {
+        V v = vertex(i);
+        outStart[i] = pos;
+        for (E e : graph.outgoingEdgesOf(v)) {
+          double w = graph.getEdgeWeight(e);
+          if (comparator.compare(w, 0d) < 0) {
+            throw new IllegalArgumentException("Graph edge weights cannot be negative");
+          }
+          outSource[pos] = i;
+          outTarget[pos] = index.get(Graphs.getOppositeVertex(graph, e, v));
+          outWeight[pos++] = w;
+        }
+      }
+      outStart[n] = pos;
+
+      if (graph.getType().isDirected()) {
+        // the reversed edges, grouped by their target
+        this.inStart = new int[n + 1];
+        this.inSource = new int[m];
+        this.inTarget = new int[m];
+        this.inWeight = new double[m];
+        for (int e = 0; e < m; e++) {
+          inStart[outTarget[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+          inStart[i + 1] += inStart[i];
+        }
+        int[] next = Arrays.copyOf(inStart, n);
+        for (int e = 0; e < m; e++) {
+          int k = next[outTarget[e]]++;
+          inSource[k] = outTarget[e];
+          inTarget[k] = outSource[e];
+          inWeight[k] = outWeight[e];
+        }
+      } else {
+        this.inStart = outStart;
+        this.inSource = outSource;
+        this.inTarget = outTarget;
+        this.inWeight = outWeight;
+      }
+    }
+
+    V vertex(int i) {
+      return TypeUtil.uncheckedCast(vertices[i], null);
+    }
+
+    /** Creates a search following the edges. */
+    LandmarkSearch forward() {
+      return new LandmarkSearch(outStart, outSource, outTarget, outWeight);
+    }
+
+    /** Creates a search following the edges backwards. */
+    LandmarkSearch reverse() {
+      return new LandmarkSearch(inStart, inSource, inTarget, inWeight);
+    }
+  }
+
+  /** A Dijkstra search over the arrays of an {@link Adjacency}. */
+  private static class LandmarkSearch extends IndexedDijkstraSearch {
+    private final int[] start;
+    private final int[] source;
+    private final int[] target;
+    private final double[] weight;
+
+    LandmarkSearch(int[] start, int[] source, int[] target, double[] weight) {
+      super(start.length - 1, Double.POSITIVE_INFINITY);
+      this.start = start;
+      this.source = source;
+      this.target = target;
+      this.weight = weight;
+    }
+
+    @Override
+    int getOutgoingEdgeCount(int v) {
+      return start[v + 1] - start[v];
+    }
+
+    @Override
+    int getOutgoingEdge(int v, int i) {
+      return start[v] + i;
+    }
+
+    @Override
+    double getEdgeWeight(int e) {
+      return weight[e];
+    }
+
+    @Override
+    int getOppositeVertex(int e, int v) {
+      return source[e] == v ? target[e] : source[e];
     }
   }
 }
@@ -18,6 +18,7 @@
 package org.jgrapht.alg.shortestpath;
 
 import java.util.*;
+import java.util.function.*;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.alg.util.*;
@@ -40,6 +41,10 @@ import org.jgrapht.util.*;
  * first. Using the FibonacciHeap, this is not necessarily the case though. This could be improved
  * in a later version.
  *
+ * <p>The open nodes may also be kept in other {@link AddressableHeap}s, which are created by a heap
+ * supplier. A {@link RadixHeap} requires a consistent heuristic, since otherwise the keys removed
+ * from the heap may decrease.
+ *
  * <p>Note: This implementation works with both consistent and inconsistent admissible heuristics.
  * For details on consistency, refer to the description of the method {@link
  * #isConsistentHeuristic(AStarAdmissibleHeuristic)}. However, this class is <i>not</i> optimized
@@ -55,7 +60,7 @@ import org.jgrapht.util.*;
  * @since Aug, 2015
  */
 public class AStarShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
-  // List of open nodes
+  // List of open nodes, only if it is a FibonacciHeap as by default
   protected FibonacciHeap<V> openList;
   protected Map<V, FibonacciHeapNode<V>> vertexToHeapNodeMap;
 
@@ -78,6 +83,13 @@ public class AStarShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
   // Comparator for comparing doubles with tolerance
   protected Comparator<Double> comparator;
 
+  // Supplier of the heap of open nodes
+  private final Supplier<AddressableHeap<V>> heapSupplier;
+
+  // Heap of open nodes created by the supplier, and the handles of the nodes
+  private AddressableHeap<V> openHeap;
+  private Map<V, AddressableHeap.Handle<V>> vertexToHandleMap;
+
   /**
    * Create a new instance of the A* shortest path algorithm.
    *
@@ -86,7 +98,24 @@ public class AStarShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
    *     target node. The heuristic must never overestimate the distance.
    */
   public AStarShortestPath(Graph<V, E> graph, AStarAdmissibleHeuristic<V> admissibleHeuristic) {
+    this(graph, admissibleHeuristic, FibonacciHeap::new);
+  }
+
+  /**
+   * Create a new instance of the A* shortest path algorithm which keeps the open nodes in heaps
+   * created by a supplier.
+   *
+   * @param graph the input graph
+   * @param admissibleHeuristic admissible heuristic which estimates the distance from a node to the
+   *     target node. The heuristic must never overestimate the distance.
+   * @param heapSupplier supplier of the heap of open nodes
+   */
+  public AStarShortestPath(
+      Graph<V, E> graph,
+      AStarAdmissibleHeuristic<V> admissibleHeuristic,
+      Supplier<AddressableHeap<V>> heapSupplier) {
     super(graph);
+    this.heapSupplier = Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null");
     this.admissibleHeuristic =
         Objects.requireNonNull(admissibleHeuristic, "Heuristic function cannot be null!");
     this.comparator = new ToleranceDoubleComparator();
@@ -99,8 +128,16 @@ public class AStarShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
    */
   private void initialize(AStarAdmissibleHeuristic<V> admissibleHeuristic) {
     this.admissibleHeuristic = admissibleHeuristic;
-    openList = new FibonacciHeap<>();
-    vertexToHeapNodeMap = new HashMap<>();
+    openHeap = heapSupplier.get();
+    vertexToHandleMap = new HashMap<>();
+    if (openHeap instanceof FibonacciHeap) {
+      // the handles of a Fibonacci heap are its nodes
+      openList = (FibonacciHeap<V>) openHeap;
+      vertexToHeapNodeMap = TypeUtil.uncheckedCast(vertexToHandleMap, null);
+    } else {
+      openList = null;
+      vertexToHeapNodeMap = null;
+    }
     closedList = new HashSet<>();
     gScoreMap = new HashMap<>();
     cameFrom = new HashMap<>();
@@ -127,12 +164,10 @@ public class AStarShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
 
     this.initialize(admissibleHeuristic);
     gScoreMap.put(sourceVertex, 0.0);
-    FibonacciHeapNode<V> heapNode = new FibonacciHeapNode<>(sourceVertex);
-    openList.insert(heapNode, 0.0);
-    vertexToHeapNodeMap.put(sourceVertex, heapNode);
+    vertexToHandleMap.put(sourceVertex, openHeap.insert(0.0, sourceVertex));
 
     do {
-      FibonacciHeapNode<V> currentNode = openList.removeMin();
+      AddressableHeap.Handle<V> currentNode = openHeap.removeMin();
 
       // Check whether we reached the target vertex
       if (currentNode.getData().equals(targetVertex)) {
@@ -143,7 +178,7 @@ public class AStarShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
       // We haven't reached the target vertex yet; expand the node
       expandNode(currentNode, targetVertex);
       closedList.add(currentNode.getData());
-    } while (!openList.isEmpty());
+    } while (!openHeap.isEmpty());
 
     // No path exists from sourceVertex to TargetVertex
     return createEmptyPath(sourceVertex, targetVertex);
@@ -187,7 +222,7 @@ public class AStarShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
     return true;
   }
 
-  private void expandNode(FibonacciHeapNode<V> currentNode, V endVertex) {
+  private void expandNode(AddressableHeap.Handle<V> currentNode, V endVertex) {
     numberOfExpandedNodes++;
 
     Set<E> outgoingEdges = graph.outgoingEdgesOf(currentNode.getData());
@@ -203,7 +238,7 @@ public class AStarShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
       double tentativeGScore = gScore_current + graph.getEdgeWeight(edge);
       double fScore = tentativeGScore + admissibleHeuristic.getCostEstimate(successor, endVertex);
 
-      if (vertexToHeapNodeMap.containsKey(successor)) { // We re-encountered a vertex. It's
+      if (vertexToHandleMap.containsKey(successor)) { // We re-encountered a vertex. It's
         // either in the open or closed list.
         if (tentativeGScore >= gScoreMap.get(successor)) // Ignore path since it is
           // non-improving
@@ -216,16 +251,14 @@ public class AStarShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
           // open list, since we discovered a shorter
           // path to this node
           closedList.remove(successor);
-          openList.insert(vertexToHeapNodeMap.get(successor), fScore);
+          vertexToHandleMap.put(successor, openHeap.insert(fScore, successor));
         } else { // It's in the open list
-          openList.decreaseKey(vertexToHeapNodeMap.get(successor), fScore);
+          openHeap.decreaseKey(vertexToHandleMap.get(successor), fScore);
         }
       } else { // We've encountered a new vertex.
         cameFrom.put(successor, edge);
         gScoreMap.put(successor, tentativeGScore);
-        FibonacciHeapNode<V> heapNode = new FibonacciHeapNode<>(successor);
-        openList.insert(heapNode, fScore);
-        vertexToHeapNodeMap.put(successor, heapNode);
+        vertexToHandleMap.put(successor, openHeap.insert(fScore, successor));
       }
     }
   }
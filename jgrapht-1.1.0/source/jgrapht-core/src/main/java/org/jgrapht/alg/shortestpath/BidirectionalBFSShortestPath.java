@@ -0,0 +1,247 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.*;
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+/**
+ * A bidirectional breadth-first search for unweighted point-to-point queries.
+ *
+ * <p>The search alternately grows a breadth-first tree from the source along outgoing edges and one
+ * from the sink along incoming edges. In every step a whole level of the side with the smaller
+ * frontier is expanded, and the search stops as soon as a vertex is discovered which has already
+ * been reached from the other side. Such a vertex always lies on a path with the minimum number of
+ * edges, therefore the search usually visits only a small ball around each endpoint instead of the
+ * ball of twice the radius explored by a unidirectional search.
+ *
+ * <p>Edge weights are ignored. The returned paths have the minimum number of edges and their weight
+ * is this number of edges.
+ *
+ * <p>The per-query state is kept in a workspace which is owned by the calling thread and reused by
+ * later queries of the same instance. Vertices are marked with a query stamp, hence nothing is
+ * cleared or reallocated between queries. Queries may be executed concurrently from several
+ * threads, as long as the graph is not modified.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ * @see BidirectionalDijkstraShortestPath
+ * @since October 2017
+ */
+public final class BidirectionalBFSShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
+  private final ThreadLocal<Workspace<V, E>> workspace = ThreadLocal.withInitial(Workspace::new);
+
+  /**
+   * Constructs a new instance for a specified graph.
+   *
+   * @param graph the input graph
+   */
+  public BidirectionalBFSShortestPath(Graph<V, E> graph) {
+    super(graph);
+  }
+
+  /**
+   * Find a path with the minimum number of edges between two vertices.
+   *
+   * @param graph the graph to be searched
+   * @param source the vertex at which the path should start
+   * @param sink the vertex at which the path should end
+   * @param <V> the graph vertex type
+   * @param <E> the graph edge type
+   * @return a shortest path, or null if no path exists
+   */
+  public static <V, E> GraphPath<V, E> findPathBetween(Graph<V, E> graph, V source, V sink) {
+    return new BidirectionalBFSShortestPath<>(graph).getPath(source, sink);
+  }
+
+  @Override
+  public GraphPath<V, E> getPath(V source, V sink) {
+    if (!graph.containsVertex(source)) {
+      throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+    }
+    if (!graph.containsVertex(sink)) {
+      throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+    }
+
+    // handle special case if source equals target
+    if (source.equals(sink)) {
+      return createEmptyPath(source, sink);
+    }
+
+    Workspace<V, E> ws = workspace.get();
+    ws.start(graph.vertexSet().size());
+
+    Label<E> sourceLabel = ws.label(source);
+    sourceLabel.forwardStamp = ws.stamp;
+    sourceLabel.forwardDistance = 0;
+    sourceLabel.forwardEdge = null;
+    ws.forward.add(source);
+
+    Label<E> sinkLabel = ws.label(sink);
+    sinkLabel.backwardStamp = ws.stamp;
+    sinkLabel.backwardDistance = 0;
+    sinkLabel.backwardEdge = null;
+    ws.backward.add(sink);
+
+    V commonVertex = null;
+    while (commonVertex == null && !ws.forward.isEmpty() && !ws.backward.isEmpty()) {
+      // expand the smaller frontier
+      if (ws.forward.size() <= ws.backward.size()) {
+        commonVertex = expand(ws, true);
+      } else {
+        commonVertex = expand(ws, false);
+      }
+    }
+
+    V result = commonVertex;
+    ws.forward.clear();
+    ws.backward.clear();
+    ws.next.clear();
+
+    if (result == null) {
+      return null;
+    }
+    return createPath(ws, source, result, sink);
+  }
+
+  /**
+   * Expands one level of a frontier.
+   *
+   * @param ws the workspace
+   * @param forward whether to expand the forward or the backward frontier
+   * @return a vertex reached from both sides, or null if the searches have not met yet
+   */
+  private V expand(Workspace<V, E> ws, boolean forward) {
+    int stamp = ws.stamp;
+    List<V> frontier = forward ? ws.forward : ws.backward;
+    List<V> next = ws.next;
+
+    for (V v : frontier) {
+      Label<E> vLabel = ws.labels.get(v);
+      int distance = (forward ? vLabel.forwardDistance : vLabel.backwardDistance) + 1;
+      Set<E> edges = forward ? graph.outgoingEdgesOf(v) : graph.incomingEdgesOf(v);
+
+      for (E e : edges) {
+        V u = Graphs.getOppositeVertex(graph, e, v);
+        Label<E> uLabel = ws.label(u);
+
+        if (forward) {
+          if (uLabel.forwardStamp == stamp) {
+            continue;
+          }
+          uLabel.forwardStamp = stamp;
+          uLabel.forwardDistance = distance;
+          uLabel.forwardEdge = e;
+          if (uLabel.backwardStamp == stamp) {
+            return u;
+          }
+        } else {
+          if (uLabel.backwardStamp == stamp) {
+            continue;
+          }
+          uLabel.backwardStamp = stamp;
+          uLabel.backwardDistance = distance;
+          uLabel.backwardEdge = e;
+          if (uLabel.forwardStamp == stamp) {
+            return u;
+          }
+        }
+        next.add(u);
+      }
+    }
+
+    // the discovered vertices become the new frontier
+    frontier.clear();
+    if (forward) {
+      ws.forward = next;
+    } else {
+      ws.backward = next;
+    }
+    ws.next = frontier;
+    return null;
+  }
+
+  private GraphPath<V, E> createPath(Workspace<V, E> ws, V source, V commonVertex, V sink) {
+    LinkedList<E> edgeList = new LinkedList<>();
+    LinkedList<V> vertexList = new LinkedList<>();
+
+    // add common vertex
+    vertexList.add(commonVertex);
+
+    // traverse forward path
+    V v = commonVertex;
+    E e;
+    while ((e = ws.labels.get(v).forwardEdge) != null) {
+      edgeList.addFirst(e);
+      v = Graphs.getOppositeVertex(graph, e, v);
+      vertexList.addFirst(v);
+    }
+
+    // traverse reverse path
+    v = commonVertex;
+    while ((e = ws.labels.get(v).backwardEdge) != null) {
+      edgeList.addLast(e);
+      v = Graphs.getOppositeVertex(graph, e, v);
+      vertexList.addLast(v);
+    }
+
+    return new GraphWalk<>(graph, source, sink, vertexList, edgeList, edgeList.size());
+  }
+
+  /** The search state of a vertex. A side is valid only if its stamp equals the query stamp. */
+  private static final class Label<E> {
+    int forwardStamp;
+    int forwardDistance;
+    E forwardEdge;
+    int backwardStamp;
+    int backwardDistance;
+    E backwardEdge;
+  }
+
+  /** Reusable state of the queries executed by one thread. */
+  private static final class Workspace<V, E> {
+    final Map<V, Label<E>> labels = new HashMap<>();
+    List<V> forward = new ArrayList<>();
+    List<V> backward = new ArrayList<>();
+    List<V> next = new ArrayList<>();
+    int stamp;
+
+    /**
+     * Starts a new query. The labels are dropped only when the stamp wraps around or when they
+     * include many vertices which have been removed from the graph in the meantime.
+     */
+    void start(int vertexCount) {
+      if (++stamp == 0 || labels.size() > 2 * vertexCount + 16) {
+        labels.clear();
+        stamp = 1;
+      }
+    }
+
+    Label<E> label(V v) {
+      Label<E> label = labels.get(v);
+      if (label == null) {
+        label = new Label<>();
+        labels.put(v, label);
+      }
+      return label;
+    }
+  }
+}
+
+// End BidirectionalBFSShortestPath.java
@@ -0,0 +1,225 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.io.*;
+import java.util.*;
+import org.jgrapht.util.*;
+
+/**
+ * A contraction hierarchy of a graph, computed by {@link ContractionHierarchyPrecomputation} and
+ * queried by {@link ContractionHierarchyShortestPath}.
+ *
+ * <p>Every vertex has a rank, which is its position in the contraction order. The hierarchy
+ * consists of arcs, which are either the edges of the graph or shortcuts standing for a path of
+ * two arcs through a vertex of lower rank than their endpoints. Arcs leading to a vertex of higher
+ * rank are upward, the others downward. Between any two vertices connected in the graph there is a
+ * shortest path which first follows upward arcs and then downward arcs.
+ *
+ * <p>The hierarchy is stored in arrays indexed by vertex and arc. It does not refer to the graph,
+ * only to its vertices and edges, and it is serializable if they are. Paths computed from a
+ * deserialized hierarchy consist of the deserialized edges.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ * @since October 2017
+ */
+public final class ContractionHierarchy<V, E> implements Serializable {
+  private static final long serialVersionUID = 5032866839120537164L;
+
+  private final Object[] vertices;
+  private final int[] rank;
+  private final int shortcutCount;
+
+  // the upward arcs leaving each vertex
+  final int[] upStart;
+  final int[] upTarget;
+  final double[] upWeight;
+  final int[] upArc;
+
+  // the downward arcs entering each vertex
+  final int[] downStart;
+  final int[] downSource;
+  final double[] downWeight;
+  final int[] downArc;
+
+  // the two arcs replaced by each shortcut, -1 for the edges of the graph
+  private final int[] arcFirst;
+  private final int[] arcSecond;
+  private final Object[] arcEdge;
+
+  private transient Map<V, Integer> index;
+
+  /**
+   * Creates a hierarchy from the arcs of a contraction.
+   *
+   * @param vertices the vertices by index
+   * @param rank the rank of each vertex
+   * @param arcCount the number of arcs
+   * @param arcSource the source vertex of each arc
+   * @param arcTarget the target vertex of each arc
+   * @param arcWeight the weight of each arc
+   * @param arcFirst the first arc replaced by each shortcut, -1 for edges
+   * @param arcSecond the second arc replaced by each shortcut, -1 for edges
+   * @param arcEdge the edge of each arc, null for shortcuts
+   * @param unused arcs which are not needed by queries, because they are only part of shortcuts
+   */
+  ContractionHierarchy(
+      Object[] vertices,
+      int[] rank,
+      int arcCount,
+      int[] arcSource,
+      int[] arcTarget,
+      double[] arcWeight,
+      int[] arcFirst,
+      int[] arcSecond,
+      Object[] arcEdge,
+      boolean[] unused) {
+    int n = vertices.length;
+    this.vertices = vertices;
+    this.rank = rank;
+    this.arcFirst = Arrays.copyOf(arcFirst, arcCount);
+    this.arcSecond = Arrays.copyOf(arcSecond, arcCount);
+    this.arcEdge = Arrays.copyOf(arcEdge, arcCount);
+
+    int shortcuts = 0;
+    this.upStart = new int[n + 1];
+    this.downStart = new int[n + 1];
+    for (int a = 0; a < arcCount; a++) {
+      if (arcEdge[a] == null) {
+        shortcuts++;
+      }
+      if (!unused[a]) {
+        if (rank[arcSource[a]] < rank[arcTarget[a]]) {
+          upStart[arcSource[a] + 1]++;
+        } else {
+          downStart[arcTarget[a] + 1]++;
+        }
+      }
+    }
+    this.shortcutCount = shortcuts;
+    for (int v = 0; v < n; v++) {
+      upStart[v + 1] += upStart[v];
+      downStart[v + 1] += downStart[v];
+    }
+
+    this.upTarget = new int[upStart[n]];
+    this.upWeight = new double[upStart[n]];
+    this.upArc = new int[upStart[n]];
+    this.downSource = new int[downStart[n]];
+    this.downWeight = new double[downStart[n]];
+    this.downArc = new int[downStart[n]];
+    int[] upNext = Arrays.copyOf(upStart, n);
+    int[] downNext = Arrays.copyOf(downStart, n);
+    for (int a = 0; a < arcCount; a++) {
+      if (unused[a]) {
+        continue;
+      }
+      int s = arcSource[a];
+      int t = arcTarget[a];
+      if (rank[s] < rank[t]) {
+        int k = upNext[s]++;
+        upTarget[k] = t;
+        upWeight[k] = arcWeight[a];
+        upArc[k] = a;
+      } else {
+        int k = downNext[t]++;
+        downSource[k] = s;
+        downWeight[k] = arcWeight[a];
+        downArc[k] = a;
+      }
+    }
+    buildIndex();
+  }
+
+  /**
+   * Returns the number of vertices of the hierarchy.
+   *
+   * @return the number of vertices
+   */
+  public int getVertexCount() {
+    return vertices.length;
+  }
+
+  /**
+   * Returns the number of shortcuts added to the edges of the graph.
+   *
+   * @return the number of shortcuts
+   */
+  public int getShortcutCount() {
+    return shortcutCount;
+  }
+
+  /**
+   * Returns the rank of a vertex, which is its position in the contraction order.
+   *
+   * @param v the vertex
+   * @return the rank of the vertex
+   * @throws IllegalArgumentException if the vertex is not in the hierarchy
+   */
+  public int getRank(V v) {
+    int i = indexOf(v);
+    if (i < 0) {
+      throw new IllegalArgumentException("no such vertex in hierarchy: " + v);
+    }
+    return rank[i];
+  }
+
+  /** Returns the index of a vertex, or -1 if it is not in the hierarchy. */
+  int indexOf(V v) {
+    Integer i = index.get(v);
+    return i == null ? -1 : i;
+  }
+
+  V vertex(int i) {
+    return TypeUtil.uncheckedCast(vertices[i], null);
+  }
+
+  /** Appends the edges of an arc, replacing shortcuts by the arcs they stand for. */
+  void unpack(int arc, List<E> edges) {
+    int[] stack = new int[16];
+    int size = 0;
+    stack[size++] = arc;
+    while (size > 0) {
+      int a = stack[--size];
+      if (arcFirst[a] < 0) {
+        edges.add(TypeUtil.uncheckedCast(arcEdge[a], null));
+      } else {
+        if (size + 2 > stack.length) {
+          stack = Arrays.copyOf(stack, 2 * stack.length);
+        }
+        stack[size++] = arcSecond[a];
+        stack[size++] = arcFirst[a];
+      }
+    }
+  }
+
+  private void buildIndex() {
+    index = new HashMap<>(Math.max(16, 4 * vertices.length / 3 + 1));
+    for (int i = 0; i < vertices.length; i++) {
+      index.put(vertex(i), i);
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    buildIndex();
+  }
+}
+
+// End ContractionHierarchy.java
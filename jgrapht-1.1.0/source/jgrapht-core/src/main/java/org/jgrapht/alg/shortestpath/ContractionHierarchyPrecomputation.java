@@ -0,0 +1,638 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import org.jgrapht.*;
+
+/**
+ * Computes a {@link ContractionHierarchy} of a graph with non-negative edge weights. See R.
+ * Geisberger, P. Sanders, D. Schultes and D. Delling, Contraction hierarchies: faster and simpler
+ * hierarchical routing in road networks, WEA 2008.
+ *
+ * <p>Vertices are removed from the graph one after the other. Contracting a vertex adds a shortcut
+ * between each pair of its remaining neighbors for which the path through the vertex is the only
+ * shortest path, which is checked by a Dijkstra search for a witness path avoiding the vertex. The
+ * witness search is bounded both by the number of arcs it scans and by the number of arcs on the
+ * paths it considers. When it gives up early a shortcut is added, which is never wrong but may
+ * be unnecessary. The contraction order is driven by a priority which is the number of shortcuts
+ * minus the number of edges removed, plus the number of neighbors contracted before, so that
+ * vertices in sparse and still uncontracted areas come first. Priorities are estimated with
+ * witness searches which give up earlier.
+ *
+ * <p>The contraction proceeds in rounds, following P. Vetter, Parallel time-dependent contraction
+ * hierarchies, 2009. Each round contracts all vertices whose priority is smaller than the priority
+ * of each of their remaining neighbors. These vertices are independent, hence their shortcuts are
+ * computed in parallel by a {@link ForkJoinPool} and added afterwards. The priorities are updated
+ * lazily: contracting a vertex only marks the priorities of its neighbors as outdated, and those
+ * are recomputed in parallel when the vertex is about to be contracted, which is then postponed if
+ * it is no longer minimal.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ * @see ContractionHierarchyShortestPath
+ * @since October 2017
+ */
+public class ContractionHierarchyPrecomputation<V, E> {
+  /** Number of arcs a witness search scans before it gives up. */
+  private static final int WITNESS_SEARCH_LIMIT = 5000;
+  /** Number of arcs of the longest witness path. */
+  private static final int WITNESS_HOP_LIMIT = 5;
+  /** Number of arcs a witness search scans when estimating the priority of a vertex. */
+  private static final int PRIORITY_SEARCH_LIMIT = 500;
+  /** Number of arcs of the longest witness path when estimating the priority of a vertex. */
+  private static final int PRIORITY_HOP_LIMIT = 2;
+  /** Number of vertices processed by a single task. */
+  private static final int GRAIN = 64;
+
+  private static final byte REMAINING = 0;
+  private static final byte CONTRACTING = 1;
+  private static final byte CONTRACTED = 2;
+
+  private final Graph<V, E> graph;
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a new instance of the algorithm for a given graph, running on the common pool.
+   *
+   * @param graph the graph
+   */
+  public ContractionHierarchyPrecomputation(Graph<V, E> graph) {
+    this(graph, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a new instance of the algorithm for a given graph.
+   *
+   * @param graph the graph
+   * @param pool the pool which runs the tasks of the contraction
+   */
+  public ContractionHierarchyPrecomputation(Graph<V, E> graph, ForkJoinPool pool) {
+    this.graph = Objects.requireNonNull(graph, "Graph is null");
+    this.pool = Objects.requireNonNull(pool, "Pool is null");
+  }
+
+  /**
+   * Computes the contraction hierarchy of the graph.
+   *
+   * @return the contraction hierarchy
+   * @throws IllegalArgumentException if the graph has an edge with a negative weight
+   */
+  public ContractionHierarchy<V, E> computeContractionHierarchy() {
+    return new Contraction().run();
+  }
+
+  /** The state of a single contraction. */
+  private class Contraction {
+    private final int n = graph.vertexSet().size();
+    private final Object[] vertices = new Object[n];
+    private final byte[] state = new byte[n];
+    private final int[] rank = new int[n];
+    private final double[] priority = new double[n];
+    private final int[] contractedNeighbors = new int[n];
+    // vertices whose priority is outdated since a neighbor was contracted
+    private final boolean[] stale = new boolean[n];
+
+    // the live arcs leaving and entering each remaining vertex
+    private final IntList[] out = new IntList[n];
+    private final IntList[] in = new IntList[n];
+
+    private int arcCount;
+    private int[] arcSource = new int[16];
+    private int[] arcTarget = new int[16];
+    private double[] arcWeight = new double[16];
+    private int[] arcFirst = new int[16];
+    private int[] arcSecond = new int[16];
+    private Object[] arcEdge = new Object[16];
+    // arcs replaced by a shorter shortcut between the same vertices
+    private boolean[] unused = new boolean[16];
+    // the live arc between two vertices, if any
+    private final ArcIndex arcIndex = new ArcIndex(2 * graph.edgeSet().size());
+
+    private final ThreadLocal<Witness> witness = ThreadLocal.withInitial(Witness::new);
+
+    private ContractionHierarchy<V, E> run() {
+      Map<V, Integer> index = new HashMap<>(Math.max(16, 4 * n / 3 + 1));
+      int i = 0;
+      for (V v : graph.vertexSet()) {
+        index.put(v, i);
+        vertices[i] = v;
+        out[i] = new IntList();
+        in[i] = new IntList();
+        i++;
+      }
+      boolean directed = graph.getType().isDirected();
+      for (E e : graph.edgeSet()) {
+        double w = graph.getEdgeWeight(e);
+        if (!(w >= 0d)) {
+          throw new IllegalArgumentException("Negative edge weight not allowed");
+        }
+        int s = index.get(graph.getEdgeSource(e));
+        int t = index.get(graph.getEdgeTarget(e));
+        if (s != t) {
+          // adding zero turns a weight of -0.0 into 0.0
+          addShorterArc(s, t, w + 0d, -1, -1, e);
+          if (!directed) {
+            addShorterArc(t, s, w + 0d, -1, -1, e);
+          }
+        }
+      }
+
+      int[] remaining = new int[n];
+      for (i = 0; i < n; i++) {
+        remaining[i] = i;
+      }
+      updatePriorities(remaining);
+
+      int nextRank = 0;
+      int round = 0;
+      int[] roundMark = new int[n];
+      int[] contractedMark = new int[n];
+      while (remaining.length > 0) {
+        int[] candidates = select(remaining);
+        int[] outdated = filter(candidates, x -> stale[x]);
+        if (outdated.length > 0) {
+          // postpone the vertices which are no longer minimal with their actual priority
+          updatePriorities(outdated);
+        }
+        int[] contracting = outdated.length > 0 ? select(candidates) : candidates;
+        for (int x : contracting) {
+          state[x] = CONTRACTING;
+        }
+        IntList[] shortcuts = new IntList[contracting.length];
+        forEach(
+            contracting.length,
+            k -> {
+              shortcuts[k] = new IntList();
+              findShortcuts(
+                  contracting[k],
+                  witness.get(),
+                  shortcuts[k],
+                  WITNESS_SEARCH_LIMIT,
+                  WITNESS_HOP_LIMIT);
+            });
+
+        IntList neighbors = new IntList();
+        round++;
+        for (int k = 0; k < contracting.length; k++) {
+          int x = contracting[k];
+          state[x] = CONTRACTED;
+          rank[x] = nextRank++;
+          IntList s = shortcuts[k];
+          for (int j = 0; j < s.size; j += 2) {
+            int a = s.values[j];
+            int b = s.values[j + 1];
+            addShorterArc(arcSource[a], arcTarget[b], arcWeight[a] + arcWeight[b], a, b, null);
+          }
+          for (int j = 0; j < in[x].size; j++) {
+            touch(arcSource[in[x].values[j]], x, round, roundMark, contractedMark, neighbors);
+          }
+          for (int j = 0; j < out[x].size; j++) {
+            touch(arcTarget[out[x].values[j]], x, round, roundMark, contractedMark, neighbors);
+          }
+          out[x] = null;
+          in[x] = null;
+        }
+
+        for (int j = 0; j < neighbors.size; j++) {
+          int y = neighbors.values[j];
+          out[y] = live(out[y], arcTarget);
+          in[y] = live(in[y], arcSource);
+        }
+
+        int size = 0;
+        for (int v : remaining) {
+          if (state[v] == REMAINING) {
+            remaining[size++] = v;
+          }
+        }
+        remaining = Arrays.copyOf(remaining, size);
+      }
+
+      return new ContractionHierarchy<>(
+          vertices,
+          rank,
+          arcCount,
+          arcSource,
+          arcTarget,
+          arcWeight,
+          arcFirst,
+          arcSecond,
+          arcEdge,
+          unused);
+    }
+
+    /**
+     * Records a remaining neighbor of a contracted vertex, once per round in the list of neighbors
+     * and once per contracted vertex in the number of contracted neighbors, and marks its priority
+     * as outdated.
+     */
+    private void touch(
+        int y, int x, int round, int[] roundMark, int[] contractedMark, IntList neighbors) {
+      if (state[y] != REMAINING) {
+        return;
+      }
+      if (roundMark[y] != round) {
+        roundMark[y] = round;
+        neighbors.add(y);
+      }
+      if (contractedMark[y] != x + 1) {
+        contractedMark[y] = x + 1;
+        contractedNeighbors[y]++;
+        priority[y]++;
+        stale[y] = true;
+      }
+    }
+
+    /** Returns the vertices whose priority is smaller than those of all remaining neighbors. */
+    private int[] select(int[] remaining) {
+      return filter(remaining, this::isLocalMinimum);
+    }
+
+    /** Returns the vertices of a list which satisfy a condition, keeping their order. */
+    private int[] filter(int[] remaining, IntPredicate condition) {
+      int chunks = (remaining.length + GRAIN - 1) / GRAIN;
+      IntList[] selected = new IntList[chunks];
+      ForkJoinChunks.forEach(
+          pool,
+          chunks,
+          chunk -> {
+            IntList list = new IntList();
+            for (int i = chunk * GRAIN, end = Math.min(remaining.length, i + GRAIN);
+                i < end;
+                i++) {
+              if (condition.test(remaining[i])) {
+                list.add(remaining[i]);
+              }
+            }
+            selected[chunk] = list;
+          });
+      IntList result = new IntList();
+      for (IntList list : selected) {
+        for (int i = 0; i < list.size; i++) {
+          result.add(list.values[i]);
+        }
+      }
+      return Arrays.copyOf(result.values, result.size);
+    }
+
+    private boolean isLocalMinimum(int x) {
+      for (int i = 0; i < out[x].size; i++) {
+        if (precedes(arcTarget[out[x].values[i]], x)) {
+          return false;
+        }
+      }
+      for (int i = 0; i < in[x].size; i++) {
+        if (precedes(arcSource[in[x].values[i]], x)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean precedes(int y, int x) {
+      return priority[y] < priority[x] || (priority[y] == priority[x] && y < x);
+    }
+
+    private void updatePriorities(int[] list) {
+      forEach(
+          list.length,
+          k -> {
+            int x = list[k];
+            int shortcuts =
+                findShortcuts(x, witness.get(), null, PRIORITY_SEARCH_LIMIT, PRIORITY_HOP_LIMIT);
+            priority[x] = shortcuts - in[x].size - out[x].size + contractedNeighbors[x];
+            stale[x] = false;
+          });
+    }
+
+    /** Runs a task for each element of a list, in chunks of the grain size. */
+    private void forEach(int size, IntConsumer body) {
+      ForkJoinChunks.forEach(
+          pool,
+          (size + GRAIN - 1) / GRAIN,
+          chunk -> {
+            for (int i = chunk * GRAIN, end = Math.min(size, i + GRAIN); i < end; i++) {
+              body.accept(i);
+            }
+          });
+    }
+
+    /**
+     * Finds the shortcuts needed when contracting a vertex, without modifying the graph.
+     *
+     * @param x the vertex
+     * @param ws the workspace of the current thread
+     * @param result if not null, receives the two arcs replaced by each shortcut
+     * @param searchLimit the number of arcs a witness search scans before it gives up
+     * @param hopLimit the number of arcs of the longest witness path
+     * @return the number of shortcuts
+     */
+    private int findShortcuts(int x, Witness ws, IntList result, int searchLimit, int hopLimit) {
+      ws.collectNeighbors(x);
+      int count = 0;
+      for (int i = 0; i < ws.sources.size; i++) {
+        int u = ws.sources.values[i];
+        int a = ws.sourceArc[u];
+        // an arc to a target which is at least as short is a witness, otherwise the target is
+        // pending until the search
+        ws.pendingMark = ws.nextStamp(ws.pendingMark, ws.pendingStamp, null);
+        int pending = 0;
+        double limit = Double.NEGATIVE_INFINITY;
+        for (int j = 0; j < ws.targets.size; j++) {
+          int w = ws.targets.values[j];
+          if (w == u) {
+            continue;
+          }
+          double weight = arcWeight[a] + arcWeight[ws.targetArc[w]];
+          int c = arcIndex.get(u, w);
+          if (c < 0 || arcWeight[c] > weight) {
+            ws.pendingStamp[w] = ws.pendingMark;
+            pending++;
+            limit = Math.max(limit, weight);
+          }
+        }
+        if (pending == 0) {
+          continue;
+        }
+        ws.search(u, x, limit, searchLimit, hopLimit, pending);
+        for (int j = 0; j < ws.targets.size; j++) {
+          int w = ws.targets.values[j];
+          int b = ws.targetArc[w];
+          if (ws.pendingStamp[w] == ws.pendingMark
+              && ws.distance(w) > arcWeight[a] + arcWeight[b]) {
+            count++;
+            if (result != null) {
+              result.add(a);
+              result.add(b);
+            }
+          }
+        }
+      }
+      return count;
+    }
+
+    /**
+     * Adds an arc unless an arc between the same vertices is as short, in which case the new arc
+     * would never be used. Otherwise the existing arc is replaced.
+     */
+    private void addShorterArc(int s, int t, double weight, int first, int second, Object edge) {
+      int c = arcIndex.get(s, t);
+      if (c >= 0) {
+        if (arcWeight[c] <= weight) {
+          return;
+        }
+        unused[c] = true;
+      }
+      arcIndex.put(s, t, addArc(s, t, weight, first, second, edge));
+    }
+
+    private int addArc(int s, int t, double weight, int first, int second, Object edge) {
+      if (arcCount == arcSource.length) {
+        int capacity = 2 * arcCount;
+        arcSource = Arrays.copyOf(arcSource, capacity);
+        arcTarget = Arrays.copyOf(arcTarget, capacity);
+        arcWeight = Arrays.copyOf(arcWeight, capacity);
+        arcFirst = Arrays.copyOf(arcFirst, capacity);
+        arcSecond = Arrays.copyOf(arcSecond, capacity);
+        arcEdge = Arrays.copyOf(arcEdge, capacity);
+        unused = Arrays.copyOf(unused, capacity);
+      }
+      int a = arcCount++;
+      arcSource[a] = s;
+      arcTarget[a] = t;
+      arcWeight[a] = weight;
+      arcFirst[a] = first;
+      arcSecond[a] = second;
+      arcEdge[a] = edge;
+      out[s].add(a);
+      in[t].add(a);
+      return a;
+    }
+
+    /** Removes the arcs to contracted vertices and the unused arcs from a list. */
+    private IntList live(IntList arcs, int[] opposite) {
+      int size = 0;
+      for (int i = 0; i < arcs.size; i++) {
+        int a = arcs.values[i];
+        if (state[opposite[a]] == REMAINING && !unused[a]) {
+          arcs.values[size++] = a;
+        }
+      }
+      arcs.size = size;
+      return arcs;
+    }
+
+    /** The workspace of the witness searches of a thread. */
+    private class Witness {
+      private final double[] distance = new double[n];
+      private final int[] hops = new int[n];
+      private final int[] stamp = new int[n];
+      private int currentStamp;
+      private final VertexQueue queue = new VertexQueue();
+
+      // the shortest arc from each in-neighbor and to each out-neighbor of the contracted vertex
+      private final IntList sources = new IntList();
+      private final IntList targets = new IntList();
+      private final int[] sourceArc = new int[n];
+      private final int[] targetArc = new int[n];
+      private final int[] sourceStamp = new int[n];
+      private final int[] targetStamp = new int[n];
+      private int neighborStamp;
+
+      // the out-neighbors for which the current search looks for a witness
+      private final int[] pendingStamp = new int[n];
+      private int pendingMark;
+
+      void collectNeighbors(int x) {
+        neighborStamp = nextStamp(neighborStamp, sourceStamp, targetStamp);
+        sources.size = 0;
+        targets.size = 0;
+        for (int i = 0; i < in[x].size; i++) {
+          int a = in[x].values[i];
+          int u = arcSource[a];
+          if (state[u] != REMAINING || unused[a]) {
+            continue;
+          }
+          if (sourceStamp[u] != neighborStamp) {
+            sourceStamp[u] = neighborStamp;
+            sourceArc[u] = a;
+            sources.add(u);
+          } else if (arcWeight[a] < arcWeight[sourceArc[u]]) {
+            sourceArc[u] = a;
+          }
+        }
+        for (int i = 0; i < out[x].size; i++) {
+          int b = out[x].values[i];
+          int w = arcTarget[b];
+          if (state[w] != REMAINING || unused[b]) {
+            continue;
+          }
+          if (targetStamp[w] != neighborStamp) {
+            targetStamp[w] = neighborStamp;
+            targetArc[w] = b;
+            targets.add(w);
+          } else if (arcWeight[b] < arcWeight[targetArc[w]]) {
+            targetArc[w] = b;
+          }
+        }
+      }
+
+      /**
+       * Runs a Dijkstra search from a vertex among the remaining vertices except one, up to a
+       * distance limit or until the scanned arcs exceed the search limit. Paths with more arcs
+       * than the hop limit are not considered. The search stops early once all pending
+       * out-neighbors of the contracted vertex are settled.
+       */
+      void search(int source, int avoid, double limit, int searchLimit, int hopLimit, int pending) {
+        currentStamp = nextStamp(currentStamp, stamp, null);
+        stamp[source] = currentStamp;
+        distance[source] = 0d;
+        hops[source] = 0;
+        queue.clear();
+        queue.add(source, 0d);
+        int scanned = 0;
+        int unsettled = pending;
+        while (!queue.isEmpty() && queue.minKey() <= limit) {
+          double d = queue.minKey();
+          int v = queue.removeMin();
+          if (d > distance[v]) {
+            continue;
+          }
+          if (pendingStamp[v] == pendingMark && --unsettled == 0) {
+            break;
+          }
+          if (hops[v] == hopLimit) {
+            continue;
+          }
+          scanned += out[v].size;
+          if (scanned > searchLimit) {
+            break;
+          }
+          for (int i = 0; i < out[v].size; i++) {
+            int a = out[v].values[i];
+            int t = arcTarget[a];
+            if (t == avoid || state[t] != REMAINING || unused[a]) {
+              continue;
+            }
+            double nd = d + arcWeight[a];
+            if (nd > limit) {
+              continue;
+            }
+            if (stamp[t] != currentStamp || nd < distance[t]) {
+              stamp[t] = currentStamp;
+              distance[t] = nd;
+              hops[t] = hops[v] + 1;
+              queue.add(t, nd);
+            }
+          }
+        }
+      }
+
+      double distance(int v) {
+        return stamp[v] == currentStamp ? distance[v] : Double.POSITIVE_INFINITY;
+      }
+
+      private int nextStamp(int current, int[] stamps, int[] moreStamps) {
+        if (current == Integer.MAX_VALUE) {
+          Arrays.fill(stamps, 0);
+          if (moreStamps != null) {
+            Arrays.fill(moreStamps, 0);
+          }
+          return 1;
+        }
+        return current + 1;
+      }
+    }
+  }
+
+  /**
+   * An open addressing hash table with linear probing from pairs of vertices to the arc between
+   * them, which replaces the scan of all arcs leaving a vertex when adding a shortcut.
+   */
+  private static final class ArcIndex {
+    private long[] keys;
+    // the arc plus one, zero for empty slots
+    private int[] arcs;
+    private int size;
+    private int mask;
+
+    ArcIndex(int expectedSize) {
+      allocate(Math.max(16, Integer.highestOneBit(Math.max(1, expectedSize)) << 2));
+    }
+
+    /** Returns the arc between two vertices, or -1 if there is none. */
+    int get(int s, int t) {
+      long key = key(s, t);
+      for (int slot = slotOf(key); arcs[slot] != 0; slot = (slot + 1) & mask) {
+        if (keys[slot] == key) {
+          return arcs[slot] - 1;
+        }
+      }
+      return -1;
+    }
+
+    /** Sets the arc between two vertices. */
+    void put(int s, int t, int arc) {
+      long key = key(s, t);
+      int slot = slotOf(key);
+      while (arcs[slot] != 0) {
+        if (keys[slot] == key) {
+          arcs[slot] = arc + 1;
+          return;
+        }
+        slot = (slot + 1) & mask;
+      }
+      keys[slot] = key;
+      arcs[slot] = arc + 1;
+      if (++size > (arcs.length >>> 1)) {
+        long[] oldKeys = keys;
+        int[] oldArcs = arcs;
+        allocate(arcs.length << 1);
+        for (int i = 0; i < oldArcs.length; i++) {
+          if (oldArcs[i] != 0) {
+            int j = slotOf(oldKeys[i]);
+            while (arcs[j] != 0) {
+              j = (j + 1) & mask;
+            }
+            keys[j] = oldKeys[i];
+            arcs[j] = oldArcs[i];
+          }
+        }
+      }
+    }
+
+    private void allocate(int capacity) {
+      keys = new long[capacity];
+      arcs = new int[capacity];
+      mask = capacity - 1;
+    }
+
+    private static long key(int s, int t) {
+      return ((long) s << 32) | (t & 0xFFFFFFFFL);
+    }
+
+    private int slotOf(long key) {
+      return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+  }
+}
+
+// End ContractionHierarchyPrecomputation.java
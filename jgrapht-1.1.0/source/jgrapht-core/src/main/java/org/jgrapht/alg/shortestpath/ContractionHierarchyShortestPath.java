@@ -0,0 +1,284 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.*;
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+/**
+ * Point-to-point shortest paths using a {@link ContractionHierarchy}.
+ *
+ * <p>A query runs a Dijkstra search from the source which follows only upward arcs, and one from
+ * the sink which follows only downward arcs backwards. Both searches alternate and each stops once
+ * its smallest tentative distance reaches the length of the best path found so far, which is the
+ * smallest sum of the distances of a vertex reached by both. A vertex is not expanded when one of
+ * its arcs from a higher vertex shows that its distance is not shortest (stall-on-demand). The
+ * searches settle only a few hundred vertices even on large road networks. The shortcuts of the
+ * resulting path are then replaced by the edges they stand for.
+ *
+ * <p>The per-query state is kept in a workspace which is owned by the calling thread and reused by
+ * later queries of the same instance. Queries may be executed concurrently from several threads.
+ * The hierarchy must have been computed for the graph, and the graph must not be modified.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ * @see ContractionHierarchyPrecomputation
+ * @since October 2017
+ */
+public class ContractionHierarchyShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
+  private final ContractionHierarchy<V, E> hierarchy;
+  private final ThreadLocal<Workspace> workspace;
+
+  /**
+   * Constructs a new instance of the algorithm for a given graph, computing its contraction
+   * hierarchy on the common pool.
+   *
+   * @param graph the graph
+   * @throws IllegalArgumentException if the graph has an edge with a negative weight
+   */
+  public ContractionHierarchyShortestPath(Graph<V, E> graph) {
+    this(graph, new ContractionHierarchyPrecomputation<>(graph).computeContractionHierarchy());
+  }
+
+  /**
+   * Constructs a new instance of the algorithm for a given graph and its contraction hierarchy.
+   *
+   * @param graph the graph
+   * @param hierarchy the contraction hierarchy of the graph
+   */
+  public ContractionHierarchyShortestPath(Graph<V, E> graph, ContractionHierarchy<V, E> hierarchy) {
+    super(graph);
+    this.hierarchy = Objects.requireNonNull(hierarchy, "Hierarchy is null");
+    this.workspace = ThreadLocal.withInitial(() -> new Workspace(hierarchy));
+  }
+
+  /**
+   * Returns the contraction hierarchy used by the queries.
+   *
+   * @return the contraction hierarchy
+   */
+  public ContractionHierarchy<V, E> getHierarchy() {
+    return hierarchy;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public GraphPath<V, E> getPath(V source, V sink) {
+    int s = indexOf(source, GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+    int t = indexOf(sink, GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+    if (s == t) {
+      return createEmptyPath(source, sink);
+    }
+
+    Workspace ws = workspace.get();
+    int meeting = search(ws, s, t);
+    if (meeting < 0) {
+      return null;
+    }
+
+    IntList upward = new IntList();
+    for (int v = meeting; v != s; v = ws.forward.parent[v]) {
+      upward.add(ws.forward.parentArc[v]);
+    }
+    List<E> edgeList = new ArrayList<>();
+    for (int i = upward.size - 1; i >= 0; i--) {
+      hierarchy.unpack(upward.values[i], edgeList);
+    }
+    for (int v = meeting; v != t; v = ws.backward.parent[v]) {
+      hierarchy.unpack(ws.backward.parentArc[v], edgeList);
+    }
+    return new GraphWalk<>(graph, source, sink, null, edgeList, ws.best);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getPathWeight(V source, V sink) {
+    int s = indexOf(source, GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+    int t = indexOf(sink, GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+    if (s == t) {
+      return 0d;
+    }
+    Workspace ws = workspace.get();
+    search(ws, s, t);
+    return ws.best;
+  }
+
+  private int indexOf(V v, String message) {
+    int i = graph.containsVertex(v) ? hierarchy.indexOf(v) : -1;
+    if (i < 0) {
+      throw new IllegalArgumentException(message);
+    }
+    return i;
+  }
+
+  /**
+   * Runs the upward searches from both endpoints.
+   *
+   * @return the vertex where a shortest path changes from upward to downward arcs, or -1 if the
+   *     sink is not reachable
+   */
+  private int search(Workspace ws, int s, int t) {
+    ws.start();
+    int stamp = ws.stamp;
+    ws.forward.reach(s, 0d, -1, -1, stamp);
+    ws.backward.reach(t, 0d, -1, -1, stamp);
+
+    int meeting = -1;
+    while (true) {
+      double forwardKey = ws.forward.queue.minKey();
+      double backwardKey = ws.backward.queue.minKey();
+      Side side;
+      Side other;
+      if (forwardKey < ws.best && (forwardKey <= backwardKey || backwardKey >= ws.best)) {
+        side = ws.forward;
+        other = ws.backward;
+      } else if (backwardKey < ws.best) {
+        side = ws.backward;
+        other = ws.forward;
+      } else {
+        break;
+      }
+
+      double d = side.queue.minKey();
+      int v = side.queue.removeMin();
+      if (d > side.distance[v]) {
+        continue;
+      }
+      if (other.stamp[v] == stamp && d + other.distance[v] < ws.best) {
+        ws.best = d + other.distance[v];
+        meeting = v;
+      }
+      if (!side.isStalled(v, d, stamp)) {
+        side.relax(v, d, stamp);
+      }
+    }
+    ws.forward.queue.clear();
+    ws.backward.queue.clear();
+    return meeting;
+  }
+
+  /** The state of the queries of a thread. */
+  private static class Workspace {
+    private final Side forward;
+    private final Side backward;
+    private int stamp;
+    private double best;
+
+    Workspace(ContractionHierarchy<?, ?> h) {
+      forward =
+          new Side(
+              h.upStart, h.upTarget, h.upWeight, h.upArc, h.downStart, h.downSource, h.downWeight);
+      backward =
+          new Side(
+              h.downStart,
+              h.downSource,
+              h.downWeight,
+              h.downArc,
+              h.upStart,
+              h.upTarget,
+              h.upWeight);
+    }
+
+    void start() {
+      if (stamp == Integer.MAX_VALUE) {
+        Arrays.fill(forward.stamp, 0);
+        Arrays.fill(backward.stamp, 0);
+        stamp = 0;
+      }
+      stamp++;
+      best = Double.POSITIVE_INFINITY;
+    }
+  }
+
+  /**
+   * The search of one direction, which follows the upward arcs forward or the downward arcs
+   * backward. The arcs of the other kind are used for stalling.
+   */
+  private static class Side {
+    private final int[] start;
+    private final int[] opposite;
+    private final double[] weight;
+    private final int[] arcs;
+    private final int[] stallStart;
+    private final int[] stallOpposite;
+    private final double[] stallWeight;
+
+    private final int[] stamp;
+    private final double[] distance;
+    private final int[] parent;
+    private final int[] parentArc;
+    private final VertexQueue queue = new VertexQueue();
+
+    Side(
+        int[] start,
+        int[] opposite,
+        double[] weight,
+        int[] arcs,
+        int[] stallStart,
+        int[] stallOpposite,
+        double[] stallWeight) {
+      this.start = start;
+      this.opposite = opposite;
+      this.weight = weight;
+      this.arcs = arcs;
+      this.stallStart = stallStart;
+      this.stallOpposite = stallOpposite;
+      this.stallWeight = stallWeight;
+      int n = start.length - 1;
+      this.stamp = new int[n];
+      this.distance = new double[n];
+      this.parent = new int[n];
+      this.parentArc = new int[n];
+    }
+
+    void reach(int v, double d, int p, int arc, int currentStamp) {
+      stamp[v] = currentStamp;
+      distance[v] = d;
+      parent[v] = p;
+      parentArc[v] = arc;
+      queue.add(v, d);
+    }
+
+    /**
+     * Checks whether a vertex is reached by a shorter path through a higher vertex, in which case
+     * its distance is not shortest and it need not be expanded.
+     */
+    boolean isStalled(int v, double d, int currentStamp) {
+      for (int k = stallStart[v]; k < stallStart[v + 1]; k++) {
+        int u = stallOpposite[k];
+        if (stamp[u] == currentStamp && distance[u] + stallWeight[k] < d) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    void relax(int v, double d, int currentStamp) {
+      for (int k = start[v]; k < start[v + 1]; k++) {
+        int u = opposite[k];
+        double nd = d + weight[k];
+        if (stamp[u] != currentStamp || nd < distance[u]) {
+          reach(u, nd, v, arcs[k], currentStamp);
+        }
+      }
+    }
+  }
+}
+
+// End ContractionHierarchyShortestPath.java
@@ -0,0 +1,421 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+/**
+ * A parallel implementation of the delta-stepping single-source shortest path algorithm for graphs
+ * with non-negative edge weights. See U. Meyer and P. Sanders, Δ-stepping: a parallelizable
+ * shortest path algorithm, Journal of Algorithms 49(1), 2003.
+ *
+ * <p>Tentative distances are kept in buckets of width delta. Edges of weight at most delta are
+ * light, the others are heavy. The smallest non-empty bucket is processed in rounds: the light
+ * edges of all its vertices are relaxed in parallel, and the vertices whose distance falls into the
+ * same bucket form the next round. Once the bucket stays empty, the heavy edges of all vertices
+ * removed from it are relaxed in parallel, which can only fill later buckets. A small delta
+ * approaches Dijkstra's algorithm, a large one approaches the Bellman-Ford algorithm. By default
+ * delta is the largest edge weight divided by the largest out-degree.
+ *
+ * <p>The graph is copied once at construction into compressed arrays of vertex indices, with the
+ * light edges of each vertex stored before its heavy edges, so the algorithm must be recreated if
+ * the graph or its edge weights change. Each round is split into chunks which are processed by a
+ * {@link ForkJoinPool}, and distances are lowered by compare-and-set. Once all distances are final,
+ * a shortest path tree is built by a parallel breadth-first search over the edges whose weight
+ * equals the difference of the distances of their endpoints. The distances computed are
+ * deterministic, while the predecessor chosen for a vertex reached by several shortest paths
+ * depends on the scheduling of the chunks.
+ *
+ * <p>Every query computes the shortest paths to all vertices, hence {@link #getPath(Object,
+ * Object)} is no faster than {@link #getPaths(Object)}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ * @since October 2017
+ */
+public class DeltaSteppingShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
+  /** Number of vertices processed by a single task. */
+  private static final int GRAIN = 256;
+
+  private static final long INFINITY_BITS = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+
+  private final ForkJoinPool pool;
+  private final double delta;
+
+  private final Map<V, Integer> index;
+  private final Object[] vertices;
+  private final int[] outStart;
+  private final int[] lightEnd;
+  private final int[] outTarget;
+  private final double[] outWeight;
+  private final Object[] outEdge;
+
+  /**
+   * Constructs a new instance of the algorithm for a given graph, with the default delta and
+   * running on the common pool.
+   *
+   * @param graph the graph
+   * @throws IllegalArgumentException if the graph has an edge with a negative weight
+   */
+  public DeltaSteppingShortestPath(Graph<V, E> graph) {
+    this(graph, defaultDelta(graph), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a new instance of the algorithm for a given graph, running on the common pool.
+   *
+   * @param graph the graph
+   * @param delta the width of the buckets
+   * @throws IllegalArgumentException if delta is not positive or if the graph has an edge with a
+   *     negative weight
+   */
+  public DeltaSteppingShortestPath(Graph<V, E> graph, double delta) {
+    this(graph, delta, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a new instance of the algorithm for a given graph.
+   *
+   * @param graph the graph
+   * @param delta the width of the buckets
+   * @param pool the pool which runs the tasks of the search
+   * @throws IllegalArgumentException if delta is not positive or if the graph has an edge with a
+   *     negative weight
+   */
+  public DeltaSteppingShortestPath(Graph<V, E> graph, double delta, ForkJoinPool pool) {
+    super(graph);
+    if (!(delta > 0d)) {
+      throw new IllegalArgumentException("Delta must be positive");
+    }
+    this.delta = delta;
+    this.pool = Objects.requireNonNull(pool, "Pool is null");
+
+    int n = graph.vertexSet().size();
+    this.index = new HashMap<>(Math.max(16, 4 * n / 3 + 1));
+    this.vertices = new Object[n];
+    int i = 0;
+    for (V v : graph.vertexSet()) {
+      index.put(v, i);
+      vertices[i++] = v;
+    }
+
+    this.outStart = new int[n + 1];
+    int m = 0;
+    for (i = 0; i < n; i++) {
+      outStart[i] = m;
+      m += graph.outgoingEdgesOf(vertex(i)).size();
+    }
+    outStart[n] = m;
+
+    this.lightEnd = new int[n];
+    this.outTarget = new int[m];
+    this.outWeight = new double[m];
+    this.outEdge = new Object[m];
+    for (i = 0; i < n; i++) {
+      V v = vertex(i);
+      int light = outStart[i];
+      int heavy = outStart[i + 1];
+      for (E e : graph.outgoingEdgesOf(v)) {
+        // adding zero turns a weight of -0.0 into 0.0, whose bits order like the other distances
+        double w = graph.getEdgeWeight(e) + 0d;
+        if (!(w >= 0d)) {
+          throw new IllegalArgumentException("Negative edge weight not allowed");
+        }
+        int k = w <= delta ? light++ : --heavy;
+        outTarget[k] = index.get(Graphs.getOppositeVertex(graph, e, v));
+        outWeight[k] = w;
+        outEdge[k] = e;
+      }
+      lightEnd[i] = light;
+    }
+  }
+
+  /**
+   * Returns the default width of the buckets for a graph, which is the largest edge weight divided
+   * by the largest out-degree, or one if that is zero or infinite.
+   *
+   * @param graph the graph
+   * @param <V> the graph vertex type
+   * @param <E> the graph edge type
+   * @return the default width of the buckets
+   */
+  public static <V, E> double defaultDelta(Graph<V, E> graph) {
+    int maxDegree = 1;
+    double maxWeight = 0d;
+    for (V v : graph.vertexSet()) {
+      Set<E> edges = graph.outgoingEdgesOf(v);
+      maxDegree = Math.max(maxDegree, edges.size());
+      for (E e : edges) {
+        maxWeight = Math.max(maxWeight, graph.getEdgeWeight(e));
+      }
+    }
+    double delta = maxWeight / maxDegree;
+    return delta > 0d && delta < Double.POSITIVE_INFINITY ? delta : 1d;
+  }
+
+  /**
+   * Returns the width of the buckets.
+   *
+   * @return the width of the buckets
+   */
+  public double getDelta() {
+    return delta;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public GraphPath<V, E> getPath(V source, V sink) {
+    if (!graph.containsVertex(sink)) {
+      throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+    }
+    return getPaths(source).getPath(sink);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public SingleSourcePaths<V, E> getPaths(V source) {
+    Integer s = index.get(source);
+    if (s == null) {
+      throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+    }
+    Search search = new Search();
+    search.run(s);
+
+    Map<V, Pair<Double, E>> distanceAndPredecessorMap = new HashMap<>();
+    for (int v = 0; v < vertices.length; v++) {
+      if (search.distance[v] < Double.POSITIVE_INFINITY) {
+        distanceAndPredecessorMap.put(
+            vertex(v), Pair.of(search.distance[v], edge(search.parentEdge[v])));
+      }
+    }
+    return new TreeSingleSourcePathsImpl<>(graph, source, distanceAndPredecessorMap);
+  }
+
+  private V vertex(int i) {
+    return TypeUtil.uncheckedCast(vertices[i], null);
+  }
+
+  private E edge(Object e) {
+    return TypeUtil.uncheckedCast(e, null);
+  }
+
+  /** The state of a single search. */
+  private class Search {
+    private final int n = vertices.length;
+    // the bits of non-negative doubles order like the doubles themselves
+    private final AtomicLongArray tentative = new AtomicLongArray(n);
+    // the last round and the last bucket which a vertex was added to
+    private final int[] round = new int[n];
+    private final int[] bucket = new int[n];
+    private double[] distance;
+    private Object[] parentEdge;
+
+    private void run(int s) {
+      for (int v = 0; v < n; v++) {
+        tentative.set(v, INFINITY_BITS);
+      }
+      tentative.set(s, 0L);
+
+      TreeMap<Long, IntList> buckets = new TreeMap<>();
+      buckets.put(0L, new IntList(s));
+      int rounds = 0;
+      int processed = 0;
+      while (!buckets.isEmpty()) {
+        Map.Entry<Long, IntList> first = buckets.pollFirstEntry();
+        long b = first.getKey();
+        processed++;
+        rounds++;
+
+        IntList frontier = new IntList();
+        IntList entries = first.getValue();
+        for (int i = 0; i < entries.size; i++) {
+          int v = entries.values[i];
+          if (round[v] != rounds && bucketOf(v) == b) {
+            round[v] = rounds;
+            frontier.add(v);
+          }
+        }
+
+        IntList removed = new IntList();
+        while (frontier.size > 0) {
+          for (int i = 0; i < frontier.size; i++) {
+            int v = frontier.values[i];
+            if (bucket[v] != processed) {
+              bucket[v] = processed;
+              removed.add(v);
+            }
+          }
+          int[][] lowered = relax(frontier, true);
+          rounds++;
+          frontier = new IntList();
+          for (int[] l : lowered) {
+            for (int i = 1; i <= l[0]; i++) {
+              int v = l[i];
+              long c = bucketOf(v);
+              if (c != b) {
+                buckets.computeIfAbsent(c, k -> new IntList()).add(v);
+              } else if (round[v] != rounds) {
+                round[v] = rounds;
+                frontier.add(v);
+              }
+            }
+          }
+        }
+
+        for (int[] l : relax(removed, false)) {
+          for (int i = 1; i <= l[0]; i++) {
+            buckets.computeIfAbsent(bucketOf(l[i]), k -> new IntList()).add(l[i]);
+          }
+        }
+      }
+
+      distance = new double[n];
+      for (int v = 0; v < n; v++) {
+        distance[v] = Double.longBitsToDouble(tentative.get(v));
+      }
+      buildTree(s);
+    }
+
+    private long bucketOf(int v) {
+      return (long) (Double.longBitsToDouble(tentative.get(v)) / delta);
+    }
+
+    /**
+     * Relaxes the light or the heavy edges of some vertices. Returns for each chunk the vertices
+     * whose distance it lowered, preceded by their number. A vertex may be reported more than once.
+     */
+    private int[][] relax(IntList list, boolean light) {
+      int chunks = (list.size + GRAIN - 1) / GRAIN;
+      int[][] lowered = new int[chunks][];
+      ForkJoinChunks.forEach(
+          pool,
+          chunks,
+          chunk -> {
+            int[] buffer = new int[16];
+            int size = 0;
+            for (int i = chunk * GRAIN, end = Math.min(list.size, i + GRAIN); i < end; i++) {
+              int v = list.values[i];
+              double d = Double.longBitsToDouble(tentative.get(v));
+              int from = light ? outStart[v] : lightEnd[v];
+              int to = light ? lightEnd[v] : outStart[v + 1];
+              for (int k = from; k < to; k++) {
+                int u = outTarget[k];
+                if (lower(u, d + outWeight[k])) {
+                  if (++size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+                  }
+                  buffer[size] = u;
+                }
+              }
+            }
+            buffer[0] = size;
+            lowered[chunk] = buffer;
+          });
+      return lowered;
+    }
+
+    private boolean lower(int u, double d) {
+      long bits = Double.doubleToLongBits(d);
+      while (true) {
+        long current = tentative.get(u);
+        if (bits >= current) {
+          return false;
+        }
+        if (tentative.compareAndSet(u, current, bits)) {
+          return true;
+        }
+      }
+    }
+
+    /**
+     * Builds a shortest path tree by a breadth-first search over the tight edges, whose weight is
+     * the difference of the distances of their endpoints. Unlike predecessors recorded during the
+     * relaxations, which may race with each other, the tree cannot contain cycles of zero weight
+     * edges.
+     */
+    private void buildTree(int s) {
+      parentEdge = new Object[n];
+      AtomicLongArray visited = new AtomicLongArray((n + 63) >>> 6);
+      visited.set(s >>> 6, 1L << s);
+      int[] frontier = new int[] {s};
+      while (frontier.length > 0) {
+        int[] current = frontier;
+        int chunks = (current.length + GRAIN - 1) / GRAIN;
+        int[][] found = new int[chunks][];
+        ForkJoinChunks.forEach(
+            pool,
+            chunks,
+            chunk -> {
+              int[] buffer = new int[16];
+              int size = 0;
+              for (int i = chunk * GRAIN, end = Math.min(current.length, i + GRAIN);
+                  i < end;
+                  i++) {
+                int v = current[i];
+                for (int k = outStart[v]; k < outStart[v + 1]; k++) {
+                  int u = outTarget[k];
+                  if (distance[u] < Double.POSITIVE_INFINITY
+                      && distance[v] + outWeight[k] == distance[u]
+                      && claim(visited, u)) {
+                    parentEdge[u] = outEdge[k];
+                    if (++size == buffer.length) {
+                      buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+                    }
+                    buffer[size] = u;
+                  }
+                }
+              }
+              buffer[0] = size;
+              found[chunk] = buffer;
+            });
+        int size = 0;
+        for (int[] f : found) {
+          size += f[0];
+        }
+        frontier = new int[size];
+        int k = 0;
+        for (int[] f : found) {
+          System.arraycopy(f, 1, frontier, k, f[0]);
+          k += f[0];
+        }
+      }
+    }
+
+    private boolean claim(AtomicLongArray visited, int u) {
+      int w = u >>> 6;
+      long bit = 1L << u;
+      while (true) {
+        long word = visited.get(w);
+        if ((word & bit) != 0) {
+          return false;
+        }
+        if (visited.compareAndSet(w, word, word | bit)) {
+          return true;
+        }
+      }
+    }
+  }
+}
+
+// End DeltaSteppingShortestPath.java
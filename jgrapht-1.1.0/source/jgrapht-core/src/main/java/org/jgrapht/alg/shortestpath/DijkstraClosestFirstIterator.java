@@ -18,6 +18,7 @@
 package org.jgrapht.alg.shortestpath;
 
 import java.util.*;
+import java.util.function.*;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
 import org.jgrapht.alg.util.*;
@@ -37,6 +38,9 @@ import org.jgrapht.util.*;
  * implementation is must faster since it does not support graph traversal listeners nor
  * disconnected components.
  *
+ * <p>The priority queue of the iterator is an {@link AddressableHeap} created by a supplier, by
+ * default a {@link FibonacciHeap}.
+ *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  * @author John V. Sichi
@@ -46,8 +50,8 @@ class DijkstraClosestFirstIterator<V, E> implements Iterator<V> {
   private final Graph<V, E> graph;
   private final V source;
   private final double radius;
-  private final FibonacciHeap<QueueEntry> heap;
-  private final Map<V, FibonacciHeapNode<QueueEntry>> seen;
+  private final AddressableHeap<V> heap;
+  private final Map<V, QueueEntry> seen;
 
   /**
    * Creates a new iterator for the specified graph. Iteration will start at the specified start
@@ -71,13 +75,27 @@ class DijkstraClosestFirstIterator<V, E> implements Iterator<V> {
    * @param radius limit on weighted path length, or Double.POSITIVE_INFINITY for unbounded search
    */
   public DijkstraClosestFirstIterator(Graph<V, E> graph, V source, double radius) {
+    this(graph, source, radius, FibonacciHeap::new);
+  }
+
+  /**
+   * Creates a new radius-bounded iterator for the specified graph which uses a heap created by a
+   * supplier.
+   *
+   * @param graph the graph
+   * @param source the source vertex
+   * @param radius limit on weighted path length, or Double.POSITIVE_INFINITY for unbounded search
+   * @param heapSupplier supplier of the heap used as the priority queue of the search
+   */
+  public DijkstraClosestFirstIterator(
+      Graph<V, E> graph, V source, double radius, Supplier<AddressableHeap<V>> heapSupplier) {
     this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
     this.source = Objects.requireNonNull(source, "Sourve vertex cannot be null");
     if (radius < 0.0) {
       throw new IllegalArgumentException("Radius must be non-negative");
     }
     this.radius = radius;
-    this.heap = new FibonacciHeap<>();
+    this.heap = Objects.requireNonNull(heapSupplier.get(), "Heap cannot be null");
     this.seen = new HashMap<>();
 
     // initialize with source vertex
@@ -90,8 +108,7 @@ class DijkstraClosestFirstIterator<V, E> implements Iterator<V> {
     if (heap.isEmpty()) {
       return false;
     }
-    FibonacciHeapNode<QueueEntry> vNode = heap.min();
-    double vDistance = vNode.getKey();
+    double vDistance = heap.min().getKey();
     if (radius < vDistance) {
       heap.clear();
       return false;
@@ -107,8 +124,8 @@ class DijkstraClosestFirstIterator<V, E> implements Iterator<V> {
     }
 
     // settle next node
-    FibonacciHeapNode<QueueEntry> vNode = heap.removeMin();
-    V v = vNode.getData().v;
+    AddressableHeap.Handle<V> vNode = heap.removeMin();
+    V v = vNode.getData();
     double vDistance = vNode.getKey();
 
     // relax edges
@@ -152,39 +169,37 @@ class DijkstraClosestFirstIterator<V, E> implements Iterator<V> {
   public Map<V, Pair<Double, E>> getDistanceAndPredecessorMap() {
     Map<V, Pair<Double, E>> distanceAndPredecessorMap = new HashMap<>();
 
-    for (FibonacciHeapNode<QueueEntry> vNode : seen.values()) {
-      double vDistance = vNode.getKey();
+    for (QueueEntry entry : seen.values()) {
+      double vDistance = entry.node.getKey();
       if (radius < vDistance) {
         continue;
       }
-      V v = vNode.getData().v;
-      distanceAndPredecessorMap.put(v, Pair.of(vDistance, vNode.getData().e));
+      V v = entry.node.getData();
+      distanceAndPredecessorMap.put(v, Pair.of(vDistance, entry.e));
     }
 
     return distanceAndPredecessorMap;
   }
 
   private void updateDistance(V v, E e, double distance) {
-    FibonacciHeapNode<QueueEntry> node = seen.get(v);
-    if (node == null) {
-      node = new FibonacciHeapNode<>(new QueueEntry(e, v));
-      heap.insert(node, distance);
-      seen.put(v, node);
+    QueueEntry entry = seen.get(v);
+    if (entry == null) {
+      seen.put(v, new QueueEntry(e, heap.insert(distance, v)));
     } else {
-      if (distance < node.getKey()) {
-        heap.decreaseKey(node, distance);
-        node.getData().e = e;
+      if (distance < entry.node.getKey()) {
+        heap.decreaseKey(entry.node, distance);
+        entry.e = e;
       }
     }
   }
 
   class QueueEntry {
     E e;
-    V v;
+    final AddressableHeap.Handle<V> node;
 
-    public QueueEntry(E e, V v) {
+    public QueueEntry(E e, AddressableHeap.Handle<V> node) {
       this.e = e;
-      this.v = v;
+      this.node = node;
     }
   }
 }
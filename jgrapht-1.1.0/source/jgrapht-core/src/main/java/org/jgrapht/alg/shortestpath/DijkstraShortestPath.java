@@ -17,18 +17,34 @@
  */
 package org.jgrapht.alg.shortestpath;
 
+import java.util.*;
+import java.util.function.*;
 import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 /**
  * An implementation of <a href="http://mathworld.wolfram.com/DijkstrasAlgorithm.html">Dijkstra's
  * shortest path algorithm</a> using a Fibonacci heap.
  *
+ * <p>Other heaps can be plugged in through a supplier of {@link AddressableHeap}s, see {@link
+ * #DijkstraShortestPath(Graph, double, Supplier)}. Since the keys removed from the heap never
+ * decrease, the {@link RadixHeap} is applicable as well.
+ *
+ * <p>If the graph is an {@link IntGraph} the algorithm switches to a specialized implementation
+ * which keeps its state in primitive arrays indexed by vertex and uses an array-based binary heap.
+ *
+ * <p>Applications executing many point-to-point queries should use a {@link QueryContext} per
+ * thread, see {@link #createQueryContext()}. A context keeps the arrays and the heap of the search
+ * between queries and thus avoids allocating state for the visited vertices.
+ *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  * @author John V. Sichi
  */
 public final class DijkstraShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
   private final double radius;
+  private final Supplier<AddressableHeap<V>> heapSupplier;
 
   /**
    * Constructs a new instance of the algorithm for a given graph.
@@ -46,11 +62,26 @@ public final class DijkstraShortestPath<V, E> extends BaseShortestPathAlgorithm<
    * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
    */
   public DijkstraShortestPath(Graph<V, E> graph, double radius) {
+    this(graph, radius, FibonacciHeap::new);
+  }
+
+  /**
+   * Constructs a new instance of the algorithm for a given graph which uses heaps created by a
+   * supplier. The heap is not used for an {@link IntGraph} or by a {@link QueryContext}, which have
+   * their own array-based heap.
+   *
+   * @param graph the graph
+   * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
+   * @param heapSupplier supplier of the heap used as the priority queue of each search
+   */
+  public DijkstraShortestPath(
+      Graph<V, E> graph, double radius, Supplier<AddressableHeap<V>> heapSupplier) {
     super(graph);
     if (radius < 0.0) {
       throw new IllegalArgumentException("Radius must be non-negative");
     }
     this.radius = radius;
+    this.heapSupplier = Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null");
   }
 
   /** {@inheritDoc} */
@@ -66,8 +97,16 @@ public final class DijkstraShortestPath<V, E> extends BaseShortestPathAlgorithm<
       return createEmptyPath(source, sink);
     }
 
+    if (graph instanceof IntGraph) {
+      IntDijkstraSearch search = new IntDijkstraSearch((IntGraph) graph, radius);
+      int s = (Integer) source;
+      int t = (Integer) sink;
+      search.run(s, t);
+      return TypeUtil.uncheckedCast(search.getPath(s, t), null);
+    }
+
     DijkstraClosestFirstIterator<V, E> it =
-        new DijkstraClosestFirstIterator<>(graph, source, radius);
+        new DijkstraClosestFirstIterator<>(graph, source, radius, heapSupplier);
 
     while (it.hasNext()) {
       V vertex = it.next();
@@ -92,8 +131,15 @@ public final class DijkstraShortestPath<V, E> extends BaseShortestPathAlgorithm<
       throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
     }
 
+    if (graph instanceof IntGraph) {
+      IntDijkstraSearch search = new IntDijkstraSearch((IntGraph) graph, radius);
+      int s = (Integer) source;
+      search.run(s, -1);
+      return TypeUtil.uncheckedCast(search.getPaths(s), null);
+    }
+
     DijkstraClosestFirstIterator<V, E> it =
-        new DijkstraClosestFirstIterator<>(graph, source, radius);
+        new DijkstraClosestFirstIterator<>(graph, source, radius, heapSupplier);
 
     while (it.hasNext()) {
       it.next();
@@ -102,6 +148,21 @@ public final class DijkstraShortestPath<V, E> extends BaseShortestPathAlgorithm<
     return it.getPaths();
   }
 
+  /**
+   * Create a context for the execution of repeated queries. A context must be used by a single
+   * thread at a time.
+   *
+   * <p>If the graph is an {@link IntGraph} the context searches the graph directly. Otherwise it
+   * takes an indexed snapshot of the graph, which costs time linear in the size of the graph, and
+   * queries do not observe later modifications of the graph. A new context must be created after
+   * the graph has been modified.
+   *
+   * @return a new query context
+   */
+  public QueryContext createQueryContext() {
+    return new QueryContext();
+  }
+
   /**
    * Find a path between two vertices. For a more advanced search (e.g. limited by radius), use the
    * constructor instead.
@@ -116,4 +177,181 @@ public final class DijkstraShortestPath<V, E> extends BaseShortestPathAlgorithm<
   public static <V, E> GraphPath<V, E> findPathBetween(Graph<V, E> graph, V source, V sink) {
     return new DijkstraShortestPath<>(graph).getPath(source, sink);
   }
+
+  /**
+   * Reusable state for repeated shortest path queries. The distances and predecessors of the
+   * vertices are kept in arrays indexed by vertex and are invalidated in constant time when a new
+   * query starts, so that a query only allocates the returned path.
+   *
+   * @see DijkstraShortestPath#createQueryContext()
+   */
+  public final class QueryContext {
+    private final IntDijkstraSearch intSearch;
+    private final GraphDijkstraSearch<V, E> graphSearch;
+
+    private QueryContext() {
+      if (graph instanceof IntGraph) {
+        this.intSearch = new IntDijkstraSearch((IntGraph) graph, radius);
+        this.graphSearch = null;
+      } else {
+        this.intSearch = null;
+        this.graphSearch = new GraphDijkstraSearch<>(graph, radius);
+      }
+    }
+
+    /**
+     * Get a shortest path from a source vertex to a sink vertex.
+     *
+     * @param source the source vertex
+     * @param sink the target vertex
+     * @return a shortest path or null if no path exists
+     */
+    public GraphPath<V, E> getPath(V source, V sink) {
+      if (source.equals(sink)) {
+        checkVertex(source, GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        return createEmptyPath(source, sink);
+      }
+      if (intSearch != null) {
+        int s = runIntSearch(source, sink);
+        return TypeUtil.uncheckedCast(intSearch.getPath(s, (Integer) sink), null);
+      }
+
+      int s = graphSearch.indexOf(source, GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+      int t = graphSearch.indexOf(sink, GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+      graphSearch.run(s, t);
+      if (!graphSearch.isReached(t)) {
+        return null;
+      }
+      int[] edges = graphSearch.getPathEdges(s, t);
+      List<E> edgeList = new ArrayList<>(edges.length);
+      for (int e : edges) {
+        edgeList.add(graphSearch.getEdge(e));
+      }
+      return new GraphWalk<>(graph, source, sink, null, edgeList, graphSearch.getDistance(t));
+    }
+
+    /**
+     * Get the weight of a shortest path from a source vertex to a sink vertex. No path is
+     * constructed.
+     *
+     * @param source the source vertex
+     * @param sink the target vertex
+     * @return the weight of a shortest path or Double.POSITIVE_INFINITY if no path exists
+     */
+    public double getPathWeight(V source, V sink) {
+      if (source.equals(sink)) {
+        checkVertex(source, GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        return 0d;
+      }
+      if (intSearch != null) {
+        runIntSearch(source, sink);
+        return intSearch.getDistance((Integer) sink);
+      }
+
+      int s = graphSearch.indexOf(source, GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+      int t = graphSearch.indexOf(sink, GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+      graphSearch.run(s, t);
+      return graphSearch.getDistance(t);
+    }
+
+    private int runIntSearch(V source, V sink) {
+      checkVertex(source, GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+      checkVertex(sink, GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+      int s = (Integer) source;
+      intSearch.ensureCapacity(((IntGraph) graph).getVertexCapacity());
+      intSearch.run(s, (Integer) sink);
+      return s;
+    }
+
+    private void checkVertex(V v, String message) {
+      boolean contained =
+          graphSearch == null ? graph.containsVertex(v) : graphSearch.containsVertex(v);
+      if (!contained) {
+        throw new IllegalArgumentException(message);
+      }
+    }
+  }
+
+  /**
+   * Dijkstra's algorithm over an indexed snapshot of a graph. The outgoing edges of all vertices
+   * are stored consecutively, and an edge of the search is the position of an outgoing edge.
+   */
+  private static class GraphDijkstraSearch<V, E> extends IndexedDijkstraSearch {
+    private final Map<V, Integer> index;
+    private final int[] outStart;
+    private final int[] outSource;
+    private final int[] outTarget;
+    private final double[] outWeight;
+    private final Object[] outEdge;
+
+    GraphDijkstraSearch(Graph<V, E> graph, double radius) {
+      super(graph.vertexSet().size(), radius);
+      int n = graph.vertexSet().size();
+      this.index = new HashMap<>(2 * n);
+      for (V v : graph.vertexSet()) {
+        index.put(v, index.size());
+      }
+
+      int m = 0;
+      for (V v : graph.vertexSet()) {
+        m += graph.outgoingEdgesOf(v).size();
+      }
+      this.outStart = new int[n + 1];
+      this.outSource = new int[m];
+      this.outTarget = new int[m];
+      this.outWeight = new double[m];
+      this.outEdge = new Object[m];
+
+      int pos = 0;
+      int i = 0;
+      for (V v : graph.vertexSet()) {
+        outStart[i] = pos;
+        for (E e : graph.outgoingEdgesOf(v)) {
+          outSource[pos] = i;
+          outTarget[pos] = index.get(Graphs.getOppositeVertex(graph, e, v));
+          outWeight[pos] = graph.getEdgeWeight(e);
+          outEdge[pos] = e;
+          pos++;
+        }
+        i++;
+      }
+      outStart[n] = pos;
+    }
+
+    @Override
+    int getOutgoingEdgeCount(int v) {
+      return outStart[v + 1] - outStart[v];
+    }
+
+    @Override
+    int getOutgoingEdge(int v, int i) {
+      return outStart[v] + i;
+    }
+
+    @Override
+    double getEdgeWeight(int e) {
+      return outWeight[e];
+    }
+
+    @Override
+    int getOppositeVertex(int e, int v) {
+      return outSource[e] == v ? outTarget[e] : outSource[e];
+    }
+
+    boolean containsVertex(V v) {
+      return index.containsKey(v);
+    }
+
+    int indexOf(V v, String message) {
+      Integer i = index.get(v);
+      if (i == null) {
+        throw new IllegalArgumentException(message);
+      }
+      return i;
+    }
+
+    E getEdge(int e) {
+      return TypeUtil.uncheckedCast(outEdge[e], null);
+    }
+  }
 }
@@ -0,0 +1,68 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/** Runs numbered chunks of work on a {@link ForkJoinPool}. */
+final class ForkJoinChunks {
+  private ForkJoinChunks() {}
+
+  /**
+   * Runs a task for each chunk, in parallel if there is more than one.
+   *
+   * @param pool the pool
+   * @param chunks the number of chunks
+   * @param body the work performed for a chunk, given its number
+   */
+  static void forEach(ForkJoinPool pool, int chunks, IntConsumer body) {
+    if (chunks == 1) {
+      body.accept(0);
+    } else if (chunks > 1) {
+      pool.invoke(new ChunkAction(body, 0, chunks));
+    }
+  }
+
+  /** Runs the chunks of a range, splitting it in halves. */
+  private static class ChunkAction extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final IntConsumer body;
+    private final int from;
+    private final int to;
+
+    ChunkAction(IntConsumer body, int from, int to) {
+      this.body = body;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        body.accept(from);
+      } else {
+        int mid = (from + to) >>> 1;
+        invokeAll(new ChunkAction(body, from, mid), new ChunkAction(body, mid, to));
+      }
+    }
+  }
+}
+
+// End ForkJoinChunks.java
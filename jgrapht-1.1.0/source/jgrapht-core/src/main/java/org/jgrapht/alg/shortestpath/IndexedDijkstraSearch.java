@@ -0,0 +1,269 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.*;
+
+/**
+ * Dijkstra's algorithm over vertices and edges identified by non-negative integers. All state is
+ * kept in primitive arrays indexed by vertex and the priority queue is an indexed binary heap over
+ * vertices, so that the search performs no allocation per visited vertex or scanned edge.
+ *
+ * <p>A search can be run repeatedly. The entries of the arrays are only valid if the stamp of the
+ * vertex equals the stamp of the current run, hence starting a new run takes constant time instead
+ * of time linear in the number of vertices touched by the previous one.
+ *
+ * <p>Subclasses provide the adjacency structure.
+ */
+abstract class IndexedDijkstraSearch {
+  private static final int SETTLED = -1;
+
+  private final double radius;
+
+  private double[] distance;
+  private int[] predecessor;
+  private int[] heapIndex;
+  private int[] heap;
+  private int[] stamp;
+  private int currentStamp;
+  private int heapSize;
+
+  /**
+   * Create a new search.
+   *
+   * @param capacity an exclusive upper bound on the vertices
+   * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
+   */
+  IndexedDijkstraSearch(int capacity, double radius) {
+    this.radius = radius;
+    this.distance = new double[capacity];
+    this.predecessor = new int[capacity];
+    this.heapIndex = new int[capacity];
+    this.heap = new int[capacity];
+    this.stamp = new int[capacity];
+  }
+
+  /**
+   * Get the number of outgoing edges of a vertex.
+   *
+   * @param v the vertex
+   * @return the number of outgoing edges
+   */
+  abstract int getOutgoingEdgeCount(int v);
+
+  /**
+   * Get an outgoing edge of a vertex by position.
+   *
+   * @param v the vertex
+   * @param i the position
+   * @return the edge
+   */
+  abstract int getOutgoingEdge(int v, int i);
+
+  /**
+   * Get the weight of an edge.
+   *
+   * @param e the edge
+   * @return the edge weight
+   */
+  abstract double getEdgeWeight(int e);
+
+  /**
+   * Get the vertex opposite to a vertex on an edge.
+   *
+   * @param e the edge
+   * @param v one endpoint of the edge
+   * @return the other endpoint of the edge
+   */
+  abstract int getOppositeVertex(int e, int v);
+
+  /**
+   * Grow the arrays of the search so that they can hold the specified number of vertices.
+   *
+   * @param capacity an exclusive upper bound on the vertices
+   */
+  final void ensureCapacity(int capacity) {
+    if (capacity > stamp.length) {
+      distance = Arrays.copyOf(distance, capacity);
+      predecessor = Arrays.copyOf(predecessor, capacity);
+      heapIndex = Arrays.copyOf(heapIndex, capacity);
+      heap = Arrays.copyOf(heap, capacity);
+      stamp = Arrays.copyOf(stamp, capacity);
+    }
+  }
+
+  /**
+   * Run the search from a source vertex until the sink vertex is settled. The results of the
+   * previous run are discarded.
+   *
+   * @param source the source vertex
+   * @param sink the sink vertex or a negative value in order to compute all shortest paths
+   */
+  final void run(int source, int sink) {
+    if (++currentStamp == 0) {
+      Arrays.fill(stamp, 0);
+      currentStamp = 1;
+    }
+    heapSize = 0;
+
+    stamp[source] = currentStamp;
+    distance[source] = 0d;
+    predecessor[source] = -1;
+    push(source);
+
+    while (heapSize > 0) {
+      int v = heap[0];
+      double vDistance = distance[v];
+      if (radius < vDistance) {
+        return;
+      }
+      pop();
+      heapIndex[v] = SETTLED;
+      if (v == sink) {
+        return;
+      }
+
+      for (int i = 0, count = getOutgoingEdgeCount(v); i < count; i++) {
+        int e = getOutgoingEdge(v, i);
+        double eWeight = getEdgeWeight(e);
+        if (eWeight < 0.0) {
+          throw new IllegalArgumentException("Negative edge weight not allowed");
+        }
+        int u = getOppositeVertex(e, v);
+        double uDistance = vDistance + eWeight;
+        if (stamp[u] != currentStamp) {
+          stamp[u] = currentStamp;
+          distance[u] = uDistance;
+          predecessor[u] = e;
+          push(u);
+        } else if (heapIndex[u] != SETTLED && uDistance < distance[u]) {
+          distance[u] = uDistance;
+          predecessor[u] = e;
+          siftUp(heapIndex[u]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns <code>true</code> if the last run found a shortest path to a vertex within the radius.
+   *
+   * @param v the vertex
+   * @return <code>true</code> if a shortest path to the vertex is known
+   */
+  final boolean isReached(int v) {
+    return stamp[v] == currentStamp && distance[v] <= radius;
+  }
+
+  /**
+   * Get the distance of a vertex computed by the last run.
+   *
+   * @param v the vertex
+   * @return the distance, or Double.POSITIVE_INFINITY if the vertex was not reached
+   */
+  final double getDistance(int v) {
+    return isReached(v) ? distance[v] : Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Get the last edge of the shortest path to a reached vertex.
+   *
+   * @param v the vertex
+   * @return the edge, or a negative value for the source vertex
+   */
+  final int getPredecessor(int v) {
+    return predecessor[v];
+  }
+
+  /**
+   * Get the edges of the shortest path to a reached vertex.
+   *
+   * @param source the source vertex of the last run
+   * @param sink the reached vertex
+   * @return the edges of the path, in order
+   */
+  final int[] getPathEdges(int source, int sink) {
+    int length = 0;
+    for (int cur = sink; cur != source; length++) {
+      cur = getOppositeVertex(predecessor[cur], cur);
+    }
+    int[] edges = new int[length];
+    for (int cur = sink; cur != source; ) {
+      int e = predecessor[cur];
+      edges[--length] = e;
+      cur = getOppositeVertex(e, cur);
+    }
+    return edges;
+  }
+
+  private void push(int v) {
+    heap[heapSize] = v;
+    heapIndex[v] = heapSize;
+    siftUp(heapSize++);
+  }
+
+  private void pop() {
+    int last = heap[--heapSize];
+    if (heapSize > 0) {
+      heap[0] = last;
+      heapIndex[last] = 0;
+      siftDown(0);
+    }
+  }
+
+  private void siftUp(int i) {
+    int v = heap[i];
+    double key = distance[v];
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      int p = heap[parent];
+      if (distance[p] <= key) {
+        break;
+      }
+      heap[i] = p;
+      heapIndex[p] = i;
+      i = parent;
+    }
+    heap[i] = v;
+    heapIndex[v] = i;
+  }
+
+  private void siftDown(int i) {
+    int v = heap[i];
+    double key = distance[v];
+    int half = heapSize >>> 1;
+    while (i < half) {
+      int child = 2 * i + 1;
+      int right = child + 1;
+      if (right < heapSize && distance[heap[right]] < distance[heap[child]]) {
+        child = right;
+      }
+      int c = heap[child];
+      if (key <= distance[c]) {
+        break;
+      }
+      heap[i] = c;
+      heapIndex[c] = i;
+      i = child;
+    }
+    heap[i] = v;
+    heapIndex[v] = i;
+  }
+}
+
+// End IndexedDijkstraSearch.java
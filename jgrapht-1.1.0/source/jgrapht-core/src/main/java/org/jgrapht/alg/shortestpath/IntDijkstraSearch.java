@@ -0,0 +1,101 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+
+/**
+ * Dijkstra's algorithm specialized for {@link IntGraph}. Vertices and edges of the graph are used
+ * directly as indices of the search.
+ */
+class IntDijkstraSearch extends IndexedDijkstraSearch {
+  private final IntGraph graph;
+
+  /**
+   * Create a new search.
+   *
+   * @param graph the graph
+   * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
+   */
+  IntDijkstraSearch(IntGraph graph, double radius) {
+    super(graph.getVertexCapacity(), radius);
+    this.graph = graph;
+  }
+
+  @Override
+  int getOutgoingEdgeCount(int v) {
+    return graph.getOutgoingEdgeCount(v);
+  }
+
+  @Override
+  int getOutgoingEdge(int v, int i) {
+    return graph.getOutgoingEdge(v, i);
+  }
+
+  @Override
+  double getEdgeWeight(int e) {
+    return graph.getEdgeWeight(e);
+  }
+
+  @Override
+  int getOppositeVertex(int e, int v) {
+    return graph.getOppositeVertex(e, v);
+  }
+
+  /**
+   * Get the shortest path to a vertex after the search has been run.
+   *
+   * @param source the source vertex
+   * @param sink the sink vertex
+   * @return the path or null if the sink was not reached
+   */
+  GraphPath<Integer, Integer> getPath(int source, int sink) {
+    if (!isReached(sink)) {
+      return null;
+    }
+    int[] edges = getPathEdges(source, sink);
+    List<Integer> edgeList = new ArrayList<>(edges.length);
+    for (int e : edges) {
+      edgeList.add(e);
+    }
+    return new GraphWalk<>(graph, source, sink, null, edgeList, getDistance(sink));
+  }
+
+  /**
+   * Get the shortest paths tree after the search has been run.
+   *
+   * @param source the source vertex
+   * @return the shortest paths
+   */
+  SingleSourcePaths<Integer, Integer> getPaths(int source) {
+    Map<Integer, Pair<Double, Integer>> distanceAndPredecessorMap = new HashMap<>();
+    for (int v = 0, n = graph.getVertexCapacity(); v < n; v++) {
+      if (isReached(v)) {
+        int e = getPredecessor(v);
+        distanceAndPredecessorMap.put(v, Pair.of(getDistance(v), e < 0 ? null : e));
+      }
+    }
+    return new TreeSingleSourcePathsImpl<>(graph, source, distanceAndPredecessorMap);
+  }
+}
+
+// End IntDijkstraSearch.java
@@ -0,0 +1,44 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.*;
+
+/** A growable list of vertex or arc indices, whose elements are accessed directly. */
+final class IntList {
+  int[] values;
+  int size;
+
+  IntList() {
+    values = new int[8];
+  }
+
+  IntList(int v) {
+    values = new int[] {v};
+    size = 1;
+  }
+
+  void add(int v) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, 2 * size);
+    }
+    values[size++] = v;
+  }
+}
+
+// End IntList.java
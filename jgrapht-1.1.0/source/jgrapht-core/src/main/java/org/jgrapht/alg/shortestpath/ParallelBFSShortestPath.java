@@ -0,0 +1,466 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+/**
+ * A parallel, direction-optimizing breadth-first search computing hop distances. Edge weights are
+ * ignored, every edge counts as one hop and path weights are numbers of edges.
+ *
+ * <p>The search expands the frontier level by level. While the frontier is small, it works
+ * top-down: the edges leaving the frontier are scanned and unvisited targets are claimed. Once the
+ * edges leaving the frontier outnumber a fraction of the edges of the unvisited vertices, it
+ * switches to bottom-up: every unvisited vertex scans its incoming edges until it finds a parent in
+ * the frontier, which for the large middle levels of small-world graphs inspects far fewer edges.
+ * It switches back to top-down once the frontier becomes small again. See S. Beamer, K. Asanović
+ * and D. Patterson, Direction-optimizing breadth-first search, SC 2012.
+ *
+ * <p>The graph is copied once at construction into compressed arrays of vertex indices, so the
+ * algorithm must be recreated if the graph changes. Each level is split into chunks which are
+ * processed by a {@link ForkJoinPool}; visited vertices and the frontier of bottom-up levels are
+ * kept in bitmaps. The distances computed are deterministic, while the parent chosen for a vertex
+ * with several parents in the previous level depends on the scheduling of the chunks.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ParallelBFSShortestPath<V, E> extends BaseShortestPathAlgorithm<V, E> {
+  /** Switch to bottom-up when the frontier edges exceed the unexplored edges divided by this. */
+  private static final int ALPHA = 14;
+  /** Switch back to top-down when the frontier is smaller than the vertices divided by this. */
+  private static final int BETA = 24;
+  /** Number of frontier vertices, or vertices in bottom-up levels, processed by a single task. */
+  private static final int GRAIN = 1024;
+
+  private final ForkJoinPool pool;
+
+  private final Map<V, Integer> index;
+  private final Object[] vertices;
+  private final int[] outStart;
+  private final int[] outTarget;
+  private final Object[] outEdge;
+  private final int[] inStart;
+  private final int[] inSource;
+  private final Object[] inEdge;
+
+  /**
+   * Constructs a new instance of the algorithm for a given graph, running on the common pool.
+   *
+   * @param graph the graph
+   */
+  public ParallelBFSShortestPath(Graph<V, E> graph) {
+    this(graph, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a new instance of the algorithm for a given graph.
+   *
+   * @param graph the graph
+   * @param pool the pool which runs the tasks of the search
+   */
+  public ParallelBFSShortestPath(Graph<V, E> graph, ForkJoinPool pool) {
+    super(graph);
+    this.pool = Objects.requireNonNull(pool, "Pool is null");
+
+    int n = graph.vertexSet().size();
+    this.index = new HashMap<>(Math.max(16, 4 * n / 3 + 1));
+    this.vertices = new Object[n];
+    int i = 0;
+    for (V v : graph.vertexSet()) {
+      index.put(v, i);
+      vertices[i++] = v;
+    }
+
+    this.outStart = new int[n + 1];
+    int m = 0;
+    for (i = 0; i < n; i++) {
+      outStart[i] = m;
+      m += graph.outgoingEdgesOf(vertex(i)).size();
+    }
+    outStart[n] = m;
+    this.outTarget = new int[m];
+    this.outEdge = new Object[m];
+    fill(false, outStart, outTarget, outEdge);
+
+    if (graph.getType().isDirected()) {
+      this.inStart = new int[n + 1];
+      m = 0;
+      for (i = 0; i < n; i++) {
+        inStart[i] = m;
+        m += graph.incomingEdgesOf(vertex(i)).size();
+      }
+      inStart[n] = m;
+      this.inSource = new int[m];
+      this.inEdge = new Object[m];
+      fill(true, inStart, inSource, inEdge);
+    } else {
+      this.inStart = outStart;
+      this.inSource = outTarget;
+      this.inEdge = outEdge;
+    }
+  }
+
+  /**
+   * Runs a breadth-first search from a source vertex.
+   *
+   * @param source the source vertex
+   * @return the hop distance and parent of every vertex
+   */
+  public Search search(V source) {
+    Integer s = index.get(source);
+    if (s == null) {
+      throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+    }
+    Search search = new Search();
+    search.run(s);
+    return search;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public GraphPath<V, E> getPath(V source, V sink) {
+    if (!graph.containsVertex(sink)) {
+      throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+    }
+    return search(source).getPath(sink);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public SingleSourcePaths<V, E> getPaths(V source) {
+    Search search = search(source);
+    Map<V, Pair<Double, E>> distanceAndPredecessorMap = new HashMap<>();
+    for (int v = 0; v < vertices.length; v++) {
+      if (search.distance[v] >= 0) {
+        distanceAndPredecessorMap.put(
+            vertex(v), Pair.of((double) search.distance[v], edge(search.parentEdge[v])));
+      }
+    }
+    return new TreeSingleSourcePathsImpl<>(graph, source, distanceAndPredecessorMap);
+  }
+
+  private void fill(boolean incoming, int[] start, int[] opposite, Object[] edges) {
+    for (int i = 0; i < vertices.length; i++) {
+      V v = vertex(i);
+      int k = start[i];
+      for (E e : incoming ? graph.incomingEdgesOf(v) : graph.outgoingEdgesOf(v)) {
+        opposite[k] = index.get(Graphs.getOppositeVertex(graph, e, v));
+        edges[k++] = e;
+      }
+    }
+  }
+
+  private V vertex(int i) {
+    return TypeUtil.uncheckedCast(vertices[i], null);
+  }
+
+  private E edge(Object e) {
+    return TypeUtil.uncheckedCast(e, null);
+  }
+
+  /**
+   * The result of a breadth-first search from a source vertex. Vertices are identified either by
+   * themselves or by their index, which is their position in the vertex set of the graph at the
+   * time the algorithm was constructed.
+   */
+  public class Search {
+    private final int n = vertices.length;
+    private final int[] distance = new int[n];
+    private final int[] parent = new int[n];
+    private final Object[] parentEdge = new Object[n];
+    private final AtomicLongArray visited = new AtomicLongArray((n + 63) >>> 6);
+    private int source;
+
+    private Search() {
+      Arrays.fill(distance, -1);
+      Arrays.fill(parent, -1);
+    }
+
+    /**
+     * Returns the source vertex of the search.
+     *
+     * @return the source vertex
+     */
+    public V getSource() {
+      return vertex(source);
+    }
+
+    /**
+     * Returns the number of hops from the source to a vertex.
+     *
+     * @param v the vertex
+     * @return the hop distance, or -1 if the vertex is not reachable from the source
+     */
+    public int getDistance(V v) {
+      return distance[indexOf(v)];
+    }
+
+    /**
+     * Returns the parent of a vertex in the breadth-first search tree.
+     *
+     * @param v the vertex
+     * @return the parent, or null if the vertex is the source or is not reachable
+     */
+    public V getParent(V v) {
+      int p = parent[indexOf(v)];
+      return p < 0 ? null : vertex(p);
+    }
+
+    /**
+     * Returns the edge connecting a vertex to its parent in the breadth-first search tree.
+     *
+     * @param v the vertex
+     * @return the edge, or null if the vertex is the source or is not reachable
+     */
+    public E getSpanningTreeEdge(V v) {
+      return edge(parentEdge[indexOf(v)]);
+    }
+
+    /**
+     * Returns a shortest path from the source to a vertex.
+     *
+     * @param sink the vertex
+     * @return the path, or null if the vertex is not reachable
+     */
+    public GraphPath<V, E> getPath(V sink) {
+      int v = indexOf(sink);
+      if (distance[v] < 0) {
+        return null;
+      }
+      LinkedList<E> edgeList = new LinkedList<>();
+      while (parent[v] >= 0) {
+        edgeList.addFirst(edge(parentEdge[v]));
+        v = parent[v];
+      }
+      return new GraphWalk<>(graph, getSource(), sink, null, edgeList, edgeList.size());
+    }
+
+    /**
+     * Returns the hop distances indexed by vertex index, -1 for vertices not reachable. The
+     * returned array is owned by this result and must not be modified.
+     *
+     * @return the hop distances
+     */
+    public int[] getDistances() {
+      return distance;
+    }
+
+    /**
+     * Returns the index of the parent of each vertex indexed by vertex index, -1 for the source and
+     * for vertices not reachable. The returned array is owned by this result and must not be
+     * modified.
+     *
+     * @return the parent indices
+     */
+    public int[] getParents() {
+      return parent;
+    }
+
+    /**
+     * Returns the index of a vertex.
+     *
+     * @param v the vertex
+     * @return the index of the vertex
+     * @throws IllegalArgumentException if the vertex was not in the graph
+     */
+    public int indexOf(V v) {
+      Integer i = index.get(v);
+      if (i == null) {
+        throw new IllegalArgumentException("no such vertex in graph: " + v);
+      }
+      return i;
+    }
+
+    /**
+     * Returns the vertex with a given index.
+     *
+     * @param i the index
+     * @return the vertex
+     */
+    public V getVertex(int i) {
+      return vertex(i);
+    }
+
+    private void run(int s) {
+      source = s;
+      distance[s] = 0;
+      visited.set(s >>> 6, 1L << s);
+
+      int[] frontier = new int[] {s};
+      int frontierSize = 1;
+      long frontierEdges = outStart[s + 1] - outStart[s];
+      long unexploredEdges = inStart[n] - (inStart[s + 1] - inStart[s]);
+      long[] frontierBits = null;
+
+      for (int level = 0; frontierSize > 0; level++) {
+        boolean bottomUp =
+            frontierBits == null
+                ? frontierEdges > unexploredEdges / ALPHA
+                : frontierSize >= n / BETA;
+
+        if (bottomUp) {
+          if (frontierBits == null) {
+            frontierBits = new long[(n + 63) >>> 6];
+            for (int i = 0; i < frontierSize; i++) {
+              frontierBits[frontier[i] >>> 6] |= 1L << frontier[i];
+            }
+          }
+          long[] next = new long[frontierBits.length];
+          long[] counts = bottomUp(level, frontierBits, next);
+          frontierBits = next;
+          frontierSize = (int) counts[0];
+          unexploredEdges -= counts[1];
+          frontier = null;
+        } else {
+          if (frontier == null) {
+            frontier = toList(frontierBits, frontierSize);
+            frontierBits = null;
+          }
+          int[][] found = topDown(level, frontier, frontierSize);
+          frontierSize = 0;
+          for (int[] f : found) {
+            frontierSize += f[0];
+          }
+          int[] next = new int[frontierSize];
+          int k = 0;
+          for (int[] f : found) {
+            System.arraycopy(f, 1, next, k, f[0]);
+            k += f[0];
+          }
+          frontier = next;
+          frontierEdges = 0;
+          for (int v : next) {
+            frontierEdges += outStart[v + 1] - outStart[v];
+            unexploredEdges -= inStart[v + 1] - inStart[v];
+          }
+        }
+      }
+    }
+
+    /**
+     * Expands the frontier top-down. Returns for each chunk the vertices it claimed, preceded by
+     * their number.
+     */
+    private int[][] topDown(int level, int[] frontier, int frontierSize) {
+      int chunks = (frontierSize + GRAIN - 1) / GRAIN;
+      int[][] found = new int[chunks][];
+      ForkJoinChunks.forEach(
+          pool,
+          chunks,
+          chunk -> {
+            int[] buffer = new int[16];
+            int size = 0;
+            for (int i = chunk * GRAIN, end = Math.min(frontierSize, i + GRAIN); i < end; i++) {
+              int v = frontier[i];
+              for (int k = outStart[v]; k < outStart[v + 1]; k++) {
+                int u = outTarget[k];
+                if (claim(u)) {
+                  distance[u] = level + 1;
+                  parent[u] = v;
+                  parentEdge[u] = outEdge[k];
+                  if (++size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+                  }
+                  buffer[size] = u;
+                }
+              }
+            }
+            buffer[0] = size;
+            found[chunk] = buffer;
+          });
+      return found;
+    }
+
+    /**
+     * Expands the frontier bottom-up. Chunks are aligned to words of the bitmaps, so each word is
+     * written by a single task. Returns the size of the next frontier and the number of incoming
+     * edges of its vertices.
+     */
+    private long[] bottomUp(int level, long[] frontierBits, long[] next) {
+      int chunks = (n + GRAIN - 1) / GRAIN;
+      long[][] counts = new long[chunks][];
+      ForkJoinChunks.forEach(
+          pool,
+          chunks,
+          chunk -> {
+            long size = 0;
+            long edges = 0;
+            for (int v = chunk * GRAIN, end = Math.min(n, v + GRAIN); v < end; v++) {
+              if ((visited.get(v >>> 6) & (1L << v)) != 0) {
+                continue;
+              }
+              for (int k = inStart[v]; k < inStart[v + 1]; k++) {
+                int u = inSource[k];
+                if ((frontierBits[u >>> 6] & (1L << u)) != 0) {
+                  distance[v] = level + 1;
+                  parent[v] = u;
+                  parentEdge[v] = inEdge[k];
+                  visited.set(v >>> 6, visited.get(v >>> 6) | (1L << v));
+                  next[v >>> 6] |= 1L << v;
+                  size++;
+                  edges += inStart[v + 1] - inStart[v];
+                  break;
+                }
+              }
+            }
+            counts[chunk] = new long[] {size, edges};
+          });
+      long[] total = new long[2];
+      for (long[] c : counts) {
+        total[0] += c[0];
+        total[1] += c[1];
+      }
+      return total;
+    }
+
+    private boolean claim(int u) {
+      int w = u >>> 6;
+      long bit = 1L << u;
+      while (true) {
+        long word = visited.get(w);
+        if ((word & bit) != 0) {
+          return false;
+        }
+        if (visited.compareAndSet(w, word, word | bit)) {
+          return true;
+        }
+      }
+    }
+
+    private int[] toList(long[] bits, int size) {
+      int[] list = new int[size];
+      int k = 0;
+      for (int w = 0; w < bits.length; w++) {
+        for (long word = bits[w]; word != 0; word &= word - 1) {
+          list[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+      }
+      return list;
+    }
+  }
+}
+
+// End ParallelBFSShortestPath.java
@@ -0,0 +1,91 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.*;
+
+/**
+ * A binary min-heap of vertex indices keyed by their tentative distance. There is no decrease-key
+ * operation: a vertex whose distance decreases is added again, and callers skip the outdated
+ * entries when they are removed.
+ */
+final class VertexQueue {
+  private double[] keys = new double[16];
+  private int[] vertices = new int[16];
+  private int size;
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Returns the smallest key, or positive infinity if the queue is empty. */
+  double minKey() {
+    return size == 0 ? Double.POSITIVE_INFINITY : keys[0];
+  }
+
+  void add(int vertex, double key) {
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, 2 * size);
+      vertices = Arrays.copyOf(vertices, 2 * size);
+    }
+    int i = size++;
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (keys[parent] <= key) {
+        break;
+      }
+      keys[i] = keys[parent];
+      vertices[i] = vertices[parent];
+      i = parent;
+    }
+    keys[i] = key;
+    vertices[i] = vertex;
+  }
+
+  /** Removes an entry with the smallest key and returns its vertex. */
+  int removeMin() {
+    int min = vertices[0];
+    double key = keys[--size];
+    int vertex = vertices[size];
+    int i = 0;
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && keys[child + 1] < keys[child]) {
+        child++;
+      }
+      if (key <= keys[child]) {
+        break;
+      }
+      keys[i] = keys[child];
+      vertices[i] = vertices[child];
+      i = child;
+    }
+    keys[i] = key;
+    vertices[i] = vertex;
+    return min;
+  }
+
+  void clear() {
+    size = 0;
+  }
+}
+
+// End VertexQueue.java
@@ -21,6 +21,8 @@ import java.util.*;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 /**
  * An implementation of <a href="http://en.wikipedia.org/wiki/Kruskal's_algorithm">Kruskal's minimum
@@ -28,6 +30,9 @@ import org.jgrapht.alg.util.*;
  * tree, otherwise it computes the minimum spanning forest. The algorithm runs in time O(E log E).
  * This implementation uses the hashCode and equals method of the vertices.
  *
+ * <p>If the graph is an {@link IntGraph} the edges are sorted as primitive integers and the forest
+ * is maintained in primitive arrays, without using the hashCode and equals methods of the vertices.
+ *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  * @author Tom Conerly
@@ -48,6 +53,9 @@ public class KruskalMinimumSpanningTree<V, E> implements SpanningTreeAlgorithm<E
   /** {@inheritDoc} */
   @Override
   public SpanningTree<E> getSpanningTree() {
+    if (graph instanceof IntGraph) {
+      return TypeUtil.uncheckedCast(getIntSpanningTree((IntGraph) graph), null);
+    }
     UnionFind<V> forest = new UnionFind<>(graph.vertexSet());
     ArrayList<E> allEdges = new ArrayList<>(graph.edgeSet());
     Collections.sort(
@@ -72,6 +80,89 @@ public class KruskalMinimumSpanningTree<V, E> implements SpanningTreeAlgorithm<E
 
     return new SpanningTreeImpl<>(edgeList, spanningTreeCost);
   }
+
+  private static SpanningTree<Integer> getIntSpanningTree(IntGraph g) {
+    int[] edges = new int[g.edgeSet().size()];
+    int m = 0;
+    for (int e = 0, capacity = g.getEdgeCapacity(); e < capacity; e++) {
+      if (g.containsEdge(e)) {
+        edges[m++] = e;
+      }
+    }
+    sortByWeight(g, edges, m);
+
+    int n = g.getVertexCapacity();
+    int[] parent = new int[n];
+    int[] rank = new int[n];
+    for (int v = 0; v < n; v++) {
+      parent[v] = v;
+    }
+
+    double spanningTreeCost = 0;
+    Set<Integer> edgeList = new HashSet<>();
+
+    for (int i = 0; i < m; i++) {
+      int e = edges[i];
+      int sourceRoot = find(parent, g.getEdgeSource(e));
+      int targetRoot = find(parent, g.getEdgeTarget(e));
+      if (sourceRoot == targetRoot) {
+        continue;
+      }
+
+      if (rank[sourceRoot] < rank[targetRoot]) {
+        parent[sourceRoot] = targetRoot;
+      } else if (rank[sourceRoot] > rank[targetRoot]) {
+        parent[targetRoot] = sourceRoot;
+      } else {
+        parent[targetRoot] = sourceRoot;
+        rank[sourceRoot]++;
+      }
+      edgeList.add(e);
+      spanningTreeCost += g.getEdgeWeight(e);
+    }
+
+    return new SpanningTreeImpl<>(edgeList, spanningTreeCost);
+  }
+
+  private static int find(int[] parent, int v) {
+    while (parent[v] != v) {
+      parent[v] = parent[parent[v]];
+      v = parent[v];
+    }
+    return v;
+  }
+
+  /*
+   * In-place heapsort of the first m edges by weight.
+   */
+  private static void sortByWeight(IntGraph g, int[] edges, int m) {
+    for (int i = m / 2 - 1; i >= 0; i--) {
+      siftDown(g, edges, i, m);
+    }
+    for (int end = m - 1; end > 0; end--) {
+      int tmp = edges[0];
+      edges[0] = edges[end];
+      edges[end] = tmp;
+      siftDown(g, edges, 0, end);
+    }
+  }
+
+  private static void siftDown(IntGraph g, int[] edges, int i, int size) {
+    int e = edges[i];
+    double weight = g.getEdgeWeight(e);
+    while (2 * i + 1 < size) {
+      int child = 2 * i + 1;
+      if (child + 1 < size && g.getEdgeWeight(edges[child + 1]) > g.getEdgeWeight(edges[child])) {
+        child++;
+      }
+      if (weight >= g.getEdgeWeight(edges[child])) {
+        break;
+      }
+      edges[i] = edges[child];
+      i = child;
+    }
+    edges[i] = e;
+  }
 }
 
 // End KruskalMinimumSpanningTree.java
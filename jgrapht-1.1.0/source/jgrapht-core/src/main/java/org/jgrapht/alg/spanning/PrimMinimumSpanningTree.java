@@ -18,8 +18,10 @@
 package org.jgrapht.alg.spanning;
 
 import java.util.*;
+import java.util.function.*;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
 
 /**
  * An implementation of <a href="http://en.wikipedia.org/wiki/Prim's_algorithm">Prim's algorithm</a>
@@ -27,6 +29,11 @@ import org.jgrapht.alg.interfaces.*;
  * undirected graph. The algorithm was developed by Czech mathematician V. Jarník and later
  * independently by computer scientist Robert C. Prim and rediscovered by E. Dijkstra.
  *
+ * <p>The vertices outside of the tree are kept in an {@link AddressableHeap} keyed by the weight of
+ * the lightest edge connecting them to the tree, by default a {@link FibonacciHeap}. Other heaps
+ * can be plugged in through a heap supplier. Since these keys are not monotone, a {@link
+ * RadixHeap} cannot be used.
+ *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  * @author Alexey Kudinkin
@@ -34,6 +41,7 @@ import org.jgrapht.alg.interfaces.*;
  */
 public class PrimMinimumSpanningTree<V, E> implements SpanningTreeAlgorithm<E> {
   private final Graph<V, E> g;
+  private final Supplier<AddressableHeap<V>> heapSupplier;
 
   /**
    * Construct a new instance of the algorithm.
@@ -41,7 +49,18 @@ public class PrimMinimumSpanningTree<V, E> implements SpanningTreeAlgorithm<E> {
    * @param graph the input graph
    */
   public PrimMinimumSpanningTree(Graph<V, E> graph) {
+    this(graph, FibonacciHeap::new);
+  }
+
+  /**
+   * Construct a new instance of the algorithm which uses heaps created by a supplier.
+   *
+   * @param graph the input graph
+   * @param heapSupplier supplier of the heap of vertices outside of the tree
+   */
+  public PrimMinimumSpanningTree(Graph<V, E> graph, Supplier<AddressableHeap<V>> heapSupplier) {
     this.g = Objects.requireNonNull(graph, "Graph cannot be null");
+    this.heapSupplier = Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null");
   }
 
   /** {@inheritDoc} */
@@ -50,44 +69,45 @@ public class PrimMinimumSpanningTree<V, E> implements SpanningTreeAlgorithm<E> {
     Set<E> minimumSpanningTreeEdgeSet = new HashSet<>(g.vertexSet().size());
     double spanningTreeWeight = 0d;
 
-    Set<V> unspanned = new HashSet<>(g.vertexSet());
-
-    while (!unspanned.isEmpty()) {
-      Iterator<V> ri = unspanned.iterator();
+    Set<V> spanned = new HashSet<>(g.vertexSet().size());
 
-      V root = ri.next();
+    // heap nodes and lightest edges crossing the cut C = (S, V \ S), where S is set of
+    // already spanned vertices
+    Map<V, AddressableHeap.Handle<V>> nodes = new HashMap<>();
+    Map<V, E> lightest = new HashMap<>();
+    AddressableHeap<V> heap = heapSupplier.get();
 
-      ri.remove();
-
-      // Edges crossing the cut C = (S, V \ S), where S is set of
-      // already spanned vertices
-
-      PriorityQueue<E> dangling =
-          new PriorityQueue<>(
-              g.edgeSet().size(),
-              (lop, rop) -> Double.valueOf(g.getEdgeWeight(lop)).compareTo(g.getEdgeWeight(rop)));
+    for (V root : g.vertexSet()) {
+      if (spanned.contains(root)) {
+        continue;
+      }
 
-      dangling.addAll(g.edgesOf(root));
+      nodes.put(root, heap.insert(0d, root));
 
-      for (E next; (next = dangling.poll()) != null; ) {
-        V s, t = unspanned.contains(s = g.getEdgeSource(next)) ? s : g.getEdgeTarget(next);
+      while (!heap.isEmpty()) {
+        V t = heap.removeMin().getData();
+        spanned.add(t);
 
-        // Decayed edges aren't removed from priority-queue so that
-        // having them just ignored being encountered through min-max
-        // traversal
-        if (!unspanned.contains(t)) {
-          continue;
+        E next = lightest.get(t);
+        if (next != null) {
+          minimumSpanningTreeEdgeSet.add(next);
+          spanningTreeWeight += g.getEdgeWeight(next);
         }
 
-        minimumSpanningTreeEdgeSet.add(next);
-        spanningTreeWeight += g.getEdgeWeight(next);
-
-        unspanned.remove(t);
-
         for (E e : g.edgesOf(t)) {
-          if (unspanned.contains(
-              g.getEdgeSource(e).equals(t) ? g.getEdgeTarget(e) : g.getEdgeSource(e))) {
-            dangling.add(e);
+          V s = Graphs.getOppositeVertex(g, e, t);
+          if (spanned.contains(s)) {
+            continue;
+          }
+
+          double weight = g.getEdgeWeight(e);
+          AddressableHeap.Handle<V> node = nodes.get(s);
+          if (node == null) {
+            nodes.put(s, heap.insert(weight, s));
+            lightest.put(s, e);
+          } else if (weight < node.getKey()) {
+            heap.decreaseKey(node, weight);
+            lightest.put(s, e);
           }
         }
       }
@@ -32,17 +32,25 @@ import org.jgrapht.util.*;
  * result of the union of calling predecessorsOf(v) and successorsOf(v) is equal to the result of
  * calling neighborsOf(v) for a given vertex v.
  *
+ * <p>The entries of the cache are built on demand and, if the cache is added as a listener to the
+ * graph, updated in place when edges are added or removed. Each entry stores the distinct
+ * neighbors in an array together with their multiplicities. For undirected graphs the successors,
+ * predecessors and neighbors of a vertex coincide and share a single entry. The cache can thus be
+ * used to speed up algorithms which repeatedly compute the neighbors of the same vertices, in
+ * place of {@link Graphs#neighborListOf(Graph, Object)} and similar methods.
+ *
  * @param <V> the vertex type
  * @param <E> the edge type
  * @author Szabolcs Besenyei
  * @since November 2017
  */
 public class NeighborCache<V, E> implements GraphListener<V, E> {
-  private Map<V, Neighbors<V>> successors = new HashMap<>();
-  private Map<V, Neighbors<V>> predecessors = new HashMap<>();
+  private Map<V, Neighbors<V>> successors;
+  private Map<V, Neighbors<V>> predecessors;
   private Map<V, Neighbors<V>> neighbors = new HashMap<>();
 
   private Graph<V, E> graph;
+  private boolean shared;
 
   /**
    * Constructor
@@ -52,6 +60,14 @@ public class NeighborCache<V, E> implements GraphListener<V, E> {
    */
   public NeighborCache(Graph<V, E> graph) {
     this.graph = Objects.requireNonNull(graph);
+    if (graph.getType().isUndirected()) {
+      this.shared = true;
+      this.successors = neighbors;
+      this.predecessors = neighbors;
+    } else {
+      this.successors = new HashMap<>();
+      this.predecessors = new HashMap<>();
+    }
   }
 
   /**
@@ -98,12 +114,39 @@ public class NeighborCache<V, E> implements GraphListener<V, E> {
    * @return all neighbors of the specified vertex
    */
   public List<V> neighborListOf(V v) {
-    Neighbors<V> nbrs = neighbors.get(v);
-    if (nbrs == null) {
-      nbrs = new Neighbors<>(Graphs.neighborListOf(graph, v));
-      neighbors.put(v, nbrs);
-    }
-    return nbrs.getNeighborList();
+    return neighbors
+        .computeIfAbsent(v, k -> new Neighbors<>(Graphs.neighborListOf(graph, v)))
+        .getNeighborList();
+  }
+
+  /**
+   * Returns a list of vertices which are the successors of a specified vertex. If the graph is a
+   * multigraph, vertices may appear more than once in the returned list. The list is reconstructed
+   * on every invocation, it is thus more efficient to use {@link #successorsOf} unless duplicate
+   * successors are important.
+   *
+   * @param v the vertex whose successors are desired
+   * @return all successors of the specified vertex
+   */
+  public List<V> successorListOf(V v) {
+    return successors
+        .computeIfAbsent(v, k -> new Neighbors<>(Graphs.successorListOf(graph, v)))
+        .getNeighborList();
+  }
+
+  /**
+   * Returns a list of vertices which are the predecessors of a specified vertex. If the graph is a
+   * multigraph, vertices may appear more than once in the returned list. The list is reconstructed
+   * on every invocation, it is thus more efficient to use {@link #predecessorsOf} unless duplicate
+   * predecessors are important.
+   *
+   * @param v the vertex whose predecessors are desired
+   * @return all predecessors of the specified vertex
+   */
+  public List<V> predecessorListOf(V v) {
+    return predecessors
+        .computeIfAbsent(v, k -> new Neighbors<>(Graphs.predecessorListOf(graph, v)))
+        .getNeighborList();
   }
 
   private Set<V> fetch(V vertex, Map<V, Neighbors<V>> map, Function<V, Neighbors<V>> func) {
@@ -113,45 +156,86 @@ public class NeighborCache<V, E> implements GraphListener<V, E> {
   @Override
   public void edgeAdded(GraphEdgeChangeEvent<V, E> e) {
     E edge = e.getEdge();
-    V source = graph.getEdgeSource(edge);
-    V target = graph.getEdgeTarget(edge);
+    addEdge(graph.getEdgeSource(edge), graph.getEdgeTarget(edge));
+  }
 
-    if (successors.containsKey(source)) {
-      successors.get(source).addNeighbor(target);
-    }
+  @Override
+  public void edgeRemoved(GraphEdgeChangeEvent<V, E> e) {
+    removeEdge(e.getEdgeSource(), e.getEdgeTarget());
+  }
 
-    if (predecessors.containsKey(target)) {
-      predecessors.get(target).addNeighbor(source);
+  /**
+   * Updates the cached entries in one pass, without creating an event object per change.
+   *
+   * @see GraphListener#graphChanged(GraphBatchChangeEvent)
+   */
+  @Override
+  public void graphChanged(GraphBatchChangeEvent<V, E> e) {
+    for (E edge : e.getRemovedEdges()) {
+      removeEdge(e.getRemovedEdgeSource(edge), e.getRemovedEdgeTarget(edge));
     }
 
-    if (neighbors.containsKey(source)) {
-      neighbors.get(source).addNeighbor(target);
+    Set<V> removedVertices = e.getRemovedVertices();
+    if (!removedVertices.isEmpty()) {
+      neighbors.keySet().removeAll(removedVertices);
+      if (!shared) {
+        successors.keySet().removeAll(removedVertices);
+        predecessors.keySet().removeAll(removedVertices);
+      }
     }
 
-    if (neighbors.containsKey(target)) {
-      neighbors.get(target).addNeighbor(source);
+    for (E edge : e.getAddedEdges()) {
+      addEdge(e.getAddedEdgeSource(edge), e.getAddedEdgeTarget(edge));
     }
   }
 
-  @Override
-  public void edgeRemoved(GraphEdgeChangeEvent<V, E> e) {
-    V source = e.getEdgeSource();
-    V target = e.getEdgeTarget();
+  private void addEdge(V source, V target) {
+    if (!shared) {
+      Neighbors<V> s = successors.get(source);
+      if (s != null) {
+        s.addNeighbor(target);
+      }
 
-    if (successors.containsKey(source)) {
-      successors.get(source).removeNeighbor(target);
+      Neighbors<V> p = predecessors.get(target);
+      if (p != null) {
+        p.addNeighbor(source);
+      }
     }
 
-    if (predecessors.containsKey(target)) {
-      predecessors.get(target).removeNeighbor(source);
+    Neighbors<V> n = neighbors.get(source);
+    if (n != null) {
+      n.addNeighbor(target);
     }
 
-    if (neighbors.containsKey(source)) {
-      neighbors.get(source).removeNeighbor(target);
+    // a loop is a single neighbor of its vertex
+    n = source.equals(target) ? null : neighbors.get(target);
+    if (n != null) {
+      n.addNeighbor(source);
     }
+  }
+
+  private void removeEdge(V source, V target) {
+    if (!shared) {
+      Neighbors<V> s = successors.get(source);
+      if (s != null) {
+        s.removeNeighbor(target);
+      }
 
-    if (neighbors.containsKey(target)) {
-      neighbors.get(target).removeNeighbor(source);
+      Neighbors<V> p = predecessors.get(target);
+      if (p != null) {
+        p.removeNeighbor(source);
+      }
+    }
+
+    Neighbors<V> n = neighbors.get(source);
+    if (n != null) {
+      n.removeNeighbor(target);
+    }
+
+    // a loop is a single neighbor of its vertex
+    n = source.equals(target) ? null : neighbors.get(target);
+    if (n != null) {
+      n.removeNeighbor(source);
     }
   }
 
@@ -162,23 +246,41 @@ public class NeighborCache<V, E> implements GraphListener<V, E> {
 
   @Override
   public void vertexRemoved(GraphVertexChangeEvent<V> e) {
-    successors.remove(e.getVertex());
-    predecessors.remove(e.getVertex());
     neighbors.remove(e.getVertex());
+    if (!shared) {
+      successors.remove(e.getVertex());
+      predecessors.remove(e.getVertex());
+    }
   }
 
   /**
    * Stores cached neighbors for a single vertex. Includes support for live neighbor sets and
    * duplicate neighbors.
+   *
+   * <p>The distinct neighbors are kept in an array together with an array of their multiplicities.
+   * Once a vertex has more than a few neighbors, the positions in the array are indexed by an open
+   * addressing hash table of ints. Removing a neighbor moves the last neighbor into its position,
+   * hence the order of the neighbors is not preserved by removals.
    */
   static class Neighbors<V> {
-    private Map<V, ModifiableInteger> neighborCounts = new LinkedHashMap<>();
+    private static final int INDEX_THRESHOLD = 8;
+
+    private Object[] vertices;
+    private int[] counts;
+    private int size;
+
+    // positions plus one, zero for an empty slot, null while there are few neighbors
+    private int[] index;
 
     // TODO could eventually make neighborSet modifiable, resulting
     // in edge removals from the graph
-    private Set<V> neighborSet = Collections.unmodifiableSet(neighborCounts.keySet());
+    private final Set<V> neighborSet = new NeighborSet();
 
     public Neighbors(Collection<V> neighbors) {
+      int capacity = Math.max(2, neighbors.size());
+      vertices = new Object[capacity];
+      counts = new int[capacity];
+
       // add all current neighbors
       for (V neighbor : neighbors) {
         addNeighbor(neighbor);
@@ -186,25 +288,51 @@ public class NeighborCache<V, E> implements GraphListener<V, E> {
     }
 
     public void addNeighbor(V v) {
-      ModifiableInteger count = neighborCounts.get(v);
-      if (count == null) {
-        count = new ModifiableInteger(1);
-        neighborCounts.put(v, count);
-      } else {
-        count.increment();
+      int pos = indexOf(v);
+      if (pos >= 0) {
+        counts[pos]++;
+        return;
+      }
+
+      if (size == vertices.length) {
+        int capacity = size + (size >> 1) + 1;
+        vertices = Arrays.copyOf(vertices, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+      }
+      pos = size++;
+      vertices[pos] = v;
+      counts[pos] = 1;
+
+      if (index == null ? size > INDEX_THRESHOLD : 2 * size > index.length) {
+        rebuildIndex();
+      } else if (index != null) {
+        index[freeSlot(v)] = pos + 1;
       }
     }
 
     public void removeNeighbor(V v) {
-      ModifiableInteger count = neighborCounts.get(v);
-      if (count == null) {
+      int pos = indexOf(v);
+      if (pos < 0) {
         throw new IllegalArgumentException("Attempting to remove a neighbor that wasn't present");
       }
 
-      count.decrement();
-      if (count.getValue() == 0) {
-        neighborCounts.remove(v);
+      if (--counts[pos] > 0) {
+        return;
       }
+
+      int last = --size;
+      if (index != null) {
+        deleteSlot(slotOf(v));
+      }
+      if (pos != last) {
+        vertices[pos] = vertices[last];
+        counts[pos] = counts[last];
+        if (index != null) {
+          index[slotOf(vertices[pos])] = pos + 1;
+        }
+      }
+      vertices[last] = null;
+      counts[last] = 0;
     }
 
     public Set<V> getNeighbors() {
@@ -212,11 +340,14 @@ public class NeighborCache<V, E> implements GraphListener<V, E> {
     }
 
     public List<V> getNeighborList() {
-      List<V> neighbors = new ArrayList<>();
-      for (Map.Entry<V, ModifiableInteger> entry : neighborCounts.entrySet()) {
-        V v = entry.getKey();
-        int count = entry.getValue().intValue();
-        for (int i = 0; i < count; i++) {
+      int total = 0;
+      for (int i = 0; i < size; i++) {
+        total += counts[i];
+      }
+      List<V> neighbors = new ArrayList<>(total);
+      for (int i = 0; i < size; i++) {
+        V v = TypeUtil.uncheckedCast(vertices[i], null);
+        for (int j = counts[i]; j > 0; j--) {
           neighbors.add(v);
         }
       }
@@ -227,5 +358,98 @@ public class NeighborCache<V, E> implements GraphListener<V, E> {
     public String toString() {
       return neighborSet.toString();
     }
+
+    private int indexOf(Object v) {
+      if (index == null) {
+        for (int i = 0; i < size; i++) {
+          if (vertices[i].equals(v)) {
+            return i;
+          }
+        }
+        return -1;
+      }
+      int slot = slotOf(v);
+      return slot < 0 ? -1 : index[slot] - 1;
+    }
+
+    private int home(Object v) {
+      int h = v.hashCode() * 0x9E3779B9;
+      return (h ^ (h >>> 16)) & (index.length - 1);
+    }
+
+    /** Returns the slot of the index which holds the position of a neighbor, or -1. */
+    private int slotOf(Object v) {
+      int mask = index.length - 1;
+      for (int slot = home(v); index[slot] != 0; slot = (slot + 1) & mask) {
+        if (vertices[index[slot] - 1].equals(v)) {
+          return slot;
+        }
+      }
+      return -1;
+    }
+
+    private int freeSlot(Object v) {
+      int mask = index.length - 1;
+      int slot = home(v);
+      while (index[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      return slot;
+    }
+
+    /** Clears a slot, moving back the following entries of the probe sequence. */
+    private void deleteSlot(int hole) {
+      int mask = index.length - 1;
+      index[hole] = 0;
+      for (int slot = (hole + 1) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+        // an entry can fill the hole unless its home lies cyclically between the hole and itself
+        int home = home(vertices[index[slot] - 1]);
+        if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+          index[hole] = index[slot];
+          index[slot] = 0;
+          hole = slot;
+        }
+      }
+    }
+
+    private void rebuildIndex() {
+      index = new int[Integer.highestOneBit(4 * size - 1)];
+      for (int i = 0; i < size; i++) {
+        index[freeSlot(vertices[i])] = i + 1;
+      }
+    }
+
+    /** A live unmodifiable view of the distinct neighbors. */
+    private class NeighborSet extends AbstractSet<V> {
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return o != null && indexOf(o) >= 0;
+      }
+
+      @Override
+      public Iterator<V> iterator() {
+        return new Iterator<V>() {
+          private int next;
+
+          @Override
+          public boolean hasNext() {
+            return next < size;
+          }
+
+          @Override
+          public V next() {
+            if (next >= size) {
+              throw new NoSuchElementException();
+            }
+            return TypeUtil.uncheckedCast(vertices[next++], null);
+          }
+        };
+      }
+    }
   }
 }
@@ -0,0 +1,367 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.event;
+
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * A graph listener which delivers the events it receives to another listener asynchronously.
+ *
+ * <p>Events are enqueued into a bounded ring buffer and delivered to the delegate listener by tasks
+ * submitted to an {@link Executor}, so that a slow listener does not stall the thread modifying the
+ * graph. At most one delivery task per listener is active at any time, hence the delegate receives
+ * the events one at a time and in the order in which they were fired. Different asynchronous
+ * listeners deliver their events independently of each other; any executor can be used, e.g. a
+ * shared thread pool or, on recent Java versions, a virtual thread per task executor.
+ *
+ * <p>When the buffer is full, the thread firing the event blocks until the delegate catches up.
+ * The number of events waiting for delivery, the highest number ever waiting and the number of
+ * times a producer had to wait are exposed in order to monitor this backpressure. An exception
+ * thrown by the delegate is passed to the uncaught exception handler of the delivering thread and
+ * does not stop the delivery of subsequent events. An error thrown by the delegate terminates the
+ * delivery task, and the remaining events are delivered by a new task.
+ *
+ * <p>Since events are delivered after the graph may have changed again, the delegate should rely
+ * on the contents of the events rather than query the graph. Events are copied when they are
+ * enqueued, so this listener can be registered with a {@link
+ * org.jgrapht.graph.DefaultListenableGraph} which reuses its event objects. The delegate must not
+ * fire events to this listener, e.g. by modifying the graph, when the executor runs the tasks on
+ * the calling thread, as this could block forever on a full buffer.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class AsyncGraphListener<V, E> implements GraphListener<V, E> {
+  private final GraphListener<V, E> delegate;
+  private final Executor executor;
+  private final Runnable drainTask = this::drain;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notFull = lock.newCondition();
+  private final Condition idle = lock.newCondition();
+  private final Object[] buffer;
+  private int head;
+  private int size;
+  private boolean scheduled;
+
+  private int maxQueueDepth;
+  private long blockedCount;
+  private long deliveredCount;
+
+  /**
+   * Creates a new asynchronous listener.
+   *
+   * @param delegate the listener to deliver the events to
+   * @param executor the executor running the delivery tasks
+   * @param capacity the maximum number of events waiting for delivery
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public AsyncGraphListener(GraphListener<V, E> delegate, Executor executor, int capacity) {
+    if (delegate == null || executor == null) {
+      throw new NullPointerException();
+    }
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.delegate = delegate;
+    this.executor = executor;
+    this.buffer = new Object[capacity];
+  }
+
+  /**
+   * Returns the listener the events are delivered to.
+   *
+   * @return the delegate listener
+   */
+  public GraphListener<V, E> getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Returns the maximum number of events waiting for delivery.
+   *
+   * @return the capacity of the buffer
+   */
+  public int getCapacity() {
+    return buffer.length;
+  }
+
+  /**
+   * Returns the number of events currently waiting for delivery.
+   *
+   * @return the number of events waiting for delivery
+   */
+  public int getQueueDepth() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the highest number of events which have been waiting for delivery at the same time.
+   *
+   * @return the highest queue depth observed
+   */
+  public int getMaxQueueDepth() {
+    lock.lock();
+    try {
+      return maxQueueDepth;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of times a thread firing an event had to wait because the buffer was full.
+   *
+   * @return the number of times a producer was blocked
+   */
+  public long getBlockedCount() {
+    lock.lock();
+    try {
+      return blockedCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of events which have been delivered to the delegate.
+   *
+   * @return the number of events delivered
+   */
+  public long getDeliveredCount() {
+    lock.lock();
+    try {
+      return deliveredCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits until every event received so far has been delivered to the delegate.
+   *
+   * @param timeout the maximum time to wait
+   * @param unit the time unit of the timeout
+   * @return true if all events have been delivered, false if the timeout elapsed first
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   */
+  public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    lock.lock();
+    try {
+      while (scheduled) {
+        if (nanos <= 0) {
+          return false;
+        }
+        nanos = idle.awaitNanos(nanos);
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** @see GraphListener#edgeAdded(GraphEdgeChangeEvent) */
+  @Override
+  public void edgeAdded(GraphEdgeChangeEvent<V, E> e) {
+    enqueue(copy(e));
+  }
+
+  /** @see GraphListener#edgeRemoved(GraphEdgeChangeEvent) */
+  @Override
+  public void edgeRemoved(GraphEdgeChangeEvent<V, E> e) {
+    enqueue(copy(e));
+  }
+
+  /** @see VertexSetListener#vertexAdded(GraphVertexChangeEvent) */
+  @Override
+  public void vertexAdded(GraphVertexChangeEvent<V> e) {
+    enqueue(copy(e));
+  }
+
+  /** @see VertexSetListener#vertexRemoved(GraphVertexChangeEvent) */
+  @Override
+  public void vertexRemoved(GraphVertexChangeEvent<V> e) {
+    enqueue(copy(e));
+  }
+
+  /**
+   * Enqueues the batch as a single event. Batch events are not reused by the graph and are
+   * therefore not copied.
+   *
+   * @see GraphListener#graphChanged(GraphBatchChangeEvent)
+   */
+  @Override
+  public void graphChanged(GraphBatchChangeEvent<V, E> e) {
+    enqueue(e);
+  }
+
+  private GraphEdgeChangeEvent<V, E> copy(GraphEdgeChangeEvent<V, E> e) {
+    return new GraphEdgeChangeEvent<>(
+        e.getSource(), e.getType(), e.getEdge(), e.getEdgeSource(), e.getEdgeTarget());
+  }
+
+  private GraphVertexChangeEvent<V> copy(GraphVertexChangeEvent<V> e) {
+    return new GraphVertexChangeEvent<>(e.getSource(), e.getType(), e.getVertex());
+  }
+
+  private void enqueue(GraphChangeEvent e) {
+    boolean schedule;
+    lock.lock();
+    try {
+      if (size == buffer.length) {
+        blockedCount++;
+        boolean interrupted = false;
+        while (size == buffer.length) {
+          try {
+            notFull.await();
+          } catch (InterruptedException ie) {
+            interrupted = true;
+          }
+        }
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      buffer[(head + size) % buffer.length] = e;
+      size++;
+      if (size > maxQueueDepth) {
+        maxQueueDepth = size;
+      }
+      schedule = !scheduled;
+      scheduled = true;
+    } finally {
+      lock.unlock();
+    }
+
+    if (schedule) {
+      try {
+        executor.execute(drainTask);
+      } catch (RuntimeException ex) {
+        lock.lock();
+        try {
+          scheduled = false;
+          idle.signalAll();
+        } finally {
+          lock.unlock();
+        }
+        throw ex;
+      }
+    }
+  }
+
+  private void drain() {
+    boolean idleReached = false;
+    try {
+      while (true) {
+        GraphChangeEvent e;
+        lock.lock();
+        try {
+          if (size == 0) {
+            scheduled = false;
+            idle.signalAll();
+            idleReached = true;
+            return;
+          }
+          e = (GraphChangeEvent) buffer[head];
+          buffer[head] = null;
+          head = (head + 1) % buffer.length;
+          size--;
+          notFull.signal();
+        } finally {
+          lock.unlock();
+        }
+
+        try {
+          deliver(e);
+        } catch (RuntimeException ex) {
+          Thread t = Thread.currentThread();
+          t.getUncaughtExceptionHandler().uncaughtException(t, ex);
+        }
+
+        lock.lock();
+        try {
+          deliveredCount++;
+        } finally {
+          lock.unlock();
+        }
+      }
+    } finally {
+      if (!idleReached) {
+        // an error escaped the delegate, hand the remaining events to a new task
+        reschedule();
+      }
+    }
+  }
+
+  private void reschedule() {
+    lock.lock();
+    try {
+      if (size == 0) {
+        scheduled = false;
+        idle.signalAll();
+        return;
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    try {
+      executor.execute(drainTask);
+    } catch (RuntimeException ex) {
+      lock.lock();
+      try {
+        scheduled = false;
+        idle.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void deliver(GraphChangeEvent e) {
+    switch (e.getType()) {
+      case GraphEdgeChangeEvent.EDGE_ADDED:
+        delegate.edgeAdded((GraphEdgeChangeEvent<V, E>) e);
+        break;
+      case GraphEdgeChangeEvent.EDGE_REMOVED:
+        delegate.edgeRemoved((GraphEdgeChangeEvent<V, E>) e);
+        break;
+      case GraphVertexChangeEvent.VERTEX_ADDED:
+        delegate.vertexAdded((GraphVertexChangeEvent<V>) e);
+        break;
+      case GraphVertexChangeEvent.VERTEX_REMOVED:
+        delegate.vertexRemoved((GraphVertexChangeEvent<V>) e);
+        break;
+      case GraphBatchChangeEvent.BATCH_CHANGED:
+        delegate.graphChanged((GraphBatchChangeEvent<V, E>) e);
+        break;
+      default:
+        throw new IllegalStateException("Unknown event type " + e.getType());
+    }
+  }
+}
+
+// End AsyncGraphListener.java
@@ -0,0 +1,246 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.event;
+
+import java.util.*;
+
+/**
+ * An event which indicates that a batch of changes has been applied to a graph. The event carries
+ * the net effect of the batch: the vertices and edges which were added and the vertices and edges
+ * which were removed, together with the endpoints of the edges.
+ *
+ * <p>Changes within the batch are coalesced. A vertex or an edge which is added and then removed
+ * during the same batch appears in none of the collections. A vertex or an edge which is removed
+ * and then added again appears both as removed and as added; listeners should therefore process
+ * the removals before the additions. The added edges are contained in the graph when the event is
+ * fired while the removed edges are not, which is why the endpoints of the latter are kept by the
+ * event.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ * @see GraphListener#graphChanged(GraphBatchChangeEvent)
+ */
+public class GraphBatchChangeEvent<V, E> extends GraphChangeEvent {
+  private static final long serialVersionUID = -5393860244468409283L;
+
+  /** Batch changed event. This event is fired after a batch of changes is committed to a graph. */
+  public static final int BATCH_CHANGED = 41;
+
+  private final Set<V> addedVertices;
+  private final Set<V> removedVertices;
+  private final Map<E, V> addedEdgeSources;
+  private final Map<E, V> addedEdgeTargets;
+  private final Map<E, V> removedEdgeSources;
+  private final Map<E, V> removedEdgeTargets;
+
+  /**
+   * Creates a new batch change event with the changes recorded by a builder.
+   *
+   * @param eventSource the source of this event.
+   * @param builder the builder which recorded the changes
+   */
+  GraphBatchChangeEvent(Object eventSource, Builder<V, E> builder) {
+    super(eventSource, BATCH_CHANGED);
+    this.addedVertices = builder.addedVertices;
+    this.removedVertices = builder.removedVertices;
+    this.addedEdgeSources = builder.addedEdgeSources;
+    this.addedEdgeTargets = builder.addedEdgeTargets;
+    this.removedEdgeSources = builder.removedEdgeSources;
+    this.removedEdgeTargets = builder.removedEdgeTargets;
+  }
+
+  /**
+   * Returns the vertices added by the batch.
+   *
+   * @return an unmodifiable set of the added vertices
+   */
+  public Set<V> getAddedVertices() {
+    return Collections.unmodifiableSet(addedVertices);
+  }
+
+  /**
+   * Returns the vertices removed by the batch.
+   *
+   * @return an unmodifiable set of the removed vertices
+   */
+  public Set<V> getRemovedVertices() {
+    return Collections.unmodifiableSet(removedVertices);
+  }
+
+  /**
+   * Returns the edges added by the batch.
+   *
+   * @return an unmodifiable set of the added edges
+   */
+  public Set<E> getAddedEdges() {
+    return Collections.unmodifiableSet(addedEdgeSources.keySet());
+  }
+
+  /**
+   * Returns the edges removed by the batch.
+   *
+   * @return an unmodifiable set of the removed edges
+   */
+  public Set<E> getRemovedEdges() {
+    return Collections.unmodifiableSet(removedEdgeSources.keySet());
+  }
+
+  /**
+   * Returns the source vertex of an edge added by the batch.
+   *
+   * @param e the added edge
+   * @return the source vertex of the edge
+   */
+  public V getAddedEdgeSource(E e) {
+    return addedEdgeSources.get(e);
+  }
+
+  /**
+   * Returns the target vertex of an edge added by the batch.
+   *
+   * @param e the added edge
+   * @return the target vertex of the edge
+   */
+  public V getAddedEdgeTarget(E e) {
+    return addedEdgeTargets.get(e);
+  }
+
+  /**
+   * Returns the source vertex of an edge removed by the batch.
+   *
+   * @param e the removed edge
+   * @return the source vertex of the edge
+   */
+  public V getRemovedEdgeSource(E e) {
+    return removedEdgeSources.get(e);
+  }
+
+  /**
+   * Returns the target vertex of an edge removed by the batch.
+   *
+   * @param e the removed edge
+   * @return the target vertex of the edge
+   */
+  public V getRemovedEdgeTarget(E e) {
+    return removedEdgeTargets.get(e);
+  }
+
+  /**
+   * Tests whether the batch has no net effect.
+   *
+   * @return true if the batch neither added nor removed any vertex or edge
+   */
+  public boolean isEmpty() {
+    return addedVertices.isEmpty()
+        && removedVertices.isEmpty()
+        && addedEdgeSources.isEmpty()
+        && removedEdgeSources.isEmpty();
+  }
+
+  /**
+   * Records the changes of a batch and coalesces them into a {@link GraphBatchChangeEvent}.
+   *
+   * @param <V> the graph vertex type
+   * @param <E> the graph edge type
+   */
+  public static class Builder<V, E> {
+    private Set<V> addedVertices = new LinkedHashSet<>();
+    private Set<V> removedVertices = new LinkedHashSet<>();
+    private Map<E, V> addedEdgeSources = new LinkedHashMap<>();
+    private Map<E, V> addedEdgeTargets = new HashMap<>();
+    private Map<E, V> removedEdgeSources = new LinkedHashMap<>();
+    private Map<E, V> removedEdgeTargets = new HashMap<>();
+
+    /**
+     * Record that a vertex has been added.
+     *
+     * @param v the vertex
+     * @return this builder
+     */
+    public Builder<V, E> vertexAdded(V v) {
+      addedVertices.add(v);
+      return this;
+    }
+
+    /**
+     * Record that a vertex has been removed. This cancels an addition of the vertex within the
+     * batch.
+     *
+     * @param v the vertex
+     * @return this builder
+     */
+    public Builder<V, E> vertexRemoved(V v) {
+      if (!addedVertices.remove(v)) {
+        removedVertices.add(v);
+      }
+      return this;
+    }
+
+    /**
+     * Record that an edge has been added.
+     *
+     * @param e the edge
+     * @param source the source vertex of the edge
+     * @param target the target vertex of the edge
+     * @return this builder
+     */
+    public Builder<V, E> edgeAdded(E e, V source, V target) {
+      addedEdgeSources.put(e, source);
+      addedEdgeTargets.put(e, target);
+      return this;
+    }
+
+    /**
+     * Record that an edge has been removed. This cancels an addition of the edge within the batch.
+     *
+     * @param e the edge
+     * @param source the source vertex of the edge
+     * @param target the target vertex of the edge
+     * @return this builder
+     */
+    public Builder<V, E> edgeRemoved(E e, V source, V target) {
+      if (addedEdgeSources.containsKey(e)) {
+        addedEdgeSources.remove(e);
+        addedEdgeTargets.remove(e);
+      } else {
+        removedEdgeSources.put(e, source);
+        removedEdgeTargets.put(e, target);
+      }
+      return this;
+    }
+
+    /**
+     * Creates an event with the changes recorded so far and clears this builder.
+     *
+     * @param eventSource the source of the event
+     * @return the batch change event
+     */
+    public GraphBatchChangeEvent<V, E> build(Object eventSource) {
+      GraphBatchChangeEvent<V, E> e = new GraphBatchChangeEvent<>(eventSource, this);
+      addedVertices = new LinkedHashSet<>();
+      removedVertices = new LinkedHashSet<>();
+      addedEdgeSources = new LinkedHashMap<>();
+      addedEdgeTargets = new HashMap<>();
+      removedEdgeSources = new LinkedHashMap<>();
+      removedEdgeTargets = new HashMap<>();
+      return e;
+    }
+  }
+}
+
+// End GraphBatchChangeEvent.java
@@ -43,6 +43,44 @@ public interface GraphListener<V, E> extends VertexSetListener<V> {
    * @param e the edge event.
    */
   void edgeRemoved(GraphEdgeChangeEvent<V, E> e);
+
+  /**
+   * Notifies that a batch of changes has been applied to the graph.
+   *
+   * <p>The default implementation replays the batch as individual events, first the removed edges,
+   * then the removed vertices, the added vertices and finally the added edges. Note that the graph
+   * already reflects the whole batch when the individual events are delivered. Listeners which can
+   * process a batch in one pass should override this method.
+   *
+   * @param e the batch event.
+   */
+  default void graphChanged(GraphBatchChangeEvent<V, E> e) {
+    Object source = e.getSource();
+    for (E edge : e.getRemovedEdges()) {
+      edgeRemoved(
+          new GraphEdgeChangeEvent<>(
+              source,
+              GraphEdgeChangeEvent.EDGE_REMOVED,
+              edge,
+              e.getRemovedEdgeSource(edge),
+              e.getRemovedEdgeTarget(edge)));
+    }
+    for (V v : e.getRemovedVertices()) {
+      vertexRemoved(new GraphVertexChangeEvent<>(source, GraphVertexChangeEvent.VERTEX_REMOVED, v));
+    }
+    for (V v : e.getAddedVertices()) {
+      vertexAdded(new GraphVertexChangeEvent<>(source, GraphVertexChangeEvent.VERTEX_ADDED, v));
+    }
+    for (E edge : e.getAddedEdges()) {
+      edgeAdded(
+          new GraphEdgeChangeEvent<>(
+              source,
+              GraphEdgeChangeEvent.EDGE_ADDED,
+              edge,
+              e.getAddedEdgeSource(edge),
+              e.getAddedEdgeTarget(edge)));
+    }
+  }
 }
 
 // End GraphListener.java
@@ -18,7 +18,11 @@
 package org.jgrapht.graph;
 
 import java.io.*;
+import java.lang.ref.*;
 import java.util.*;
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.jgrapht.*;
 import org.jgrapht.graph.specifics.*;
 import org.jgrapht.util.*;
@@ -30,7 +34,8 @@ import org.jgrapht.util.*;
  * details).
  *
  * <p>This graph implementation guarantees deterministic vertex and edge set ordering (via {@link
- * LinkedHashMap} and {@link LinkedHashSet}).
+ * InsertionOrderedOpenHashMap} and {@link LinkedHashSet}). The map used for the vertices can be
+ * changed by overriding {@link #createVertexMapFactory()}.
  *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -43,6 +48,7 @@ public abstract class AbstractBaseGraph<V, E> extends AbstractGraph<V, E>
 
   private static final String LOOPS_NOT_ALLOWED = "loops not allowed";
   private static final String GRAPH_SPECIFICS_MUST_NOT_BE_NULL = "Graph specifics must not be null";
+  private static final int PARALLEL_EDGE_CREATION_THRESHOLD = 1 << 14;
 
   private EdgeFactory<V, E> edgeFactory;
   private transient Set<V> unmodifiableVertexSet = null;
@@ -55,6 +61,9 @@ public abstract class AbstractBaseGraph<V, E> extends AbstractGraph<V, E>
   private boolean allowingMultipleEdges;
   private boolean allowingLoops;
 
+  private transient List<WeakReference<GraphSnapshot<V, E>>> snapshots = null;
+  private transient ReadWriteLock snapshotLock = null;
+
   /**
    * Construct a new graph. The graph can either be directed or undirected, depending on the
    * specified edge factory. The graph is by default unweighted.
@@ -180,65 +189,188 @@ public abstract class AbstractBaseGraph<V, E> extends AbstractGraph<V, E>
   /** {@inheritDoc} */
   @Override
   public E addEdge(V sourceVertex, V targetVertex) {
-    assertVertexExist(sourceVertex);
-    assertVertexExist(targetVertex);
-
-    if (!allowingMultipleEdges && containsEdge(sourceVertex, targetVertex)) {
-      return null;
-    }
-
-    if (!allowingLoops && sourceVertex.equals(targetVertex)) {
-      throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
-    }
-
-    E e = edgeFactory.createEdge(sourceVertex, targetVertex);
-
-    if (containsEdge(e)) { // this restriction should stay!
-      return null;
-    } else {
-      intrusiveEdgesSpecifics.add(e, sourceVertex, targetVertex);
-      specifics.addEdgeToTouchingVertices(e);
-      return e;
+    Lock lock = snapshotWriteLock();
+    try {
+      assertVertexExist(sourceVertex);
+      assertVertexExist(targetVertex);
+
+      if (!allowingMultipleEdges && containsEdge(sourceVertex, targetVertex)) {
+        return null;
+      }
+
+      if (!allowingLoops && sourceVertex.equals(targetVertex)) {
+        throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+      }
+
+      E e = edgeFactory.createEdge(sourceVertex, targetVertex);
+
+      if (containsEdge(e)) { // this restriction should stay!
+        return null;
+      } else {
+        if (snapshots != null) {
+          beforeEdgeAdded(e, sourceVertex, targetVertex);
+        }
+        intrusiveEdgesSpecifics.add(e, sourceVertex, targetVertex);
+        specifics.addEdgeToTouchingVertices(e);
+        return e;
+      }
+    } finally {
+      unlock(lock);
     }
   }
 
   /** {@inheritDoc} */
   @Override
   public boolean addEdge(V sourceVertex, V targetVertex, E e) {
-    if (e == null) {
-      throw new NullPointerException();
-    } else if (containsEdge(e)) {
-      return false;
-    }
-
-    assertVertexExist(sourceVertex);
-    assertVertexExist(targetVertex);
+    Lock lock = snapshotWriteLock();
+    try {
+      if (e == null) {
+        throw new NullPointerException();
+      } else if (containsEdge(e)) {
+        return false;
+      }
+
+      assertVertexExist(sourceVertex);
+      assertVertexExist(targetVertex);
+
+      if (!allowingMultipleEdges && containsEdge(sourceVertex, targetVertex)) {
+        return false;
+      }
+
+      if (!allowingLoops && sourceVertex.equals(targetVertex)) {
+        throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+      }
+
+      if (snapshots != null) {
+        beforeEdgeAdded(e, sourceVertex, targetVertex);
+      }
+      intrusiveEdgesSpecifics.add(e, sourceVertex, targetVertex);
+      specifics.addEdgeToTouchingVertices(e);
 
-    if (!allowingMultipleEdges && containsEdge(sourceVertex, targetVertex)) {
-      return false;
+      return true;
+    } finally {
+      unlock(lock);
     }
+  }
 
-    if (!allowingLoops && sourceVertex.equals(targetVertex)) {
-      throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+  /**
+   * Prepares this graph for the addition of many vertices and edges, so that it can grow to the
+   * given number of vertices and edges without repeatedly resizing its internal structures. This is
+   * only a hint: the graph works correctly with any number of vertices and edges.
+   *
+   * @param vertexCount the expected total number of vertices
+   * @param edgeCount the expected total number of edges
+   */
+  public void ensureCapacity(int vertexCount, int edgeCount) {
+    Lock lock = snapshotWriteLock();
+    try {
+      specifics.ensureCapacity(vertexCount, edgeCount);
+      intrusiveEdgesSpecifics.ensureCapacity(edgeCount);
+    } finally {
+      unlock(lock);
     }
+  }
 
-    intrusiveEdgesSpecifics.add(e, sourceVertex, targetVertex);
-    specifics.addEdgeToTouchingVertices(e);
-
-    return true;
+  /**
+   * Adds many edges at once, together with their source and target vertices if not already
+   * included. The i-th edge connects the i-th source vertex to the i-th target vertex. The edges
+   * are created with the edge factory of the graph and the internal structures of the graph are
+   * sized once for the new edges. If the edge factory is a {@link ClassBasedEdgeFactory}, large
+   * numbers of edges are instantiated in parallel.
+   *
+   * <p>If <code>unchecked</code> is false, edges are added exactly as by {@link #addEdge(Object,
+   * Object)}. If <code>unchecked</code> is true the caller asserts that the edges are valid for
+   * this graph, i.e. that they contain no self-loops unless this graph allows loops, and that they
+   * neither repeat each other nor edges already in the graph unless this graph allows multiple
+   * edges. The corresponding checks are then skipped. Adding invalid edges in unchecked mode leaves
+   * the graph in an inconsistent state.
+   *
+   * @param sources the source vertices of the edges
+   * @param targets the target vertices of the edges
+   * @param unchecked whether to skip the checks for self-loops and multiple edges
+   * @return the new edges in the order of the vertices, with <code>null</code> for each edge which
+   *     was not added because it would be a multiple edge
+   * @throws IllegalArgumentException if the lists have different sizes, or if an edge is a
+   *     self-loop in a graph without loops and <code>unchecked</code> is false
+   * @throws NullPointerException if any of the vertices is <code>null</code>
+   */
+  public List<E> addAllEdgesBulk(
+      List<? extends V> sources, List<? extends V> targets, boolean unchecked) {
+    Lock lock = snapshotWriteLock();
+    try {
+      if (sources.size() != targets.size()) {
+        throw new IllegalArgumentException("sources and targets must have the same size");
+      }
+      List<V> sourceList = new ArrayList<>(sources);
+      List<V> targetList = new ArrayList<>(targets);
+      int n = sourceList.size();
+      // each edge adds at most two vertices
+      ensureCapacity(vertexSet().size() + 2 * n, edgeSet().size() + n);
+      for (int i = 0; i < n; i++) {
+        addVertex(sourceList.get(i));
+        addVertex(targetList.get(i));
+      }
+
+      List<E> edges;
+      if (edgeFactory instanceof ClassBasedEdgeFactory && n >= PARALLEL_EDGE_CREATION_THRESHOLD) {
+        // the class based factory is stateless and thus safe to use from several threads
+        edges =
+            IntStream.range(0, n)
+                .parallel()
+                .mapToObj(i -> edgeFactory.createEdge(sourceList.get(i), targetList.get(i)))
+                .collect(Collectors.toList());
+      } else {
+        edges = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+          edges.add(edgeFactory.createEdge(sourceList.get(i), targetList.get(i)));
+        }
+      }
+
+      for (int i = 0; i < n; i++) {
+        V sourceVertex = sourceList.get(i);
+        V targetVertex = targetList.get(i);
+        E e = edges.get(i);
+        if (!unchecked) {
+          if (!allowingLoops && sourceVertex.equals(targetVertex)) {
+            throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+          }
+          if ((!allowingMultipleEdges && containsEdge(sourceVertex, targetVertex))
+              || containsEdge(e)) {
+            edges.set(i, null);
+            continue;
+          }
+        }
+        if (snapshots != null) {
+          beforeEdgeAdded(e, sourceVertex, targetVertex);
+        }
+        intrusiveEdgesSpecifics.add(e, sourceVertex, targetVertex);
+        specifics.addEdgeToTouchingVertices(e);
+      }
+      return edges;
+    } finally {
+      unlock(lock);
+    }
   }
 
   /** {@inheritDoc} */
   @Override
   public boolean addVertex(V v) {
-    if (v == null) {
-      throw new NullPointerException();
-    } else if (containsVertex(v)) {
-      return false;
-    } else {
-      specifics.addVertex(v);
-
-      return true;
+    Lock lock = snapshotWriteLock();
+    try {
+      if (v == null) {
+        throw new NullPointerException();
+      } else if (containsVertex(v)) {
+        return false;
+      } else {
+        specifics.addVertex(v);
+        if (snapshots != null) {
+          forEachSnapshot(s -> s.vertexAdded(v));
+        }
+
+        return true;
+      }
+    } finally {
+      unlock(lock);
     }
   }
 
@@ -268,6 +400,8 @@ public abstract class AbstractBaseGraph<V, E> extends AbstractGraph<V, E>
 
       newGraph.edgeFactory = this.edgeFactory;
       newGraph.unmodifiableVertexSet = null;
+      newGraph.snapshots = null;
+      newGraph.snapshotLock = null;
 
       // NOTE: it's important for this to happen in an object
       // method so that the new inner class instance gets associated with
@@ -346,43 +480,70 @@ public abstract class AbstractBaseGraph<V, E> extends AbstractGraph<V, E>
   /** {@inheritDoc} */
   @Override
   public E removeEdge(V sourceVertex, V targetVertex) {
-    E e = getEdge(sourceVertex, targetVertex);
+    Lock lock = snapshotWriteLock();
+    try {
+      E e = getEdge(sourceVertex, targetVertex);
 
-    if (e != null) {
-      specifics.removeEdgeFromTouchingVertices(e);
-      intrusiveEdgesSpecifics.remove(e);
-    }
+      if (e != null) {
+        if (snapshots != null) {
+          beforeEdgeRemoved(e);
+        }
+        specifics.removeEdgeFromTouchingVertices(e);
+        intrusiveEdgesSpecifics.remove(e);
+      }
 
-    return e;
+      return e;
+    } finally {
+      unlock(lock);
+    }
   }
 
   /** {@inheritDoc} */
   @Override
   public boolean removeEdge(E e) {
-    if (containsEdge(e)) {
-      specifics.removeEdgeFromTouchingVertices(e);
-      intrusiveEdgesSpecifics.remove(e);
-      return true;
-    } else {
-      return false;
+    Lock lock = snapshotWriteLock();
+    try {
+      if (containsEdge(e)) {
+        if (snapshots != null) {
+          beforeEdgeRemoved(e);
+        }
+        specifics.removeEdgeFromTouchingVertices(e);
+        intrusiveEdgesSpecifics.remove(e);
+        return true;
+      } else {
+        return false;
+      }
+    } finally {
+      unlock(lock);
     }
   }
 
   /** {@inheritDoc} */
   @Override
   public boolean removeVertex(V v) {
-    if (containsVertex(v)) {
-      Set<E> touchingEdgesList = edgesOf(v);
-
-      // cannot iterate over list - will cause
-      // ConcurrentModificationException
-      removeAllEdges(new ArrayList<>(touchingEdgesList));
-
-      specifics.getVertexSet().remove(v); // remove the vertex itself
-
-      return true;
-    } else {
-      return false;
+    Lock lock = snapshotWriteLock();
+    try {
+      if (containsVertex(v)) {
+        if (snapshots != null) {
+          forEachSnapshot(s -> s.preserveVertex(v));
+        }
+        Set<E> touchingEdgesList = edgesOf(v);
+
+        // cannot iterate over list - will cause
+        // ConcurrentModificationException
+        removeAllEdges(new ArrayList<>(touchingEdgesList));
+
+        specifics.getVertexSet().remove(v); // remove the vertex itself
+        if (snapshots != null) {
+          forEachSnapshot(s -> s.vertexRemoved(v));
+        }
+
+        return true;
+      } else {
+        return false;
+      }
+    } finally {
+      unlock(lock);
     }
   }
 
@@ -414,10 +575,110 @@ public abstract class AbstractBaseGraph<V, E> extends AbstractGraph<V, E>
    */
   @Override
   public void setEdgeWeight(E e, double weight) {
-    if (e == null) {
-      throw new NullPointerException();
+    Lock lock = snapshotWriteLock();
+    try {
+      if (e == null) {
+        throw new NullPointerException();
+      }
+      if (snapshots != null) {
+        forEachSnapshot(s -> s.preserveEdge(e));
+      }
+      intrusiveEdgesSpecifics.setEdgeWeight(e, weight);
+    } finally {
+      unlock(lock);
+    }
+  }
+
+  /**
+   * Returns an immutable snapshot of the current state of this graph. The snapshot is taken in
+   * constant time: it shares its structure with this graph and, as this graph is modified, keeps
+   * copies of the old state of only the vertices and edges which are touched, e.g. the edges of the
+   * endpoints of an added or removed edge. A snapshot which is no longer referenced is released
+   * automatically.
+   *
+   * <p>Snapshots can be read by other threads while this graph is modified. As long as snapshots
+   * are referenced, each modification of this graph holds a write lock which is shared with the
+   * snapshots, while each query of a snapshot holds the corresponding read lock. Iterating a set of
+   * a snapshot copies the set under the read lock first, so the iteration is not affected by
+   * concurrent modifications. The graph itself is still not thread-safe: it must be modified by a
+   * single thread at a time, which also takes the snapshots, and must not be read by other threads.
+   *
+   * @return an immutable snapshot of this graph
+   */
+  public Graph<V, E> snapshot() {
+    if (snapshotLock == null) {
+      snapshotLock = new ReentrantReadWriteLock();
+    }
+    // publish the state of the graph to the threads reading the snapshot
+    Lock lock = snapshotLock.writeLock();
+    lock.lock();
+    try {
+      GraphSnapshot<V, E> snapshot = new GraphSnapshot<>(this, snapshotLock.readLock());
+      if (snapshots == null) {
+        snapshots = new ArrayList<>();
+      }
+      snapshots.add(new WeakReference<>(snapshot));
+      return snapshot;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /*
+   * Acquire the write lock shared with the snapshots if there are any, returning the lock or null.
+   */
+  private Lock snapshotWriteLock() {
+    if (snapshots == null) {
+      return null;
+    }
+    Lock lock = snapshotLock.writeLock();
+    lock.lock();
+    return lock;
+  }
+
+  private static void unlock(Lock lock) {
+    if (lock != null) {
+      lock.unlock();
+    }
+  }
+
+  private void beforeEdgeAdded(E e, V sourceVertex, V targetVertex) {
+    forEachSnapshot(
+        s -> {
+          s.preserveVertex(sourceVertex);
+          s.preserveVertex(targetVertex);
+          s.edgeAdded(e);
+        });
+  }
+
+  private void beforeEdgeRemoved(E e) {
+    V sourceVertex = getEdgeSource(e);
+    V targetVertex = getEdgeTarget(e);
+    forEachSnapshot(
+        s -> {
+          s.preserveVertex(sourceVertex);
+          s.preserveVertex(targetVertex);
+          s.preserveEdge(e);
+          s.edgeRemoved(e);
+        });
+  }
+
+  /*
+   * Notify all snapshots which are still referenced, discarding the others.
+   */
+  private void forEachSnapshot(Consumer<GraphSnapshot<V, E>> action) {
+    Iterator<WeakReference<GraphSnapshot<V, E>>> it = snapshots.iterator();
+    while (it.hasNext()) {
+      GraphSnapshot<V, E> snapshot = it.next().get();
+      if (snapshot == null) {
+        it.remove();
+      } else {
+        action.accept(snapshot);
+      }
+    }
+    if (snapshots.isEmpty()) {
+      snapshots = null;
     }
-    intrusiveEdgesSpecifics.setEdgeWeight(e, weight);
   }
 
   /** {@inheritDoc} */
@@ -450,9 +711,9 @@ public abstract class AbstractBaseGraph<V, E> extends AbstractGraph<V, E>
   @Deprecated
   protected Specifics<V, E> createSpecifics() {
     if (this instanceof DirectedGraph<?, ?>) {
-      return new FastLookupDirectedSpecifics<>(this);
+      return createDefaultSpecifics(true);
     } else if (this instanceof UndirectedGraph<?, ?>) {
-      return new FastLookupUndirectedSpecifics<>(this);
+      return createDefaultSpecifics(false);
     } else {
       throw new IllegalArgumentException(
           "must be instance of either DirectedGraph or UndirectedGraph");
@@ -476,13 +737,34 @@ public abstract class AbstractBaseGraph<V, E> extends AbstractGraph<V, E>
     } catch (IllegalArgumentException ignore) {
     }
 
+    return createDefaultSpecifics(directed);
+  }
+
+  private Specifics<V, E> createDefaultSpecifics(boolean directed) {
+    VertexMapFactory<V> vertexMapFactory =
+        Objects.requireNonNull(createVertexMapFactory(), "Vertex map factory must not be null");
     if (directed) {
-      return new FastLookupDirectedSpecifics<>(this);
+      return new FastLookupDirectedSpecifics<>(
+          this, vertexMapFactory.createVertexMap(), new ArrayUnenforcedSetEdgeSetFactory<>());
     } else {
-      return new FastLookupUndirectedSpecifics<>(this);
+      return new FastLookupUndirectedSpecifics<>(
+          this, vertexMapFactory.createVertexMap(), new ArrayUnenforcedSetEdgeSetFactory<>());
     }
   }
 
+  /**
+   * Create the factory for the map which associates each vertex with its edge container. Subclasses
+   * can override this method in order to adjust the memory footprint and the vertex iteration order
+   * of the graph. Note that this method is called during construction, before any field of a
+   * subclass is initialized. The default implementation returns a factory for {@link
+   * InsertionOrderedOpenHashMap}, which iterates vertices in insertion order.
+   *
+   * @return the vertex map factory used by this graph
+   */
+  protected VertexMapFactory<V> createVertexMapFactory() {
+    return InsertionOrderedOpenHashMap::new;
+  }
+
   /**
    * Create the specifics for the edges set of the graph.
    *
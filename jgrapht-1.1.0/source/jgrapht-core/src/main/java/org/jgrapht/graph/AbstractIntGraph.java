@@ -0,0 +1,859 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+/**
+ * Base implementation of {@link IntGraph} which stores the adjacency structure in primitive int
+ * arrays. Its subclasses fix whether the graph is directed and whether it is weighted.
+ *
+ * <p>Vertices are non-negative integers chosen by the user and are used directly as indices, so the
+ * memory consumption is proportional to the largest vertex rather than to the number of vertices.
+ * Vertex sets of graphs built with {@link org.jgrapht.alg.util.IntegerVertexFactory} are compact
+ * ranges and are thus a good fit. Edges are non-negative integers as well. Edges created by {@link
+ * #addEdge(Integer, Integer)} get the smallest identifier which is not in use, so identifiers
+ * released by edge removals are reused; edges can also be added explicitly with {@link
+ * #addEdge(Integer, Integer, Integer)}. Each vertex keeps its outgoing and, in directed graphs, incoming edges in an
+ * int array, while the edge endpoints and weights are stored in parallel arrays indexed by the
+ * edge. No objects are allocated per vertex or per edge except for the adjacency arrays themselves.
+ *
+ * <p>The vertex set is iterated in increasing vertex order and the edge set in increasing edge
+ * order. The edges of a vertex are iterated in insertion order. Removing an edge requires time
+ * linear in the degree of its endpoints.
+ *
+ * <p>This graph implementation is not thread safe.
+ */
+public abstract class AbstractIntGraph extends AbstractGraph<Integer, Integer>
+    implements IntGraph, Cloneable, Serializable {
+  private static final long serialVersionUID = -3167542356318417470L;
+
+  private static final String LOOPS_NOT_ALLOWED = "loops not allowed";
+  private static final String NEGATIVE_VERTEX = "vertices must be non-negative integers";
+  private static final String NEGATIVE_EDGE = "edges must be non-negative integers";
+  private static final String MAX_VALUE = "Integer.MAX_VALUE is not supported";
+  private static final int[] EMPTY = new int[0];
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final boolean directed;
+  private final boolean weighted;
+  private final boolean allowingMultipleEdges;
+  private final boolean allowingLoops;
+
+  /*
+   * Vertex storage. A vertex v is present iff vertexPresent.get(v).
+   */
+  private BitSet vertexPresent;
+  private int vertexCount;
+  private int[][] outEdges;
+  private int[] outCount;
+  private int[][] inEdges;
+  private int[] inCount;
+
+  /*
+   * Edge storage. An edge e is present iff edgeSource[e] >= 0.
+   */
+  private int[] edgeSource;
+  private int[] edgeTarget;
+  private double[] edgeWeight;
+  private int edgeCount;
+  private int edgeCapacity;
+  private BitSet freeEdges;
+  private int firstFreeEdge;
+  private int createdEdge = -1;
+  private int pendingEdge = -1;
+  private double pendingEdgeWeight;
+
+  private transient Set<Integer> vertexSetView = null;
+  private transient Set<Integer> edgeSetView = null;
+
+  /**
+   * Construct a new graph.
+   *
+   * @param directed if true the graph will be directed, otherwise undirected
+   * @param allowMultipleEdges whether to allow multiple edges or not.
+   * @param allowLoops whether to allow edges that are self-loops or not.
+   * @param weighted whether the graph is weighted, i.e. the edges support a weight attribute
+   */
+  protected AbstractIntGraph(
+      boolean directed, boolean allowMultipleEdges, boolean allowLoops, boolean weighted) {
+    this.directed = directed;
+    this.weighted = weighted;
+    this.allowingMultipleEdges = allowMultipleEdges;
+    this.allowingLoops = allowLoops;
+
+    this.vertexPresent = new BitSet();
+    this.outEdges = new int[INITIAL_CAPACITY][];
+    this.outCount = new int[INITIAL_CAPACITY];
+    if (directed) {
+      this.inEdges = new int[INITIAL_CAPACITY][];
+      this.inCount = new int[INITIAL_CAPACITY];
+    }
+
+    this.edgeSource = new int[INITIAL_CAPACITY];
+    this.edgeTarget = new int[INITIAL_CAPACITY];
+    Arrays.fill(edgeSource, -1);
+    if (weighted) {
+      this.edgeWeight = new double[INITIAL_CAPACITY];
+    }
+    this.freeEdges = new BitSet();
+  }
+
+  /**
+   * Returns <code>true</code> if and only if self-loops are allowed in this graph.
+   *
+   * @return <code>true</code> if and only if graph loops are allowed.
+   */
+  public boolean isAllowingLoops() {
+    return allowingLoops;
+  }
+
+  /**
+   * Returns <code>true</code> if and only if multiple edges are allowed in this graph.
+   *
+   * @return <code>true</code> if and only if multiple edges are allowed.
+   */
+  public boolean isAllowingMultipleEdges() {
+    return allowingMultipleEdges;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int getVertexCapacity() {
+    return vertexPresent.length();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int getEdgeCapacity() {
+    return edgeCapacity;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsVertex(int v) {
+    return v >= 0 && vertexPresent.get(v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsEdge(int e) {
+    return e >= 0 && e < edgeCapacity && edgeSource[e] >= 0;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int getEdgeSource(int e) {
+    return edgeSource[e];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int getEdgeTarget(int e) {
+    return edgeTarget[e];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getEdgeWeight(int e) {
+    return weighted ? edgeWeight[e] : Graph.DEFAULT_EDGE_WEIGHT;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int getOutgoingEdgeCount(int v) {
+    return outCount[v];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int getOutgoingEdge(int v, int i) {
+    return outEdges[v][i];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int getIncomingEdgeCount(int v) {
+    return directed ? inCount[v] : outCount[v];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int getIncomingEdge(int v, int i) {
+    return directed ? inEdges[v][i] : outEdges[v][i];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Integer> getAllEdges(Integer sourceVertex, Integer targetVertex) {
+    if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+      return null;
+    }
+    int s = sourceVertex;
+    int t = targetVertex;
+    ArrayUnenforcedSet<Integer> edges = new ArrayUnenforcedSet<>();
+    int[] row = outEdges[s];
+    for (int i = 0; i < outCount[s]; i++) {
+      int e = row[i];
+      if (connects(e, s, t)) {
+        edges.add(e);
+      }
+    }
+    return edges;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Integer getEdge(Integer sourceVertex, Integer targetVertex) {
+    if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+      return null;
+    }
+    int e = findEdge(sourceVertex, targetVertex);
+    return e < 0 ? null : e;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The returned factory hands out edges which are not in use by this graph at the time of the
+   * call.
+   */
+  @Override
+  public EdgeFactory<Integer, Integer> getEdgeFactory() {
+    return new IntEdgeFactory();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Integer addEdge(Integer sourceVertex, Integer targetVertex) {
+    assertVertexExist(sourceVertex);
+    assertVertexExist(targetVertex);
+    int s = sourceVertex;
+    int t = targetVertex;
+
+    if (!allowingMultipleEdges && findEdge(s, t) >= 0) {
+      return null;
+    }
+    if (!allowingLoops && s == t) {
+      throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+    }
+
+    int e = nextFreeEdge(0);
+    insertEdge(e, s, t);
+    return e;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean addEdge(Integer sourceVertex, Integer targetVertex, Integer e) {
+    if (e == null) {
+      throw new NullPointerException();
+    } else if (e < 0) {
+      throw new IllegalArgumentException(NEGATIVE_EDGE);
+    } else if (e == Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(MAX_VALUE);
+    } else if (containsEdge((int) e)) {
+      return false;
+    }
+
+    assertVertexExist(sourceVertex);
+    assertVertexExist(targetVertex);
+    int s = sourceVertex;
+    int t = targetVertex;
+
+    if (!allowingMultipleEdges && findEdge(s, t) >= 0) {
+      return false;
+    }
+    if (!allowingLoops && s == t) {
+      throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+    }
+
+    insertEdge(e, s, t);
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if the vertex is negative or equal to {@link
+   *     Integer#MAX_VALUE}
+   */
+  @Override
+  public boolean addVertex(Integer v) {
+    if (v == null) {
+      throw new NullPointerException();
+    } else if (v < 0) {
+      throw new IllegalArgumentException(NEGATIVE_VERTEX);
+    } else if (v == Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(MAX_VALUE);
+    } else if (vertexPresent.get(v)) {
+      return false;
+    }
+    ensureVertexCapacity(v + 1);
+    vertexPresent.set(v);
+    outEdges[v] = EMPTY;
+    outCount[v] = 0;
+    if (directed) {
+      inEdges[v] = EMPTY;
+      inCount[v] = 0;
+    }
+    vertexCount++;
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsEdge(Integer e) {
+    return e != null && containsEdge((int) e);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsVertex(Integer v) {
+    return v != null && containsVertex((int) v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Integer> edgeSet() {
+    if (edgeSetView == null) {
+      edgeSetView = new EdgeSetView();
+    }
+    return edgeSetView;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int degreeOf(Integer vertex) {
+    assertVertexExist(vertex);
+    int v = vertex;
+    if (directed) {
+      return outCount[v] + inCount[v];
+    }
+    int degree = outCount[v];
+    if (allowingLoops) {
+      int[] row = outEdges[v];
+      for (int i = 0; i < outCount[v]; i++) {
+        if (edgeSource[row[i]] == edgeTarget[row[i]]) {
+          degree++;
+        }
+      }
+    }
+    return degree;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Integer> edgesOf(Integer vertex) {
+    assertVertexExist(vertex);
+    if (!directed) {
+      return new AdjacencyView(vertex, false);
+    }
+    int v = vertex;
+    ArrayUnenforcedSet<Integer> inAndOut = new ArrayUnenforcedSet<>(inCount[v] + outCount[v]);
+    for (int i = 0; i < inCount[v]; i++) {
+      inAndOut.add(inEdges[v][i]);
+    }
+    for (int i = 0; i < outCount[v]; i++) {
+      int e = outEdges[v][i];
+      // self-loops have already been added as incoming edges
+      if (edgeTarget[e] != v) {
+        inAndOut.add(e);
+      }
+    }
+    return Collections.unmodifiableSet(inAndOut);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int inDegreeOf(Integer vertex) {
+    if (!directed) {
+      return degreeOf(vertex);
+    }
+    assertVertexExist(vertex);
+    return inCount[vertex];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Integer> incomingEdgesOf(Integer vertex) {
+    assertVertexExist(vertex);
+    return new AdjacencyView(vertex, directed);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int outDegreeOf(Integer vertex) {
+    if (!directed) {
+      return degreeOf(vertex);
+    }
+    assertVertexExist(vertex);
+    return outCount[vertex];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Integer> outgoingEdgesOf(Integer vertex) {
+    assertVertexExist(vertex);
+    return new AdjacencyView(vertex, false);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Integer removeEdge(Integer sourceVertex, Integer targetVertex) {
+    Integer e = getEdge(sourceVertex, targetVertex);
+    if (e != null) {
+      deleteEdge(e);
+    }
+    return e;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean removeEdge(Integer e) {
+    if (containsEdge(e)) {
+      deleteEdge(e);
+      return true;
+    }
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean removeVertex(Integer vertex) {
+    if (!containsVertex(vertex)) {
+      return false;
+    }
+    int v = vertex;
+    while (outCount[v] > 0) {
+      deleteEdge(outEdges[v][outCount[v] - 1]);
+    }
+    if (directed) {
+      while (inCount[v] > 0) {
+        deleteEdge(inEdges[v][inCount[v] - 1]);
+      }
+      inEdges[v] = null;
+    }
+    outEdges[v] = null;
+    vertexPresent.clear(v);
+    vertexCount--;
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Integer> vertexSet() {
+    if (vertexSetView == null) {
+      vertexSetView = new VertexSetView();
+    }
+    return vertexSetView;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Integer getEdgeSource(Integer e) {
+    assertEdgeExist(e);
+    return edgeSource[e];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Integer getEdgeTarget(Integer e) {
+    assertEdgeExist(e);
+    return edgeTarget[e];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public GraphType getType() {
+    DefaultGraphType.Builder builder = new DefaultGraphType.Builder();
+    builder = directed ? builder.directed() : builder.undirected();
+    return builder
+        .weighted(weighted)
+        .allowMultipleEdges(allowingMultipleEdges)
+        .allowSelfLoops(allowingLoops)
+        .build();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getEdgeWeight(Integer e) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    if (!weighted) {
+      return Graph.DEFAULT_EDGE_WEIGHT;
+    }
+    assertEdgeExist(e);
+    return edgeWeight[e];
+  }
+
+  /**
+   * Set an edge weight.
+   *
+   * <p>Since edges are plain integers they cannot carry a weight by themselves. In order to support
+   * {@link Graphs#addEdge(Graph, Object, Object, double)}, which sets the weight of an edge before
+   * adding it, the weight of the most recent edge which is not contained in the graph is remembered
+   * and used when this edge is added.
+   *
+   * @param e the edge
+   * @param weight the weight
+   * @throws UnsupportedOperationException if the graph is not weighted
+   */
+  @Override
+  public void setEdgeWeight(Integer e, double weight) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    if (!weighted) {
+      throw new UnsupportedOperationException();
+    }
+    if (!containsEdge((int) e)) {
+      pendingEdge = e;
+      pendingEdgeWeight = weight;
+      return;
+    }
+    edgeWeight[e] = weight;
+  }
+
+  /**
+   * Returns a shallow copy of this graph instance.
+   *
+   * @return a shallow copy of this graph.
+   * @throws RuntimeException in case the clone is not supported
+   * @see java.lang.Object#clone()
+   */
+  @Override
+  public Object clone() {
+    try {
+      AbstractIntGraph newGraph = TypeUtil.uncheckedCast(super.clone(), null);
+      newGraph.vertexPresent = (BitSet) vertexPresent.clone();
+      newGraph.outEdges = deepCopy(outEdges);
+      newGraph.outCount = outCount.clone();
+      if (directed) {
+        newGraph.inEdges = deepCopy(inEdges);
+        newGraph.inCount = inCount.clone();
+      }
+      newGraph.edgeSource = edgeSource.clone();
+      newGraph.edgeTarget = edgeTarget.clone();
+      if (weighted) {
+        newGraph.edgeWeight = edgeWeight.clone();
+      }
+      newGraph.freeEdges = (BitSet) freeEdges.clone();
+      newGraph.vertexSetView = null;
+      newGraph.edgeSetView = null;
+      return newGraph;
+    } catch (CloneNotSupportedException e) {
+      e.printStackTrace();
+      throw new RuntimeException();
+    }
+  }
+
+  private boolean connects(int e, int s, int t) {
+    int source = edgeSource[e];
+    int target = edgeTarget[e];
+    return (source == s && target == t) || (!directed && source == t && target == s);
+  }
+
+  private int findEdge(int s, int t) {
+    int[] row = outEdges[s];
+    for (int i = 0; i < outCount[s]; i++) {
+      if (connects(row[i], s, t)) {
+        return row[i];
+      }
+    }
+    return -1;
+  }
+
+  private void assertEdgeExist(Integer e) {
+    if (!containsEdge(e)) {
+      throw new IllegalArgumentException("no such edge in graph: " + e);
+    }
+  }
+
+  /*
+   * The unused identifiers below the edge capacity are kept in a bit set. There is no unused
+   * identifier below firstFreeEdge.
+   */
+  private int nextFreeEdge(int from) {
+    int e = freeEdges.nextSetBit(Math.max(from, firstFreeEdge));
+    if (from <= firstFreeEdge) {
+      firstFreeEdge = e < 0 ? edgeCapacity : e;
+    }
+    return e < 0 ? Math.max(from, edgeCapacity) : e;
+  }
+
+  private void insertEdge(int e, int s, int t) {
+    ensureEdgeCapacity(e + 1);
+    freeEdges.clear(e);
+    if (e == createdEdge) {
+      createdEdge = -1;
+    }
+    edgeSource[e] = s;
+    edgeTarget[e] = t;
+    if (weighted) {
+      edgeWeight[e] = e == pendingEdge ? pendingEdgeWeight : Graph.DEFAULT_EDGE_WEIGHT;
+    }
+    pendingEdge = -1;
+    edgeCount++;
+
+    appendOutgoing(s, e);
+    if (directed) {
+      appendIncoming(t, e);
+    } else if (s != t) {
+      appendOutgoing(t, e);
+    }
+  }
+
+  private void deleteEdge(int e) {
+    int s = edgeSource[e];
+    int t = edgeTarget[e];
+
+    removeFromRow(outEdges[s], outCount, s, e);
+    if (directed) {
+      removeFromRow(inEdges[t], inCount, t, e);
+    } else if (s != t) {
+      removeFromRow(outEdges[t], outCount, t, e);
+    }
+
+    edgeSource[e] = -1;
+    edgeTarget[e] = -1;
+    edgeCount--;
+    freeEdges.set(e);
+    firstFreeEdge = Math.min(firstFreeEdge, e);
+  }
+
+  private void appendOutgoing(int v, int e) {
+    int[] row = outEdges[v];
+    if (outCount[v] == row.length) {
+      row = Arrays.copyOf(row, Math.max(1, 2 * row.length));
+      outEdges[v] = row;
+    }
+    row[outCount[v]++] = e;
+  }
+
+  private void appendIncoming(int v, int e) {
+    int[] row = inEdges[v];
+    if (inCount[v] == row.length) {
+      row = Arrays.copyOf(row, Math.max(1, 2 * row.length));
+      inEdges[v] = row;
+    }
+    row[inCount[v]++] = e;
+  }
+
+  private static void removeFromRow(int[] row, int[] count, int v, int e) {
+    int size = count[v];
+    for (int i = 0; i < size; i++) {
+      if (row[i] == e) {
+        System.arraycopy(row, i + 1, row, i, size - i - 1);
+        count[v] = size - 1;
+        return;
+      }
+    }
+  }
+
+  private void ensureVertexCapacity(int capacity) {
+    if (capacity > outCount.length) {
+      int newCapacity = Math.max(capacity, 2 * outCount.length);
+      outEdges = Arrays.copyOf(outEdges, newCapacity);
+      outCount = Arrays.copyOf(outCount, newCapacity);
+      if (directed) {
+        inEdges = Arrays.copyOf(inEdges, newCapacity);
+        inCount = Arrays.copyOf(inCount, newCapacity);
+      }
+    }
+  }
+
+  private void ensureEdgeCapacity(int capacity) {
+    if (capacity > edgeSource.length) {
+      int oldLength = edgeSource.length;
+      int newLength = Math.max(capacity, 2 * oldLength);
+      edgeSource = Arrays.copyOf(edgeSource, newLength);
+      edgeTarget = Arrays.copyOf(edgeTarget, newLength);
+      Arrays.fill(edgeSource, oldLength, newLength, -1);
+      Arrays.fill(edgeTarget, oldLength, newLength, -1);
+      if (weighted) {
+        edgeWeight = Arrays.copyOf(edgeWeight, newLength);
+      }
+    }
+    if (capacity > edgeCapacity) {
+      // identifiers skipped by an explicit edge become available
+      freeEdges.set(edgeCapacity, capacity - 1);
+      firstFreeEdge = Math.min(firstFreeEdge, edgeCapacity);
+      edgeCapacity = capacity;
+    }
+  }
+
+  private static int[][] deepCopy(int[][] rows) {
+    int[][] copy = new int[rows.length][];
+    for (int i = 0; i < rows.length; i++) {
+      copy[i] = rows[i] == null ? null : rows[i].clone();
+    }
+    return copy;
+  }
+
+  /**
+   * An edge factory handing out edges which are currently unused by the graph. Once the last edge
+   * handed out has been added to the graph, the smallest unused edge is handed out again; until
+   * then the following unused edges are handed out.
+   */
+  private class IntEdgeFactory implements EdgeFactory<Integer, Integer>, Serializable {
+    private static final long serialVersionUID = 2797364523431367391L;
+
+    @Override
+    public Integer createEdge(Integer sourceVertex, Integer targetVertex) {
+      createdEdge = nextFreeEdge(createdEdge + 1);
+      return createdEdge;
+    }
+  }
+
+  /** Read-only view of the vertex set, in increasing vertex order. */
+  private class VertexSetView extends AbstractSet<Integer> implements Serializable {
+    private static final long serialVersionUID = -5926416468426394802L;
+
+    @Override
+    public Iterator<Integer> iterator() {
+      return new Iterator<Integer>() {
+        private int next = vertexPresent.nextSetBit(0);
+
+        @Override
+        public boolean hasNext() {
+          return next >= 0;
+        }
+
+        @Override
+        public Integer next() {
+          if (next < 0) {
+            throw new NoSuchElementException();
+          }
+          int v = next;
+          next = vertexPresent.nextSetBit(v + 1);
+          return v;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return vertexCount;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return (o instanceof Integer) && containsVertex((int) (Integer) o);
+    }
+  }
+
+  /** Read-only view of the edge set, in increasing edge order. */
+  private class EdgeSetView extends AbstractSet<Integer> implements Serializable {
+    private static final long serialVersionUID = 7713850307633424128L;
+
+    @Override
+    public Iterator<Integer> iterator() {
+      return new Iterator<Integer>() {
+        private int next = advance(0);
+
+        @Override
+        public boolean hasNext() {
+          return next < edgeCapacity;
+        }
+
+        @Override
+        public Integer next() {
+          if (next >= edgeCapacity) {
+            throw new NoSuchElementException();
+          }
+          int e = next;
+          next = advance(e + 1);
+          return e;
+        }
+
+        private int advance(int from) {
+          int e = from;
+          while (e < edgeCapacity && edgeSource[e] < 0) {
+            e++;
+          }
+          return e;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return edgeCount;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return (o instanceof Integer) && containsEdge((int) (Integer) o);
+    }
+  }
+
+  /** Read-only live view of the outgoing or incoming edges of a vertex. */
+  private class AdjacencyView extends AbstractSet<Integer> {
+    private final int vertex;
+    private final boolean incoming;
+
+    AdjacencyView(int vertex, boolean incoming) {
+      this.vertex = vertex;
+      this.incoming = incoming;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+      return new Iterator<Integer>() {
+        private int next = 0;
+
+        @Override
+        public boolean hasNext() {
+          return next < size();
+        }
+
+        @Override
+        public Integer next() {
+          if (next >= size()) {
+            throw new NoSuchElementException();
+          }
+          return incoming ? inEdges[vertex][next++] : outEdges[vertex][next++];
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return incoming ? inCount[vertex] : outCount[vertex];
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Integer) || !containsEdge((int) (Integer) o)) {
+        return false;
+      }
+      int e = (Integer) o;
+      if (!directed) {
+        return edgeSource[e] == vertex || edgeTarget[e] == vertex;
+      }
+      return incoming ? edgeTarget[e] == vertex : edgeSource[e] == vertex;
+    }
+  }
+}
+
+// End AbstractIntGraph.java
@@ -96,14 +96,15 @@ public class AsGraphUnion<V, E> extends AbstractGraph<V, E> implements Serializa
   /** {@inheritDoc} */
   @Override
   public Set<E> getAllEdges(V sourceVertex, V targetVertex) {
-    Set<E> res = new LinkedHashSet<>();
+    Set<E> res1 = Collections.emptySet();
     if (g1.containsVertex(sourceVertex) && g1.containsVertex(targetVertex)) {
-      res.addAll(g1.getAllEdges(sourceVertex, targetVertex));
+      res1 = g1.getAllEdges(sourceVertex, targetVertex);
     }
+    Set<E> res2 = Collections.emptySet();
     if (g2.containsVertex(sourceVertex) && g2.containsVertex(targetVertex)) {
-      res.addAll(g2.getAllEdges(sourceVertex, targetVertex));
+      res2 = g2.getAllEdges(sourceVertex, targetVertex);
     }
-    return Collections.unmodifiableSet(res);
+    return new UnmodifiableUnionSet<>(res1, res2);
   }
 
   /** {@inheritDoc} */
@@ -174,69 +175,51 @@ public class AsGraphUnion<V, E> extends AbstractGraph<V, E> implements Serializa
   /**
    * {@inheritDoc}
    *
-   * <p>Note that this operation might by expensive as it involves copying the edge sets of the two
-   * underlying graphs.
+   * <p>The returned set is a live view of the union of the edge sets of the two underlying graphs.
+   * Computing its size takes time linear in the size of the smaller of the two sets.
    */
   @Override
   public Set<E> edgeSet() {
-    Set<E> res = new LinkedHashSet<>();
-    res.addAll(g1.edgeSet());
-    res.addAll(g2.edgeSet());
-    return Collections.unmodifiableSet(res);
+    return new UnmodifiableUnionSet<>(g1.edgeSet(), g2.edgeSet());
   }
 
   /**
    * {@inheritDoc}
    *
-   * <p>Note that this operation might by expensive as it involves copying the edge sets of the two
-   * underlying graphs.
+   * <p>The returned set is a live view of the union of the edge sets of the two underlying graphs.
+   * Computing its size takes time linear in the size of the smaller of the two sets.
    */
   @Override
   public Set<E> edgesOf(V vertex) {
-    Set<E> res = new LinkedHashSet<>();
-    if (g1.containsVertex(vertex)) {
-      res.addAll(g1.edgesOf(vertex));
-    }
-    if (g2.containsVertex(vertex)) {
-      res.addAll(g2.edgesOf(vertex));
-    }
-    return Collections.unmodifiableSet(res);
+    Set<E> res1 = g1.containsVertex(vertex) ? g1.edgesOf(vertex) : Collections.emptySet();
+    Set<E> res2 = g2.containsVertex(vertex) ? g2.edgesOf(vertex) : Collections.emptySet();
+    return new UnmodifiableUnionSet<>(res1, res2);
   }
 
   /**
    * {@inheritDoc}
    *
-   * <p>Note that this operation might by expensive as it involves copying the edge sets of the two
-   * underlying graphs.
+   * <p>The returned set is a live view of the union of the edge sets of the two underlying graphs.
+   * Computing its size takes time linear in the size of the smaller of the two sets.
    */
   @Override
   public Set<E> incomingEdgesOf(V vertex) {
-    Set<E> res = new LinkedHashSet<>();
-    if (g1.containsVertex(vertex)) {
-      res.addAll(g1.incomingEdgesOf(vertex));
-    }
-    if (g2.containsVertex(vertex)) {
-      res.addAll(g2.incomingEdgesOf(vertex));
-    }
-    return Collections.unmodifiableSet(res);
+    Set<E> res1 = g1.containsVertex(vertex) ? g1.incomingEdgesOf(vertex) : Collections.emptySet();
+    Set<E> res2 = g2.containsVertex(vertex) ? g2.incomingEdgesOf(vertex) : Collections.emptySet();
+    return new UnmodifiableUnionSet<>(res1, res2);
   }
 
   /**
    * {@inheritDoc}
    *
-   * <p>Note that this operation might by expensive as it involves copying the edge sets of the two
-   * underlying graphs.
+   * <p>The returned set is a live view of the union of the edge sets of the two underlying graphs.
+   * Computing its size takes time linear in the size of the smaller of the two sets.
    */
   @Override
   public Set<E> outgoingEdgesOf(V vertex) {
-    Set<E> res = new LinkedHashSet<>();
-    if (g1.containsVertex(vertex)) {
-      res.addAll(g1.outgoingEdgesOf(vertex));
-    }
-    if (g2.containsVertex(vertex)) {
-      res.addAll(g2.outgoingEdgesOf(vertex));
-    }
-    return Collections.unmodifiableSet(res);
+    Set<E> res1 = g1.containsVertex(vertex) ? g1.outgoingEdgesOf(vertex) : Collections.emptySet();
+    Set<E> res2 = g2.containsVertex(vertex) ? g2.outgoingEdgesOf(vertex) : Collections.emptySet();
+    return new UnmodifiableUnionSet<>(res1, res2);
   }
 
   /** {@inheritDoc} */
@@ -338,15 +321,12 @@ public class AsGraphUnion<V, E> extends AbstractGraph<V, E> implements Serializa
   /**
    * {@inheritDoc}
    *
-   * <p>Note that this operation might by expensive as it currently involves copying the vertex sets
-   * of the two underlying graphs.
+   * <p>The returned set is a live view of the union of the vertex sets of the two underlying
+   * graphs. Computing its size takes time linear in the size of the smaller of the two sets.
    */
   @Override
   public Set<V> vertexSet() {
-    Set<V> res = new HashSet<>();
-    res.addAll(g1.vertexSet());
-    res.addAll(g2.vertexSet());
-    return Collections.unmodifiableSet(res);
+    return new UnmodifiableUnionSet<>(g1.vertexSet(), g2.vertexSet());
   }
 
   /** {@inheritDoc} */
@@ -60,6 +60,13 @@ import org.jgrapht.event.*;
  * <p>This graph implementation guarantees deterministic vertex and edge set ordering (via {@link
  * LinkedHashSet}).
  *
+ * <p>An induced subgraph can also be created with lazy edge induction, see {@link
+ * #AsSubgraph(Graph, Set, boolean)}. In this mode the edges are not collected when the subgraph is
+ * constructed. Instead the edges of a vertex are filtered from the base graph when they are first
+ * requested and cached, so that carving a small subgraph out of a huge base graph only costs time
+ * proportional to the part of the subgraph actually explored. The edges are collected once and for
+ * all as soon as the edge set is requested or the subgraph is modified directly.
+ *
  * <p>Note that this implementation tries to maintain a "live-window" on the base graph, which has
  * implications in the performance of the various operations. For example iterating over the
  * adjacent edges of a vertex takes time proportional to the number of adjacent edges of the vertex
@@ -81,12 +88,22 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
   private static final String NO_SUCH_EDGE_IN_BASE = "no such edge in base graph";
   private static final String NO_SUCH_VERTEX_IN_BASE = "no such vertex in base graph";
 
-  protected final Set<E> edgeSet = new LinkedHashSet<>();
-  protected final Set<V> vertexSet = new LinkedHashSet<>();
+  protected final Set<E> edgeSet;
+  protected final Set<V> vertexSet;
   protected final Graph<V, E> base;
   protected final GraphType baseType;
   protected final boolean isInduced;
 
+  /*
+   * Whether the edges are still induced lazily, in which case edgeSet is empty and the edges of
+   * the subgraph are exactly the edges of the base graph between vertices of the subgraph.
+   */
+  private boolean lazy;
+  private final boolean listening;
+  private transient Map<V, Set<E>> edgesOfCache = null;
+  private transient Map<V, Set<E>> incomingEdgesCache = null;
+  private transient Map<V, Set<E>> outgoingEdgesCache = null;
+
   private transient Set<E> unmodifiableEdgeSet = null;
   private transient Set<V> unmodifiableVertexSet = null;
 
@@ -105,14 +122,63 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
     this.base = GraphTests.requireDirectedOrUndirected(base);
     this.baseType = base.getType();
     this.isInduced = edgeSubset == null;
-
-    if (base instanceof ListenableGraph<?, ?>) {
+    this.vertexSet = new LinkedHashSet<>(capacityFor(vertexSubset, base.vertexSet()));
+    // the number of induced edges is unknown in advance
+    this.edgeSet =
+        isInduced && vertexSubset != null
+            ? new LinkedHashSet<>()
+            : new LinkedHashSet<>(capacityFor(edgeSubset, base.edgeSet()));
+
+    this.listening = base instanceof ListenableGraph<?, ?>;
+    if (listening) {
       ((ListenableGraph<V, E>) base).addGraphListener(new BaseGraphListener());
     }
 
     initialize(vertexSubset, edgeSubset);
   }
 
+  /**
+   * Creates a new induced subgraph, optionally with lazy edge induction. The vertex set is sized
+   * after the vertex subset.
+   *
+   * <p>With lazy edge induction the construction takes time proportional to the size of the
+   * vertex subset, independently of the number of edges of the base graph. The edges of a vertex
+   * are filtered from the base graph the first time {@link #edgesOf(Object)}, {@link
+   * #incomingEdgesOf(Object)}, {@link #outgoingEdgesOf(Object)} or one of the degree methods is
+   * called for the vertex. If the base graph is a {@link ListenableGraph} the result is cached and
+   * changes to the base graph only invalidate the affected cache entries. Otherwise nothing would
+   * reveal a stale entry, and the edges are filtered from the base graph on every call. In both
+   * cases these methods return fresh copies, as they do without lazy edge induction. The whole
+   * edge set is collected, and the caches are dropped, as soon as {@link #edgeSet()} is called or
+   * the subgraph is modified through its own methods.
+   *
+   * @param base the base (backing) graph on which the subgraph will be based.
+   * @param vertexSubset vertices to include in the subgraph. If <code>null</code> then all vertices
+   *     are included.
+   * @param lazyEdges whether to induce the edges lazily
+   */
+  public AsSubgraph(Graph<V, E> base, Set<? extends V> vertexSubset, boolean lazyEdges) {
+    super();
+
+    this.base = GraphTests.requireDirectedOrUndirected(base);
+    this.baseType = base.getType();
+    this.isInduced = true;
+    this.vertexSet = new LinkedHashSet<>(capacityFor(vertexSubset, base.vertexSet()));
+    this.edgeSet = new LinkedHashSet<>();
+
+    this.listening = base instanceof ListenableGraph<?, ?>;
+    if (listening) {
+      ((ListenableGraph<V, E>) base).addGraphListener(new BaseGraphListener());
+    }
+
+    if (lazyEdges) {
+      addVertices(vertexSubset);
+      this.lazy = true;
+    } else {
+      initialize(vertexSubset, null);
+    }
+  }
+
   /**
    * Creates a new induced subgraph. The subgraph will keep track of edges being added to its vertex
    * subset as well as deletion of edges and vertices. If base it not listenable, this is identical
@@ -140,7 +206,9 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
   /** {@inheritDoc} */
   @Override
   public Set<E> getAllEdges(V sourceVertex, V targetVertex) {
-    if (containsVertex(sourceVertex) && containsVertex(targetVertex)) {
+    if (lazy && containsVertex(sourceVertex) && containsVertex(targetVertex)) {
+      return new LinkedHashSet<>(base.getAllEdges(sourceVertex, targetVertex));
+    } else if (containsVertex(sourceVertex) && containsVertex(targetVertex)) {
       return base.getAllEdges(sourceVertex, targetVertex)
           .stream()
           .filter(e -> edgeSet.contains(e))
@@ -186,6 +254,7 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
   public E addEdge(V sourceVertex, V targetVertex) {
     assertVertexExist(sourceVertex);
     assertVertexExist(targetVertex);
+    materialize();
 
     if (!base.containsEdge(sourceVertex, targetVertex)) {
       throw new IllegalArgumentException(NO_SUCH_EDGE_IN_BASE);
@@ -216,6 +285,7 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
 
     assertVertexExist(sourceVertex);
     assertVertexExist(targetVertex);
+    materialize();
 
     assert (base.getEdgeSource(e) == sourceVertex);
     assert (base.getEdgeTarget(e) == targetVertex);
@@ -242,12 +312,18 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
     if (!base.containsVertex(v)) {
       throw new IllegalArgumentException(NO_SUCH_VERTEX_IN_BASE);
     }
+    materialize();
     return vertexSet.add(v);
   }
 
   /** {@inheritDoc} */
   @Override
   public boolean containsEdge(E e) {
+    if (lazy) {
+      return base.containsEdge(e)
+          && vertexSet.contains(base.getEdgeSource(e))
+          && vertexSet.contains(base.getEdgeTarget(e));
+    }
     return edgeSet.contains(e);
   }
 
@@ -260,6 +336,7 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
   /** {@inheritDoc} */
   @Override
   public Set<E> edgeSet() {
+    materialize();
     if (unmodifiableEdgeSet == null) {
       unmodifiableEdgeSet = Collections.unmodifiableSet(edgeSet);
     }
@@ -271,6 +348,9 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
   public Set<E> edgesOf(V vertex) {
     assertVertexExist(vertex);
 
+    if (lazy) {
+      return new LinkedHashSet<>(lazyEdgesOf(vertex));
+    }
     return base.edgesOf(vertex)
         .stream()
         .filter(e -> edgeSet.contains(e))
@@ -289,7 +369,10 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
 
     if (baseType.isUndirected()) {
       int degree = 0;
-      Iterator<E> it = base.edgesOf(vertex).stream().filter(e -> edgeSet.contains(e)).iterator();
+      Iterator<E> it =
+          lazy
+              ? lazyEdgesOf(vertex).iterator()
+              : base.edgesOf(vertex).stream().filter(e -> edgeSet.contains(e)).iterator();
       while (it.hasNext()) {
         E e = it.next();
         degree++;
@@ -308,6 +391,9 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
   public Set<E> incomingEdgesOf(V vertex) {
     assertVertexExist(vertex);
 
+    if (lazy) {
+      return new LinkedHashSet<>(lazyIncomingEdgesOf(vertex));
+    }
     return base.incomingEdgesOf(vertex)
         .stream()
         .filter(e -> edgeSet.contains(e))
@@ -319,6 +405,9 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
   public int inDegreeOf(V vertex) {
     if (baseType.isUndirected()) {
       return degreeOf(vertex);
+    } else if (lazy) {
+      assertVertexExist(vertex);
+      return lazyIncomingEdgesOf(vertex).size();
     } else {
       return incomingEdgesOf(vertex).size();
     }
@@ -329,6 +418,9 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
   public Set<E> outgoingEdgesOf(V vertex) {
     assertVertexExist(vertex);
 
+    if (lazy) {
+      return new LinkedHashSet<>(lazyOutgoingEdgesOf(vertex));
+    }
     return base.outgoingEdgesOf(vertex)
         .stream()
         .filter(e -> edgeSet.contains(e))
@@ -340,6 +432,9 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
   public int outDegreeOf(V vertex) {
     if (baseType.isUndirected()) {
       return degreeOf(vertex);
+    } else if (lazy) {
+      assertVertexExist(vertex);
+      return lazyOutgoingEdgesOf(vertex).size();
     } else {
       return outgoingEdgesOf(vertex).size();
     }
@@ -348,12 +443,14 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
   /** {@inheritDoc} */
   @Override
   public boolean removeEdge(E e) {
+    materialize();
     return edgeSet.remove(e);
   }
 
   /** {@inheritDoc} */
   @Override
   public E removeEdge(V sourceVertex, V targetVertex) {
+    materialize();
     E e = getEdge(sourceVertex, targetVertex);
 
     return edgeSet.remove(e) ? e : null;
@@ -365,6 +462,11 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
     // If the base graph does NOT contain v it means we are here in
     // response to removal of v from the base. In such case we don't need
     // to remove all the edges of v as they were already removed.
+    if (lazy && !base.containsVertex(v)) {
+      invalidate(v);
+    } else {
+      materialize();
+    }
     if (containsVertex(v) && base.containsVertex(v)) {
       removeAllEdges(edgesOf(v));
     }
@@ -412,6 +514,106 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
     base.setEdgeWeight(e, weight);
   }
 
+  /*
+   * Collect the edges of a lazily induced subgraph and leave lazy mode.
+   */
+  private void materialize() {
+    if (!lazy) {
+      return;
+    }
+    lazy = false;
+    edgesOfCache = null;
+    incomingEdgesCache = null;
+    outgoingEdgesCache = null;
+    for (V v : vertexSet) {
+      Set<E> candidates = baseType.isDirected() ? base.outgoingEdgesOf(v) : base.edgesOf(v);
+      for (E e : candidates) {
+        if (vertexSet.contains(Graphs.getOppositeVertex(base, e, v))) {
+          edgeSet.add(e);
+        }
+      }
+    }
+  }
+
+  /*
+   * The edges of a vertex in lazy mode. The returned set may be cached and must not be exposed.
+   */
+  private Set<E> lazyEdgesOf(V vertex) {
+    if (!listening) {
+      return induce(base.edgesOf(vertex));
+    }
+    if (edgesOfCache == null) {
+      edgesOfCache = new HashMap<>();
+    }
+    return edgesOfCache.computeIfAbsent(vertex, v -> induce(base.edgesOf(v)));
+  }
+
+  private Set<E> lazyIncomingEdgesOf(V vertex) {
+    if (!listening) {
+      return induce(base.incomingEdgesOf(vertex));
+    }
+    if (incomingEdgesCache == null) {
+      incomingEdgesCache = new HashMap<>();
+    }
+    return incomingEdgesCache.computeIfAbsent(vertex, v -> induce(base.incomingEdgesOf(v)));
+  }
+
+  private Set<E> lazyOutgoingEdgesOf(V vertex) {
+    if (!listening) {
+      return induce(base.outgoingEdgesOf(vertex));
+    }
+    if (outgoingEdgesCache == null) {
+      outgoingEdgesCache = new HashMap<>();
+    }
+    return outgoingEdgesCache.computeIfAbsent(vertex, v -> induce(base.outgoingEdgesOf(v)));
+  }
+
+  /*
+   * The edges of a set of edges of the base graph whose endpoints are both in the subgraph.
+   */
+  private Set<E> induce(Set<E> edges) {
+    Set<E> result = new LinkedHashSet<>();
+    for (E e : edges) {
+      if (vertexSet.contains(base.getEdgeSource(e)) && vertexSet.contains(base.getEdgeTarget(e))) {
+        result.add(e);
+      }
+    }
+    return result;
+  }
+
+  private void invalidate(V v) {
+    if (edgesOfCache != null) {
+      edgesOfCache.remove(v);
+    }
+    if (incomingEdgesCache != null) {
+      incomingEdgesCache.remove(v);
+    }
+    if (outgoingEdgesCache != null) {
+      outgoingEdgesCache.remove(v);
+    }
+  }
+
+  private static int capacityFor(Set<?> subset, Set<?> all) {
+    int size = subset == null ? all.size() : Math.min(subset.size(), all.size());
+    return Math.max(16, (int) (size / 0.75f) + 1);
+  }
+
+  private void addVertices(Set<? extends V> vertexFilter) {
+    if (vertexFilter == null) {
+      vertexSet.addAll(base.vertexSet());
+    } else if (vertexFilter.size() > base.vertexSet().size()) {
+      base.vertexSet()
+          .stream()
+          .filter(v -> vertexFilter.contains(v))
+          .forEach(v -> vertexSet.add(v));
+    } else {
+      vertexFilter
+          .stream()
+          .filter(v -> v != null && base.containsVertex(v))
+          .forEach(v -> vertexSet.add(v));
+    }
+  }
+
   private void initialize(Set<? extends V> vertexFilter, Set<? extends E> edgeFilter) {
     if (vertexFilter == null && edgeFilter == null) {
       vertexSet.addAll(base.vertexSet());
@@ -420,21 +622,7 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
     }
 
     // add vertices
-    if (vertexFilter == null) {
-      vertexSet.addAll(base.vertexSet());
-    } else {
-      if (vertexFilter.size() > base.vertexSet().size()) {
-        base.vertexSet()
-            .stream()
-            .filter(v -> vertexFilter.contains(v))
-            .forEach(v -> vertexSet.add(v));
-      } else {
-        vertexFilter
-            .stream()
-            .filter(v -> v != null && base.containsVertex(v))
-            .forEach(v -> vertexSet.add(v));
-      }
-    }
+    addVertices(vertexFilter);
 
     // add edges
     if (edgeFilter == null) {
@@ -481,7 +669,10 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
     /** {@inheritDoc} */
     @Override
     public void edgeAdded(GraphEdgeChangeEvent<V, E> e) {
-      if (isInduced) {
+      if (lazy) {
+        invalidate(e.getEdgeSource());
+        invalidate(e.getEdgeTarget());
+      } else if (isInduced) {
         E edge = e.getEdge();
         V source = e.getEdgeSource();
         V target = e.getEdgeTarget();
@@ -496,7 +687,12 @@ public class AsSubgraph<V, E> extends AbstractGraph<V, E> implements Serializabl
     public void edgeRemoved(GraphEdgeChangeEvent<V, E> e) {
       E edge = e.getEdge();
 
-      removeEdge(edge);
+      if (lazy) {
+        invalidate(e.getEdgeSource());
+        invalidate(e.getEdgeTarget());
+      } else {
+        removeEdge(edge);
+      }
     }
 
     /** {@inheritDoc} */
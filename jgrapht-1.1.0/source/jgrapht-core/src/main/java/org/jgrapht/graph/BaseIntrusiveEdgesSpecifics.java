@@ -37,11 +37,33 @@ abstract class BaseIntrusiveEdgesSpecifics<V, E, IE extends IntrusiveEdge> imple
   protected Map<E, IE> edgeMap;
   protected transient Set<E> unmodifiableEdgeSet = null;
 
+  /*
+   * The number of edges the edge map was last sized for by ensureCapacity, unknown after
+   * deserialization.
+   */
+  private transient int edgeCapacity = 0;
+
   /** Constructor */
   public BaseIntrusiveEdgesSpecifics() {
     this.edgeMap = new LinkedHashMap<>();
   }
 
+  /**
+   * Make sure that the given number of edges can be stored without resizing. Since a {@link
+   * LinkedHashMap} cannot be resized explicitly, the edges are moved into a new map whose capacity
+   * at least doubles, so that repeated calls with growing counts take amortized linear time.
+   *
+   * @param edgeCount the expected number of edges
+   */
+  public void ensureCapacity(int edgeCount) {
+    if (edgeCount > edgeCapacity && edgeCount > edgeMap.size()) {
+      edgeCapacity = Math.max(edgeCount, 2 * Math.max(edgeCapacity, edgeMap.size()));
+      Map<E, IE> newEdgeMap = new LinkedHashMap<>((int) (edgeCapacity / 0.75f) + 1);
+      newEdgeMap.putAll(edgeMap);
+      edgeMap = newEdgeMap;
+    }
+  }
+
   /**
    * Check if an edge exists
    *
@@ -59,11 +81,34 @@ abstract class BaseIntrusiveEdgesSpecifics<V, E, IE extends IntrusiveEdge> imple
    */
   public Set<E> getEdgeSet() {
     if (unmodifiableEdgeSet == null) {
-      unmodifiableEdgeSet = Collections.unmodifiableSet(edgeMap.keySet());
+      unmodifiableEdgeSet = Collections.unmodifiableSet(new EdgeSetView());
     }
     return unmodifiableEdgeSet;
   }
 
+  /**
+   * A view of the keys of the edge map, which remains valid when the map is replaced by {@link
+   * #ensureCapacity(int)}.
+   */
+  private class EdgeSetView extends AbstractSet<E> implements Serializable {
+    private static final long serialVersionUID = 6468397497581616101L;
+
+    @Override
+    public Iterator<E> iterator() {
+      return edgeMap.keySet().iterator();
+    }
+
+    @Override
+    public int size() {
+      return edgeMap.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return edgeMap.containsKey(o);
+    }
+  }
+
   /**
    * Remove an edge.
    *
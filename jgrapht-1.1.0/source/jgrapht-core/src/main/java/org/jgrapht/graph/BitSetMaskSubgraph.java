@@ -0,0 +1,689 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+/**
+ * An unmodifiable subgraph whose masks are bit sets over a fixed numbering of the base graph.
+ *
+ * <p>Unlike {@link MaskSubgraph}, which evaluates its masking predicates on every access, this
+ * subgraph numbers the vertices and edges of the base graph once at construction and keeps the
+ * visible vertices and edges in {@link BitSet}s. Vertices and edges are masked and unmasked
+ * explicitly with {@link #maskVertex(Object)}, {@link #maskEdge(Object)} and their counterparts,
+ * which update the sizes of the vertex and edge sets as well as the degree of each vertex. As a
+ * consequence {@link #degreeOf(Object)}, the sizes of the vertex and edge sets and the sizes of
+ * the edge sets of a vertex take constant time, and the vertex and edge sets skip the masked
+ * elements by scanning the bit sets. Masking or unmasking a vertex takes time linear in its degree
+ * in the base graph.
+ *
+ * <p>This is convenient for algorithms which repeatedly remove vertices of small degree, such as
+ * the computation of the cores of a graph.
+ *
+ * <p>The base graph must not be structurally modified while the subgraph is in use, since the
+ * numbering and the incidence structure are not updated. Edge weights are read from the base
+ * graph. The subgraph is not thread safe.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class BitSetMaskSubgraph<V, E> extends AbstractGraph<V, E> implements Serializable {
+  private static final long serialVersionUID = -2604296624474930318L;
+
+  private static final String UNMODIFIABLE = "this graph is unmodifiable";
+
+  private final Graph<V, E> base;
+  private final GraphType baseType;
+
+  private final Map<V, Integer> vertexIndex;
+  private final Map<E, Integer> edgeIndex;
+  private final Object[] vertices;
+  private final Object[] edges;
+  private final int[] edgeSource;
+  private final int[] edgeTarget;
+
+  /*
+   * The edges leaving (resp. entering) vertex v are outEdges[outStart[v] .. outStart[v + 1]) (resp.
+   * inEdges[inStart[v] .. inStart[v + 1])), in the orientation of the base graph.
+   */
+  private final int[] outStart;
+  private final int[] outEdges;
+  private final int[] inStart;
+  private final int[] inEdges;
+
+  private final BitSet visibleVertices;
+  private final BitSet unmaskedEdges;
+  private final BitSet visibleEdges;
+  private int vertexCount;
+  private int edgeCount;
+  private final int[] outDegree;
+  private final int[] inDegree;
+  private final int[] loops;
+
+  private transient Set<V> vertexSetView = null;
+  private transient Set<E> edgeSetView = null;
+
+  /**
+   * Creates a new subgraph in which no vertex or edge is masked. Running-time = O(n + m).
+   *
+   * @param base the base (backing) graph on which the subgraph will be based.
+   */
+  public BitSetMaskSubgraph(Graph<V, E> base) {
+    this(base, v -> false, e -> false);
+  }
+
+  /**
+   * Creates a new induced subgraph with initial masks. The masks are evaluated once for each
+   * vertex and edge of the base graph. Running-time = O(n + m).
+   *
+   * @param base the base (backing) graph on which the subgraph will be based.
+   * @param vertexMask vertices to exclude in the subgraph. If a vertex is masked, it is as if it is
+   *     not in the subgraph. Edges incident to the masked vertex are also masked.
+   * @param edgeMask edges to exclude in the subgraph. If an edge is masked, it is as if it is not
+   *     in the subgraph.
+   */
+  public BitSetMaskSubgraph(Graph<V, E> base, Predicate<V> vertexMask, Predicate<E> edgeMask) {
+    this.base = Objects.requireNonNull(base, "Invalid graph provided");
+    this.baseType = base.getType();
+    Objects.requireNonNull(vertexMask, "Invalid vertex mask provided");
+    Objects.requireNonNull(edgeMask, "Invalid edge mask provided");
+
+    int n = base.vertexSet().size();
+    int m = base.edgeSet().size();
+    this.vertexIndex = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+    this.edgeIndex = new HashMap<>(Math.max(16, (int) (m / 0.75f) + 1));
+    this.vertices = new Object[n];
+    this.edges = new Object[m];
+    this.edgeSource = new int[m];
+    this.edgeTarget = new int[m];
+    this.visibleVertices = new BitSet(n);
+    this.unmaskedEdges = new BitSet(m);
+    this.visibleEdges = new BitSet(m);
+    this.outDegree = new int[n];
+    this.inDegree = new int[n];
+    this.loops = new int[n];
+
+    for (V v : base.vertexSet()) {
+      int i = vertexIndex.size();
+      vertexIndex.put(v, i);
+      vertices[i] = v;
+      if (!vertexMask.test(v)) {
+        visibleVertices.set(i);
+        vertexCount++;
+      }
+    }
+
+    this.outStart = new int[n + 1];
+    this.inStart = new int[n + 1];
+    for (E e : base.edgeSet()) {
+      int i = edgeIndex.size();
+      int s = vertexIndex.get(base.getEdgeSource(e));
+      int t = vertexIndex.get(base.getEdgeTarget(e));
+      edgeIndex.put(e, i);
+      edges[i] = e;
+      edgeSource[i] = s;
+      edgeTarget[i] = t;
+      outStart[s + 1]++;
+      inStart[t + 1]++;
+      if (!edgeMask.test(e)) {
+        unmaskedEdges.set(i);
+        if (visibleVertices.get(s) && visibleVertices.get(t)) {
+          show(i);
+        }
+      }
+    }
+    for (int v = 0; v < n; v++) {
+      outStart[v + 1] += outStart[v];
+      inStart[v + 1] += inStart[v];
+    }
+    this.outEdges = new int[m];
+    this.inEdges = new int[m];
+    int[] outNext = Arrays.copyOf(outStart, n);
+    int[] inNext = Arrays.copyOf(inStart, n);
+    for (int i = 0; i < m; i++) {
+      outEdges[outNext[edgeSource[i]]++] = i;
+      inEdges[inNext[edgeTarget[i]]++] = i;
+    }
+  }
+
+  /**
+   * Mask a vertex of the base graph, which also masks its incident edges. Running-time = O(d)
+   * where d is the degree of the vertex in the base graph.
+   *
+   * @param v the vertex
+   * @return true if the vertex was visible before the call, false otherwise
+   * @throws IllegalArgumentException if the vertex is not contained in the base graph
+   */
+  public boolean maskVertex(V v) {
+    int i = baseVertexIndex(v);
+    if (!visibleVertices.get(i)) {
+      return false;
+    }
+    visibleVertices.clear(i);
+    vertexCount--;
+    for (int k = outStart[i]; k < outStart[i + 1]; k++) {
+      if (visibleEdges.get(outEdges[k])) {
+        hide(outEdges[k]);
+      }
+    }
+    for (int k = inStart[i]; k < inStart[i + 1]; k++) {
+      if (visibleEdges.get(inEdges[k])) {
+        hide(inEdges[k]);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Unmask a vertex of the base graph, which also unmasks its incident edges unless they are
+   * masked themselves or their other endpoint is masked. Running-time = O(d) where d is the degree
+   * of the vertex in the base graph.
+   *
+   * @param v the vertex
+   * @return true if the vertex was masked before the call, false otherwise
+   * @throws IllegalArgumentException if the vertex is not contained in the base graph
+   */
+  public boolean unmaskVertex(V v) {
+    int i = baseVertexIndex(v);
+    if (visibleVertices.get(i)) {
+      return false;
+    }
+    visibleVertices.set(i);
+    vertexCount++;
+    for (int k = outStart[i]; k < outStart[i + 1]; k++) {
+      showIfUnmasked(outEdges[k]);
+    }
+    for (int k = inStart[i]; k < inStart[i + 1]; k++) {
+      showIfUnmasked(inEdges[k]);
+    }
+    return true;
+  }
+
+  /**
+   * Mask an edge of the base graph. Running-time = O(1).
+   *
+   * @param e the edge
+   * @return true if the edge was not masked before the call, false otherwise
+   * @throws IllegalArgumentException if the edge is not contained in the base graph
+   */
+  public boolean maskEdge(E e) {
+    int i = baseEdgeIndex(e);
+    if (!unmaskedEdges.get(i)) {
+      return false;
+    }
+    unmaskedEdges.clear(i);
+    if (visibleEdges.get(i)) {
+      hide(i);
+    }
+    return true;
+  }
+
+  /**
+   * Unmask an edge of the base graph. The edge becomes visible if both its endpoints are visible.
+   * Running-time = O(1).
+   *
+   * @param e the edge
+   * @return true if the edge was masked before the call, false otherwise
+   * @throws IllegalArgumentException if the edge is not contained in the base graph
+   */
+  public boolean unmaskEdge(E e) {
+    int i = baseEdgeIndex(e);
+    if (unmaskedEdges.get(i)) {
+      return false;
+    }
+    unmaskedEdges.set(i);
+    showIfUnmasked(i);
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public E addEdge(V sourceVertex, V targetVertex) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean addEdge(V sourceVertex, V targetVertex, E edge) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean addVertex(V v) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsEdge(E e) {
+    Integer i = edgeIndex.get(e);
+    return i != null && visibleEdges.get(i);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsVertex(V v) {
+    Integer i = vertexIndex.get(v);
+    return i != null && visibleVertices.get(i);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> edgeSet() {
+    if (edgeSetView == null) {
+      edgeSetView = new EdgeSetView();
+    }
+    return edgeSetView;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> edgesOf(V vertex) {
+    return new IncidenceView(indexOf(vertex), true, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>By default this method returns the sum of in-degree and out-degree. The exact value returned
+   * depends on the type of the underlying graph.
+   */
+  @Override
+  public int degreeOf(V vertex) {
+    int v = indexOf(vertex);
+    // in undirected graphs self-loops are counted twice, as in the base graph
+    return outDegree[v] + inDegree[v];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> incomingEdgesOf(V vertex) {
+    return new IncidenceView(indexOf(vertex), baseType.isUndirected(), true);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int inDegreeOf(V vertex) {
+    if (baseType.isUndirected()) {
+      return degreeOf(vertex);
+    }
+    return inDegree[indexOf(vertex)];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> outgoingEdgesOf(V vertex) {
+    return new IncidenceView(indexOf(vertex), true, baseType.isUndirected());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int outDegreeOf(V vertex) {
+    if (baseType.isUndirected()) {
+      return degreeOf(vertex);
+    }
+    return outDegree[indexOf(vertex)];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> getAllEdges(V sourceVertex, V targetVertex) {
+    if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+      return null;
+    }
+    int s = vertexIndex.get(sourceVertex);
+    int t = vertexIndex.get(targetVertex);
+    ArrayUnenforcedSet<E> result = new ArrayUnenforcedSet<>();
+    for (int k = outStart[s]; k < outStart[s + 1]; k++) {
+      int e = outEdges[k];
+      if (edgeTarget[e] == t && visibleEdges.get(e)) {
+        result.add(edge(e));
+      }
+    }
+    if (baseType.isUndirected() && s != t) {
+      for (int k = inStart[s]; k < inStart[s + 1]; k++) {
+        int e = inEdges[k];
+        if (edgeSource[e] == t && visibleEdges.get(e)) {
+          result.add(edge(e));
+        }
+      }
+    }
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public E getEdge(V sourceVertex, V targetVertex) {
+    Set<E> edges = getAllEdges(sourceVertex, targetVertex);
+
+    if (edges == null || edges.isEmpty()) {
+      return null;
+    } else {
+      return edges.iterator().next();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public EdgeFactory<V, E> getEdgeFactory() {
+    return base.getEdgeFactory();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public V getEdgeSource(E edge) {
+    assert (containsEdge(edge));
+
+    return base.getEdgeSource(edge);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public V getEdgeTarget(E edge) {
+    assert (containsEdge(edge));
+
+    return base.getEdgeTarget(edge);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public GraphType getType() {
+    return baseType.asUnmodifiable();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getEdgeWeight(E edge) {
+    assert (containsEdge(edge));
+
+    return base.getEdgeWeight(edge);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void setEdgeWeight(E edge, double weight) {
+    assert (containsEdge(edge));
+
+    base.setEdgeWeight(edge, weight);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean removeAllEdges(Collection<? extends E> edges) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> removeAllEdges(V sourceVertex, V targetVertex) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean removeAllVertices(Collection<? extends V> vertices) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean removeEdge(E e) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public E removeEdge(V sourceVertex, V targetVertex) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean removeVertex(V v) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<V> vertexSet() {
+    if (vertexSetView == null) {
+      vertexSetView = new VertexSetView();
+    }
+    return vertexSetView;
+  }
+
+  private V vertex(int i) {
+    return TypeUtil.uncheckedCast(vertices[i], null);
+  }
+
+  private E edge(int i) {
+    return TypeUtil.uncheckedCast(edges[i], null);
+  }
+
+  /*
+   * The index of a vertex of the subgraph.
+   */
+  private int indexOf(V v) {
+    assertVertexExist(v);
+    return vertexIndex.get(v);
+  }
+
+  private int baseVertexIndex(V v) {
+    Integer i = vertexIndex.get(Objects.requireNonNull(v));
+    if (i == null) {
+      throw new IllegalArgumentException("no such vertex in base graph: " + v);
+    }
+    return i;
+  }
+
+  private int baseEdgeIndex(E e) {
+    Integer i = edgeIndex.get(Objects.requireNonNull(e));
+    if (i == null) {
+      throw new IllegalArgumentException("no such edge in base graph: " + e);
+    }
+    return i;
+  }
+
+  private void showIfUnmasked(int e) {
+    if (!visibleEdges.get(e)
+        && unmaskedEdges.get(e)
+        && visibleVertices.get(edgeSource[e])
+        && visibleVertices.get(edgeTarget[e])) {
+      show(e);
+    }
+  }
+
+  private void show(int e) {
+    visibleEdges.set(e);
+    edgeCount++;
+    outDegree[edgeSource[e]]++;
+    inDegree[edgeTarget[e]]++;
+    if (edgeSource[e] == edgeTarget[e]) {
+      loops[edgeSource[e]]++;
+    }
+  }
+
+  private void hide(int e) {
+    visibleEdges.clear(e);
+    edgeCount--;
+    outDegree[edgeSource[e]]--;
+    inDegree[edgeTarget[e]]--;
+    if (edgeSource[e] == edgeTarget[e]) {
+      loops[edgeSource[e]]--;
+    }
+  }
+
+  /** Read-only live view of the visible elements of the vertex or edge numbering. */
+  private abstract class BitSetView<T> extends AbstractSet<T> {
+    private final BitSet bits;
+    private final Object[] elements;
+
+    BitSetView(BitSet bits, Object[] elements) {
+      this.bits = bits;
+      this.elements = elements;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      return new Iterator<T>() {
+        private int next = bits.nextSetBit(0);
+
+        @Override
+        public boolean hasNext() {
+          return next >= 0;
+        }
+
+        @Override
+        public T next() {
+          if (next < 0) {
+            throw new NoSuchElementException();
+          }
+          int i = next;
+          next = bits.nextSetBit(i + 1);
+          return TypeUtil.uncheckedCast(elements[i], null);
+        }
+      };
+    }
+  }
+
+  private class VertexSetView extends BitSetView<V> {
+    VertexSetView() {
+      super(visibleVertices, vertices);
+    }
+
+    @Override
+    public int size() {
+      return vertexCount;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return containsVertex(TypeUtil.uncheckedCast(o, null));
+    }
+  }
+
+  private class EdgeSetView extends BitSetView<E> {
+    EdgeSetView() {
+      super(visibleEdges, edges);
+    }
+
+    @Override
+    public int size() {
+      return edgeCount;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return containsEdge(TypeUtil.uncheckedCast(o, null));
+    }
+  }
+
+  /**
+   * Read-only live view of the visible outgoing edges, incoming edges or both of a vertex.
+   * Self-loops, which are both outgoing and incoming, appear once.
+   */
+  private class IncidenceView extends AbstractSet<E> {
+    private final int vertex;
+    private final boolean outgoing;
+    private final boolean incoming;
+
+    IncidenceView(int vertex, boolean outgoing, boolean incoming) {
+      this.vertex = vertex;
+      this.outgoing = outgoing;
+      this.incoming = incoming;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      return new Iterator<E>() {
+        private int nextOut = outgoing ? advanceOut(outStart[vertex]) : outStart[vertex + 1];
+        private int nextIn = incoming ? advanceIn(inStart[vertex]) : inStart[vertex + 1];
+
+        @Override
+        public boolean hasNext() {
+          return nextOut < outStart[vertex + 1] || nextIn < inStart[vertex + 1];
+        }
+
+        @Override
+        public E next() {
+          if (nextOut < outStart[vertex + 1]) {
+            int e = outEdges[nextOut];
+            nextOut = advanceOut(nextOut + 1);
+            return edge(e);
+          }
+          if (nextIn < inStart[vertex + 1]) {
+            int e = inEdges[nextIn];
+            nextIn = advanceIn(nextIn + 1);
+            return edge(e);
+          }
+          throw new NoSuchElementException();
+        }
+
+        private int advanceOut(int from) {
+          int k = from;
+          while (k < outStart[vertex + 1] && !visibleEdges.get(outEdges[k])) {
+            k++;
+          }
+          return k;
+        }
+
+        private int advanceIn(int from) {
+          int k = from;
+          // self-loops have already been returned as outgoing edges
+          while (k < inStart[vertex + 1]
+              && (!visibleEdges.get(inEdges[k])
+                  || (outgoing && edgeSource[inEdges[k]] == vertex))) {
+            k++;
+          }
+          return k;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      int size = 0;
+      if (outgoing) {
+        size += outDegree[vertex];
+      }
+      if (incoming) {
+        size += inDegree[vertex];
+      }
+      if (outgoing && incoming) {
+        size -= loops[vertex];
+      }
+      return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      Integer i = edgeIndex.get(o);
+      if (i == null || !visibleEdges.get(i)) {
+        return false;
+      }
+      return (outgoing && edgeSource[i] == vertex) || (incoming && edgeTarget[i] == vertex);
+    }
+  }
+}
+
+// End BitSetMaskSubgraph.java
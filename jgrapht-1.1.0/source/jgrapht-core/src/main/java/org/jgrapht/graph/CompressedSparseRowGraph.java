@@ -0,0 +1,791 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+/**
+ * An immutable graph backed by a compressed sparse row (CSR) representation.
+ *
+ * <p>The graph is built once from an existing graph and afterwards can only be queried. Vertices
+ * and edges are mapped to consecutive integer indices following the iteration order of the source
+ * graph's vertex and edge sets. The adjacency of each vertex is stored as a contiguous slice of two
+ * primitive arrays, one holding edge indices and one holding the index of the opposite vertex, so
+ * that {@link #outgoingEdgesOf(Object)}, {@link #incomingEdgesOf(Object)} and {@link
+ * #edgesOf(Object)} are read-only views over array slices. Each slice is sorted by the index of the
+ * opposite vertex which allows {@link #getEdge(Object, Object)} to run in logarithmic time.
+ *
+ * <p>Compared to the {@link AbstractBaseGraph} family this representation avoids the per vertex
+ * edge containers and edge sets, as well as the intrusive edge records, and is thus much more
+ * compact. It is well suited for large graphs which are loaded once and then only analyzed.
+ *
+ * <p>Vertex and edge iteration order is the same as in the source graph. Any attempt to modify the
+ * graph results in an {@link UnsupportedOperationException}. Only directed and undirected graphs
+ * are supported.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class CompressedSparseRowGraph<V, E> extends AbstractGraph<V, E> implements Serializable {
+  private static final long serialVersionUID = -2618425471633318349L;
+
+  private static final String UNMODIFIABLE = "this graph is unmodifiable";
+
+  private final GraphType type;
+  private final boolean directed;
+  private final EdgeFactory<V, E> edgeFactory;
+
+  private final Object[] vertices;
+  private final Map<V, Integer> vertexIndex;
+
+  private final Object[] edges;
+  private final Map<E, Integer> edgeIndex;
+  private final int[] edgeSource;
+  private final int[] edgeTarget;
+  private final double[] edgeWeight;
+
+  /*
+   * Outgoing adjacency in directed graphs and full adjacency in undirected graphs. The slice of
+   * vertex v is [outOffsets[v], outOffsets[v+1]) and is sorted by the opposite vertex index.
+   */
+  private final int[] outOffsets;
+  private final int[] outEdges;
+  private final int[] outOpposite;
+
+  /*
+   * Incoming adjacency in directed graphs, same layout as the outgoing one. In undirected graphs
+   * these refer to the outgoing arrays.
+   */
+  private final int[] inOffsets;
+  private final int[] inEdges;
+  private final int[] inOpposite;
+
+  private transient Set<V> vertexSetView = null;
+  private transient Set<E> edgeSetView = null;
+
+  /**
+   * Create a new compressed sparse row graph containing all vertices and edges of the given graph.
+   *
+   * @param graph the graph to copy
+   * @throws IllegalArgumentException if the graph is neither directed nor undirected
+   */
+  public CompressedSparseRowGraph(Graph<V, E> graph) {
+    GraphTests.requireDirectedOrUndirected(graph);
+    GraphType sourceType = graph.getType();
+
+    this.directed = sourceType.isDirected();
+    this.type = sourceType.asUnmodifiable();
+    this.edgeFactory = graph.getEdgeFactory();
+
+    int n = graph.vertexSet().size();
+    this.vertices = new Object[n];
+    this.vertexIndex = new HashMap<>(capacityFor(n));
+    int i = 0;
+    for (V v : graph.vertexSet()) {
+      vertices[i] = v;
+      vertexIndex.put(v, i);
+      i++;
+    }
+
+    int m = graph.edgeSet().size();
+    this.edges = new Object[m];
+    this.edgeIndex = new HashMap<>(capacityFor(m));
+    this.edgeSource = new int[m];
+    this.edgeTarget = new int[m];
+    this.edgeWeight = sourceType.isWeighted() ? new double[m] : null;
+    i = 0;
+    for (E e : graph.edgeSet()) {
+      edges[i] = e;
+      edgeIndex.put(e, i);
+      edgeSource[i] = vertexIndex.get(graph.getEdgeSource(e));
+      edgeTarget[i] = vertexIndex.get(graph.getEdgeTarget(e));
+      if (edgeWeight != null) {
+        edgeWeight[i] = graph.getEdgeWeight(e);
+      }
+      i++;
+    }
+
+    if (directed) {
+      /*
+       * Bucket the edges by target first and then traverse the buckets in increasing target order
+       * in order to fill the rows of the sources. This leaves each outgoing row sorted by target.
+       * Repeat symmetrically for the incoming rows.
+       */
+      int[][] byTarget = buildRows(n, edgeTarget, edgeSource, identity(m), m);
+      int[][] out = buildRows(n, edgeSource, edgeTarget, byTarget[1], m);
+      int[][] in = buildRows(n, edgeTarget, edgeSource, out[1], m);
+      this.outOffsets = out[0];
+      this.outEdges = out[1];
+      this.outOpposite = out[2];
+      this.inOffsets = in[0];
+      this.inEdges = in[1];
+      this.inOpposite = in[2];
+    } else {
+      /*
+       * Each non-loop edge appears in the rows of both endpoints, each loop only once.
+       */
+      int loops = 0;
+      for (int e = 0; e < m; e++) {
+        if (edgeSource[e] == edgeTarget[e]) {
+          loops++;
+        }
+      }
+      int entries = 2 * m - loops;
+      int[] owner = new int[entries];
+      int[] opposite = new int[entries];
+      int[] entryEdges = new int[entries];
+      int k = 0;
+      for (int e = 0; e < m; e++) {
+        owner[k] = edgeSource[e];
+        opposite[k] = edgeTarget[e];
+        entryEdges[k++] = e;
+        if (edgeSource[e] != edgeTarget[e]) {
+          owner[k] = edgeTarget[e];
+          opposite[k] = edgeSource[e];
+          entryEdges[k++] = e;
+        }
+      }
+      int[] order = buildRows(n, opposite, owner, identity(entries), entries)[1];
+      int[] sortedOwner = new int[entries];
+      int[] sortedOpposite = new int[entries];
+      int[] sortedEdges = new int[entries];
+      for (int j = 0; j < entries; j++) {
+        sortedOwner[j] = owner[order[j]];
+        sortedOpposite[j] = opposite[order[j]];
+        sortedEdges[j] = entryEdges[order[j]];
+      }
+      int[][] rows = buildRowsFromEntries(n, sortedOwner, sortedOpposite, sortedEdges);
+      this.outOffsets = rows[0];
+      this.outEdges = rows[1];
+      this.outOpposite = rows[2];
+      this.inOffsets = outOffsets;
+      this.inEdges = outEdges;
+      this.inOpposite = outOpposite;
+    }
+  }
+
+  /**
+   * Get the index of a vertex. Indices are consecutive integers starting from zero and follow the
+   * iteration order of {@link #vertexSet()}.
+   *
+   * @param v the vertex
+   * @return the index of the vertex
+   * @throws IllegalArgumentException if the vertex is not contained in the graph
+   * @throws NullPointerException if the vertex is <code>null</code>
+   */
+  public int getVertexIndex(V v) {
+    return indexOf(v);
+  }
+
+  /**
+   * Get the vertex with a particular index.
+   *
+   * @param index the vertex index
+   * @return the vertex
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public V getVertex(int index) {
+    return TypeUtil.uncheckedCast(vertices[index], null);
+  }
+
+  /**
+   * Get the index of an edge. Indices are consecutive integers starting from zero and follow the
+   * iteration order of {@link #edgeSet()}.
+   *
+   * @param e the edge
+   * @return the index of the edge
+   * @throws IllegalArgumentException if the edge is not contained in the graph
+   */
+  public int getEdgeIndex(E e) {
+    return edgeIndexOf(e);
+  }
+
+  /**
+   * Get the edge with a particular index.
+   *
+   * @param index the edge index
+   * @return the edge
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public E getEdge(int index) {
+    return TypeUtil.uncheckedCast(edges[index], null);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> getAllEdges(V sourceVertex, V targetVertex) {
+    Integer s = vertexIndex.get(sourceVertex);
+    Integer t = vertexIndex.get(targetVertex);
+    if (s == null || t == null) {
+      return null;
+    }
+    ArrayUnenforcedSet<E> result = new ArrayUnenforcedSet<>();
+    int k = lowerBound(s, t);
+    int end = outOffsets[s + 1];
+    while (k < end && outOpposite[k] == t) {
+      result.add(getEdge(outEdges[k++]));
+    }
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public E getEdge(V sourceVertex, V targetVertex) {
+    Integer s = vertexIndex.get(sourceVertex);
+    Integer t = vertexIndex.get(targetVertex);
+    if (s == null || t == null) {
+      return null;
+    }
+    int k = lowerBound(s, t);
+    if (k < outOffsets[s + 1] && outOpposite[k] == t) {
+      return getEdge(outEdges[k]);
+    }
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public EdgeFactory<V, E> getEdgeFactory() {
+    return edgeFactory;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public E addEdge(V sourceVertex, V targetVertex) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public boolean addEdge(V sourceVertex, V targetVertex, E e) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public boolean addVertex(V v) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsEdge(E e) {
+    return edgeIndex.containsKey(e);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsVertex(V v) {
+    return vertexIndex.containsKey(v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> edgeSet() {
+    if (edgeSetView == null) {
+      edgeSetView = new EdgeSetView();
+    }
+    return edgeSetView;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int degreeOf(V vertex) {
+    int v = indexOf(vertex);
+    if (directed) {
+      return (outOffsets[v + 1] - outOffsets[v]) + (inOffsets[v + 1] - inOffsets[v]);
+    } else {
+      return (outOffsets[v + 1] - outOffsets[v]) + countLoops(v);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> edgesOf(V vertex) {
+    int v = indexOf(vertex);
+    if (directed) {
+      return new DirectedEdgesOfView(v);
+    } else {
+      return new AdjacencySliceView(v, outOffsets, outEdges);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int inDegreeOf(V vertex) {
+    if (directed) {
+      int v = indexOf(vertex);
+      return inOffsets[v + 1] - inOffsets[v];
+    } else {
+      return degreeOf(vertex);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> incomingEdgesOf(V vertex) {
+    return new AdjacencySliceView(indexOf(vertex), inOffsets, inEdges);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int outDegreeOf(V vertex) {
+    if (directed) {
+      int v = indexOf(vertex);
+      return outOffsets[v + 1] - outOffsets[v];
+    } else {
+      return degreeOf(vertex);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> outgoingEdgesOf(V vertex) {
+    return new AdjacencySliceView(indexOf(vertex), outOffsets, outEdges);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public boolean removeAllEdges(Collection<? extends E> edges) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public Set<E> removeAllEdges(V sourceVertex, V targetVertex) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public boolean removeAllVertices(Collection<? extends V> vertices) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public E removeEdge(V sourceVertex, V targetVertex) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public boolean removeEdge(E e) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public boolean removeVertex(V v) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<V> vertexSet() {
+    if (vertexSetView == null) {
+      vertexSetView = new VertexSetView();
+    }
+    return vertexSetView;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public V getEdgeSource(E e) {
+    return getVertex(edgeSource[edgeIndexOf(e)]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public V getEdgeTarget(E e) {
+    return getVertex(edgeTarget[edgeIndexOf(e)]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public GraphType getType() {
+    return type;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getEdgeWeight(E e) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    if (edgeWeight == null) {
+      return Graph.DEFAULT_EDGE_WEIGHT;
+    }
+    return edgeWeight[edgeIndexOf(e)];
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public void setEdgeWeight(E e, double weight) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  private int indexOf(V v) {
+    Integer index = vertexIndex.get(v);
+    if (index == null) {
+      assertVertexExist(v);
+    }
+    return index;
+  }
+
+  private int edgeIndexOf(E e) {
+    Integer index = edgeIndex.get(e);
+    if (index == null) {
+      throw new IllegalArgumentException("no such edge in graph: " + e.toString());
+    }
+    return index;
+  }
+
+  /*
+   * First position in the outgoing row of s whose opposite vertex is not less than t.
+   */
+  private int lowerBound(int s, int t) {
+    int low = outOffsets[s];
+    int high = outOffsets[s + 1];
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (outOpposite[mid] < t) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int countLoops(int v) {
+    int k = lowerBound(v, v);
+    int end = outOffsets[v + 1];
+    int count = 0;
+    while (k < end && outOpposite[k] == v) {
+      count++;
+      k++;
+    }
+    return count;
+  }
+
+  private static int capacityFor(int size) {
+    return Math.max((int) (size / .75f) + 1, 16);
+  }
+
+  private static int[] identity(int size) {
+    int[] result = new int[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = i;
+    }
+    return result;
+  }
+
+  /*
+   * Counting sort of the given entries by their owner. Entries are visited in the given order and
+   * thus keep their relative order inside each row. Returns the offsets, the entries as placed in
+   * the rows and their opposite vertices.
+   */
+  private static int[][] buildRows(int n, int[] owner, int[] opposite, int[] order, int size) {
+    int[] offsets = new int[n + 1];
+    for (int j = 0; j < size; j++) {
+      offsets[owner[order[j]] + 1]++;
+    }
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] += offsets[v];
+    }
+    int[] next = Arrays.copyOf(offsets, n);
+    int[] rowEntries = new int[size];
+    int[] rowOpposite = new int[size];
+    for (int j = 0; j < size; j++) {
+      int entry = order[j];
+      int pos = next[owner[entry]]++;
+      rowEntries[pos] = entry;
+      rowOpposite[pos] = opposite[entry];
+    }
+    return new int[][] {offsets, rowEntries, rowOpposite};
+  }
+
+  /*
+   * Counting sort of entries which are already sorted by their opposite vertex into the rows of
+   * their owners.
+   */
+  private static int[][] buildRowsFromEntries(
+      int n, int[] owner, int[] opposite, int[] entryEdges) {
+    int size = owner.length;
+    int[] offsets = new int[n + 1];
+    for (int j = 0; j < size; j++) {
+      offsets[owner[j] + 1]++;
+    }
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] += offsets[v];
+    }
+    int[] next = Arrays.copyOf(offsets, n);
+    int[] rowEdges = new int[size];
+    int[] rowOpposite = new int[size];
+    for (int j = 0; j < size; j++) {
+      int pos = next[owner[j]]++;
+      rowEdges[pos] = entryEdges[j];
+      rowOpposite[pos] = opposite[j];
+    }
+    return new int[][] {offsets, rowEdges, rowOpposite};
+  }
+
+  /** Read-only view of the vertex set. */
+  private class VertexSetView extends AbstractSet<V> implements Serializable {
+    private static final long serialVersionUID = 3390346366325512281L;
+
+    @Override
+    public Iterator<V> iterator() {
+      return new Iterator<V>() {
+        private int next = 0;
+
+        @Override
+        public boolean hasNext() {
+          return next < vertices.length;
+        }
+
+        @Override
+        public V next() {
+          if (next >= vertices.length) {
+            throw new NoSuchElementException();
+          }
+          return getVertex(next++);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return vertices.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return vertexIndex.containsKey(o);
+    }
+  }
+
+  /** Read-only view of the edge set. */
+  private class EdgeSetView extends AbstractSet<E> implements Serializable {
+    private static final long serialVersionUID = -1216424713627040519L;
+
+    @Override
+    public Iterator<E> iterator() {
+      return new Iterator<E>() {
+        private int next = 0;
+
+        @Override
+        public boolean hasNext() {
+          return next < edges.length;
+        }
+
+        @Override
+        public E next() {
+          if (next >= edges.length) {
+            throw new NoSuchElementException();
+          }
+          return getEdge(next++);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return edges.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return edgeIndex.containsKey(o);
+    }
+  }
+
+  /** Read-only view of a single adjacency row. */
+  private class AdjacencySliceView extends AbstractSet<E> {
+    private final int vertex;
+    private final int start;
+    private final int end;
+    private final int[] rowEdges;
+
+    AdjacencySliceView(int vertex, int[] offsets, int[] rowEdges) {
+      this.vertex = vertex;
+      this.start = offsets[vertex];
+      this.end = offsets[vertex + 1];
+      this.rowEdges = rowEdges;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      return new Iterator<E>() {
+        private int next = start;
+
+        @Override
+        public boolean hasNext() {
+          return next < end;
+        }
+
+        @Override
+        public E next() {
+          if (next >= end) {
+            throw new NoSuchElementException();
+          }
+          return getEdge(rowEdges[next++]);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return end - start;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      Integer e = edgeIndex.get(o);
+      if (e == null) {
+        return false;
+      }
+      if (!directed) {
+        return edgeSource[e] == vertex || edgeTarget[e] == vertex;
+      } else if (rowEdges == outEdges) {
+        return edgeSource[e] == vertex;
+      } else {
+        return edgeTarget[e] == vertex;
+      }
+    }
+  }
+
+  /**
+   * Read-only view of the incoming and outgoing edges of a vertex in a directed graph. Self-loops
+   * appear in both rows and are reported only once, from the incoming row.
+   */
+  private class DirectedEdgesOfView extends AbstractSet<E> {
+    private final int vertex;
+
+    DirectedEdgesOfView(int vertex) {
+      this.vertex = vertex;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      return new Iterator<E>() {
+        private int next = inOffsets[vertex];
+        private final int inEnd = inOffsets[vertex + 1];
+        private final int outEnd = outOffsets[vertex + 1];
+        private boolean incoming = true;
+
+        {
+          if (next == inEnd) {
+            incoming = false;
+            next = outOffsets[vertex];
+          }
+          skipLoops();
+        }
+
+        @Override
+        public boolean hasNext() {
+          return !incoming ? next < outEnd : next < inEnd;
+        }
+
+        @Override
+        public E next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          E e;
+          if (incoming) {
+            e = getEdge(inEdges[next++]);
+            if (next == inEnd) {
+              incoming = false;
+              next = outOffsets[vertex];
+            }
+          } else {
+            e = getEdge(outEdges[next++]);
+          }
+          skipLoops();
+          return e;
+        }
+
+        private void skipLoops() {
+          while (!incoming && next < outEnd && outOpposite[next] == vertex) {
+            next++;
+          }
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return (inOffsets[vertex + 1] - inOffsets[vertex])
+          + (outOffsets[vertex + 1] - outOffsets[vertex])
+          - countLoops(vertex);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      Integer e = edgeIndex.get(o);
+      return e != null && (edgeSource[e] == vertex || edgeTarget[e] == vertex);
+    }
+  }
+}
+
+// End CompressedSparseRowGraph.java
@@ -0,0 +1,618 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+/**
+ * A thread-safe graph optimized for many concurrent readers and few writers.
+ *
+ * <p>Read operations never acquire a lock and never block, while modifications are serialized by a
+ * single lock and therefore never run concurrently with each other. The edges touching each vertex
+ * are kept in immutable arrays which are replaced (copy-on-write) whenever an edge is added or
+ * removed, and the edges themselves are kept in a {@link ConcurrentHashMap} together with their
+ * endpoints and a volatile weight. Adding or removing an edge thus costs time proportional to the
+ * degree of its endpoints, while reading the edges of a vertex costs no allocation.
+ *
+ * <p>The consistency model is the following:
+ *
+ * <ul>
+ *   <li>Each read of a single element of the graph, e.g. {@link #containsVertex(Object)}, {@link
+ *       #getEdgeWeight(Object)} or {@link #outgoingEdgesOf(Object)}, observes the effect of every
+ *       modification which completed before the read started and possibly of modifications which
+ *       run concurrently with it.
+ *   <li>The sets returned by {@link #outgoingEdgesOf(Object)}, {@link #incomingEdgesOf(Object)},
+ *       {@link #edgesOf(Object)} and {@link #getAllEdges(Object, Object)} are immutable snapshots:
+ *       they are consistent at the time of the call and do not change afterwards.
+ *   <li>The sets returned by {@link #vertexSet()} and {@link #edgeSet()} are live and their
+ *       iterators are weakly consistent: they never throw {@link ConcurrentModificationException}
+ *       and reflect the graph at some point at or since their creation.
+ *   <li>A sequence of reads, such as the one performed by a graph algorithm, is <i>not</i> atomic.
+ *       It may observe a concurrent modification partially, e.g. a new edge may already be an
+ *       outgoing edge of its source but not yet an incoming edge of its target. An edge is always
+ *       added to the edge set before it becomes visible in the edges of its endpoints, and it is
+ *       removed from the edges of its endpoints before it is removed from the edge set.
+ *   <li>A reader may obtain an edge which is removed concurrently. The source, target and weight of
+ *       such an edge can still be queried if the edge is an instance of {@link DefaultEdge} or
+ *       {@link DefaultWeightedEdge}. For other edge classes querying a removed edge throws an
+ *       {@link IllegalArgumentException}, as in any other graph.
+ *   <li>Edge weights are updated without acquiring the lock, readers see the new weight as soon as
+ *       {@link #setEdgeWeight(Object, double)} returns.
+ * </ul>
+ *
+ * <p>Readers which need a consistent view of the whole graph should run on a copy of the graph, or
+ * coordinate with the writer externally.
+ *
+ * <p>The iteration order of the vertices and the edges of this graph is unspecified.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ConcurrentGraph<V, E> extends AbstractGraph<V, E>
+    implements Graph<V, E>, Serializable {
+  private static final long serialVersionUID = -4254823416370125232L;
+
+  private static final String LOOPS_NOT_ALLOWED = "loops not allowed";
+  private static final Object[] EMPTY = new Object[0];
+
+  private final EdgeFactory<V, E> edgeFactory;
+  private final GraphType type;
+  private final boolean directed;
+  private final boolean weighted;
+
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final ConcurrentHashMap<V, VertexEntry<E>> vertexMap = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<E, EdgeEntry<V>> edgeMap = new ConcurrentHashMap<>();
+
+  private final Set<V> unmodifiableVertexSet = Collections.unmodifiableSet(vertexMap.keySet());
+  private final Set<E> unmodifiableEdgeSet = Collections.unmodifiableSet(edgeMap.keySet());
+
+  /**
+   * Construct a new graph.
+   *
+   * @param edgeClass class on which to base the edge factory
+   * @param directed if true the graph will be directed, otherwise undirected
+   * @param allowMultipleEdges whether to allow multiple edges or not
+   * @param allowLoops whether to allow edges that are self-loops or not
+   * @param weighted whether the graph is weighted
+   */
+  public ConcurrentGraph(
+      Class<? extends E> edgeClass,
+      boolean directed,
+      boolean allowMultipleEdges,
+      boolean allowLoops,
+      boolean weighted) {
+    this(
+        new ClassBasedEdgeFactory<>(edgeClass), directed, allowMultipleEdges, allowLoops, weighted);
+  }
+
+  /**
+   * Construct a new graph.
+   *
+   * @param ef the edge factory of the new graph
+   * @param directed if true the graph will be directed, otherwise undirected
+   * @param allowMultipleEdges whether to allow multiple edges or not
+   * @param allowLoops whether to allow edges that are self-loops or not
+   * @param weighted whether the graph is weighted
+   * @throws NullPointerException if the specified edge factory is <code>null</code>
+   */
+  public ConcurrentGraph(
+      EdgeFactory<V, E> ef,
+      boolean directed,
+      boolean allowMultipleEdges,
+      boolean allowLoops,
+      boolean weighted) {
+    this.edgeFactory = Objects.requireNonNull(ef);
+    this.directed = directed;
+    this.weighted = weighted;
+    DefaultGraphType.Builder builder = new DefaultGraphType.Builder();
+    if (directed) {
+      builder = builder.directed();
+    } else {
+      builder = builder.undirected();
+    }
+    this.type =
+        builder
+            .weighted(weighted)
+            .allowMultipleEdges(allowMultipleEdges)
+            .allowSelfLoops(allowLoops)
+            .build();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public GraphType getType() {
+    return type;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public EdgeFactory<V, E> getEdgeFactory() {
+    return edgeFactory;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<V> vertexSet() {
+    return unmodifiableVertexSet;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> edgeSet() {
+    return unmodifiableEdgeSet;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsVertex(V v) {
+    return v != null && vertexMap.containsKey(v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsEdge(E e) {
+    return e != null && edgeMap.containsKey(e);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> getAllEdges(V sourceVertex, V targetVertex) {
+    VertexEntry<E> source = sourceVertex == null ? null : vertexMap.get(sourceVertex);
+    if (source == null || !containsVertex(targetVertex)) {
+      return null;
+    }
+    ArrayUnenforcedSet<E> edges = new ArrayUnenforcedSet<>();
+    for (Object o : source.outgoing.edges) {
+      E e = TypeUtil.uncheckedCast(o, null);
+      if (connects(e, sourceVertex, targetVertex)) {
+        edges.add(e);
+      }
+    }
+    return Collections.unmodifiableSet(edges);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public E getEdge(V sourceVertex, V targetVertex) {
+    VertexEntry<E> source = sourceVertex == null ? null : vertexMap.get(sourceVertex);
+    if (source == null || targetVertex == null) {
+      return null;
+    }
+    return findEdge(source, sourceVertex, targetVertex);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public E addEdge(V sourceVertex, V targetVertex) {
+    writeLock.lock();
+    try {
+      assertVertexExist(sourceVertex);
+      assertVertexExist(targetVertex);
+      if (!type.isAllowingMultipleEdges()
+          && findEdge(vertexMap.get(sourceVertex), sourceVertex, targetVertex) != null) {
+        return null;
+      }
+      if (!type.isAllowingSelfLoops() && sourceVertex.equals(targetVertex)) {
+        throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+      }
+
+      E e = edgeFactory.createEdge(sourceVertex, targetVertex);
+      if (containsEdge(e)) { // this restriction should stay!
+        return null;
+      }
+      insertEdge(e, sourceVertex, targetVertex);
+      return e;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean addEdge(V sourceVertex, V targetVertex, E e) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    writeLock.lock();
+    try {
+      if (containsEdge(e)) {
+        return false;
+      }
+      assertVertexExist(sourceVertex);
+      assertVertexExist(targetVertex);
+      if (!type.isAllowingMultipleEdges()
+          && findEdge(vertexMap.get(sourceVertex), sourceVertex, targetVertex) != null) {
+        return false;
+      }
+      if (!type.isAllowingSelfLoops() && sourceVertex.equals(targetVertex)) {
+        throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+      }
+
+      insertEdge(e, sourceVertex, targetVertex);
+      return true;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean addVertex(V v) {
+    if (v == null) {
+      throw new NullPointerException();
+    }
+    writeLock.lock();
+    try {
+      return vertexMap.putIfAbsent(v, new VertexEntry<>()) == null;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public E removeEdge(V sourceVertex, V targetVertex) {
+    writeLock.lock();
+    try {
+      E e = getEdge(sourceVertex, targetVertex);
+      if (e != null) {
+        deleteEdge(e);
+      }
+      return e;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean removeEdge(E e) {
+    writeLock.lock();
+    try {
+      if (!containsEdge(e)) {
+        return false;
+      }
+      deleteEdge(e);
+      return true;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean removeVertex(V v) {
+    writeLock.lock();
+    try {
+      VertexEntry<E> entry = v == null ? null : vertexMap.get(v);
+      if (entry == null) {
+        return false;
+      }
+      for (Object e : entry.outgoing.edges) {
+        if (edgeMap.containsKey(e)) {
+          deleteEdge(TypeUtil.uncheckedCast(e, null));
+        }
+      }
+      for (Object e : entry.incoming.edges) {
+        if (edgeMap.containsKey(e)) {
+          deleteEdge(TypeUtil.uncheckedCast(e, null));
+        }
+      }
+      vertexMap.remove(v);
+      return true;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public V getEdgeSource(E e) {
+    EdgeEntry<V> entry = edgeMap.get(e);
+    if (entry != null) {
+      return entry.source;
+    } else if (e instanceof IntrusiveEdge) {
+      return TypeUtil.uncheckedCast(((IntrusiveEdge) e).source, null);
+    }
+    throw new IllegalArgumentException("no such edge in graph: " + e);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public V getEdgeTarget(E e) {
+    EdgeEntry<V> entry = edgeMap.get(e);
+    if (entry != null) {
+      return entry.target;
+    } else if (e instanceof IntrusiveEdge) {
+      return TypeUtil.uncheckedCast(((IntrusiveEdge) e).target, null);
+    }
+    throw new IllegalArgumentException("no such edge in graph: " + e);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getEdgeWeight(E e) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    if (!weighted) {
+      return Graph.DEFAULT_EDGE_WEIGHT;
+    }
+    EdgeEntry<V> entry = edgeMap.get(e);
+    if (entry != null) {
+      return entry.weight;
+    } else if (e instanceof IntrusiveWeightedEdge) {
+      return ((IntrusiveWeightedEdge) e).weight;
+    }
+    throw new IllegalArgumentException("no such edge in graph: " + e);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Weights are updated without acquiring the write lock.
+   */
+  @Override
+  public void setEdgeWeight(E e, double weight) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    if (!weighted) {
+      throw new UnsupportedOperationException();
+    }
+    EdgeEntry<V> entry = edgeMap.get(e);
+    if (entry == null) {
+      throw new IllegalArgumentException("no such edge in graph: " + e);
+    }
+    entry.weight = weight;
+    if (e instanceof IntrusiveWeightedEdge) {
+      ((IntrusiveWeightedEdge) e).weight = weight;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int degreeOf(V vertex) {
+    VertexEntry<E> entry = getVertexEntry(vertex);
+    if (directed) {
+      return entry.incoming.size() + entry.outgoing.size();
+    }
+    EdgeArraySet<E> edges = entry.outgoing;
+    int degree = edges.size();
+    if (type.isAllowingSelfLoops()) {
+      for (Object e : edges.edges) {
+        if (isLoop(TypeUtil.uncheckedCast(e, null))) {
+          degree++;
+        }
+      }
+    }
+    return degree;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> edgesOf(V vertex) {
+    VertexEntry<E> entry = getVertexEntry(vertex);
+    if (!directed) {
+      return entry.outgoing;
+    }
+    EdgeArraySet<E> incoming = entry.incoming;
+    EdgeArraySet<E> outgoing = entry.outgoing;
+    if (incoming.isEmpty()) {
+      return outgoing;
+    } else if (outgoing.isEmpty()) {
+      return incoming;
+    }
+    ArrayUnenforcedSet<E> edges = new ArrayUnenforcedSet<>(incoming.size() + outgoing.size());
+    for (Object o : incoming.edges) {
+      E e = TypeUtil.uncheckedCast(o, null);
+      // self-loops are also outgoing edges
+      if (!isLoop(e)) {
+        edges.add(e);
+      }
+    }
+    edges.addAll(outgoing);
+    return Collections.unmodifiableSet(edges);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int inDegreeOf(V vertex) {
+    return directed ? getVertexEntry(vertex).incoming.size() : degreeOf(vertex);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> incomingEdgesOf(V vertex) {
+    VertexEntry<E> entry = getVertexEntry(vertex);
+    return directed ? entry.incoming : entry.outgoing;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int outDegreeOf(V vertex) {
+    return directed ? getVertexEntry(vertex).outgoing.size() : degreeOf(vertex);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> outgoingEdgesOf(V vertex) {
+    return getVertexEntry(vertex).outgoing;
+  }
+
+  private VertexEntry<E> getVertexEntry(V v) {
+    if (v == null) {
+      throw new NullPointerException();
+    }
+    VertexEntry<E> entry = vertexMap.get(v);
+    if (entry == null) {
+      throw new IllegalArgumentException("no such vertex in graph: " + v.toString());
+    }
+    return entry;
+  }
+
+  private boolean isLoop(E e) {
+    return getEdgeSource(e).equals(getEdgeTarget(e));
+  }
+
+  private boolean connects(E e, V sourceVertex, V targetVertex) {
+    V source = getEdgeSource(e);
+    V target = getEdgeTarget(e);
+    if (source.equals(sourceVertex) && target.equals(targetVertex)) {
+      return true;
+    }
+    return !directed && source.equals(targetVertex) && target.equals(sourceVertex);
+  }
+
+  private E findEdge(VertexEntry<E> source, V sourceVertex, V targetVertex) {
+    for (Object o : source.outgoing.edges) {
+      E e = TypeUtil.uncheckedCast(o, null);
+      if (connects(e, sourceVertex, targetVertex)) {
+        return e;
+      }
+    }
+    return null;
+  }
+
+  /*
+   * Must be called while holding the write lock. The edge is published in the edge map before it
+   * becomes reachable from its endpoints.
+   */
+  private void insertEdge(E e, V sourceVertex, V targetVertex) {
+    if (e instanceof IntrusiveEdge) {
+      IntrusiveEdge ie = (IntrusiveEdge) e;
+      ie.source = sourceVertex;
+      ie.target = targetVertex;
+    }
+    edgeMap.put(e, new EdgeEntry<>(sourceVertex, targetVertex));
+
+    VertexEntry<E> source = vertexMap.get(sourceVertex);
+    VertexEntry<E> target = vertexMap.get(targetVertex);
+    source.outgoing = source.outgoing.with(e);
+    if (directed) {
+      target.incoming = target.incoming.with(e);
+    } else if (source != target) {
+      target.outgoing = target.outgoing.with(e);
+    }
+  }
+
+  /*
+   * Must be called while holding the write lock. The edge is removed from its endpoints before it is
+   * removed from the edge map.
+   */
+  private void deleteEdge(E e) {
+    EdgeEntry<V> entry = edgeMap.get(e);
+    VertexEntry<E> source = vertexMap.get(entry.source);
+    VertexEntry<E> target = vertexMap.get(entry.target);
+    source.outgoing = source.outgoing.without(e);
+    if (directed) {
+      target.incoming = target.incoming.without(e);
+    } else if (source != target) {
+      target.outgoing = target.outgoing.without(e);
+    }
+    edgeMap.remove(e);
+  }
+
+  /** The edges touching a vertex. In undirected graphs only the outgoing edges are used. */
+  private static class VertexEntry<E> implements Serializable {
+    private static final long serialVersionUID = 2360386217580632307L;
+
+    volatile EdgeArraySet<E> outgoing = EdgeArraySet.empty();
+    volatile EdgeArraySet<E> incoming = EdgeArraySet.empty();
+  }
+
+  /** The endpoints and the weight of an edge. */
+  private static class EdgeEntry<V> implements Serializable {
+    private static final long serialVersionUID = -1163580928165743152L;
+
+    final V source;
+    final V target;
+    volatile double weight = Graph.DEFAULT_EDGE_WEIGHT;
+
+    EdgeEntry(V source, V target) {
+      this.source = source;
+      this.target = target;
+    }
+  }
+
+  /** An immutable set of edges backed by an array. */
+  private static final class EdgeArraySet<E> extends AbstractSet<E> implements Serializable {
+    private static final long serialVersionUID = -7769040434452834049L;
+
+    private final Object[] edges;
+
+    private EdgeArraySet(Object[] edges) {
+      this.edges = edges;
+    }
+
+    static <E> EdgeArraySet<E> empty() {
+      return new EdgeArraySet<>(EMPTY);
+    }
+
+    EdgeArraySet<E> with(Object e) {
+      Object[] newEdges = Arrays.copyOf(edges, edges.length + 1);
+      newEdges[edges.length] = e;
+      return new EdgeArraySet<>(newEdges);
+    }
+
+    EdgeArraySet<E> without(Object e) {
+      for (int i = 0; i < edges.length; i++) {
+        if (edges[i].equals(e)) {
+          Object[] newEdges = new Object[edges.length - 1];
+          System.arraycopy(edges, 0, newEdges, 0, i);
+          System.arraycopy(edges, i + 1, newEdges, i, edges.length - i - 1);
+          return new EdgeArraySet<>(newEdges);
+        }
+      }
+      return this;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      return new Iterator<E>() {
+        private int next = 0;
+
+        @Override
+        public boolean hasNext() {
+          return next < edges.length;
+        }
+
+        @Override
+        public E next() {
+          if (next >= edges.length) {
+            throw new NoSuchElementException();
+          }
+          return TypeUtil.uncheckedCast(edges[next++], null);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return edges.length;
+    }
+  }
+}
+
+// End ConcurrentGraph.java
@@ -31,6 +31,16 @@ import org.jgrapht.util.*;
  * <p>This graph does <i>not</i> pass the hashCode and equals operations through to the backing
  * graph, but relies on <tt>Object</tt>'s <tt>equals</tt> and <tt>hashCode</tt> methods.
  *
+ * <p>Modifications can be grouped into a batch using {@link #beginBatch()} and {@link
+ * #commitBatch()}. While a batch is in progress no event is fired; instead the changes are
+ * coalesced and delivered to graph listeners as a single {@link GraphBatchChangeEvent} when the
+ * batch is committed. Structures which are kept up to date by listening to this graph should not
+ * be queried while a batch is in progress. If a batch cannot be completed, e.g. because an
+ * exception is thrown, it should be ended with {@link #abortBatch()}.
+ *
+ * <p>Listeners are notified on the thread modifying the graph. A slow listener can be wrapped in an
+ * {@link AsyncGraphListener} in order to be notified on an executor instead.
+ *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  * @author Barak Naveh
@@ -47,6 +57,8 @@ public class DefaultListenableGraph<V, E> extends GraphDelegator<V, E>
   private FlyweightEdgeEvent<V, E> reuseableEdgeEvent;
   private FlyweightVertexEvent<V> reuseableVertexEvent;
   private boolean reuseEvents;
+  private GraphBatchChangeEvent.Builder<V, E> batch;
+  private int batchDepth;
 
   /**
    * Creates a new listenable graph.
@@ -104,6 +116,87 @@ public class DefaultListenableGraph<V, E> extends GraphDelegator<V, E>
     return reuseEvents;
   }
 
+  /**
+   * Starts a batch of modifications. Until the batch is committed the modifications of this graph
+   * are recorded instead of being fired to the listeners. Batches can be nested, in which case the
+   * changes are delivered when the outermost batch is committed.
+   *
+   * @see #commitBatch()
+   */
+  public void beginBatch() {
+    if (batchDepth++ == 0) {
+      batch = new GraphBatchChangeEvent.Builder<>();
+    }
+  }
+
+  /**
+   * Commits the current batch of modifications. When the outermost batch is committed, graph
+   * listeners receive a single {@link GraphBatchChangeEvent} with the net effect of the batch and
+   * vertex set listeners receive an event for each vertex added or removed. Nothing is fired if
+   * the batch has no net effect.
+   *
+   * @throws IllegalStateException if no batch is in progress
+   */
+  public void commitBatch() {
+    if (batchDepth == 0) {
+      throw new IllegalStateException("No batch in progress");
+    }
+    if (--batchDepth > 0) {
+      return;
+    }
+
+    GraphBatchChangeEvent<V, E> e = batch.build(this);
+    batch = null;
+    if (e.isEmpty()) {
+      return;
+    }
+
+    for (GraphListener<V, E> l : graphListeners) {
+      l.graphChanged(e);
+    }
+
+    if (!vertexSetListeners.isEmpty()) {
+      for (V v : e.getRemovedVertices()) {
+        GraphVertexChangeEvent<V> ve =
+            createGraphVertexChangeEvent(GraphVertexChangeEvent.VERTEX_REMOVED, v);
+        for (VertexSetListener<V> l : vertexSetListeners) {
+          l.vertexRemoved(ve);
+        }
+      }
+      for (V v : e.getAddedVertices()) {
+        GraphVertexChangeEvent<V> ve =
+            createGraphVertexChangeEvent(GraphVertexChangeEvent.VERTEX_ADDED, v);
+        for (VertexSetListener<V> l : vertexSetListeners) {
+          l.vertexAdded(ve);
+        }
+      }
+    }
+  }
+
+  /**
+   * Ends the current batch of modifications, including any enclosing batch, e.g. when an exception
+   * interrupts it. The modifications of the graph made during the batch are not undone; they are
+   * delivered to the listeners as by {@link #commitBatch()} so that the listeners remain
+   * consistent with the graph. Nothing happens if no batch is in progress.
+   *
+   * @see #beginBatch()
+   */
+  public void abortBatch() {
+    if (batchDepth > 0) {
+      batchDepth = 1;
+      commitBatch();
+    }
+  }
+
+  /**
+   * Tests whether a batch of modifications is in progress.
+   *
+   * @return true if a batch is in progress, false otherwise
+   */
+  public boolean isBatchInProgress() {
+    return batchDepth > 0;
+  }
+
   /** @see Graph#addEdge(Object, Object) */
   @Override
   public E addEdge(V sourceVertex, V targetVertex) {
@@ -159,6 +252,8 @@ public class DefaultListenableGraph<V, E> extends GraphDelegator<V, E>
       DefaultListenableGraph<V, E> g = TypeUtil.uncheckedCast(super.clone(), null);
       g.graphListeners = new ArrayList<>();
       g.vertexSetListeners = new ArrayList<>();
+      g.batch = null;
+      g.batchDepth = 0;
 
       return g;
     } catch (CloneNotSupportedException e) {
@@ -234,6 +329,11 @@ public class DefaultListenableGraph<V, E> extends GraphDelegator<V, E>
    * @param target edge target
    */
   protected void fireEdgeAdded(E edge, V source, V target) {
+    if (batch != null) {
+      batch.edgeAdded(edge, source, target);
+      return;
+    }
+
     GraphEdgeChangeEvent<V, E> e =
         createGraphEdgeChangeEvent(GraphEdgeChangeEvent.EDGE_ADDED, edge, source, target);
 
@@ -250,6 +350,11 @@ public class DefaultListenableGraph<V, E> extends GraphDelegator<V, E>
    * @param target edge target
    */
   protected void fireEdgeRemoved(E edge, V source, V target) {
+    if (batch != null) {
+      batch.edgeRemoved(edge, source, target);
+      return;
+    }
+
     GraphEdgeChangeEvent<V, E> e =
         createGraphEdgeChangeEvent(GraphEdgeChangeEvent.EDGE_REMOVED, edge, source, target);
 
@@ -264,6 +369,11 @@ public class DefaultListenableGraph<V, E> extends GraphDelegator<V, E>
    * @param vertex the vertex that was added.
    */
   protected void fireVertexAdded(V vertex) {
+    if (batch != null) {
+      batch.vertexAdded(vertex);
+      return;
+    }
+
     GraphVertexChangeEvent<V> e =
         createGraphVertexChangeEvent(GraphVertexChangeEvent.VERTEX_ADDED, vertex);
 
@@ -282,6 +392,11 @@ public class DefaultListenableGraph<V, E> extends GraphDelegator<V, E>
    * @param vertex the vertex that was removed.
    */
   protected void fireVertexRemoved(V vertex) {
+    if (batch != null) {
+      batch.vertexRemoved(vertex);
+      return;
+    }
+
     GraphVertexChangeEvent<V> e =
         createGraphVertexChangeEvent(GraphVertexChangeEvent.VERTEX_REMOVED, vertex);
 
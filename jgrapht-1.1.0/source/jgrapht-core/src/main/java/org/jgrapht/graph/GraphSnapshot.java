@@ -0,0 +1,517 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.locks.*;
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+/**
+ * An immutable snapshot of an {@link AbstractBaseGraph}, see {@link AbstractBaseGraph#snapshot()}.
+ *
+ * <p>The snapshot shares all its structures with the graph it was taken from. Before the graph
+ * modifies a vertex or an edge for the first time after the snapshot was taken, it hands the old
+ * state of that element over to the snapshot, which keeps it from then on. Queries about elements
+ * which have not been touched since the snapshot read through to the graph. Thus taking a snapshot
+ * takes constant time and the space used by a snapshot is proportional to the number of elements
+ * modified since.
+ *
+ * <p>The graph holds a write lock while it is modified and hands its state over, and the snapshot
+ * holds the corresponding read lock while it is queried, so the snapshot can be read by other
+ * threads. Iterators iterate over a copy which is taken under the read lock.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+final class GraphSnapshot<V, E> extends AbstractGraph<V, E> implements Serializable {
+  private static final long serialVersionUID = 3036592357240806652L;
+
+  private static final String UNMODIFIABLE = "this graph is unmodifiable";
+
+  private static final int OUTGOING = 0;
+  private static final int INCOMING = 1;
+  private static final int ALL = 2;
+
+  private final Graph<V, E> graph;
+  private final GraphType type;
+  private final Lock readLock;
+
+  private final Set<V> addedVertices = new HashSet<>();
+  private final Set<V> removedVertices = new LinkedHashSet<>();
+  private final Set<E> addedEdges = new HashSet<>();
+  private final Set<E> removedEdges = new LinkedHashSet<>();
+  private final Map<V, FrozenVertex<E>> frozenVertices = new HashMap<>();
+  private final Map<E, FrozenEdge<V>> frozenEdges = new HashMap<>();
+
+  private final Set<V> vertexSet;
+  private final Set<E> edgeSet;
+
+  /**
+   * Create a snapshot of the current state of a graph.
+   *
+   * @param graph the graph
+   * @param readLock the read lock which excludes modifications of the graph
+   */
+  GraphSnapshot(Graph<V, E> graph, Lock readLock) {
+    this.graph = graph;
+    this.type = graph.getType().asUnmodifiable();
+    this.readLock = readLock;
+    this.vertexSet =
+        new SnapshotSet<>(graph.vertexSet(), addedVertices, removedVertices, readLock);
+    this.edgeSet = new SnapshotSet<>(graph.edgeSet(), addedEdges, removedEdges, readLock);
+  }
+
+  /*
+   * Notifications from the graph, which holds the write lock. The preserve methods are called
+   * before the graph modifies the corresponding element, the others after the modification.
+   */
+
+  void preserveVertex(V v) {
+    if (!frozenVertices.containsKey(v) && containsVertex(v)) {
+      frozenVertices.put(v, new FrozenVertex<>(graph, v));
+    }
+  }
+
+  void preserveEdge(E e) {
+    if (!frozenEdges.containsKey(e) && containsEdge(e)) {
+      frozenEdges.put(
+          e,
+          new FrozenEdge<>(graph.getEdgeSource(e), graph.getEdgeTarget(e), graph.getEdgeWeight(e)));
+    }
+  }
+
+  void vertexAdded(V v) {
+    if (!removedVertices.remove(v)) {
+      addedVertices.add(v);
+    }
+  }
+
+  void vertexRemoved(V v) {
+    if (!addedVertices.remove(v)) {
+      removedVertices.add(v);
+    }
+  }
+
+  void edgeAdded(E e) {
+    if (!removedEdges.remove(e)) {
+      addedEdges.add(e);
+    }
+  }
+
+  void edgeRemoved(E e) {
+    if (!addedEdges.remove(e)) {
+      removedEdges.add(e);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public GraphType getType() {
+    return type;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public EdgeFactory<V, E> getEdgeFactory() {
+    return graph.getEdgeFactory();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<V> vertexSet() {
+    return vertexSet;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> edgeSet() {
+    return edgeSet;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsVertex(V v) {
+    return vertexSet.contains(v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsEdge(E e) {
+    return edgeSet.contains(e);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public V getEdgeSource(E e) {
+    readLock.lock();
+    try {
+      FrozenEdge<V> frozen = frozenEdges.get(e);
+      return frozen != null ? frozen.source : graph.getEdgeSource(e);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public V getEdgeTarget(E e) {
+    readLock.lock();
+    try {
+      FrozenEdge<V> frozen = frozenEdges.get(e);
+      return frozen != null ? frozen.target : graph.getEdgeTarget(e);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getEdgeWeight(E e) {
+    readLock.lock();
+    try {
+      FrozenEdge<V> frozen = frozenEdges.get(e);
+      return frozen != null ? frozen.weight : graph.getEdgeWeight(e);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> getAllEdges(V sourceVertex, V targetVertex) {
+    readLock.lock();
+    try {
+      if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+        return null;
+      }
+      if (!frozenVertices.containsKey(sourceVertex) && graph.containsVertex(targetVertex)) {
+        // all edges between the two vertices touch the source, which is untouched
+        return Collections.unmodifiableSet(
+            new ArrayUnenforcedSet<>(graph.getAllEdges(sourceVertex, targetVertex)));
+      }
+      ArrayUnenforcedSet<E> edges = new ArrayUnenforcedSet<>();
+      for (E e : outgoingEdgesOf(sourceVertex)) {
+        if (connects(e, sourceVertex, targetVertex)) {
+          edges.add(e);
+        }
+      }
+      return Collections.unmodifiableSet(edges);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public E getEdge(V sourceVertex, V targetVertex) {
+    readLock.lock();
+    try {
+      if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+        return null;
+      }
+      if (!frozenVertices.containsKey(sourceVertex) && graph.containsVertex(targetVertex)) {
+        return graph.getEdge(sourceVertex, targetVertex);
+      }
+      for (E e : outgoingEdgesOf(sourceVertex)) {
+        if (connects(e, sourceVertex, targetVertex)) {
+          return e;
+        }
+      }
+      return null;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int degreeOf(V vertex) {
+    readLock.lock();
+    try {
+      assertVertexExist(vertex);
+      FrozenVertex<E> frozen = frozenVertices.get(vertex);
+      return frozen != null ? frozen.degree : graph.degreeOf(vertex);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> edgesOf(V vertex) {
+    assertVertexExist(vertex);
+    return new VertexEdgeSet(vertex, ALL);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int inDegreeOf(V vertex) {
+    readLock.lock();
+    try {
+      assertVertexExist(vertex);
+      FrozenVertex<E> frozen = frozenVertices.get(vertex);
+      return frozen != null ? frozen.inDegree : graph.inDegreeOf(vertex);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> incomingEdgesOf(V vertex) {
+    assertVertexExist(vertex);
+    return new VertexEdgeSet(vertex, INCOMING);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int outDegreeOf(V vertex) {
+    readLock.lock();
+    try {
+      assertVertexExist(vertex);
+      FrozenVertex<E> frozen = frozenVertices.get(vertex);
+      return frozen != null ? frozen.outDegree : graph.outDegreeOf(vertex);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<E> outgoingEdgesOf(V vertex) {
+    assertVertexExist(vertex);
+    return new VertexEdgeSet(vertex, OUTGOING);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public E addEdge(V sourceVertex, V targetVertex) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean addEdge(V sourceVertex, V targetVertex, E e) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean addVertex(V v) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public E removeEdge(V sourceVertex, V targetVertex) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean removeEdge(E e) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean removeVertex(V v) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void setEdgeWeight(E e, double weight) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  private boolean connects(E e, V sourceVertex, V targetVertex) {
+    V source = getEdgeSource(e);
+    V target = getEdgeTarget(e);
+    if (source.equals(sourceVertex) && target.equals(targetVertex)) {
+      return true;
+    }
+    return !type.isDirected() && source.equals(targetVertex) && target.equals(sourceVertex);
+  }
+
+  /**
+   * The edges of a vertex at the time the snapshot was taken. The set reads through to the graph
+   * until the vertex is modified for the first time, holding the read lock.
+   */
+  private class VertexEdgeSet extends AbstractSet<E> implements Serializable {
+    private static final long serialVersionUID = -5439268367512034283L;
+
+    private final V vertex;
+    private final int kind;
+
+    VertexEdgeSet(V vertex, int kind) {
+      this.vertex = vertex;
+      this.kind = kind;
+    }
+
+    private Set<E> delegate() {
+      FrozenVertex<E> frozen = frozenVertices.get(vertex);
+      switch (kind) {
+        case OUTGOING:
+          return frozen != null ? frozen.outgoing : graph.outgoingEdgesOf(vertex);
+        case INCOMING:
+          return frozen != null ? frozen.incoming : graph.incomingEdgesOf(vertex);
+        default:
+          return frozen != null ? frozen.edges : graph.edgesOf(vertex);
+      }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      readLock.lock();
+      try {
+        return Collections.unmodifiableList(new ArrayList<>(delegate())).iterator();
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int size() {
+      readLock.lock();
+      try {
+        return delegate().size();
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      readLock.lock();
+      try {
+        return delegate().contains(o);
+      } finally {
+        readLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * A set as it was at the time of the snapshot, given the current set and the elements added and
+   * removed since.
+   */
+  private static class SnapshotSet<T> extends AbstractSet<T> implements Serializable {
+    private static final long serialVersionUID = 8251006520826133017L;
+
+    private final Set<T> current;
+    private final Set<T> added;
+    private final Set<T> removed;
+    private final Lock readLock;
+
+    SnapshotSet(Set<T> current, Set<T> added, Set<T> removed, Lock readLock) {
+      this.current = current;
+      this.added = added;
+      this.removed = removed;
+      this.readLock = readLock;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      readLock.lock();
+      try {
+        if (removed.contains(o)) {
+          return true;
+        }
+        return current.contains(o) && (added.isEmpty() || !added.contains(o));
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int size() {
+      readLock.lock();
+      try {
+        return current.size() - added.size() + removed.size();
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      List<T> elements;
+      readLock.lock();
+      try {
+        elements = new ArrayList<>(current.size() - added.size() + removed.size());
+        for (T t : current) {
+          if (added.isEmpty() || !added.contains(t)) {
+            elements.add(t);
+          }
+        }
+        elements.addAll(removed);
+      } finally {
+        readLock.unlock();
+      }
+      return Collections.unmodifiableList(elements).iterator();
+    }
+  }
+
+  /** The state of a vertex when it was first modified after the snapshot. */
+  private static class FrozenVertex<E> implements Serializable {
+    private static final long serialVersionUID = -1405376232406219961L;
+
+    final Set<E> outgoing;
+    final Set<E> incoming;
+    final Set<E> edges;
+    final int degree;
+    final int inDegree;
+    final int outDegree;
+
+    <V> FrozenVertex(Graph<V, E> graph, V v) {
+      this.edges = Collections.unmodifiableSet(new ArrayUnenforcedSet<>(graph.edgesOf(v)));
+      if (graph.getType().isDirected()) {
+        this.outgoing =
+            Collections.unmodifiableSet(new ArrayUnenforcedSet<>(graph.outgoingEdgesOf(v)));
+        this.incoming =
+            Collections.unmodifiableSet(new ArrayUnenforcedSet<>(graph.incomingEdgesOf(v)));
+      } else {
+        this.outgoing = edges;
+        this.incoming = edges;
+      }
+      this.degree = graph.degreeOf(v);
+      this.inDegree = graph.inDegreeOf(v);
+      this.outDegree = graph.outDegreeOf(v);
+    }
+  }
+
+  /** The state of an edge when it was first modified after the snapshot. */
+  private static class FrozenEdge<V> implements Serializable {
+    private static final long serialVersionUID = 6690823437046812734L;
+
+    final V source;
+    final V target;
+    final double weight;
+
+    FrozenEdge(V source, V target, double weight) {
+      this.source = source;
+      this.target = target;
+      this.weight = weight;
+    }
+  }
+}
+
+// End GraphSnapshot.java
@@ -81,14 +81,15 @@ public class GraphUnion<V, E, G extends Graph<V, E>> extends AbstractGraph<V, E>
 
   @Override
   public Set<E> getAllEdges(V sourceVertex, V targetVertex) {
-    Set<E> res = new LinkedHashSet<>();
+    Set<E> res1 = Collections.emptySet();
     if (g1.containsVertex(sourceVertex) && g1.containsVertex(targetVertex)) {
-      res.addAll(g1.getAllEdges(sourceVertex, targetVertex));
+      res1 = g1.getAllEdges(sourceVertex, targetVertex);
     }
+    Set<E> res2 = Collections.emptySet();
     if (g2.containsVertex(sourceVertex) && g2.containsVertex(targetVertex)) {
-      res.addAll(g2.getAllEdges(sourceVertex, targetVertex));
+      res2 = g2.getAllEdges(sourceVertex, targetVertex);
     }
-    return Collections.unmodifiableSet(res);
+    return new UnmodifiableUnionSet<>(res1, res2);
   }
 
   @Override
@@ -139,22 +140,14 @@ public class GraphUnion<V, E, G extends Graph<V, E>> extends AbstractGraph<V, E>
 
   @Override
   public Set<E> edgeSet() {
-    Set<E> res = new LinkedHashSet<>();
-    res.addAll(g1.edgeSet());
-    res.addAll(g2.edgeSet());
-    return Collections.unmodifiableSet(res);
+    return new UnmodifiableUnionSet<>(g1.edgeSet(), g2.edgeSet());
   }
 
   @Override
   public Set<E> edgesOf(V vertex) {
-    Set<E> res = new LinkedHashSet<>();
-    if (g1.containsVertex(vertex)) {
-      res.addAll(g1.edgesOf(vertex));
-    }
-    if (g2.containsVertex(vertex)) {
-      res.addAll(g2.edgesOf(vertex));
-    }
-    return Collections.unmodifiableSet(res);
+    Set<E> res1 = g1.containsVertex(vertex) ? g1.edgesOf(vertex) : Collections.emptySet();
+    Set<E> res2 = g2.containsVertex(vertex) ? g2.edgesOf(vertex) : Collections.emptySet();
+    return new UnmodifiableUnionSet<>(res1, res2);
   }
 
   /** Throws <tt>UnsupportedOperationException</tt>, because <tt> GraphUnion</tt> is read-only. */
@@ -177,10 +170,7 @@ public class GraphUnion<V, E, G extends Graph<V, E>> extends AbstractGraph<V, E>
 
   @Override
   public Set<V> vertexSet() {
-    Set<V> res = new HashSet<>();
-    res.addAll(g1.vertexSet());
-    res.addAll(g2.vertexSet());
-    return Collections.unmodifiableSet(res);
+    return new UnmodifiableUnionSet<>(g1.vertexSet(), g2.vertexSet());
   }
 
   @Override
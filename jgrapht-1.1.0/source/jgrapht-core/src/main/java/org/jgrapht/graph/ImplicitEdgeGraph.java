@@ -0,0 +1,906 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+/**
+ * A graph whose edges are not objects but long identifiers from which the endpoints are decoded.
+ *
+ * <p>Each vertex gets an internal index and keeps its outgoing edges in a primitive array of target
+ * indices, together with a parallel array of weights if the graph is weighted. An edge is the long
+ * <code>(s &lt;&lt; 32) | i</code> where <code>s</code> is the index of its source and <code>i
+ * </code> is its slot in the array of the source. {@link #getEdgeSource(Long)}, {@link
+ * #getEdgeTarget(Long)} and {@link #getEdgeWeight(Long)} therefore decode the edge and read the
+ * arrays, and the graph allocates neither an edge object nor an {@link IntrusiveEdge} per edge.
+ * The edges entering a vertex are kept in a long array per vertex, so that every edge costs one
+ * int, one long and, in weighted graphs, one double.
+ *
+ * <p>Edges created by {@link #addEdge(Object, Object)} reuse the slots released by removed edges of
+ * the same source. The edge factory of the graph returns the edge which would be created next, so
+ * that importers and {@link Graphs#addEdge(Graph, Object, Object, double)} work unchanged. An edge
+ * can be added explicitly only if its source part is the index of the source vertex and its slot is
+ * free. Identifiers of removed edges and of edges of removed vertices may be reused.
+ *
+ * <p>The vertex set is iterated in the order of the vertex indices, which is the insertion order
+ * unless vertices have been removed. Removing an edge requires time linear in the in-degree of its
+ * target.
+ *
+ * <p>This graph implementation is not thread safe.
+ *
+ * @param <V> the graph vertex type
+ */
+public class ImplicitEdgeGraph<V> extends AbstractGraph<V, Long>
+    implements Cloneable, Serializable {
+  private static final long serialVersionUID = 4417381245393051326L;
+
+  private static final String LOOPS_NOT_ALLOWED = "loops not allowed";
+  private static final int[] EMPTY_INTS = new int[0];
+  private static final double[] EMPTY_DOUBLES = new double[0];
+  private static final long[] EMPTY_LONGS = new long[0];
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final boolean directed;
+  private final boolean weighted;
+  private final boolean allowingMultipleEdges;
+  private final boolean allowingLoops;
+
+  /*
+   * Vertex storage. Index i is in use iff vertices[i] != null.
+   */
+  private Map<V, Integer> index;
+  private Object[] vertices;
+  private int vertexBound;
+  private int[] freeVertices;
+  private int freeVerticesCount;
+
+  /*
+   * Outgoing edges by slot. Slot i of vertex s is in use iff targets[s][i] >= 0.
+   */
+  private int[][] targets;
+  private double[][] weights;
+  private int[] slotCount;
+  private int[] outDegree;
+  private int[][] freeSlots;
+  private int[] freeSlotsCount;
+
+  /*
+   * Incoming edges. In undirected graphs these are the edges whose target is the vertex, except
+   * self-loops.
+   */
+  private long[][] inEdges;
+  private int[] inCount;
+
+  private int edgeCount;
+  private long pendingEdge = -1;
+  private double pendingEdgeWeight;
+
+  private transient Set<V> vertexSetView = null;
+  private transient Set<Long> edgeSetView = null;
+
+  /**
+   * Construct a new graph.
+   *
+   * @param directed if true the graph will be directed, otherwise undirected
+   * @param allowMultipleEdges whether to allow multiple edges or not.
+   * @param allowLoops whether to allow edges that are self-loops or not.
+   * @param weighted whether the graph is weighted, i.e. the edges support a weight attribute
+   */
+  public ImplicitEdgeGraph(
+      boolean directed, boolean allowMultipleEdges, boolean allowLoops, boolean weighted) {
+    this.directed = directed;
+    this.weighted = weighted;
+    this.allowingMultipleEdges = allowMultipleEdges;
+    this.allowingLoops = allowLoops;
+
+    this.index = new HashMap<>();
+    this.vertices = new Object[INITIAL_CAPACITY];
+    this.freeVertices = EMPTY_INTS;
+    this.targets = new int[INITIAL_CAPACITY][];
+    if (weighted) {
+      this.weights = new double[INITIAL_CAPACITY][];
+    }
+    this.slotCount = new int[INITIAL_CAPACITY];
+    this.outDegree = new int[INITIAL_CAPACITY];
+    this.freeSlots = new int[INITIAL_CAPACITY][];
+    this.freeSlotsCount = new int[INITIAL_CAPACITY];
+    this.inEdges = new long[INITIAL_CAPACITY][];
+    this.inCount = new int[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Returns <code>true</code> if and only if self-loops are allowed in this graph.
+   *
+   * @return <code>true</code> if and only if graph loops are allowed.
+   */
+  public boolean isAllowingLoops() {
+    return allowingLoops;
+  }
+
+  /**
+   * Returns <code>true</code> if and only if multiple edges are allowed in this graph.
+   *
+   * @return <code>true</code> if and only if multiple edges are allowed.
+   */
+  public boolean isAllowingMultipleEdges() {
+    return allowingMultipleEdges;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Long> getAllEdges(V sourceVertex, V targetVertex) {
+    if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+      return null;
+    }
+    int s = index.get(sourceVertex);
+    int t = index.get(targetVertex);
+    ArrayUnenforcedSet<Long> edges = new ArrayUnenforcedSet<>();
+    int[] row = targets[s];
+    for (int i = 0; i < slotCount[s]; i++) {
+      if (row[i] == t) {
+        edges.add(edge(s, i));
+      }
+    }
+    if (!directed && s != t) {
+      long[] in = inEdges[s];
+      for (int i = 0; i < inCount[s]; i++) {
+        if (sourceOf(in[i]) == t) {
+          edges.add(in[i]);
+        }
+      }
+    }
+    return edges;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Long getEdge(V sourceVertex, V targetVertex) {
+    if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+      return null;
+    }
+    long e = findEdge(index.get(sourceVertex), index.get(targetVertex));
+    return e < 0 ? null : e;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The returned factory returns the edge which {@link #addEdge(Object, Object)} would create
+   * next for the given source vertex. It fails with an {@link IllegalArgumentException} if the
+   * source vertex is not contained in the graph.
+   */
+  @Override
+  public EdgeFactory<V, Long> getEdgeFactory() {
+    return new ImplicitEdgeFactory();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Long addEdge(V sourceVertex, V targetVertex) {
+    assertVertexExist(sourceVertex);
+    assertVertexExist(targetVertex);
+    int s = index.get(sourceVertex);
+    int t = index.get(targetVertex);
+
+    if (!allowingMultipleEdges && findEdge(s, t) >= 0) {
+      return null;
+    }
+    if (!allowingLoops && s == t) {
+      throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+    }
+
+    int slot = nextFreeSlot(s);
+    insertEdge(s, slot, t);
+    return edge(s, slot);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if the edge does not encode the source vertex
+   */
+  @Override
+  public boolean addEdge(V sourceVertex, V targetVertex, Long e) {
+    if (e == null) {
+      throw new NullPointerException();
+    } else if (containsEdge(e)) {
+      return false;
+    }
+
+    assertVertexExist(sourceVertex);
+    assertVertexExist(targetVertex);
+    int s = index.get(sourceVertex);
+    int t = index.get(targetVertex);
+    if (e < 0 || sourceOf(e) != s || slotOf(e) < 0) {
+      throw new IllegalArgumentException("edge does not belong to source vertex: " + e);
+    }
+
+    if (!allowingMultipleEdges && findEdge(s, t) >= 0) {
+      return false;
+    }
+    if (!allowingLoops && s == t) {
+      throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+    }
+
+    insertEdge(s, slotOf(e), t);
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean addVertex(V v) {
+    if (v == null) {
+      throw new NullPointerException();
+    } else if (index.containsKey(v)) {
+      return false;
+    }
+    int i = freeVerticesCount > 0 ? freeVertices[--freeVerticesCount] : vertexBound++;
+    ensureVertexCapacity(i + 1);
+    index.put(v, i);
+    vertices[i] = v;
+    targets[i] = EMPTY_INTS;
+    if (weighted) {
+      weights[i] = EMPTY_DOUBLES;
+    }
+    slotCount[i] = 0;
+    outDegree[i] = 0;
+    freeSlots[i] = EMPTY_INTS;
+    freeSlotsCount[i] = 0;
+    inEdges[i] = EMPTY_LONGS;
+    inCount[i] = 0;
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsEdge(Long e) {
+    return e != null && containsEdge((long) e);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsVertex(V v) {
+    return index.containsKey(v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Long> edgeSet() {
+    if (edgeSetView == null) {
+      edgeSetView = new EdgeSetView();
+    }
+    return edgeSetView;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int degreeOf(V vertex) {
+    assertVertexExist(vertex);
+    int v = index.get(vertex);
+    if (directed) {
+      return outDegree[v] + inCount[v];
+    }
+    // self-loops are counted twice
+    return outDegree[v] + inCount[v] + countLoops(v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Long> edgesOf(V vertex) {
+    assertVertexExist(vertex);
+    return new AdjacencyView(index.get(vertex), true, true);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int inDegreeOf(V vertex) {
+    if (!directed) {
+      return degreeOf(vertex);
+    }
+    assertVertexExist(vertex);
+    return inCount[index.get(vertex)];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Long> incomingEdgesOf(V vertex) {
+    assertVertexExist(vertex);
+    return new AdjacencyView(index.get(vertex), !directed, true);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int outDegreeOf(V vertex) {
+    if (!directed) {
+      return degreeOf(vertex);
+    }
+    assertVertexExist(vertex);
+    return outDegree[index.get(vertex)];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Long> outgoingEdgesOf(V vertex) {
+    assertVertexExist(vertex);
+    return new AdjacencyView(index.get(vertex), true, !directed);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Long removeEdge(V sourceVertex, V targetVertex) {
+    Long e = getEdge(sourceVertex, targetVertex);
+    if (e != null) {
+      deleteEdge(e);
+    }
+    return e;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean removeEdge(Long e) {
+    if (containsEdge(e)) {
+      deleteEdge(e);
+      return true;
+    }
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean removeVertex(V vertex) {
+    if (!containsVertex(vertex)) {
+      return false;
+    }
+    int v = index.remove(vertex);
+    for (int i = 0; i < slotCount[v]; i++) {
+      if (targets[v][i] >= 0) {
+        deleteEdge(edge(v, i));
+      }
+    }
+    while (inCount[v] > 0) {
+      deleteEdge(inEdges[v][inCount[v] - 1]);
+    }
+    vertices[v] = null;
+    targets[v] = null;
+    if (weighted) {
+      weights[v] = null;
+    }
+    freeSlots[v] = null;
+    inEdges[v] = null;
+
+    if (freeVerticesCount == freeVertices.length) {
+      freeVertices =
+          Arrays.copyOf(freeVertices, Math.max(INITIAL_CAPACITY, 2 * freeVertices.length));
+    }
+    freeVertices[freeVerticesCount++] = v;
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<V> vertexSet() {
+    if (vertexSetView == null) {
+      vertexSetView = new VertexSetView();
+    }
+    return vertexSetView;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public V getEdgeSource(Long e) {
+    assertEdgeExist(e);
+    return vertex(sourceOf(e));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public V getEdgeTarget(Long e) {
+    assertEdgeExist(e);
+    return vertex(targets[sourceOf(e)][slotOf(e)]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public GraphType getType() {
+    DefaultGraphType.Builder builder = new DefaultGraphType.Builder();
+    builder = directed ? builder.directed() : builder.undirected();
+    return builder
+        .weighted(weighted)
+        .allowMultipleEdges(allowingMultipleEdges)
+        .allowSelfLoops(allowingLoops)
+        .build();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getEdgeWeight(Long e) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    if (!weighted) {
+      return Graph.DEFAULT_EDGE_WEIGHT;
+    }
+    assertEdgeExist(e);
+    return weights[sourceOf(e)][slotOf(e)];
+  }
+
+  /**
+   * Set an edge weight.
+   *
+   * <p>Since edges are plain longs they cannot carry a weight by themselves. In order to support
+   * {@link Graphs#addEdge(Graph, Object, Object, double)}, which sets the weight of an edge before
+   * adding it, the weight of the most recent edge which is not contained in the graph is remembered
+   * and used when this edge is added.
+   *
+   * @param e the edge
+   * @param weight the weight
+   * @throws UnsupportedOperationException if the graph is not weighted
+   */
+  @Override
+  public void setEdgeWeight(Long e, double weight) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    if (!weighted) {
+      throw new UnsupportedOperationException();
+    }
+    if (!containsEdge((long) e)) {
+      pendingEdge = e;
+      pendingEdgeWeight = weight;
+      return;
+    }
+    weights[sourceOf(e)][slotOf(e)] = weight;
+  }
+
+  /**
+   * Returns a shallow copy of this graph instance. The copy uses the same edges as this graph.
+   *
+   * @return a shallow copy of this graph.
+   * @throws RuntimeException in case the clone is not supported
+   * @see java.lang.Object#clone()
+   */
+  @Override
+  public Object clone() {
+    try {
+      ImplicitEdgeGraph<V> newGraph = TypeUtil.uncheckedCast(super.clone(), null);
+      newGraph.index = new HashMap<>(index);
+      newGraph.vertices = vertices.clone();
+      newGraph.freeVertices = freeVertices.clone();
+      newGraph.targets = deepCopy(targets);
+      if (weighted) {
+        newGraph.weights = new double[weights.length][];
+        for (int i = 0; i < weights.length; i++) {
+          newGraph.weights[i] = weights[i] == null ? null : weights[i].clone();
+        }
+      }
+      newGraph.slotCount = slotCount.clone();
+      newGraph.outDegree = outDegree.clone();
+      newGraph.freeSlots = deepCopy(freeSlots);
+      newGraph.freeSlotsCount = freeSlotsCount.clone();
+      newGraph.inEdges = new long[inEdges.length][];
+      for (int i = 0; i < inEdges.length; i++) {
+        newGraph.inEdges[i] = inEdges[i] == null ? null : inEdges[i].clone();
+      }
+      newGraph.inCount = inCount.clone();
+      newGraph.vertexSetView = null;
+      newGraph.edgeSetView = null;
+      return newGraph;
+    } catch (CloneNotSupportedException e) {
+      e.printStackTrace();
+      throw new RuntimeException();
+    }
+  }
+
+  private static long edge(int s, int slot) {
+    return ((long) s << 32) | slot;
+  }
+
+  private static int sourceOf(long e) {
+    return (int) (e >>> 32);
+  }
+
+  private static int slotOf(long e) {
+    return (int) e;
+  }
+
+  private V vertex(int i) {
+    return TypeUtil.uncheckedCast(vertices[i], null);
+  }
+
+  private boolean containsEdge(long e) {
+    if (e < 0) {
+      return false;
+    }
+    int s = sourceOf(e);
+    int slot = slotOf(e);
+    return s < vertexBound
+        && vertices[s] != null
+        && slot >= 0
+        && slot < slotCount[s]
+        && targets[s][slot] >= 0;
+  }
+
+  private void assertEdgeExist(Long e) {
+    if (!containsEdge(e)) {
+      throw new IllegalArgumentException("no such edge in graph: " + e);
+    }
+  }
+
+  private long findEdge(int s, int t) {
+    int[] row = targets[s];
+    for (int i = 0; i < slotCount[s]; i++) {
+      if (row[i] == t) {
+        return edge(s, i);
+      }
+    }
+    if (!directed && s != t) {
+      long[] in = inEdges[s];
+      for (int i = 0; i < inCount[s]; i++) {
+        if (sourceOf(in[i]) == t) {
+          return in[i];
+        }
+      }
+    }
+    return -1;
+  }
+
+  private int countLoops(int v) {
+    int loops = 0;
+    if (allowingLoops) {
+      int[] row = targets[v];
+      for (int i = 0; i < slotCount[v]; i++) {
+        if (row[i] == v) {
+          loops++;
+        }
+      }
+    }
+    return loops;
+  }
+
+  /*
+   * The slot which the next edge of s will use. The free list of s holds exactly the free slots
+   * below slotCount[s], each once, so that its length is bounded by the number of slots.
+   */
+  private int nextFreeSlot(int s) {
+    if (freeSlotsCount[s] > 0) {
+      return freeSlots[s][freeSlotsCount[s] - 1];
+    }
+    return slotCount[s];
+  }
+
+  private void insertEdge(int s, int slot, int t) {
+    if (slot < slotCount[s]) {
+      popFreeSlot(s, slot);
+    } else {
+      ensureSlotCapacity(s, slot + 1);
+      // slots skipped by an explicit edge become available
+      for (int i = slotCount[s]; i < slot; i++) {
+        pushFreeSlot(s, i);
+      }
+      slotCount[s] = slot + 1;
+    }
+    long e = edge(s, slot);
+    targets[s][slot] = t;
+    if (weighted) {
+      weights[s][slot] = e == pendingEdge ? pendingEdgeWeight : Graph.DEFAULT_EDGE_WEIGHT;
+    }
+    pendingEdge = -1;
+    outDegree[s]++;
+    edgeCount++;
+
+    if (directed || s != t) {
+      long[] row = inEdges[t];
+      if (inCount[t] == row.length) {
+        row = Arrays.copyOf(row, Math.max(1, 2 * row.length));
+        inEdges[t] = row;
+      }
+      row[inCount[t]++] = e;
+    }
+  }
+
+  private void deleteEdge(long e) {
+    int s = sourceOf(e);
+    int slot = slotOf(e);
+    int t = targets[s][slot];
+
+    if (directed || s != t) {
+      long[] row = inEdges[t];
+      int size = inCount[t];
+      for (int i = 0; i < size; i++) {
+        if (row[i] == e) {
+          System.arraycopy(row, i + 1, row, i, size - i - 1);
+          inCount[t] = size - 1;
+          break;
+        }
+      }
+    }
+
+    targets[s][slot] = -1;
+    outDegree[s]--;
+    edgeCount--;
+    pushFreeSlot(s, slot);
+  }
+
+  /*
+   * Remove a slot which is about to be used from the free list. Implicitly created edges use the
+   * last entry, explicitly added edges may use any entry.
+   */
+  private void popFreeSlot(int s, int slot) {
+    int[] free = freeSlots[s];
+    for (int i = freeSlotsCount[s] - 1; i >= 0; i--) {
+      if (free[i] == slot) {
+        System.arraycopy(free, i + 1, free, i, freeSlotsCount[s] - i - 1);
+        freeSlotsCount[s]--;
+        return;
+      }
+    }
+  }
+
+  private void pushFreeSlot(int s, int slot) {
+    int[] free = freeSlots[s];
+    if (freeSlotsCount[s] == free.length) {
+      free = Arrays.copyOf(free, Math.max(1, 2 * free.length));
+      freeSlots[s] = free;
+    }
+    free[freeSlotsCount[s]++] = slot;
+  }
+
+  private void ensureSlotCapacity(int s, int capacity) {
+    if (capacity > targets[s].length) {
+      int newLength = Math.max(capacity, 2 * targets[s].length);
+      targets[s] = Arrays.copyOf(targets[s], newLength);
+      Arrays.fill(targets[s], slotCount[s], newLength, -1);
+      if (weighted) {
+        weights[s] = Arrays.copyOf(weights[s], newLength);
+      }
+    }
+  }
+
+  private void ensureVertexCapacity(int capacity) {
+    if (capacity > vertices.length) {
+      int newCapacity = Math.max(capacity, 2 * vertices.length);
+      vertices = Arrays.copyOf(vertices, newCapacity);
+      targets = Arrays.copyOf(targets, newCapacity);
+      if (weighted) {
+        weights = Arrays.copyOf(weights, newCapacity);
+      }
+      slotCount = Arrays.copyOf(slotCount, newCapacity);
+      outDegree = Arrays.copyOf(outDegree, newCapacity);
+      freeSlots = Arrays.copyOf(freeSlots, newCapacity);
+      freeSlotsCount = Arrays.copyOf(freeSlotsCount, newCapacity);
+      inEdges = Arrays.copyOf(inEdges, newCapacity);
+      inCount = Arrays.copyOf(inCount, newCapacity);
+    }
+  }
+
+  private static int[][] deepCopy(int[][] rows) {
+    int[][] copy = new int[rows.length][];
+    for (int i = 0; i < rows.length; i++) {
+      copy[i] = rows[i] == null ? null : rows[i].clone();
+    }
+    return copy;
+  }
+
+  /** An edge factory returning the edge which the graph would create next. */
+  private class ImplicitEdgeFactory implements EdgeFactory<V, Long>, Serializable {
+    private static final long serialVersionUID = -6090153519442736212L;
+
+    @Override
+    public Long createEdge(V sourceVertex, V targetVertex) {
+      assertVertexExist(sourceVertex);
+      int s = index.get(sourceVertex);
+      return edge(s, nextFreeSlot(s));
+    }
+  }
+
+  /** Read-only view of the vertex set, in the order of the vertex indices. */
+  private class VertexSetView extends AbstractSet<V> implements Serializable {
+    private static final long serialVersionUID = 2374106541265791853L;
+
+    @Override
+    public Iterator<V> iterator() {
+      return new Iterator<V>() {
+        private int next = advance(0);
+
+        @Override
+        public boolean hasNext() {
+          return next < vertexBound;
+        }
+
+        @Override
+        public V next() {
+          if (next >= vertexBound) {
+            throw new NoSuchElementException();
+          }
+          int v = next;
+          next = advance(v + 1);
+          return vertex(v);
+        }
+
+        private int advance(int from) {
+          int v = from;
+          while (v < vertexBound && vertices[v] == null) {
+            v++;
+          }
+          return v;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return index.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return index.containsKey(o);
+    }
+  }
+
+  /** Read-only view of the edge set, ordered by source index and slot. */
+  private class EdgeSetView extends AbstractSet<Long> implements Serializable {
+    private static final long serialVersionUID = -1842566105453541397L;
+
+    @Override
+    public Iterator<Long> iterator() {
+      return new Iterator<Long>() {
+        private int source = 0;
+        private int slot = -1;
+
+        {
+          advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+          return source < vertexBound;
+        }
+
+        @Override
+        public Long next() {
+          if (source >= vertexBound) {
+            throw new NoSuchElementException();
+          }
+          long e = edge(source, slot);
+          advance();
+          return e;
+        }
+
+        private void advance() {
+          slot++;
+          while (source < vertexBound) {
+            if (vertices[source] != null) {
+              int[] row = targets[source];
+              while (slot < slotCount[source]) {
+                if (row[slot] >= 0) {
+                  return;
+                }
+                slot++;
+              }
+            }
+            source++;
+            slot = 0;
+          }
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return edgeCount;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return (o instanceof Long) && containsEdge((long) (Long) o);
+    }
+  }
+
+  /**
+   * Read-only live view of the outgoing edges, the incoming edges or both of a vertex. Self-loops,
+   * which are both outgoing and incoming, appear once.
+   */
+  private class AdjacencyView extends AbstractSet<Long> {
+    private final int vertex;
+    private final boolean outgoing;
+    private final boolean incoming;
+
+    AdjacencyView(int vertex, boolean outgoing, boolean incoming) {
+      this.vertex = vertex;
+      this.outgoing = outgoing;
+      this.incoming = incoming;
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+      return new Iterator<Long>() {
+        private int slot = outgoing ? advanceSlot(0) : slotCount[vertex];
+        private int in = incoming ? advanceIn(0) : inCount[vertex];
+
+        @Override
+        public boolean hasNext() {
+          return slot < slotCount[vertex] || in < inCount[vertex];
+        }
+
+        @Override
+        public Long next() {
+          if (slot < slotCount[vertex]) {
+            long e = edge(vertex, slot);
+            slot = advanceSlot(slot + 1);
+            return e;
+          }
+          if (in < inCount[vertex]) {
+            long e = inEdges[vertex][in];
+            in = advanceIn(in + 1);
+            return e;
+          }
+          throw new NoSuchElementException();
+        }
+
+        private int advanceSlot(int from) {
+          int i = from;
+          while (i < slotCount[vertex] && targets[vertex][i] < 0) {
+            i++;
+          }
+          return i;
+        }
+
+        private int advanceIn(int from) {
+          int i = from;
+          // self-loops have already been returned as outgoing edges
+          while (outgoing && i < inCount[vertex] && sourceOf(inEdges[vertex][i]) == vertex) {
+            i++;
+          }
+          return i;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      int size = 0;
+      if (outgoing) {
+        size += outDegree[vertex];
+      }
+      if (incoming) {
+        size += inCount[vertex];
+      }
+      if (outgoing && incoming && directed) {
+        size -= countLoops(vertex);
+      }
+      return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Long) || !containsEdge((long) (Long) o)) {
+        return false;
+      }
+      long e = (Long) o;
+      int s = sourceOf(e);
+      int t = targets[s][slotOf(e)];
+      return (outgoing && s == vertex) || (incoming && t == vertex);
+    }
+  }
+}
+
+// End ImplicitEdgeGraph.java
@@ -0,0 +1,149 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+
+/**
+ * A graph whose vertices and edges are non-negative integers and which exposes its adjacency
+ * structure through primitive accessors.
+ *
+ * <p>Vertices and edges are identified by their integer value, which is used directly as an index
+ * into the internal arrays of the implementation. Algorithms which detect this interface can
+ * therefore keep their per-vertex and per-edge state in primitive arrays indexed by the vertex or
+ * edge and avoid boxing completely while traversing the graph.
+ *
+ * <p>The adjacency of a vertex is accessed by position. In directed graphs the outgoing (resp.
+ * incoming) edges of vertex <code>v</code> are <code>getOutgoingEdge(v, i)</code> (resp. <code>
+ * getIncomingEdge(v, i)</code>) for <code>0 &lt;= i &lt; getOutgoingEdgeCount(v)</code> (resp.
+ * <code>getIncomingEdgeCount(v)</code>). In undirected graphs both methods return the edges
+ * touching the vertex, where each self-loop appears once.
+ *
+ * @see AbstractIntGraph
+ */
+public interface IntGraph extends Graph<Integer, Integer> {
+  /**
+   * Get an exclusive upper bound on the vertices of the graph. Every vertex <code>v</code> of the
+   * graph satisfies <code>0 &lt;= v &lt; getVertexCapacity()</code>.
+   *
+   * @return an exclusive upper bound on the vertices
+   */
+  int getVertexCapacity();
+
+  /**
+   * Get an exclusive upper bound on the edges of the graph. Every edge <code>e</code> of the graph
+   * satisfies <code>0 &lt;= e &lt; getEdgeCapacity()</code>.
+   *
+   * @return an exclusive upper bound on the edges
+   */
+  int getEdgeCapacity();
+
+  /**
+   * Returns <code>true</code> if the graph contains the specified vertex.
+   *
+   * @param v the vertex
+   * @return <code>true</code> if the graph contains the vertex
+   */
+  boolean containsVertex(int v);
+
+  /**
+   * Returns <code>true</code> if the graph contains the specified edge.
+   *
+   * @param e the edge
+   * @return <code>true</code> if the graph contains the edge
+   */
+  boolean containsEdge(int e);
+
+  /**
+   * Get the source of an edge. The edge must be contained in the graph.
+   *
+   * @param e the edge
+   * @return the source vertex of the edge
+   */
+  int getEdgeSource(int e);
+
+  /**
+   * Get the target of an edge. The edge must be contained in the graph.
+   *
+   * @param e the edge
+   * @return the target vertex of the edge
+   */
+  int getEdgeTarget(int e);
+
+  /**
+   * Get the weight of an edge. The edge must be contained in the graph.
+   *
+   * @param e the edge
+   * @return the edge weight
+   */
+  double getEdgeWeight(int e);
+
+  /**
+   * Get the number of outgoing edges of a vertex. In undirected graphs this is the number of edges
+   * touching the vertex where self-loops are counted once. The vertex must be contained in the
+   * graph.
+   *
+   * @param v the vertex
+   * @return the number of outgoing edges
+   */
+  int getOutgoingEdgeCount(int v);
+
+  /**
+   * Get an outgoing edge of a vertex by position. The vertex must be contained in the graph.
+   *
+   * @param v the vertex
+   * @param i the position, between zero (inclusive) and {@link #getOutgoingEdgeCount(int)}
+   *     (exclusive)
+   * @return the edge
+   */
+  int getOutgoingEdge(int v, int i);
+
+  /**
+   * Get the number of incoming edges of a vertex. In undirected graphs this is the number of edges
+   * touching the vertex where self-loops are counted once. The vertex must be contained in the
+   * graph.
+   *
+   * @param v the vertex
+   * @return the number of incoming edges
+   */
+  int getIncomingEdgeCount(int v);
+
+  /**
+   * Get an incoming edge of a vertex by position. The vertex must be contained in the graph.
+   *
+   * @param v the vertex
+   * @param i the position, between zero (inclusive) and {@link #getIncomingEdgeCount(int)}
+   *     (exclusive)
+   * @return the edge
+   */
+  int getIncomingEdge(int v, int i);
+
+  /**
+   * Get the vertex opposite to a vertex on an edge. The edge must be contained in the graph.
+   *
+   * @param e the edge
+   * @param v one endpoint of the edge
+   * @return the other endpoint of the edge
+   */
+  default int getOppositeVertex(int e, int v) {
+    int source = getEdgeSource(e);
+    return source == v ? getEdgeTarget(e) : source;
+  }
+}
+
+// End IntGraph.java
@@ -0,0 +1,45 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+/**
+ * An undirected graph whose vertices and edges are non-negative integers. See {@link
+ * AbstractIntGraph} for details about the representation.
+ *
+ * <p>By default multiple edges are not allowed and self-loops are allowed.
+ */
+public class IntUndirectedGraph extends AbstractIntGraph {
+  private static final long serialVersionUID = 2365129807762145567L;
+
+  /** Creates a new graph. */
+  public IntUndirectedGraph() {
+    this(false, true);
+  }
+
+  /**
+   * Creates a new graph.
+   *
+   * @param allowMultipleEdges whether to allow multiple edges or not.
+   * @param allowLoops whether to allow edges that are self-loops or not.
+   */
+  public IntUndirectedGraph(boolean allowMultipleEdges, boolean allowLoops) {
+    super(false, allowMultipleEdges, allowLoops, false);
+  }
+}
+
+// End IntUndirectedGraph.java
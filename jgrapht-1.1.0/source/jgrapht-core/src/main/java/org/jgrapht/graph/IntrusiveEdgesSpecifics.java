@@ -54,6 +54,13 @@ interface IntrusiveEdgesSpecifics<V, E> extends Serializable {
    */
   void add(E e, V sourceVertex, V targetVertex);
 
+  /**
+   * Make sure that the given number of edges can be stored without resizing.
+   *
+   * @param edgeCount the expected number of edges
+   */
+  void ensureCapacity(int edgeCount);
+
   /**
    * Check if an edge exists
    *
@@ -0,0 +1,1303 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.lang.reflect.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import org.jgrapht.*;
+
+/**
+ * An immutable graph stored off-heap in a memory-mapped file.
+ *
+ * <p>The graph uses a compressed sparse row (CSR) representation, similar to {@link
+ * CompressedSparseRowGraph}, whose arrays live in a file which is mapped into memory when the graph
+ * is opened. Opening a graph therefore takes constant time regardless of its size, and the
+ * operating system page cache decides which parts of the graph reside in memory. Apart from a few
+ * fields, the graph uses no heap memory at all.
+ *
+ * <p>The vertices of the graph are the integers <code>0</code> to <code>n-1</code> and the edges
+ * are the longs <code>0</code> to <code>m-1</code>, where n is the number of vertices and m the
+ * number of edges. The edges are numbered in order of their source vertex and then of their target
+ * vertex, so that the outgoing edges of a vertex in a directed graph are a range of consecutive
+ * numbers. The edges of each vertex are sorted by the opposite vertex, which allows {@link
+ * #getEdge(Integer, Integer)} to run in logarithmic time.
+ *
+ * <p>A graph file is created either from an existing graph, using {@link #write(Graph, Path)}, or
+ * with a {@link Builder}. The builder is a graph itself and can be the target of any importer,
+ * which allows to convert a file in another format without building an intermediate graph. For
+ * example, a DIMACS file whose vertices are numbered from 1 can be converted as follows:
+ *
+ * <pre>
+ * MemoryMappedGraph.Builder builder = new MemoryMappedGraph.Builder(false, true);
+ * new DIMACSImporter&lt;Integer, Long&gt;(
+ *     (label, attributes) -&gt; Integer.parseInt(label) - 1,
+ *     (from, to, label, attributes) -&gt; builder.getEdgeFactory().createEdge(from, to))
+ *     .importGraph(builder, reader);
+ * MemoryMappedGraph graph = builder.write(path);
+ * </pre>
+ *
+ * <p>Writing a graph file keeps only a few arrays indexed by the vertices on the heap. The edges
+ * are sorted within the file being written, and the builder stores each edge in 8 bytes, or 16
+ * bytes in a weighted graph.
+ *
+ * <p>The graph is unmodifiable and allows both self-loops and multiple edges. The mapping is
+ * released by {@link #close()} or, at the latest, when the graph is garbage collected. The graph
+ * and its views must not be used after the graph has been closed.
+ */
+public class MemoryMappedGraph extends AbstractGraph<Integer, Long> implements Closeable {
+  private static final String UNMODIFIABLE = "this graph is unmodifiable";
+
+  private static final int MAGIC = 0x4A47544D;
+  private static final int VERSION = 1;
+  private static final int FLAG_DIRECTED = 1;
+  private static final int FLAG_WEIGHTED = 2;
+  private static final int HEADER_SIZE = 32;
+  private static final int DEFAULT_SEGMENT_SHIFT = 30;
+
+  private final GraphType type;
+  private final boolean directed;
+  private final boolean weighted;
+  private final int n;
+  private final long m;
+
+  private final MappedRegion region;
+  private final Layout layout;
+
+  private transient Set<Integer> vertexSetView = null;
+  private transient Set<Long> edgeSetView = null;
+
+  /**
+   * Open a graph file.
+   *
+   * @param file the graph file
+   * @throws IOException if an I/O error occurs or the file is not a graph file
+   */
+  public MemoryMappedGraph(Path file) throws IOException {
+    this(file, DEFAULT_SEGMENT_SHIFT);
+  }
+
+  /**
+   * Open a graph file mapping it in segments of the given size.
+   *
+   * @param file the graph file
+   * @param segmentShift the base 2 logarithm of the segment size, at least 3
+   * @throws IOException if an I/O error occurs or the file is not a graph file
+   */
+  MemoryMappedGraph(Path file, int segmentShift) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_SIZE) {
+        throw new IOException("not a graph file: " + file);
+      }
+      this.region = new MappedRegion(channel, FileChannel.MapMode.READ_ONLY, size, segmentShift);
+      if (region.getInt(0) != MAGIC || region.getInt(4) != VERSION) {
+        throw new IOException("not a graph file: " + file);
+      }
+      int flags = region.getInt(8);
+      this.directed = (flags & FLAG_DIRECTED) != 0;
+      this.weighted = (flags & FLAG_WEIGHTED) != 0;
+      this.n = region.getInt(12);
+      this.m = region.getLong(16);
+      this.layout = new Layout(n, m, region.getLong(24), weighted);
+      if (size < layout.end) {
+        throw new IOException("truncated graph file: " + file);
+      }
+    }
+
+    DefaultGraphType.Builder builder = new DefaultGraphType.Builder();
+    if (directed) {
+      builder = builder.directed();
+    } else {
+      builder = builder.undirected();
+    }
+    this.type =
+        builder
+            .weighted(weighted)
+            .allowMultipleEdges(true)
+            .allowSelfLoops(true)
+            .modifiable(false)
+            .build();
+  }
+
+  /**
+   * Write a graph to a file which can be opened as a {@link MemoryMappedGraph}. The vertices of the
+   * graph are numbered following the iteration order of its vertex set. An existing file is
+   * replaced.
+   *
+   * @param graph the graph to write
+   * @param file the file to write
+   * @param <V> the graph vertex type
+   * @param <E> the graph edge type
+   * @throws IOException if an I/O error occurs
+   * @throws IllegalArgumentException if the graph is neither directed nor undirected
+   */
+  public static <V, E> void write(Graph<V, E> graph, Path file) throws IOException {
+    GraphTests.requireDirectedOrUndirected(graph);
+    boolean weighted = graph.getType().isWeighted();
+
+    Map<V, Integer> vertexIndex = new HashMap<>();
+    for (V v : graph.vertexSet()) {
+      vertexIndex.put(v, vertexIndex.size());
+    }
+    EdgeArray edges = new EdgeArray(weighted);
+    for (E e : graph.edgeSet()) {
+      edges.add(
+          vertexIndex.get(graph.getEdgeSource(e)),
+          vertexIndex.get(graph.getEdgeTarget(e)),
+          weighted ? graph.getEdgeWeight(e) : Graph.DEFAULT_EDGE_WEIGHT);
+    }
+    writeFile(file, graph.getType().isDirected(), vertexIndex.size(), edges);
+  }
+
+  /**
+   * Release the mapping of the graph file. The graph and its views must not be used afterwards.
+   * Where the runtime does not allow to unmap a file explicitly, the mapping is released when it is
+   * garbage collected.
+   */
+  @Override
+  public void close() {
+    region.close();
+  }
+
+  /**
+   * Get the number of edges. Unlike the size of the {@link #edgeSet()}, the number of edges may
+   * exceed {@link Integer#MAX_VALUE}.
+   *
+   * @return the number of edges
+   */
+  public long getEdgeCount() {
+    return m;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public GraphType getType() {
+    return type;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The edge factory of this graph always throws an {@link UnsupportedOperationException}.
+   */
+  @Override
+  public EdgeFactory<Integer, Long> getEdgeFactory() {
+    return (s, t) -> {
+      throw new UnsupportedOperationException(UNMODIFIABLE);
+    };
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Integer> vertexSet() {
+    if (vertexSetView == null) {
+      vertexSetView = new VertexSetView();
+    }
+    return vertexSetView;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Long> edgeSet() {
+    if (edgeSetView == null) {
+      edgeSetView = new EdgeRangeSet(0, m);
+    }
+    return edgeSetView;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsVertex(Integer v) {
+    return v != null && v >= 0 && v < n;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsEdge(Long e) {
+    return e != null && e >= 0 && e < m;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Integer getEdgeSource(Long e) {
+    return source(edgeIndexOf(e));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Integer getEdgeTarget(Long e) {
+    return target(edgeIndexOf(e));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getEdgeWeight(Long e) {
+    long index = edgeIndexOf(e);
+    return weighted ? region.getDouble(layout.weights + 8 * index) : Graph.DEFAULT_EDGE_WEIGHT;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Long> getAllEdges(Integer sourceVertex, Integer targetVertex) {
+    if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+      return null;
+    }
+    int s = sourceVertex;
+    int t = targetVertex;
+    Set<Long> result = new LinkedHashSet<>();
+    if (directed) {
+      long end = outOffset(s + 1);
+      for (long e = lowerBoundOut(s, t); e < end && target(e) == t; e++) {
+        result.add(e);
+      }
+    } else {
+      long end = rowOffset(s + 1);
+      for (long k = lowerBoundRow(s, t); k < end && opposite(s, rowEdge(k)) == t; k++) {
+        result.add(rowEdge(k));
+      }
+    }
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Long getEdge(Integer sourceVertex, Integer targetVertex) {
+    if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+      return null;
+    }
+    int s = sourceVertex;
+    int t = targetVertex;
+    if (directed) {
+      long e = lowerBoundOut(s, t);
+      return e < outOffset(s + 1) && target(e) == t ? e : null;
+    } else {
+      long k = lowerBoundRow(s, t);
+      return k < rowOffset(s + 1) && opposite(s, rowEdge(k)) == t ? rowEdge(k) : null;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int degreeOf(Integer vertex) {
+    int v = indexOf(vertex);
+    if (directed) {
+      return (int) (outOffset(v + 1) - outOffset(v) + rowOffset(v + 1) - rowOffset(v));
+    }
+    return (int) (rowOffset(v + 1) - rowOffset(v) + countLoops(v));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Long> edgesOf(Integer vertex) {
+    int v = indexOf(vertex);
+    return directed ? new DirectedEdgesOfSet(v) : new RowSet(v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int inDegreeOf(Integer vertex) {
+    int v = indexOf(vertex);
+    return directed ? (int) (rowOffset(v + 1) - rowOffset(v)) : degreeOf(vertex);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Long> incomingEdgesOf(Integer vertex) {
+    return new RowSet(indexOf(vertex));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int outDegreeOf(Integer vertex) {
+    int v = indexOf(vertex);
+    return directed ? (int) (outOffset(v + 1) - outOffset(v)) : degreeOf(vertex);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Long> outgoingEdgesOf(Integer vertex) {
+    int v = indexOf(vertex);
+    return directed ? new EdgeRangeSet(outOffset(v), outOffset(v + 1)) : new RowSet(v);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public Long addEdge(Integer sourceVertex, Integer targetVertex) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public boolean addEdge(Integer sourceVertex, Integer targetVertex, Long e) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public boolean addVertex(Integer v) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public Long removeEdge(Integer sourceVertex, Integer targetVertex) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public boolean removeEdge(Long e) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public boolean removeVertex(Integer v) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UnsupportedOperationException always, since the graph is unmodifiable
+   */
+  @Override
+  public void setEdgeWeight(Long e, double weight) {
+    throw new UnsupportedOperationException(UNMODIFIABLE);
+  }
+
+  private int indexOf(Integer v) {
+    if (v == null) {
+      throw new NullPointerException();
+    }
+    if (v < 0 || v >= n) {
+      throw new IllegalArgumentException("no such vertex in graph: " + v);
+    }
+    return v;
+  }
+
+  private long edgeIndexOf(Long e) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    if (e < 0 || e >= m) {
+      throw new IllegalArgumentException("no such edge in graph: " + e);
+    }
+    return e;
+  }
+
+  private int source(long e) {
+    return region.getInt(layout.sources + 4 * e);
+  }
+
+  private int target(long e) {
+    return region.getInt(layout.targets + 4 * e);
+  }
+
+  private long outOffset(int v) {
+    return region.getLong(layout.outOffsets + 8L * v);
+  }
+
+  private long rowOffset(int v) {
+    return region.getLong(layout.rowOffsets + 8L * v);
+  }
+
+  private long rowEdge(long k) {
+    return region.getLong(layout.rowEdges + 8 * k);
+  }
+
+  private int opposite(int v, long e) {
+    int s = source(e);
+    return s == v ? target(e) : s;
+  }
+
+  /*
+   * The first outgoing edge of s whose target is at least t, in a directed graph.
+   */
+  private long lowerBoundOut(int s, int t) {
+    long lo = outOffset(s);
+    long hi = outOffset(s + 1);
+    while (lo < hi) {
+      long mid = (lo + hi) >>> 1;
+      if (target(mid) < t) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  /*
+   * The first position in the row of v whose opposite vertex is at least u.
+   */
+  private long lowerBoundRow(int v, int u) {
+    long lo = rowOffset(v);
+    long hi = rowOffset(v + 1);
+    while (lo < hi) {
+      long mid = (lo + hi) >>> 1;
+      if (opposite(v, rowEdge(mid)) < u) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  private int countLoops(int v) {
+    int loops = 0;
+    if (directed) {
+      long end = outOffset(v + 1);
+      for (long e = lowerBoundOut(v, v); e < end && target(e) == v; e++) {
+        loops++;
+      }
+    } else {
+      long end = rowOffset(v + 1);
+      for (long k = lowerBoundRow(v, v); k < end && opposite(v, rowEdge(k)) == v; k++) {
+        loops++;
+      }
+    }
+    return loops;
+  }
+
+  private static int sizeOf(long count) {
+    return (int) Math.min(Integer.MAX_VALUE, count);
+  }
+
+  /*
+   * Write the graph file. The edges are renumbered in order of their source and target vertex,
+   * keeping the order of addition among parallel edges. The edges are sorted by two passes of a
+   * counting sort which use the area of the rows as scratch space, so that only the offsets of the
+   * vertices are kept on the heap.
+   */
+  private static void writeFile(Path file, boolean directed, int n, EdgeArray edges)
+      throws IOException {
+    long m = edges.size();
+    boolean weighted = edges.isWeighted();
+    long[] outOffsets = new long[n + 1];
+    long[] rowOffsets = new long[n + 1];
+    long[] next = new long[n + 1];
+    for (long i = 0; i < m; i++) {
+      int s = edges.source(i);
+      int t = edges.target(i);
+      outOffsets[s + 1]++;
+      next[t + 1]++;
+      if (directed) {
+        rowOffsets[t + 1]++;
+      } else {
+        rowOffsets[s + 1]++;
+        if (s != t) {
+          rowOffsets[t + 1]++;
+        }
+      }
+    }
+    for (int v = 0; v < n; v++) {
+      outOffsets[v + 1] += outOffsets[v];
+      rowOffsets[v + 1] += rowOffsets[v];
+      next[v + 1] += next[v];
+    }
+    long entries = rowOffsets[n];
+    Layout layout = new Layout(n, m, entries, weighted);
+
+    Files.deleteIfExists(file);
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      MappedRegion out =
+          new MappedRegion(
+              channel, FileChannel.MapMode.READ_WRITE, layout.end, DEFAULT_SEGMENT_SHIFT);
+      try {
+        out.putInt(0, MAGIC);
+        out.putInt(4, VERSION);
+        out.putInt(8, (directed ? FLAG_DIRECTED : 0) | (weighted ? FLAG_WEIGHTED : 0));
+        out.putInt(12, n);
+        out.putLong(16, m);
+        out.putLong(24, entries);
+        for (int v = 0; v <= n; v++) {
+          out.putLong(layout.outOffsets + 8L * v, outOffsets[v]);
+          out.putLong(layout.rowOffsets + 8L * v, rowOffsets[v]);
+        }
+
+        // the edges by target, there are at least as many row entries as edges
+        for (long i = 0; i < m; i++) {
+          out.putLong(layout.rowEdges + 8 * next[edges.target(i)]++, i);
+        }
+        // then stably by source
+        System.arraycopy(outOffsets, 0, next, 0, n);
+        for (long k = 0; k < m; k++) {
+          long i = out.getLong(layout.rowEdges + 8 * k);
+          long e = next[edges.source(i)]++;
+          out.putInt(layout.sources + 4 * e, edges.source(i));
+          out.putInt(layout.targets + 4 * e, edges.target(i));
+          if (weighted) {
+            out.putDouble(layout.weights + 8 * e, edges.weight(i));
+          }
+        }
+
+        System.arraycopy(rowOffsets, 0, next, 0, n);
+        if (directed) {
+          for (long e = 0; e < m; e++) {
+            out.putLong(layout.rowEdges + 8 * next[out.getInt(layout.targets + 4 * e)]++, e);
+          }
+        } else {
+          writeUndirectedRows(out, layout, n, outOffsets, rowOffsets, next);
+        }
+        out.force();
+      } finally {
+        out.close();
+      }
+    }
+  }
+
+  /*
+   * The row of a vertex v is the merge of the edges entering v, which are in order of their source,
+   * and of the edges leaving v, which are in order of their target. The entering edges are written
+   * to the start of the row and merged from the end of the row with the range of leaving edges.
+   */
+  private static void writeUndirectedRows(
+      MappedRegion out, Layout layout, int n, long[] outOffsets, long[] rowOffsets, long[] next) {
+    long m = outOffsets[n];
+    for (long e = 0; e < m; e++) {
+      int s = out.getInt(layout.sources + 4 * e);
+      int t = out.getInt(layout.targets + 4 * e);
+      if (s != t) {
+        out.putLong(layout.rowEdges + 8 * next[t]++, e);
+      }
+    }
+    for (int v = 0; v < n; v++) {
+      long a = next[v] - 1;
+      long b = outOffsets[v + 1] - 1;
+      long w = rowOffsets[v + 1] - 1;
+      while (b >= outOffsets[v]) {
+        long in = a >= rowOffsets[v] ? out.getLong(layout.rowEdges + 8 * a) : -1;
+        // on ties the leaving edges come first
+        if (in >= 0 && out.getInt(layout.sources + 4 * in) >= out.getInt(layout.targets + 4 * b)) {
+          out.putLong(layout.rowEdges + 8 * w--, in);
+          a--;
+        } else {
+          out.putLong(layout.rowEdges + 8 * w--, b--);
+        }
+      }
+    }
+  }
+
+  /**
+   * The position of each array in the file. All arrays start at multiples of eight bytes so that no
+   * element spans two mapped segments.
+   */
+  private static class Layout {
+    final long sources;
+    final long targets;
+    final long weights;
+    final long outOffsets;
+    final long rowOffsets;
+    final long rowEdges;
+    final long end;
+
+    Layout(int n, long m, long entries, boolean weighted) {
+      sources = HEADER_SIZE;
+      targets = align(sources + 4 * m);
+      weights = align(targets + 4 * m);
+      outOffsets = weights + (weighted ? 8 * m : 0);
+      rowOffsets = outOffsets + 8L * (n + 1);
+      rowEdges = rowOffsets + 8L * (n + 1);
+      end = rowEdges + 8 * entries;
+    }
+
+    private static long align(long position) {
+      return (position + 7) & ~7L;
+    }
+  }
+
+  /** A region of a file mapped in segments, since a single mapped buffer is limited to 2GB. */
+  private static class MappedRegion {
+    private MappedByteBuffer[] segments;
+    private final int shift;
+    private final long mask;
+
+    MappedRegion(FileChannel channel, FileChannel.MapMode mode, long size, int shift)
+        throws IOException {
+      this.shift = shift;
+      this.mask = (1L << shift) - 1;
+      long segmentSize = 1L << shift;
+      int count = (int) ((size + segmentSize - 1) >>> shift);
+      this.segments = new MappedByteBuffer[count];
+      for (int i = 0; i < count; i++) {
+        long position = (long) i << shift;
+        segments[i] = channel.map(mode, position, Math.min(segmentSize, size - position));
+      }
+    }
+
+    int getInt(long position) {
+      return segments[(int) (position >>> shift)].getInt((int) (position & mask));
+    }
+
+    long getLong(long position) {
+      return segments[(int) (position >>> shift)].getLong((int) (position & mask));
+    }
+
+    double getDouble(long position) {
+      return segments[(int) (position >>> shift)].getDouble((int) (position & mask));
+    }
+
+    void putInt(long position, int value) {
+      segments[(int) (position >>> shift)].putInt((int) (position & mask), value);
+    }
+
+    void putLong(long position, long value) {
+      segments[(int) (position >>> shift)].putLong((int) (position & mask), value);
+    }
+
+    void putDouble(long position, double value) {
+      segments[(int) (position >>> shift)].putDouble((int) (position & mask), value);
+    }
+
+    void force() {
+      for (MappedByteBuffer segment : segments) {
+        segment.force();
+      }
+    }
+
+    /*
+     * Drop the segments, so that accesses after closing fail instead of reading unmapped memory,
+     * and unmap them.
+     */
+    void close() {
+      MappedByteBuffer[] closed = segments;
+      segments = null;
+      if (closed != null) {
+        for (MappedByteBuffer segment : closed) {
+          unmap(segment);
+        }
+      }
+    }
+
+    /*
+     * Unmap a buffer using the cleaner of Java 9 and later. Elsewhere the buffer is unmapped when
+     * it is garbage collected.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+      try {
+        Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+        theUnsafe.setAccessible(true);
+        Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        invokeCleaner.invoke(theUnsafe.get(null), buffer);
+      } catch (ReflectiveOperationException | RuntimeException ignore) {
+        // left to the garbage collector
+      }
+    }
+  }
+
+  /**
+   * A list of edges in primitive arrays, split into chunks so that the number of edges is not
+   * limited by the length of an array and growing never copies more than one chunk.
+   */
+  private static class EdgeArray {
+    private static final int CHUNK_SHIFT = 20;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final boolean weighted;
+    private int[][] sources = new int[0][];
+    private int[][] targets = new int[0][];
+    private double[][] weights = new double[0][];
+    private long size;
+
+    EdgeArray(boolean weighted) {
+      this.weighted = weighted;
+    }
+
+    boolean isWeighted() {
+      return weighted;
+    }
+
+    long size() {
+      return size;
+    }
+
+    int source(long i) {
+      return sources[(int) (i >>> CHUNK_SHIFT)][(int) (i & CHUNK_MASK)];
+    }
+
+    int target(long i) {
+      return targets[(int) (i >>> CHUNK_SHIFT)][(int) (i & CHUNK_MASK)];
+    }
+
+    double weight(long i) {
+      return weighted
+          ? weights[(int) (i >>> CHUNK_SHIFT)][(int) (i & CHUNK_MASK)]
+          : Graph.DEFAULT_EDGE_WEIGHT;
+    }
+
+    void setWeight(long i, double weight) {
+      weights[(int) (i >>> CHUNK_SHIFT)][(int) (i & CHUNK_MASK)] = weight;
+    }
+
+    void add(int source, int target, double weight) {
+      int chunk = (int) (size >>> CHUNK_SHIFT);
+      int offset = (int) (size & CHUNK_MASK);
+      if (chunk == sources.length) {
+        sources = Arrays.copyOf(sources, chunk + 1);
+        targets = Arrays.copyOf(targets, chunk + 1);
+        weights = Arrays.copyOf(weights, chunk + 1);
+        sources[chunk] = new int[16];
+        targets[chunk] = new int[16];
+        weights[chunk] = weighted ? new double[16] : null;
+      } else if (offset == sources[chunk].length) {
+        // only the last chunk is ever shorter than CHUNK_SIZE
+        int length = Math.min(CHUNK_SIZE, 2 * offset);
+        sources[chunk] = Arrays.copyOf(sources[chunk], length);
+        targets[chunk] = Arrays.copyOf(targets[chunk], length);
+        if (weighted) {
+          weights[chunk] = Arrays.copyOf(weights[chunk], length);
+        }
+      }
+      sources[chunk][offset] = source;
+      targets[chunk][offset] = target;
+      if (weighted) {
+        weights[chunk][offset] = weight;
+      }
+      size++;
+    }
+  }
+
+  private class VertexSetView extends AbstractSet<Integer> {
+    @Override
+    public Iterator<Integer> iterator() {
+      return new Iterator<Integer>() {
+        private int next = 0;
+
+        @Override
+        public boolean hasNext() {
+          return next < n;
+        }
+
+        @Override
+        public Integer next() {
+          if (next >= n) {
+            throw new NoSuchElementException();
+          }
+          return next++;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return n;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof Integer && containsVertex((Integer) o);
+    }
+  }
+
+  /** A range of consecutive edges. */
+  private class EdgeRangeSet extends AbstractSet<Long> {
+    private final long from;
+    private final long to;
+
+    EdgeRangeSet(long from, long to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+      return new Iterator<Long>() {
+        private long next = from;
+
+        @Override
+        public boolean hasNext() {
+          return next < to;
+        }
+
+        @Override
+        public Long next() {
+          if (next >= to) {
+            throw new NoSuchElementException();
+          }
+          return next++;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return sizeOf(to - from);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Long)) {
+        return false;
+      }
+      long e = (Long) o;
+      return e >= from && e < to;
+    }
+  }
+
+  /**
+   * The edges in the row of a vertex, which are its incoming edges in a directed graph and all its
+   * edges in an undirected graph.
+   */
+  private class RowSet extends AbstractSet<Long> {
+    private final int v;
+    private final long from;
+    private final long to;
+
+    RowSet(int v) {
+      this.v = v;
+      this.from = rowOffset(v);
+      this.to = rowOffset(v + 1);
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+      return new Iterator<Long>() {
+        private long next = from;
+
+        @Override
+        public boolean hasNext() {
+          return next < to;
+        }
+
+        @Override
+        public Long next() {
+          if (next >= to) {
+            throw new NoSuchElementException();
+          }
+          return rowEdge(next++);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return sizeOf(to - from);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Long) || !containsEdge((Long) o)) {
+        return false;
+      }
+      long e = (Long) o;
+      if (source(e) != v && target(e) != v) {
+        return false;
+      }
+      int u = opposite(v, e);
+      for (long k = lowerBoundRow(v, u); k < to && opposite(v, rowEdge(k)) == u; k++) {
+        if (rowEdge(k) == e) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /** The incoming and outgoing edges of a vertex in a directed graph, with loops only once. */
+  private class DirectedEdgesOfSet extends AbstractSet<Long> {
+    private final int v;
+
+    DirectedEdgesOfSet(int v) {
+      this.v = v;
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+      return new Iterator<Long>() {
+        private long nextIn = rowOffset(v);
+        private final long endIn = rowOffset(v + 1);
+        private long nextOut = outOffset(v);
+        private final long endOut = outOffset(v + 1);
+
+        {
+          skipLoops();
+        }
+
+        private void skipLoops() {
+          // self-loops are also outgoing edges
+          while (nextIn < endIn && source(rowEdge(nextIn)) == v) {
+            nextIn++;
+          }
+        }
+
+        @Override
+        public boolean hasNext() {
+          return nextIn < endIn || nextOut < endOut;
+        }
+
+        @Override
+        public Long next() {
+          if (nextIn < endIn) {
+            long e = rowEdge(nextIn++);
+            skipLoops();
+            return e;
+          }
+          if (nextOut < endOut) {
+            return nextOut++;
+          }
+          throw new NoSuchElementException();
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return sizeOf(
+          outOffset(v + 1) - outOffset(v) + rowOffset(v + 1) - rowOffset(v) - countLoops(v));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Long) || !containsEdge((Long) o)) {
+        return false;
+      }
+      long e = (Long) o;
+      return source(e) == v || target(e) == v;
+    }
+  }
+
+  /**
+   * An append-only graph which collects vertices and edges in primitive arrays in order to write
+   * them to a graph file. The builder can be used as the target of an importer.
+   *
+   * <p>The vertices are non-negative integers. The written graph contains the vertices <code>0
+   * </code> to the largest vertex added, where the integers which were never added become isolated
+   * vertices. The edges are numbered consecutively in the order of their addition, which means that
+   * edges must be created with the edge factory of the builder. The numbers of the edges change
+   * when the graph is written.
+   *
+   * <p>Only the operations needed to add vertices and edges are supported; queries about the
+   * neighborhood of vertices throw an {@link UnsupportedOperationException}.
+   */
+  public static class Builder extends AbstractGraph<Integer, Long> {
+    private static final String NOT_SUPPORTED = "not supported by the builder";
+
+    private final GraphType type;
+    private final boolean weighted;
+    private final BitSet vertices = new BitSet();
+    private int vertexCount;
+    private final EdgeArray edges;
+
+    /**
+     * Create a new builder.
+     *
+     * @param directed whether the graph is directed
+     * @param weighted whether the graph is weighted
+     */
+    public Builder(boolean directed, boolean weighted) {
+      DefaultGraphType.Builder builder = new DefaultGraphType.Builder();
+      if (directed) {
+        builder = builder.directed();
+      } else {
+        builder = builder.undirected();
+      }
+      this.type = builder.weighted(weighted).allowMultipleEdges(true).allowSelfLoops(true).build();
+      this.weighted = weighted;
+      this.edges = new EdgeArray(weighted);
+    }
+
+    /**
+     * Write the graph to a file and open it. An existing file is replaced.
+     *
+     * @param file the file to write
+     * @return the graph stored in the file
+     * @throws IOException if an I/O error occurs
+     */
+    public MemoryMappedGraph write(Path file) throws IOException {
+      writeFile(file, type.isDirected(), vertices.length(), edges);
+      return new MemoryMappedGraph(file);
+    }
+
+    /**
+     * Get the number of edges. Unlike the size of the {@link #edgeSet()}, the number of edges may
+     * exceed {@link Integer#MAX_VALUE}.
+     *
+     * @return the number of edges
+     */
+    public long getEdgeCount() {
+      return edges.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public GraphType getType() {
+      return type;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The edge factory returns the number of the next edge to be added.
+     */
+    @Override
+    public EdgeFactory<Integer, Long> getEdgeFactory() {
+      return (s, t) -> edges.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the vertex is negative
+     */
+    @Override
+    public boolean addVertex(Integer v) {
+      if (v < 0) {
+        throw new IllegalArgumentException("vertices must be non-negative: " + v);
+      }
+      if (vertices.get(v)) {
+        return false;
+      }
+      vertices.set(v);
+      vertexCount++;
+      return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Long addEdge(Integer sourceVertex, Integer targetVertex) {
+      Long e = edges.size();
+      addEdge(sourceVertex, targetVertex, e);
+      return e;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the edge is not the next edge number
+     */
+    @Override
+    public boolean addEdge(Integer sourceVertex, Integer targetVertex, Long e) {
+      assertVertexExist(sourceVertex);
+      assertVertexExist(targetVertex);
+      if (e != edges.size()) {
+        throw new IllegalArgumentException(
+            "edges must be numbered consecutively in order of addition: " + e);
+      }
+      edges.add(sourceVertex, targetVertex, Graph.DEFAULT_EDGE_WEIGHT);
+      return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEdgeWeight(Long e, double weight) {
+      if (!weighted) {
+        throw new UnsupportedOperationException();
+      }
+      edges.setWeight(edgeIndexOf(e), weight);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEdgeWeight(Long e) {
+      return edges.weight(edgeIndexOf(e));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Integer getEdgeSource(Long e) {
+      return edges.source(edgeIndexOf(e));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Integer getEdgeTarget(Long e) {
+      return edges.target(edgeIndexOf(e));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean containsVertex(Integer v) {
+      return v != null && v >= 0 && vertices.get(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean containsEdge(Long e) {
+      return e != null && e >= 0 && e < edges.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<Integer> vertexSet() {
+      return new AbstractSet<Integer>() {
+        @Override
+        public Iterator<Integer> iterator() {
+          return vertices.stream().iterator();
+        }
+
+        @Override
+        public int size() {
+          return vertexCount;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+          return o instanceof Integer && containsVertex((Integer) o);
+        }
+      };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<Long> edgeSet() {
+      return new AbstractSet<Long>() {
+        @Override
+        public Iterator<Long> iterator() {
+          return new Iterator<Long>() {
+            private long next = 0;
+
+            @Override
+            public boolean hasNext() {
+              return next < edges.size();
+            }
+
+            @Override
+            public Long next() {
+              if (next >= edges.size()) {
+                throw new NoSuchElementException();
+              }
+              return next++;
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return sizeOf(edges.size());
+        }
+
+        @Override
+        public boolean contains(Object o) {
+          return o instanceof Long && containsEdge((Long) o);
+        }
+      };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<Long> getAllEdges(Integer sourceVertex, Integer targetVertex) {
+      throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Long getEdge(Integer sourceVertex, Integer targetVertex) {
+      throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int degreeOf(Integer vertex) {
+      throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<Long> edgesOf(Integer vertex) {
+      throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int inDegreeOf(Integer vertex) {
+      throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<Long> incomingEdgesOf(Integer vertex) {
+      throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int outDegreeOf(Integer vertex) {
+      throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<Long> outgoingEdgesOf(Integer vertex) {
+      throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Long removeEdge(Integer sourceVertex, Integer targetVertex) {
+      throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean removeEdge(Long e) {
+      throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean removeVertex(Integer v) {
+      throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    private long edgeIndexOf(Long e) {
+      if (!containsEdge(e)) {
+        throw new IllegalArgumentException("no such edge in graph: " + e);
+      }
+      return e;
+    }
+  }
+}
+
+// End MemoryMappedGraph.java
@@ -0,0 +1,44 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.util.*;
+
+/**
+ * A factory for vertex maps. This interface allows the creator of a graph to choose the {@link
+ * java.util.Map} implementation used internally by the graph to associate each vertex with its edge
+ * container. The iteration order of the map determines the iteration order of the vertex set of the
+ * graph. Together with {@link EdgeSetFactory} this provides control over performance tradeoffs
+ * between memory and CPU usage.
+ *
+ * <p>Map constructors can be used directly as factories, e.g. <code>LinkedHashMap::new</code>.
+ *
+ * @param <V> the graph vertex type
+ * @see AbstractBaseGraph#createVertexMapFactory()
+ */
+public interface VertexMapFactory<V> {
+  /**
+   * Create a new empty vertex map.
+   *
+   * @param <T> the type of values stored in the map
+   * @return new map
+   */
+  <T> Map<V, T> createVertexMap();
+}
+
+// End VertexMapFactory.java
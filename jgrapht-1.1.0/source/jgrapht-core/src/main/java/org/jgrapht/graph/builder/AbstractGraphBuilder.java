@@ -17,8 +17,10 @@
  */
 package org.jgrapht.graph.builder;
 
+import java.util.*;
 import org.jgrapht.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 /**
  * Base class for builders of {@link Graph}
@@ -103,6 +105,33 @@ public abstract class AbstractGraphBuilder<
     return this.self();
   }
 
+  /**
+   * Adds many edges to the graph being built. The i-th edge connects the i-th source vertex to the
+   * i-th target vertex. The vertices are added to the graph, if not already included. If the graph
+   * being built is an {@link AbstractBaseGraph} the edges are loaded in bulk.
+   *
+   * @param sources the source vertices of the edges
+   * @param targets the target vertices of the edges
+   * @return this builder object
+   * @throws IllegalArgumentException if the lists have different sizes
+   * @see AbstractBaseGraph#addAllEdgesBulk(List, List, boolean)
+   */
+  public B addEdges(List<? extends V> sources, List<? extends V> targets) {
+    if (this.graph instanceof AbstractBaseGraph<?, ?>) {
+      AbstractBaseGraph<V, E> g = TypeUtil.uncheckedCast(this.graph, null);
+      g.addAllEdgesBulk(sources, targets, false);
+      return this.self();
+    }
+    if (sources.size() != targets.size()) {
+      throw new IllegalArgumentException("sources and targets must have the same size");
+    }
+    Iterator<? extends V> targetIt = targets.iterator();
+    for (V source : sources) {
+      this.addEdge(source, targetIt.next());
+    }
+    return this.self();
+  }
+
   /**
    * Adds a chain of edges to the graph being built. The vertices are added to the graph, if not
    * already included.
@@ -257,6 +286,17 @@ public abstract class AbstractGraphBuilder<
   public Graph<V, E> buildAsUnmodifiable() {
     return new AsUnmodifiableGraph<>(this.graph);
   }
+
+  /**
+   * Build an immutable compressed sparse row version of the graph. The returned graph is a compact
+   * copy and does not reflect later changes to the graph being built.
+   *
+   * @return the built compressed graph.
+   * @see CompressedSparseRowGraph
+   */
+  public CompressedSparseRowGraph<V, E> buildAsCompressed() {
+    return new CompressedSparseRowGraph<>(this.graph);
+  }
 }
 
 // End GraphBuilderBase.java
@@ -0,0 +1,139 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import java.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+/**
+ * Compact fast implementation of UndirectedSpecifics. Like {@link FastLookupUndirectedSpecifics}
+ * this class maintains an index from pairs of vertices to edges in order to improve the performance
+ * of methods which depend on edge retrievals, e.g. getEdge(V u, V v), containsEdge(V u, V v),
+ * addEdge(V u, V v). The index hashes the two vertices directly instead of allocating a pair object
+ * per lookup and stores a single edge between two vertices inline.
+ * {@link #getAllEdges(Object, Object)} returns read-only sets instead of copies; these sets are not
+ * affected by later modifications of the graph.
+ *
+ * <p>These specifics are not used by default. A graph uses them by overriding {@link
+ * AbstractBaseGraph#createSpecifics(boolean)}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class CompactFastLookupUndirectedSpecifics<V, E> extends UndirectedSpecifics<V, E> {
+  private static final long serialVersionUID = 5590311836271404417L;
+
+  private VertexPairEdgeIndex<V, E> touchingVerticesToEdgeIndex;
+
+  /**
+   * Construct a new compact fast lookup undirected specifics.
+   *
+   * @param abstractBaseGraph the graph for which these specifics are for
+   */
+  public CompactFastLookupUndirectedSpecifics(AbstractBaseGraph<V, E> abstractBaseGraph) {
+    this(
+        abstractBaseGraph,
+        new InsertionOrderedOpenHashMap<>(),
+        new ArrayUnenforcedSetEdgeSetFactory<>());
+  }
+
+  /**
+   * Construct a new compact fast lookup undirected specifics.
+   *
+   * @param abstractBaseGraph the graph for which these specifics are for
+   * @param vertexMap map for the storage of vertex edge sets
+   */
+  public CompactFastLookupUndirectedSpecifics(
+      AbstractBaseGraph<V, E> abstractBaseGraph, Map<V, UndirectedEdgeContainer<V, E>> vertexMap) {
+    this(abstractBaseGraph, vertexMap, new ArrayUnenforcedSetEdgeSetFactory<>());
+  }
+
+  /**
+   * Construct a new compact fast lookup undirected specifics.
+   *
+   * @param abstractBaseGraph the graph for which these specifics are for
+   * @param vertexMap map for the storage of vertex edge sets
+   * @param edgeSetFactory factory for the creation of vertex edge sets
+   */
+  public CompactFastLookupUndirectedSpecifics(
+      AbstractBaseGraph<V, E> abstractBaseGraph,
+      Map<V, UndirectedEdgeContainer<V, E>> vertexMap,
+      EdgeSetFactory<V, E> edgeSetFactory) {
+    super(abstractBaseGraph, vertexMap, edgeSetFactory);
+    this.touchingVerticesToEdgeIndex = new VertexPairEdgeIndex<>(false);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void ensureCapacity(int vertexCount, int edgeCount) {
+    super.ensureCapacity(vertexCount, edgeCount);
+    touchingVerticesToEdgeIndex.ensureCapacity(edgeCount);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The returned set is read-only and is not affected by later modifications of the graph.
+   */
+  @Override
+  public Set<E> getAllEdges(V sourceVertex, V targetVertex) {
+    if (abstractBaseGraph.containsVertex(sourceVertex)
+        && abstractBaseGraph.containsVertex(targetVertex)) {
+      return touchingVerticesToEdgeIndex.getAll(sourceVertex, targetVertex);
+    } else {
+      return null;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public E getEdge(V sourceVertex, V targetVertex) {
+    return touchingVerticesToEdgeIndex.get(sourceVertex, targetVertex);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void addEdgeToTouchingVertices(E e) {
+    V source = abstractBaseGraph.getEdgeSource(e);
+    V target = abstractBaseGraph.getEdgeTarget(e);
+
+    getEdgeContainer(source).addEdge(e);
+    if (!source.equals(target)) {
+      getEdgeContainer(target).addEdge(e);
+    }
+
+    touchingVerticesToEdgeIndex.add(source, target, e);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void removeEdgeFromTouchingVertices(E e) {
+    V source = abstractBaseGraph.getEdgeSource(e);
+    V target = abstractBaseGraph.getEdgeTarget(e);
+
+    getEdgeContainer(source).removeEdge(e);
+    if (!source.equals(target)) {
+      getEdgeContainer(target).removeEdge(e);
+    }
+
+    touchingVerticesToEdgeIndex.remove(source, target, e);
+  }
+}
+
+// End CompactFastLookupUndirectedSpecifics.java
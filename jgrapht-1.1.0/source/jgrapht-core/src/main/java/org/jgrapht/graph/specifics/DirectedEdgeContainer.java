@@ -35,8 +35,11 @@ public class DirectedEdgeContainer<V, E> implements Serializable {
   private static final long serialVersionUID = 7494242245729767106L;
   Set<E> incoming;
   Set<E> outgoing;
+  // number of self-loops, which are contained both in the incoming and in the outgoing edges
+  int loops;
   private transient Set<E> unmodifiableIncoming = null;
   private transient Set<E> unmodifiableOutgoing = null;
+  transient Set<E> unmodifiableEdges = null;
 
   DirectedEdgeContainer(EdgeSetFactory<V, E> edgeSetFactory, V vertex) {
     incoming = edgeSetFactory.createEdgeSet(vertex);
@@ -47,7 +47,10 @@ public class DirectedSpecifics<V, E> implements Specifics<V, E>, Serializable {
    * @param abstractBaseGraph the graph for which these specifics are for
    */
   public DirectedSpecifics(AbstractBaseGraph<V, E> abstractBaseGraph) {
-    this(abstractBaseGraph, new LinkedHashMap<>(), new ArrayUnenforcedSetEdgeSetFactory<>());
+    this(
+        abstractBaseGraph,
+        new InsertionOrderedOpenHashMap<>(),
+        new ArrayUnenforcedSetEdgeSetFactory<>());
   }
 
   /**
@@ -84,6 +87,18 @@ public class DirectedSpecifics<V, E> implements Specifics<V, E>, Serializable {
     vertexMapDirected.put(v, null);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Pre-sizes the vertex map if it is an {@link InsertionOrderedOpenHashMap}.
+   */
+  @Override
+  public void ensureCapacity(int vertexCount, int edgeCount) {
+    if (vertexMapDirected instanceof InsertionOrderedOpenHashMap) {
+      ((InsertionOrderedOpenHashMap<V, ?>) vertexMapDirected).ensureCapacity(vertexCount);
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public Set<V> getVertexSet() {
@@ -136,6 +151,9 @@ public class DirectedSpecifics<V, E> implements Specifics<V, E>, Serializable {
 
     getEdgeContainer(source).addOutgoingEdge(e);
     getEdgeContainer(target).addIncomingEdge(e);
+    if (source.equals(target)) {
+      getEdgeContainer(source).loops++;
+    }
   }
 
   /** {@inheritDoc} */
@@ -144,29 +162,19 @@ public class DirectedSpecifics<V, E> implements Specifics<V, E>, Serializable {
     return inDegreeOf(vertex) + outDegreeOf(vertex);
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The returned set is a live unmodifiable view of the incoming and outgoing edges of the
+   * vertex, where each self-loop appears once. No copy of the edges is made.
+   */
   @Override
   public Set<E> edgesOf(V vertex) {
-    ArrayUnenforcedSet<E> inAndOut = new ArrayUnenforcedSet<>(getEdgeContainer(vertex).incoming);
-    inAndOut.addAll(getEdgeContainer(vertex).outgoing);
-
-    // we have two copies for each self-loop - remove one of them.
-    if (abstractBaseGraph.isAllowingLoops()) {
-      Set<E> loops = getAllEdges(vertex, vertex);
-
-      for (int i = 0; i < inAndOut.size(); ) {
-        E e = inAndOut.get(i);
-
-        if (loops.contains(e)) {
-          inAndOut.remove(i);
-          loops.remove(e); // so we remove it only once
-        } else {
-          i++;
-        }
-      }
+    DirectedEdgeContainer<V, E> ec = getEdgeContainer(vertex);
+    if (ec.unmodifiableEdges == null) {
+      ec.unmodifiableEdges = new EdgesOfView(vertex, ec);
     }
-
-    return Collections.unmodifiableSet(inAndOut);
+    return ec.unmodifiableEdges;
   }
 
   /** {@inheritDoc} */
@@ -201,6 +209,9 @@ public class DirectedSpecifics<V, E> implements Specifics<V, E>, Serializable {
 
     getEdgeContainer(source).removeOutgoingEdge(e);
     getEdgeContainer(target).removeIncomingEdge(e);
+    if (source.equals(target)) {
+      getEdgeContainer(source).loops--;
+    }
   }
 
   /**
@@ -219,4 +230,88 @@ public class DirectedSpecifics<V, E> implements Specifics<V, E>, Serializable {
 
     return ec;
   }
+
+  /**
+   * Read-only view of the edges touching a vertex. Self-loops are contained both in the incoming
+   * and in the outgoing edges of the vertex, therefore they are skipped while iterating the
+   * incoming edges.
+   */
+  private class EdgesOfView extends AbstractSet<E> {
+    private final V vertex;
+    private final DirectedEdgeContainer<V, E> ec;
+
+    EdgesOfView(V vertex, DirectedEdgeContainer<V, E> ec) {
+      this.vertex = vertex;
+      this.ec = ec;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      return new EdgesOfIterator(abstractBaseGraph.isAllowingLoops() ? vertex : null);
+    }
+
+    @Override
+    public int size() {
+      return ec.incoming.size() + ec.outgoing.size() - ec.loops;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return ec.incoming.isEmpty() && ec.outgoing.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return ec.outgoing.contains(o) || ec.incoming.contains(o);
+    }
+
+    /** Iterates the incoming edges, except self-loops, followed by the outgoing edges. */
+    private class EdgesOfIterator implements Iterator<E> {
+      private Iterator<E> it;
+      private boolean inOutgoing;
+      private final V loopVertex;
+      private E next;
+
+      EdgesOfIterator(V loopVertex) {
+        this.it = ec.incoming.iterator();
+        this.loopVertex = loopVertex;
+        advance();
+      }
+
+      private void advance() {
+        while (true) {
+          while (it.hasNext()) {
+            E e = it.next();
+            if (inOutgoing
+                || loopVertex == null
+                || !abstractBaseGraph.getEdgeSource(e).equals(loopVertex)) {
+              next = e;
+              return;
+            }
+          }
+          if (inOutgoing) {
+            next = null;
+            return;
+          }
+          inOutgoing = true;
+          it = ec.outgoing.iterator();
+        }
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public E next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        E result = next;
+        advance();
+        return result;
+      }
+    }
+  }
 }
@@ -47,7 +47,10 @@ public class FastLookupDirectedSpecifics<V, E> extends DirectedSpecifics<V, E> {
    * @param abstractBaseGraph the graph for which these specifics are for
    */
   public FastLookupDirectedSpecifics(AbstractBaseGraph<V, E> abstractBaseGraph) {
-    this(abstractBaseGraph, new LinkedHashMap<>(), new ArrayUnenforcedSetEdgeSetFactory<>());
+    this(
+        abstractBaseGraph,
+        new InsertionOrderedOpenHashMap<>(),
+        new ArrayUnenforcedSetEdgeSetFactory<>());
   }
 
   /**
@@ -99,12 +102,11 @@ public class FastLookupDirectedSpecifics<V, E> extends DirectedSpecifics<V, E> {
   /** {@inheritDoc} */
   @Override
   public void addEdgeToTouchingVertices(E e) {
+    super.addEdgeToTouchingVertices(e);
+
     V source = abstractBaseGraph.getEdgeSource(e);
     V target = abstractBaseGraph.getEdgeTarget(e);
 
-    getEdgeContainer(source).addOutgoingEdge(e);
-    getEdgeContainer(target).addIncomingEdge(e);
-
     Pair<V, V> vertexPair = new Pair<>(source, target);
     ArrayUnenforcedSet<E> edgeSet = touchingVerticesToEdgeMap.get(vertexPair);
     if (edgeSet != null) edgeSet.add(e);
@@ -118,12 +120,11 @@ public class FastLookupDirectedSpecifics<V, E> extends DirectedSpecifics<V, E> {
   /** {@inheritDoc} */
   @Override
   public void removeEdgeFromTouchingVertices(E e) {
+    super.removeEdgeFromTouchingVertices(e);
+
     V source = abstractBaseGraph.getEdgeSource(e);
     V target = abstractBaseGraph.getEdgeTarget(e);
 
-    getEdgeContainer(source).removeOutgoingEdge(e);
-    getEdgeContainer(target).removeIncomingEdge(e);
-
     // Remove the edge from the touchingVerticesToEdgeMap. If there are no more remaining edges
     // for a pair
     // of touching vertices, remove the pair from the map.
@@ -47,7 +47,10 @@ public class FastLookupUndirectedSpecifics<V, E> extends UndirectedSpecifics<V,
    * @param abstractBaseGraph the graph for which these specifics are for
    */
   public FastLookupUndirectedSpecifics(AbstractBaseGraph<V, E> abstractBaseGraph) {
-    this(abstractBaseGraph, new LinkedHashMap<>(), new ArrayUnenforcedSetEdgeSetFactory<>());
+    this(
+        abstractBaseGraph,
+        new InsertionOrderedOpenHashMap<>(),
+        new ArrayUnenforcedSetEdgeSetFactory<>());
   }
 
   /**
@@ -35,6 +35,16 @@ public interface Specifics<V, E> {
    */
   void addVertex(V vertex);
 
+  /**
+   * Prepares for the addition of vertices and edges, so that the graph can grow to the given number
+   * of vertices and edges without resizing its internal structures. The default implementation does
+   * nothing.
+   *
+   * @param vertexCount the expected number of vertices
+   * @param edgeCount the expected number of edges
+   */
+  default void ensureCapacity(int vertexCount, int edgeCount) {}
+
   /**
    * Get the vertex set.
    *
@@ -47,7 +47,10 @@ public class UndirectedSpecifics<V, E> implements Specifics<V, E>, Serializable
    * @param abstractBaseGraph the graph for which these specifics are for
    */
   public UndirectedSpecifics(AbstractBaseGraph<V, E> abstractBaseGraph) {
-    this(abstractBaseGraph, new LinkedHashMap<>(), new ArrayUnenforcedSetEdgeSetFactory<>());
+    this(
+        abstractBaseGraph,
+        new InsertionOrderedOpenHashMap<>(),
+        new ArrayUnenforcedSetEdgeSetFactory<>());
   }
 
   /**
@@ -84,6 +87,18 @@ public class UndirectedSpecifics<V, E> implements Specifics<V, E>, Serializable
     vertexMapUndirected.put(v, null);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Pre-sizes the vertex map if it is an {@link InsertionOrderedOpenHashMap}.
+   */
+  @Override
+  public void ensureCapacity(int vertexCount, int edgeCount) {
+    if (vertexMapUndirected instanceof InsertionOrderedOpenHashMap) {
+      ((InsertionOrderedOpenHashMap<V, ?>) vertexMapUndirected).ensureCapacity(vertexCount);
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public Set<V> getVertexSet() {
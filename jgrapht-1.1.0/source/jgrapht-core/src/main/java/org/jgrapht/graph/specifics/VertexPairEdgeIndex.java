@@ -0,0 +1,351 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import java.io.*;
+import java.util.*;
+import org.jgrapht.util.*;
+
+/**
+ * An index from pairs of vertices to the edges connecting them. The index is an open addressing
+ * hash table with linear probing, keyed directly by the two vertices, so that lookups do not
+ * allocate a pair object. A single edge between two vertices is stored inline in the table, while
+ * multiple edges are stored in an array which grows geometrically. An added edge is appended
+ * beyond the end of the sets of edges handed out so far and a removal copies the array, therefore
+ * the sets of edges returned by the index are read-only and are not affected by later
+ * modifications.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+class VertexPairEdgeIndex<V, E> implements Serializable {
+  private static final long serialVersionUID = -6052360870722716417L;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final boolean directed;
+
+  /*
+   * Slot i is in use iff values[i] != null. The value is either an edge or an EdgeArray. The
+   * layout depends on the hash codes of the vertices and is rebuilt on deserialization.
+   */
+  private transient Object[] sources;
+  private transient Object[] targets;
+  private transient Object[] values;
+  private transient int[] hashes;
+  private transient int size;
+  private transient int mask;
+
+  /**
+   * Create a new index.
+   *
+   * @param directed if false the pairs of vertices are unordered
+   */
+  VertexPairEdgeIndex(boolean directed) {
+    this.directed = directed;
+    allocate(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Get an edge connecting two vertices.
+   *
+   * @param source the source vertex
+   * @param target the target vertex
+   * @return the edge which was added first among the edges connecting the vertices, or null
+   */
+  E get(V source, V target) {
+    if (source == null || target == null) {
+      return null;
+    }
+    Object value = values[slotOf(source, target, hash(source, target))];
+    if (value instanceof EdgeArray) {
+      return TypeUtil.uncheckedCast(((EdgeArray<?>) value).edges[0], null);
+    }
+    return TypeUtil.uncheckedCast(value, null);
+  }
+
+  /**
+   * Get all edges connecting two vertices.
+   *
+   * @param source the source vertex
+   * @param target the target vertex
+   * @return a read-only set with the edges connecting the vertices
+   */
+  Set<E> getAll(V source, V target) {
+    Object value = values[slotOf(source, target, hash(source, target))];
+    if (value == null) {
+      return Collections.emptySet();
+    } else if (value instanceof EdgeArray) {
+      return TypeUtil.uncheckedCast(value, null);
+    } else {
+      E e = TypeUtil.uncheckedCast(value, null);
+      return Collections.singleton(e);
+    }
+  }
+
+  /**
+   * Add an edge.
+   *
+   * @param source the source vertex
+   * @param target the target vertex
+   * @param e the edge
+   */
+  void add(V source, V target, E e) {
+    int h = hash(source, target);
+    int slot = slotOf(source, target, h);
+    Object value = values[slot];
+    if (value == null) {
+      sources[slot] = source;
+      targets[slot] = target;
+      hashes[slot] = h;
+      values[slot] = e;
+      if (++size > (values.length >>> 1)) {
+        rehash(values.length << 1);
+      }
+    } else if (value instanceof EdgeArray) {
+      values[slot] = ((EdgeArray<?>) value).with(e);
+    } else {
+      values[slot] = new EdgeArray<>(new Object[] {value, e, null, null}, 2);
+    }
+  }
+
+  /**
+   * Remove an edge.
+   *
+   * @param source the source vertex
+   * @param target the target vertex
+   * @param e the edge
+   */
+  void remove(V source, V target, E e) {
+    int slot = slotOf(source, target, hash(source, target));
+    Object value = values[slot];
+    if (value instanceof EdgeArray) {
+      values[slot] = ((EdgeArray<?>) value).without(e);
+    } else if (value != null && value.equals(e)) {
+      deleteSlot(slot);
+    }
+  }
+
+  /**
+   * Make sure that the index can hold the given number of pairs of vertices without rehashing.
+   *
+   * @param expectedSize the expected number of pairs
+   */
+  void ensureCapacity(int expectedSize) {
+    // the load factor is kept at most 1/2
+    if (expectedSize > (values.length >>> 1)) {
+      rehash(Integer.highestOneBit(expectedSize) << 2);
+    }
+  }
+
+  private int hash(Object source, Object target) {
+    int hs = mix(source.hashCode());
+    int ht = mix(target.hashCode());
+    return mix(directed ? 31 * hs + ht : hs + ht);
+  }
+
+  private static int mix(int h) {
+    h *= 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /*
+   * Get the slot of a pair of vertices, or the empty slot where the pair would be inserted.
+   */
+  private int slotOf(Object source, Object target, int h) {
+    int slot = h & mask;
+    while (values[slot] != null) {
+      if (hashes[slot] == h && matches(slot, source, target)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private boolean matches(int slot, Object source, Object target) {
+    if (source.equals(sources[slot]) && target.equals(targets[slot])) {
+      return true;
+    }
+    return !directed && source.equals(targets[slot]) && target.equals(sources[slot]);
+  }
+
+  private void allocate(int capacity) {
+    sources = new Object[capacity];
+    targets = new Object[capacity];
+    values = new Object[capacity];
+    hashes = new int[capacity];
+    mask = capacity - 1;
+  }
+
+  private void rehash(int capacity) {
+    Object[] oldSources = sources;
+    Object[] oldTargets = targets;
+    Object[] oldValues = values;
+    int[] oldHashes = hashes;
+    allocate(capacity);
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        int slot = oldHashes[i] & mask;
+        while (values[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        sources[slot] = oldSources[i];
+        targets[slot] = oldTargets[i];
+        values[slot] = oldValues[i];
+        hashes[slot] = oldHashes[i];
+      }
+    }
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(size);
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        out.writeObject(sources[i]);
+        out.writeObject(targets[i]);
+        out.writeObject(values[i]);
+      }
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int n = in.readInt();
+    if (n < 0) {
+      throw new InvalidObjectException("Illegal size: " + n);
+    }
+    allocate(INITIAL_CAPACITY);
+    ensureCapacity(n);
+    for (int i = 0; i < n; i++) {
+      Object source = in.readObject();
+      Object target = in.readObject();
+      Object value = in.readObject();
+      int h = hash(source, target);
+      int slot = slotOf(source, target, h);
+      sources[slot] = source;
+      targets[slot] = target;
+      hashes[slot] = h;
+      values[slot] = value;
+      size++;
+    }
+  }
+
+  /*
+   * Empty a slot and shift back the following entries of the probe sequence.
+   */
+  private void deleteSlot(int slot) {
+    size--;
+    int i = slot;
+    int j = slot;
+    while (true) {
+      values[i] = null;
+      sources[i] = null;
+      targets[i] = null;
+      while (true) {
+        j = (j + 1) & mask;
+        if (values[j] == null) {
+          return;
+        }
+        int k = hashes[j] & mask;
+        boolean reachable = i <= j ? (i < k && k <= j) : (i < k || k <= j);
+        if (!reachable) {
+          break;
+        }
+      }
+      sources[i] = sources[j];
+      targets[i] = targets[j];
+      values[i] = values[j];
+      hashes[i] = hashes[j];
+      i = j;
+    }
+  }
+
+  /**
+   * An immutable set of two or more edges connecting the same pair of vertices, in insertion order.
+   * The set consists of the first elements of an array which may be shared with the sets created
+   * later by appending edges. Only the set stored in the index appends to the array, beyond the
+   * elements of every set created so far.
+   */
+  private static final class EdgeArray<E> extends AbstractSet<E> implements Serializable {
+    private static final long serialVersionUID = 3185317306128574906L;
+
+    private final Object[] edges;
+    private final int size;
+
+    EdgeArray(Object[] edges, int size) {
+      this.edges = edges;
+      this.size = size;
+    }
+
+    EdgeArray<E> with(Object e) {
+      Object[] newEdges = edges;
+      if (size == edges.length) {
+        newEdges = Arrays.copyOf(edges, size << 1);
+      }
+      newEdges[size] = e;
+      return new EdgeArray<>(newEdges, size + 1);
+    }
+
+    /*
+     * Returns the remaining edges, which is a single edge if only one remains.
+     */
+    Object without(Object e) {
+      for (int i = 0; i < size; i++) {
+        if (edges[i].equals(e)) {
+          if (size == 2) {
+            return edges[1 - i];
+          }
+          Object[] newEdges = new Object[Math.max(4, Integer.highestOneBit(size - 1) << 1)];
+          System.arraycopy(edges, 0, newEdges, 0, i);
+          System.arraycopy(edges, i + 1, newEdges, i, size - i - 1);
+          return new EdgeArray<>(newEdges, size - 1);
+        }
+      }
+      return this;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      return new Iterator<E>() {
+        private int next = 0;
+
+        @Override
+        public boolean hasNext() {
+          return next < size;
+        }
+
+        @Override
+        public E next() {
+          if (next >= size) {
+            throw new NoSuchElementException();
+          }
+          return TypeUtil.uncheckedCast(edges[next++], null);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
+
+// End VertexPairEdgeIndex.java
@@ -19,6 +19,8 @@ package org.jgrapht.traverse;
 
 import java.util.*;
 import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 /**
  * A breadth-first iterator for a directed or undirected graph.
@@ -27,6 +29,19 @@ import org.jgrapht.*;
  * there are no means to ensure that, nor to fail-fast. The results of such modifications are
  * undefined.
  *
+ * <p>If requested on construction, the iterator records the depth of each vertex it encounters,
+ * i.e. its distance in edges from the start vertex of its connected component, and the edge through
+ * which it was first reached. These can be queried for any encountered vertex using {@link
+ * #getDepth(Object)}, {@link #getParent(Object)} and {@link #getSpanningTreeEdge(Object)}, so
+ * callers need not maintain a map of their own. Otherwise nothing is stored per vertex besides the
+ * fact that it was seen.
+ *
+ * <p>If the graph is an {@link IntGraph} the iterator keeps the seen vertices in a bit set, the
+ * queue and, if recorded, the depths and the parent edges in int arrays indexed by vertex, and
+ * scans the adjacency of each vertex without any allocation as long as no traversal listener is
+ * registered. Subclasses which override {@link #encounterVertex(Object, Object)} or {@link
+ * #encounterVertexAgain(Object, Object)} are still called for every edge.
+ *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  * @author Barak Naveh
@@ -35,6 +50,25 @@ import org.jgrapht.*;
 public class BreadthFirstIterator<V, E> extends CrossComponentIterator<V, E, Object> {
   private Deque<V> queue = new ArrayDeque<>();
 
+  /** Whether the depth and the spanning tree edge of each vertex are recorded. */
+  private final boolean searchTree;
+
+  /** The vertex whose children are being encountered. */
+  private V current;
+
+  /*
+   * Primitive state, used only if the graph is an IntGraph. Every vertex is enqueued at most once,
+   * thus the queue never holds more vertices than the capacity of the graph.
+   */
+  private final IntGraph intGraph;
+  private final boolean intHooks;
+  private BitSet intSeen;
+  private int[] intQueue;
+  private int intQueueHead;
+  private int intQueueTail;
+  private int[] intDepth;
+  private int[] intParentEdge;
+
   /**
    * Creates a new breadth-first iterator for the specified graph.
    *
@@ -54,7 +88,7 @@ public class BreadthFirstIterator<V, E> extends CrossComponentIterator<V, E, Obj
    * @param startVertex the vertex iteration to be started.
    */
   public BreadthFirstIterator(Graph<V, E> g, V startVertex) {
-    super(g, startVertex);
+    this(g, startVertex == null ? null : Collections.singletonList(startVertex));
   }
 
   /**
@@ -67,22 +101,78 @@ public class BreadthFirstIterator<V, E> extends CrossComponentIterator<V, E, Obj
    * @param startVertices the vertices iteration to be started.
    */
   public BreadthFirstIterator(Graph<V, E> g, Iterable<V> startVertices) {
+    this(g, startVertices, false);
+  }
+
+  /**
+   * Creates a new breadth-first iterator for the specified graph, which optionally records the
+   * breadth-first search tree. Iteration will start at the specified start vertices and will be
+   * limited to the connected component that includes those vertices. If the specified start
+   * vertices is <code>null</code>, iteration will start at an arbitrary vertex and will not be
+   * limited, that is, will be able to traverse all the graph.
+   *
+   * @param g the graph to be iterated.
+   * @param startVertices the vertices iteration to be started.
+   * @param searchTree whether to record the depth and the spanning tree edge of each vertex
+   */
+  public BreadthFirstIterator(Graph<V, E> g, Iterable<V> startVertices, boolean searchTree) {
     super(g, startVertices);
+    this.searchTree = searchTree;
+    if (g instanceof IntGraph) {
+      this.intGraph = (IntGraph) g;
+      this.intHooks = overridesEncounterMethods(BreadthFirstIterator.class);
+      this.intSeen = new BitSet(intGraph.getVertexCapacity());
+      this.intQueue = new int[intGraph.getVertexCapacity()];
+      if (searchTree) {
+        this.intDepth = new int[intGraph.getVertexCapacity()];
+        this.intParentEdge = new int[intGraph.getVertexCapacity()];
+      }
+    } else {
+      this.intGraph = null;
+      this.intHooks = false;
+    }
   }
 
   /** @see CrossComponentIterator#isConnectedComponentExhausted() */
   @Override
   protected boolean isConnectedComponentExhausted() {
+    if (intGraph != null) {
+      return intQueueHead == intQueueTail;
+    }
     return queue.isEmpty();
   }
 
   /** @see CrossComponentIterator#encounterVertex(Object, Object) */
   @Override
   protected void encounterVertex(V vertex, E edge) {
-    putSeenData(vertex, null);
+    if (intGraph != null) {
+      int v = (Integer) vertex;
+      intSeen.set(v);
+      if (searchTree) {
+        intDepth[v] = edge == null ? 0 : intDepth[(Integer) current] + 1;
+        intParentEdge[v] = edge == null ? -1 : (Integer) edge;
+      }
+      intQueue[intQueueTail++] = v;
+      return;
+    }
+    if (searchTree) {
+      int depth = edge == null ? 0 : getSearchNodeData(current).depth + 1;
+      putSeenData(vertex, new SearchNodeData<>(edge, depth));
+    } else {
+      putSeenData(vertex, null);
+    }
     queue.add(vertex);
   }
 
+  /** @see CrossComponentIterator#isSeenVertex(Object) */
+  @Override
+  protected boolean isSeenVertex(V vertex) {
+    if (intGraph != null) {
+      return intSeen.get((Integer) vertex);
+    }
+    return super.isSeenVertex(vertex);
+  }
+
   /** @see CrossComponentIterator#encounterVertexAgain(Object, Object) */
   @Override
   protected void encounterVertexAgain(V vertex, E edge) {}
@@ -90,7 +180,135 @@ public class BreadthFirstIterator<V, E> extends CrossComponentIterator<V, E, Obj
   /** @see CrossComponentIterator#provideNextVertex() */
   @Override
   protected V provideNextVertex() {
-    return queue.removeFirst();
+    if (intGraph != null) {
+      if (intQueueHead == intQueueTail) {
+        throw new NoSuchElementException();
+      }
+      current = TypeUtil.uncheckedCast(intQueue[intQueueHead++], null);
+      return current;
+    }
+    current = queue.removeFirst();
+    return current;
+  }
+
+  /** @see CrossComponentIterator#addUnseenChildrenOf(Object) */
+  @Override
+  protected void addUnseenChildrenOf(V vertex) {
+    if (intGraph == null || nListeners != 0) {
+      super.addUnseenChildrenOf(vertex);
+      return;
+    }
+    int v = (Integer) vertex;
+    int depth = searchTree ? intDepth[v] + 1 : 0;
+    for (int i = 0, count = intGraph.getOutgoingEdgeCount(v); i < count; i++) {
+      int e = intGraph.getOutgoingEdge(v, i);
+      int u = intGraph.getOppositeVertex(e, v);
+      if (intHooks) {
+        // a subclass observes the encounters
+        V opposite = TypeUtil.uncheckedCast(u, null);
+        E edge = TypeUtil.uncheckedCast(e, null);
+        if (intSeen.get(u)) {
+          encounterVertexAgain(opposite, edge);
+        } else {
+          encounterVertex(opposite, edge);
+        }
+      } else if (!intSeen.get(u)) {
+        intSeen.set(u);
+        if (searchTree) {
+          intDepth[u] = depth;
+          intParentEdge[u] = e;
+        }
+        intQueue[intQueueTail++] = u;
+      }
+    }
+  }
+
+  /**
+   * Returns the depth of a vertex in the breadth-first search tree, i.e. the number of edges on the
+   * path through which the vertex was reached from the start vertex of its connected component.
+   * Start vertices have depth zero.
+   *
+   * @param v a vertex which has been encountered by this iterator
+   * @return the depth of the vertex
+   * @throws IllegalArgumentException if the vertex has not been encountered yet
+   * @throws IllegalStateException if the iterator does not record the search tree
+   */
+  public int getDepth(V v) {
+    checkSearchTree();
+    if (intGraph != null) {
+      return intDepth[checkSeen(v)];
+    }
+    return getSearchNodeData(v).depth;
+  }
+
+  /**
+   * Returns the edge through which a vertex was reached, i.e. the edge connecting the vertex to its
+   * parent in the breadth-first search tree.
+   *
+   * @param v a vertex which has been encountered by this iterator
+   * @return the spanning tree edge of the vertex, or null if the vertex is a start vertex
+   * @throws IllegalArgumentException if the vertex has not been encountered yet
+   * @throws IllegalStateException if the iterator does not record the search tree
+   */
+  public E getSpanningTreeEdge(V v) {
+    checkSearchTree();
+    if (intGraph != null) {
+      int e = intParentEdge[checkSeen(v)];
+      return e == -1 ? null : TypeUtil.uncheckedCast(e, null);
+    }
+    return getSearchNodeData(v).edge;
+  }
+
+  /**
+   * Returns the parent of a vertex in the breadth-first search tree.
+   *
+   * @param v a vertex which has been encountered by this iterator
+   * @return the parent of the vertex, or null if the vertex is a start vertex
+   * @throws IllegalArgumentException if the vertex has not been encountered yet
+   * @throws IllegalStateException if the iterator does not record the search tree
+   */
+  public V getParent(V v) {
+    E e = getSpanningTreeEdge(v);
+    return e == null ? null : Graphs.getOppositeVertex(graph, e, v);
+  }
+
+  private void checkSearchTree() {
+    if (!searchTree) {
+      throw new IllegalStateException("search tree is not recorded");
+    }
+  }
+
+  private int checkSeen(V v) {
+    if (v == null || !isSeenVertex(v)) {
+      throw new IllegalArgumentException("vertex has not been encountered");
+    }
+    return (Integer) v;
+  }
+
+  private SearchNodeData<E> getSearchNodeData(V v) {
+    SearchNodeData<E> data = TypeUtil.uncheckedCast(getSeenData(v), null);
+    if (data == null) {
+      throw new IllegalArgumentException("vertex has not been encountered");
+    }
+    return data;
+  }
+
+  /**
+   * Data kept for each encountered vertex.
+   *
+   * @param <E> the graph edge type
+   */
+  private static class SearchNodeData<E> {
+    /** Edge through which the vertex was reached, null for start vertices. */
+    final E edge;
+
+    /** Depth of the vertex in the search tree. */
+    final int depth;
+
+    SearchNodeData(E edge, int depth) {
+      this.edge = edge;
+      this.depth = depth;
+    }
   }
 }
 
@@ -18,6 +18,7 @@
 package org.jgrapht.traverse;
 
 import java.util.*;
+import java.util.function.*;
 import org.jgrapht.*;
 import org.jgrapht.util.*;
 
@@ -30,15 +31,18 @@ import org.jgrapht.util.*;
  * Graph.getEdgeWeight(Edge) is summed to calculate path length. Negative edge weights will result
  * in an IllegalArgumentException. Optionally, path length may be bounded by a finite radius.
  *
+ * <p>The fringe vertices are kept in an {@link AddressableHeap}, by default a {@link
+ * FibonacciHeap}. Other heaps can be plugged in through a heap supplier.
+ *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  * @author John V. Sichi
  * @since Sep 2, 2003
  */
 public class ClosestFirstIterator<V, E>
-    extends CrossComponentIterator<V, E, FibonacciHeapNode<ClosestFirstIterator.QueueEntry<V, E>>> {
+    extends CrossComponentIterator<V, E, ClosestFirstIterator.QueueEntry<V, E>> {
   /** Priority queue of fringe vertices. */
-  private FibonacciHeap<QueueEntry<V, E>> heap = new FibonacciHeap<>();
+  private final AddressableHeap<V> heap;
 
   /** Maximum distance to search. */
   private double radius = Double.POSITIVE_INFINITY;
@@ -107,7 +111,47 @@ public class ClosestFirstIterator<V, E>
    * @param radius limit on weighted path length, or Double.POSITIVE_INFINITY for unbounded search.
    */
   public ClosestFirstIterator(Graph<V, E> g, Iterable<V> startVertices, double radius) {
+    this(g, startVertices, radius, FibonacciHeap::new);
+  }
+
+  /**
+   * Creates a new radius-bounded closest-first iterator for the specified graph, which uses a heap
+   * created by a supplier. Iteration will start at the specified start vertex and will be limited
+   * to the subset of the connected component which includes that vertex and is reachable via paths
+   * of weighted length less than or equal to the specified radius.
+   *
+   * @param g the graph to be iterated.
+   * @param startVertex the vertex iteration to be started.
+   * @param radius limit on weighted path length, or Double.POSITIVE_INFINITY for unbounded search.
+   * @param heapSupplier supplier of the heap of fringe vertices.
+   */
+  public ClosestFirstIterator(
+      Graph<V, E> g, V startVertex, double radius, Supplier<AddressableHeap<V>> heapSupplier) {
+    this(
+        g,
+        startVertex == null ? null : Collections.singletonList(startVertex),
+        radius,
+        heapSupplier);
+  }
+
+  /**
+   * Creates a new radius-bounded closest-first iterator for the specified graph, which uses a heap
+   * created by a supplier. Iteration will start at the specified start vertices and will be limited
+   * to the subset of the connected component which includes those vertices and their reachable via
+   * paths of weighted length less than or equal to the specified radius.
+   *
+   * @param g the graph to be iterated.
+   * @param startVertices the vertices iteration to be started.
+   * @param radius limit on weighted path length, or Double.POSITIVE_INFINITY for unbounded search.
+   * @param heapSupplier supplier of the heap of fringe vertices.
+   */
+  public ClosestFirstIterator(
+      Graph<V, E> g,
+      Iterable<V> startVertices,
+      double radius,
+      Supplier<AddressableHeap<V>> heapSupplier) {
     super(g, startVertices);
+    this.heap = Objects.requireNonNull(heapSupplier.get(), "Heap cannot be null");
     this.radius = radius;
     checkRadiusTraversal(isCrossComponentTraversal());
     initialized = true;
@@ -132,13 +176,13 @@ public class ClosestFirstIterator<V, E>
    *     yet
    */
   public double getShortestPathLength(V vertex) {
-    FibonacciHeapNode<QueueEntry<V, E>> node = getSeenData(vertex);
+    QueueEntry<V, E> entry = getSeenData(vertex);
 
-    if (node == null) {
+    if (entry == null) {
       return Double.POSITIVE_INFINITY;
     }
 
-    return node.getKey();
+    return entry.node.getKey();
   }
 
   /**
@@ -152,13 +196,13 @@ public class ClosestFirstIterator<V, E>
    *     start vertex.
    */
   public E getSpanningTreeEdge(V vertex) {
-    FibonacciHeapNode<QueueEntry<V, E>> node = getSeenData(vertex);
+    QueueEntry<V, E> entry = getSeenData(vertex);
 
-    if (node == null) {
+    if (entry == null) {
       return null;
     }
 
-    return node.getData().spanningTreeEdge;
+    return entry.spanningTreeEdge;
   }
 
   /** @see CrossComponentIterator#isConnectedComponentExhausted() */
@@ -186,9 +230,7 @@ public class ClosestFirstIterator<V, E>
     } else {
       shortestPathLength = calculatePathLength(vertex, edge);
     }
-    FibonacciHeapNode<QueueEntry<V, E>> node = createSeenData(vertex, edge);
-    putSeenData(vertex, node);
-    heap.insert(node, shortestPathLength);
+    putSeenData(vertex, createSeenData(vertex, edge, shortestPathLength));
   }
 
   /**
@@ -200,28 +242,28 @@ public class ClosestFirstIterator<V, E>
    */
   @Override
   protected void encounterVertexAgain(V vertex, E edge) {
-    FibonacciHeapNode<QueueEntry<V, E>> node = getSeenData(vertex);
+    QueueEntry<V, E> entry = getSeenData(vertex);
 
-    if (node.getData().frozen) {
+    if (entry.frozen) {
       // no improvement for this vertex possible
       return;
     }
 
     double candidatePathLength = calculatePathLength(vertex, edge);
 
-    if (candidatePathLength < node.getKey()) {
-      node.getData().spanningTreeEdge = edge;
-      heap.decreaseKey(node, candidatePathLength);
+    if (candidatePathLength < entry.node.getKey()) {
+      entry.spanningTreeEdge = edge;
+      heap.decreaseKey(entry.node, candidatePathLength);
     }
   }
 
   /** @see CrossComponentIterator#provideNextVertex() */
   @Override
   protected V provideNextVertex() {
-    FibonacciHeapNode<QueueEntry<V, E>> node = heap.removeMin();
-    node.getData().frozen = true;
+    V vertex = heap.removeMin().getData();
+    getSeenData(vertex).frozen = true;
 
-    return node.getData().vertex;
+    return vertex;
   }
 
   private void assertNonNegativeEdge(E edge) {
@@ -242,9 +284,9 @@ public class ClosestFirstIterator<V, E>
     assertNonNegativeEdge(edge);
 
     V otherVertex = Graphs.getOppositeVertex(getGraph(), edge, vertex);
-    FibonacciHeapNode<QueueEntry<V, E>> otherEntry = getSeenData(otherVertex);
+    QueueEntry<V, E> otherEntry = getSeenData(otherVertex);
 
-    return otherEntry.getKey() + getGraph().getEdgeWeight(edge);
+    return otherEntry.node.getKey() + getGraph().getEdgeWeight(edge);
   }
 
   private void checkRadiusTraversal(boolean crossComponentTraversal) {
@@ -255,27 +297,28 @@ public class ClosestFirstIterator<V, E>
   }
 
   /**
-   * The first time we see a vertex, make up a new heap node for it.
+   * The first time we see a vertex, insert it into the heap and make up the data for it.
    *
    * @param vertex a vertex which has just been encountered.
    * @param edge the edge via which the vertex was encountered.
-   * @return the new heap node.
+   * @param shortestPathLength the length of the path via the edge.
+   * @return the new seen data.
    */
-  private FibonacciHeapNode<QueueEntry<V, E>> createSeenData(V vertex, E edge) {
+  private QueueEntry<V, E> createSeenData(V vertex, E edge, double shortestPathLength) {
     QueueEntry<V, E> entry = new QueueEntry<>();
-    entry.vertex = vertex;
+    entry.node = heap.insert(shortestPathLength, vertex);
     entry.spanningTreeEdge = edge;
 
-    return new FibonacciHeapNode<>(entry);
+    return entry;
   }
 
-  /** Private data to associate with each entry in the priority queue. */
+  /** Private data to associate with each vertex in the priority queue. */
   static class QueueEntry<V, E> {
     /** Best spanning tree edge to vertex seen so far. */
     E spanningTreeEdge;
 
-    /** The vertex reached. */
-    V vertex;
+    /** The heap node of the vertex. */
+    AddressableHeap.Handle<V> node;
 
     /** True once spanningTreeEdge is guaranteed to be the true minimum. */
     boolean frozen;
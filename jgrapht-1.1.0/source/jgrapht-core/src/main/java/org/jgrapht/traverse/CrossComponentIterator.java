@@ -17,6 +17,7 @@
  */
 package org.jgrapht.traverse;
 
+import java.lang.reflect.*;
 import java.util.*;
 import org.jgrapht.*;
 import org.jgrapht.event.*;
@@ -267,7 +268,15 @@ public abstract class CrossComponentIterator<V, E, D> extends AbstractGraphItera
     }
   }
 
-  private void addUnseenChildrenOf(V vertex) {
+  /**
+   * Visits the edges leaving a vertex which has just been provided by the iterator and reports each
+   * opposite vertex either through {@link #encounterVertex(Object, Object)} or {@link
+   * #encounterVertexAgain(Object, Object)}. Subclasses may override this method in order to use a
+   * more efficient traversal of the graph, as long as the traversal listeners are notified.
+   *
+   * @param vertex the vertex whose children should be visited
+   */
+  protected void addUnseenChildrenOf(V vertex) {
     for (E edge : graph.outgoingEdgesOf(vertex)) {
       if (nListeners != 0) {
         fireEdgeTraversed(createEdgeTraversalEvent(edge));
@@ -283,6 +292,21 @@ public abstract class CrossComponentIterator<V, E, D> extends AbstractGraphItera
     }
   }
 
+  /*
+   * Whether the class of this iterator overrides encounterVertex or encounterVertexAgain below the
+   * given class. Traversals which inline these methods must call them if they are overridden.
+   */
+  boolean overridesEncounterMethods(Class<?> base) {
+    for (Class<?> c = getClass(); c != base; c = c.getSuperclass()) {
+      for (Method m : c.getDeclaredMethods()) {
+        if (m.getName().equals("encounterVertex") || m.getName().equals("encounterVertexAgain")) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   private void encounterStartVertex() {
     encounterVertex(startVertex, null);
     startVertex = null;
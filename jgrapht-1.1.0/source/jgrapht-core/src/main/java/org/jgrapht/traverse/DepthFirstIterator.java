@@ -19,6 +19,7 @@ package org.jgrapht.traverse;
 
 import java.util.*;
 import org.jgrapht.*;
+import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 
 /**
@@ -28,6 +29,12 @@ import org.jgrapht.util.*;
  * there are no means to ensure that, nor to fail-fast. The results of such modifications are
  * undefined.
  *
+ * <p>If the graph is an {@link IntGraph} the iterator keeps the visit color of each vertex in a byte
+ * array indexed by vertex instead of a map, and scans the adjacency of each vertex without creating
+ * edge objects as long as no traversal listener is registered. Subclasses which override {@link
+ * #encounterVertex(Object, Object)} or {@link #encounterVertexAgain(Object, Object)} are still
+ * called for every edge.
+ *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  * @author Liviu Rau
@@ -55,8 +62,18 @@ public class DepthFirstIterator<V, E>
     BLACK
   }
 
+  private static final VisitColor[] COLORS = VisitColor.values();
+
   private Deque<Object> stack = new ArrayDeque<>();
 
+  /*
+   * Primitive state, used only if the graph is an IntGraph: the ordinal of the visit color plus
+   * one, zero for a vertex which has not been seen.
+   */
+  private final IntGraph intGraph;
+  private final boolean intHooks;
+  private byte[] intColor;
+
   /**
    * Creates a new depth-first iterator for the specified graph.
    *
@@ -76,7 +93,7 @@ public class DepthFirstIterator<V, E>
    * @param startVertex the vertex iteration to be started.
    */
   public DepthFirstIterator(Graph<V, E> g, V startVertex) {
-    super(g, startVertex);
+    this(g, startVertex == null ? null : Collections.singletonList(startVertex));
   }
 
   /**
@@ -90,6 +107,14 @@ public class DepthFirstIterator<V, E>
    */
   public DepthFirstIterator(Graph<V, E> g, Iterable<V> startVertices) {
     super(g, startVertices);
+    if (g instanceof IntGraph) {
+      this.intGraph = (IntGraph) g;
+      this.intHooks = overridesEncounterMethods(DepthFirstIterator.class);
+      this.intColor = new byte[intGraph.getVertexCapacity()];
+    } else {
+      this.intGraph = null;
+      this.intHooks = false;
+    }
   }
 
   @Override
@@ -116,13 +141,21 @@ public class DepthFirstIterator<V, E>
 
   @Override
   protected void encounterVertex(V vertex, E edge) {
-    putSeenData(vertex, VisitColor.WHITE);
+    setColor(vertex, VisitColor.WHITE);
     stack.addLast(vertex);
   }
 
+  @Override
+  protected boolean isSeenVertex(V vertex) {
+    if (intGraph != null) {
+      return intColor[(Integer) vertex] != 0;
+    }
+    return super.isSeenVertex(vertex);
+  }
+
   @Override
   protected void encounterVertexAgain(V vertex, E edge) {
-    VisitColor color = getSeenData(vertex);
+    VisitColor color = getColor(vertex);
     if (color != VisitColor.WHITE) {
       // We've already visited this vertex; no need to mess with the
       // stack (either it's BLACK and not there at all, or it's GRAY
@@ -160,16 +193,59 @@ public class DepthFirstIterator<V, E>
     // when we're done with it.
     stack.addLast(v);
     stack.addLast(SENTINEL);
-    putSeenData(v, VisitColor.GRAY);
+    setColor(v, VisitColor.GRAY);
     return v;
   }
 
+  @Override
+  protected void addUnseenChildrenOf(V vertex) {
+    if (intGraph == null || nListeners != 0) {
+      super.addUnseenChildrenOf(vertex);
+      return;
+    }
+    int v = (Integer) vertex;
+    for (int i = 0, count = intGraph.getOutgoingEdgeCount(v); i < count; i++) {
+      int e = intGraph.getOutgoingEdge(v, i);
+      int u = intGraph.getOppositeVertex(e, v);
+      if (intHooks) {
+        // a subclass observes the encounters
+        V opposite = TypeUtil.uncheckedCast(u, null);
+        E edge = TypeUtil.uncheckedCast(e, null);
+        if (intColor[u] == 0) {
+          encounterVertex(opposite, edge);
+        } else {
+          encounterVertexAgain(opposite, edge);
+        }
+      } else if (intColor[u] == 0) {
+        intColor[u] = (byte) (VisitColor.WHITE.ordinal() + 1);
+        stack.addLast(u);
+      } else {
+        encounterVertexAgain(TypeUtil.uncheckedCast(u, null), null);
+      }
+    }
+  }
+
   private void recordFinish() {
     V v = TypeUtil.uncheckedCast(stack.removeLast(), null);
-    putSeenData(v, VisitColor.BLACK);
+    setColor(v, VisitColor.BLACK);
     finishVertex(v);
   }
 
+  private VisitColor getColor(V v) {
+    if (intGraph != null) {
+      return COLORS[intColor[(Integer) v] - 1];
+    }
+    return getSeenData(v);
+  }
+
+  private void setColor(V v, VisitColor color) {
+    if (intGraph != null) {
+      intColor[(Integer) v] = (byte) (color.ordinal() + 1);
+    } else {
+      putSeenData(v, color);
+    }
+  }
+
   /**
    * Retrieves the LIFO stack of vertices which have been encountered but not yet visited (WHITE).
    * This stack also contains <em>sentinel</em> entries representing vertices which have been
@@ -0,0 +1,113 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+/**
+ * A priority queue with <code>double</code> keys whose elements can be addressed through handles.
+ * Inserting an element returns a handle, which can later be used in order to decrease the key of
+ * the element.
+ *
+ * <p>Implementations differ in their running time guarantees and in their practical performance.
+ * {@link FibonacciHeap} offers the best amortized bounds, {@link DaryHeap} and {@link PairingHeap}
+ * are usually faster in practice, and {@link RadixHeap} is very fast for monotone workloads such as
+ * Dijkstra's algorithm, where keys never decrease below the last removed key.
+ *
+ * <p>The key and the data of a handle remain accessible after the element has been removed from the
+ * heap. The handles of a heap become invalid after the heap has been cleared.
+ *
+ * @param <T> the type of data stored in the heap
+ * @see FibonacciHeap
+ * @see DaryHeap
+ * @see PairingHeap
+ * @see RadixHeap
+ * @since October 2017
+ */
+public interface AddressableHeap<T> {
+  /**
+   * A handle to an element of an addressable heap.
+   *
+   * @param <T> the type of data stored in the heap
+   */
+  interface Handle<T> {
+    /**
+     * Get the key of the element.
+     *
+     * @return the key
+     */
+    double getKey();
+
+    /**
+     * Get the data of the element.
+     *
+     * @return the data
+     */
+    T getData();
+  }
+
+  /**
+   * Insert a new element into the heap.
+   *
+   * @param key the key of the element
+   * @param data the data of the element
+   * @return a handle to the new element
+   */
+  Handle<T> insert(double key, T data);
+
+  /**
+   * Get the element with the minimum key.
+   *
+   * @return a handle to the element with the minimum key, or null if the heap is empty
+   */
+  Handle<T> min();
+
+  /**
+   * Remove the element with the minimum key.
+   *
+   * @return a handle to the removed element, or null if the heap is empty
+   */
+  Handle<T> removeMin();
+
+  /**
+   * Decrease the key of an element of the heap.
+   *
+   * @param handle a handle to an element of this heap
+   * @param key the new key, which must not be larger than the current key
+   * @throws IllegalArgumentException if the handle does not belong to an element of this heap or if
+   *     the new key is larger than the current key
+   */
+  void decreaseKey(Handle<T> handle, double key);
+
+  /**
+   * Returns <code>true</code> if the heap is empty.
+   *
+   * @return <code>true</code> if the heap is empty
+   */
+  boolean isEmpty();
+
+  /**
+   * Get the number of elements of the heap.
+   *
+   * @return the number of elements
+   */
+  int size();
+
+  /** Remove all elements of the heap. */
+  void clear();
+}
+
+// End AddressableHeap.java
@@ -0,0 +1,209 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+/**
+ * An addressable <i>d</i>-ary heap stored in an array.
+ *
+ * <p>The keys are kept in a primitive array parallel to the array of handles, so that restoring the
+ * heap order only touches contiguous memory. Insertion and decrease-key take O(log<sub>d</sub> n)
+ * time and removal of the minimum O(d log<sub>d</sub> n) time. Binary heaps (d=2) and 4-ary heaps
+ * are the most common choices, the latter being shallower and friendlier to caches.
+ *
+ * <p><b>Note that this implementation is not synchronized.</b>
+ *
+ * @param <T> the type of data stored in the heap
+ * @since October 2017
+ */
+public class DaryHeap<T> implements AddressableHeap<T> {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private final int d;
+  private double[] keys;
+  private Node<T>[] nodes;
+  private int size;
+
+  /** Construct a new binary heap. */
+  public DaryHeap() {
+    this(2);
+  }
+
+  /**
+   * Construct a new heap.
+   *
+   * @param d the number of children of each node, at least 2
+   */
+  public DaryHeap(int d) {
+    if (d < 2) {
+      throw new IllegalArgumentException("Heap arity must be at least 2");
+    }
+    this.d = d;
+    this.keys = new double[DEFAULT_CAPACITY];
+    this.nodes = TypeUtil.uncheckedCast(new Node<?>[DEFAULT_CAPACITY], null);
+  }
+
+  @Override
+  public Handle<T> insert(double key, T data) {
+    if (size == nodes.length) {
+      int capacity = 2 * size;
+      keys = Arrays.copyOf(keys, capacity);
+      nodes = Arrays.copyOf(nodes, capacity);
+    }
+    Node<T> node = new Node<>(this, key, data);
+    siftUp(size++, node);
+    return node;
+  }
+
+  @Override
+  public Handle<T> min() {
+    return size == 0 ? null : nodes[0];
+  }
+
+  @Override
+  public Handle<T> removeMin() {
+    if (size == 0) {
+      return null;
+    }
+    Node<T> min = nodes[0];
+    min.index = -1;
+    Node<T> last = nodes[--size];
+    nodes[size] = null;
+    if (size > 0) {
+      siftDown(0, last);
+    }
+    return min;
+  }
+
+  @Override
+  public void decreaseKey(Handle<T> handle, double key) {
+    Node<T> node = checkHandle(handle);
+    if (key > node.key) {
+      throw new IllegalArgumentException(
+          "decreaseKey() got larger key value. Current key: " + node.key + " new key: " + key);
+    }
+    node.key = key;
+    siftUp(node.index, node);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    for (int i = 0; i < size; i++) {
+      nodes[i].index = -1;
+      nodes[i] = null;
+    }
+    size = 0;
+  }
+
+  private Node<T> checkHandle(Handle<T> handle) {
+    if (!(handle instanceof Node)) {
+      throw new IllegalArgumentException("Invalid heap node");
+    }
+    Node<T> node = (Node<T>) handle;
+    if (node.heap != this || node.index < 0) {
+      throw new IllegalArgumentException("Invalid heap node");
+    }
+    return node;
+  }
+
+  /** Moves a node up from a position, which is considered empty, and stores it. */
+  private void siftUp(int i, Node<T> node) {
+    double key = node.key;
+    while (i > 0) {
+      int parent = (i - 1) / d;
+      if (keys[parent] <= key) {
+        break;
+      }
+      place(i, nodes[parent]);
+      i = parent;
+    }
+    place(i, node);
+  }
+
+  /** Moves a node down from a position, which is considered empty, and stores it. */
+  private void siftDown(int i, Node<T> node) {
+    double key = node.key;
+    while (true) {
+      int first = d * i + 1;
+      if (first >= size) {
+        break;
+      }
+      int child = first;
+      double childKey = keys[first];
+      for (int c = first + 1, end = Math.min(first + d, size); c < end; c++) {
+        if (keys[c] < childKey) {
+          child = c;
+          childKey = keys[c];
+        }
+      }
+      if (key <= childKey) {
+        break;
+      }
+      place(i, nodes[child]);
+      i = child;
+    }
+    place(i, node);
+  }
+
+  private void place(int i, Node<T> node) {
+    keys[i] = node.key;
+    nodes[i] = node;
+    node.index = i;
+  }
+
+  private static final class Node<T> implements Handle<T> {
+    final DaryHeap<T> heap;
+    final T data;
+    double key;
+    int index;
+
+    Node(DaryHeap<T> heap, double key, T data) {
+      this.heap = heap;
+      this.key = key;
+      this.data = data;
+    }
+
+    @Override
+    public double getKey() {
+      return key;
+    }
+
+    @Override
+    public T getData() {
+      return data;
+    }
+
+    @Override
+    public String toString() {
+      return Double.toString(key);
+    }
+  }
+}
+
+// End DaryHeap.java
@@ -33,13 +33,15 @@ import java.util.*;
  * externally. This is typically accomplished by synchronizing on some object that naturally
  * encapsulates the set.
  *
+ * <p>The heap implements {@link AddressableHeap}, whose handles are the nodes of the heap.
+ *
  * <p>This class was originally developed by Nathan Fiedler for the GraphMaker project. It was
  * imported to JGraphT with permission, courtesy of Nathan Fiedler.
  *
  * @param <T> node data type
  * @author Nathan Fiedler
  */
-public class FibonacciHeap<T> {
+public class FibonacciHeap<T> implements AddressableHeap<T> {
   private static final double ONEOVERLOGPHI = 1.0 / Math.log((1.0 + Math.sqrt(5.0)) / 2.0);
 
   /** Points to the minimum node in the heap. */
@@ -59,6 +61,7 @@ public class FibonacciHeap<T> {
    *
    * @return true if the heap is empty, false otherwise
    */
+  @Override
   public boolean isEmpty() {
     return minNode == null;
   }
@@ -66,6 +69,7 @@ public class FibonacciHeap<T> {
   // isEmpty
 
   /** Removes all elements from this heap. */
+  @Override
   public void clear() {
     minNode = null;
     nNodes = 0;
@@ -109,6 +113,22 @@ public class FibonacciHeap<T> {
 
   // decreaseKey
 
+  /**
+   * Decreases the key value for a heap node, given the new value to take on.
+   *
+   * @param handle node to decrease the key of, which must be a node of this heap
+   * @param k new key value for the node
+   * @exception IllegalArgumentException Thrown if the handle is not a heap node or if k is larger
+   *     than its key value.
+   */
+  @Override
+  public void decreaseKey(Handle<T> handle, double k) {
+    if (!(handle instanceof FibonacciHeapNode)) {
+      throw new IllegalArgumentException("Invalid heap node");
+    }
+    decreaseKey((FibonacciHeapNode<T>) handle, k);
+  }
+
   /**
    * Deletes a node from the heap given the reference to the node. The trees in the heap will be
    * consolidated, if necessary. This operation may fail to remove the correct element if there are
@@ -166,6 +186,22 @@ public class FibonacciHeap<T> {
 
   // insert
 
+  /**
+   * Inserts a new data element into the heap, creating a new node for it.
+   *
+   * <p>Running time: O(1) actual
+   *
+   * @param key key value associated with data object
+   * @param data data object to insert
+   * @return the new node
+   */
+  @Override
+  public FibonacciHeapNode<T> insert(double key, T data) {
+    FibonacciHeapNode<T> node = new FibonacciHeapNode<>(data);
+    insert(node, key);
+    return node;
+  }
+
   /**
    * Returns the smallest element in the heap. This smallest element is the one with the minimum key
    * value.
@@ -174,6 +210,7 @@ public class FibonacciHeap<T> {
    *
    * @return heap node with the smallest key
    */
+  @Override
   public FibonacciHeapNode<T> min() {
     return minNode;
   }
@@ -188,6 +225,7 @@ public class FibonacciHeap<T> {
    *
    * @return node with the smallest key
    */
+  @Override
   public FibonacciHeapNode<T> removeMin() {
     FibonacciHeapNode<T> z = minNode;
 
@@ -250,6 +288,7 @@ public class FibonacciHeap<T> {
    *
    * @return number of elements in the heap
    */
+  @Override
   public int size() {
     return nNodes;
   }
@@ -25,7 +25,7 @@ package org.jgrapht.util;
  * @param <T> node data type
  * @author Nathan Fiedler
  */
-public class FibonacciHeapNode<T> {
+public class FibonacciHeapNode<T> implements AddressableHeap.Handle<T> {
   /** Node data. */
   T data;
 
@@ -64,6 +64,7 @@ public class FibonacciHeapNode<T> {
    *
    * @return the key
    */
+  @Override
   public final double getKey() {
     return key;
   }
@@ -73,6 +74,7 @@ public class FibonacciHeapNode<T> {
    *
    * @return the data
    */
+  @Override
   public final T getData() {
     return data;
   }
@@ -0,0 +1,540 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * A hash map with open addressing which iterates its entries in insertion order.
+ *
+ * <p>The entries are stored in three parallel arrays (keys, values and cached hash codes) in the
+ * order in which they were inserted. A separate table of integers, probed linearly, maps hash codes
+ * to positions in these arrays. Compared to {@link LinkedHashMap} no entry objects are allocated
+ * and iteration scans contiguous arrays, which roughly halves the memory footprint per mapping and
+ * improves locality. Removed entries leave a hole in the arrays which is reclaimed when the arrays
+ * are compacted during a later insertion.
+ *
+ * <p>Like {@link LinkedHashMap}, re-inserting a key does not affect its position in the iteration
+ * order. Null values are permitted, null keys are not. Iterators are fail-fast and support removal.
+ * This implementation is not synchronized.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public class InsertionOrderedOpenHashMap<K, V> extends AbstractMap<K, V> implements Serializable {
+  private static final long serialVersionUID = 4319385631745392811L;
+
+  private static final int DEFAULT_CAPACITY = 8;
+
+  /*
+   * Entries in insertion order. Positions [0, end) are in use, a null key marks a removed entry.
+   * The layout depends on hash codes, which may differ in another virtual machine, hence only the
+   * entries are serialized and the layout is rebuilt when reading them.
+   */
+  private transient Object[] keys;
+  private transient Object[] values;
+  private transient int[] hashes;
+  private transient int end;
+  private transient int size;
+
+  /*
+   * Open addressing table with linear probing. A slot contains an entry position plus one, zero
+   * marks an empty slot.
+   */
+  private transient int[] table;
+  private transient int mask;
+
+  private transient int modCount;
+  private transient Set<K> keySetView;
+  private transient Collection<V> valuesView;
+  private transient Set<Map.Entry<K, V>> entrySetView;
+
+  /** Constructs a new empty map. */
+  public InsertionOrderedOpenHashMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs a new empty map which can hold the given number of mappings without resizing.
+   *
+   * @param expectedSize the expected number of mappings
+   * @throws IllegalArgumentException if the expected size is negative
+   */
+  public InsertionOrderedOpenHashMap(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + expectedSize);
+    }
+    allocate(Math.max(DEFAULT_CAPACITY, expectedSize));
+  }
+
+  /**
+   * Makes sure that this map can hold the given number of mappings without resizing. Calling this
+   * method before inserting a known number of mappings avoids repeated rehashing. The capacity at
+   * least doubles when it is increased, so that repeated calls with growing sizes are cheap.
+   *
+   * @param expectedSize the expected number of mappings
+   */
+  public void ensureCapacity(int expectedSize) {
+    if (expectedSize > keys.length) {
+      modCount++;
+      rebuild(Math.max(expectedSize, keys.length << 1));
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean containsKey(Object key) {
+    return key != null && findSlot(key, hash(key)) >= 0;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public V get(Object key) {
+    if (key == null) {
+      return null;
+    }
+    int slot = findSlot(key, hash(key));
+    return slot < 0 ? null : TypeUtil.uncheckedCast(values[table[slot] - 1], null);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws NullPointerException if the key is null
+   */
+  @Override
+  public V put(K key, V value) {
+    int h = hash(Objects.requireNonNull(key, "null keys are not supported"));
+    int slot = findSlot(key, h);
+    if (slot >= 0) {
+      int pos = table[slot] - 1;
+      V oldValue = TypeUtil.uncheckedCast(values[pos], null);
+      values[pos] = value;
+      return oldValue;
+    }
+
+    if (end == keys.length) {
+      ensureRoom();
+    }
+    int pos = end++;
+    keys[pos] = key;
+    values[pos] = value;
+    hashes[pos] = h;
+    insertSlot(h, pos);
+    size++;
+    modCount++;
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public V remove(Object key) {
+    if (key == null) {
+      return null;
+    }
+    int slot = findSlot(key, hash(key));
+    if (slot < 0) {
+      return null;
+    }
+    V oldValue = TypeUtil.uncheckedCast(values[table[slot] - 1], null);
+    removeSlot(slot);
+    return oldValue;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void clear() {
+    Arrays.fill(keys, 0, end, null);
+    Arrays.fill(values, 0, end, null);
+    Arrays.fill(table, 0);
+    end = 0;
+    size = 0;
+    modCount++;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<K> keySet() {
+    if (keySetView == null) {
+      keySetView = new KeySet();
+    }
+    return keySetView;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Collection<V> values() {
+    if (valuesView == null) {
+      valuesView = new Values();
+    }
+    return valuesView;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Set<Map.Entry<K, V>> entrySet() {
+    if (entrySetView == null) {
+      entrySetView = new EntrySet();
+    }
+    return entrySetView;
+  }
+
+  private static int hash(Object key) {
+    int h = key.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private void allocate(int capacity) {
+    keys = new Object[capacity];
+    values = new Object[capacity];
+    hashes = new int[capacity];
+    // keep the load factor of the table at most 2/3
+    int tableSize = Integer.highestOneBit(capacity + (capacity >>> 1)) << 1;
+    table = new int[tableSize];
+    mask = tableSize - 1;
+  }
+
+  private int findSlot(Object key, int h) {
+    int slot = h & mask;
+    int p;
+    while ((p = table[slot]) != 0) {
+      if (hashes[p - 1] == h && key.equals(keys[p - 1])) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void insertSlot(int h, int pos) {
+    int slot = h & mask;
+    while (table[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = pos + 1;
+  }
+
+  /*
+   * Remove the entry of a slot and close the gap in the probe sequence by shifting back the
+   * following entries, so that no tombstones are needed in the table.
+   */
+  private void removeSlot(int slot) {
+    int pos = table[slot] - 1;
+    keys[pos] = null;
+    values[pos] = null;
+    size--;
+    modCount++;
+    while (end > 0 && keys[end - 1] == null) {
+      end--;
+    }
+
+    int i = slot;
+    int j = slot;
+    while (true) {
+      table[i] = 0;
+      int p;
+      while (true) {
+        j = (j + 1) & mask;
+        p = table[j];
+        if (p == 0) {
+          return;
+        }
+        int k = hashes[p - 1] & mask;
+        boolean reachable = i <= j ? (i < k && k <= j) : (i < k || k <= j);
+        if (!reachable) {
+          break;
+        }
+      }
+      table[i] = p;
+      i = j;
+    }
+  }
+
+  /*
+   * Make room for one more entry, either by compacting removed entries or by growing the arrays.
+   */
+  private void ensureRoom() {
+    rebuild(size <= (keys.length >>> 1) ? keys.length : keys.length << 1);
+  }
+
+  /*
+   * Compact the entries into arrays of the given capacity, which must be at least the size.
+   */
+  private void rebuild(int capacity) {
+    Object[] oldKeys = keys;
+    Object[] oldValues = values;
+    int[] oldHashes = hashes;
+    int oldEnd = end;
+
+    if (capacity == oldKeys.length) {
+      Arrays.fill(table, 0);
+    } else {
+      allocate(capacity);
+    }
+
+    int pos = 0;
+    for (int i = 0; i < oldEnd; i++) {
+      if (oldKeys[i] != null) {
+        keys[pos] = oldKeys[i];
+        values[pos] = oldValues[i];
+        hashes[pos] = oldHashes[i];
+        insertSlot(hashes[pos], pos);
+        pos++;
+      }
+    }
+    if (keys == oldKeys) {
+      Arrays.fill(keys, pos, oldEnd, null);
+      Arrays.fill(values, pos, oldEnd, null);
+    }
+    end = pos;
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(size);
+    for (int i = 0; i < end; i++) {
+      if (keys[i] != null) {
+        out.writeObject(keys[i]);
+        out.writeObject(values[i]);
+      }
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int n = in.readInt();
+    if (n < 0) {
+      throw new InvalidObjectException("Illegal size: " + n);
+    }
+    allocate(Math.max(DEFAULT_CAPACITY, n));
+    for (int i = 0; i < n; i++) {
+      K key = TypeUtil.uncheckedCast(in.readObject(), null);
+      V value = TypeUtil.uncheckedCast(in.readObject(), null);
+      put(key, value);
+    }
+  }
+
+  private abstract class BaseIterator<T> implements Iterator<T> {
+    private int next;
+    private int last = -1;
+    private int expectedModCount = modCount;
+
+    BaseIterator() {
+      next = advance(0);
+    }
+
+    private int advance(int i) {
+      while (i < end && keys[i] == null) {
+        i++;
+      }
+      return i;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < end;
+    }
+
+    int nextPosition() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (next >= end) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      next = advance(next + 1);
+      return last;
+    }
+
+    @Override
+    public void remove() {
+      if (last < 0) {
+        throw new IllegalStateException();
+      }
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      removeSlot(findSlot(keys[last], hashes[last]));
+      last = -1;
+      expectedModCount = modCount;
+    }
+  }
+
+  private class KeySet extends AbstractSet<K> {
+    @Override
+    public Iterator<K> iterator() {
+      return new BaseIterator<K>() {
+        @Override
+        public K next() {
+          return TypeUtil.uncheckedCast(keys[nextPosition()], null);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return containsKey(o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (o == null) {
+        return false;
+      }
+      int slot = findSlot(o, hash(o));
+      if (slot < 0) {
+        return false;
+      }
+      removeSlot(slot);
+      return true;
+    }
+
+    @Override
+    public void clear() {
+      InsertionOrderedOpenHashMap.this.clear();
+    }
+  }
+
+  private class Values extends AbstractCollection<V> {
+    @Override
+    public Iterator<V> iterator() {
+      return new BaseIterator<V>() {
+        @Override
+        public V next() {
+          return TypeUtil.uncheckedCast(values[nextPosition()], null);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public void clear() {
+      InsertionOrderedOpenHashMap.this.clear();
+    }
+  }
+
+  private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+      return new BaseIterator<Map.Entry<K, V>>() {
+        @Override
+        public Map.Entry<K, V> next() {
+          return new EntryView(nextPosition());
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      Object key = e.getKey();
+      if (key == null) {
+        return false;
+      }
+      int slot = findSlot(key, hash(key));
+      return slot >= 0 && Objects.equals(values[table[slot] - 1], e.getValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!contains(o)) {
+        return false;
+      }
+      Object key = ((Map.Entry<?, ?>) o).getKey();
+      removeSlot(findSlot(key, hash(key)));
+      return true;
+    }
+
+    @Override
+    public void clear() {
+      InsertionOrderedOpenHashMap.this.clear();
+    }
+  }
+
+  /** An entry which writes through to the map as long as the map is not structurally modified. */
+  private class EntryView implements Map.Entry<K, V> {
+    private final int pos;
+
+    EntryView(int pos) {
+      this.pos = pos;
+    }
+
+    @Override
+    public K getKey() {
+      return TypeUtil.uncheckedCast(keys[pos], null);
+    }
+
+    @Override
+    public V getValue() {
+      return TypeUtil.uncheckedCast(values[pos], null);
+    }
+
+    @Override
+    public V setValue(V value) {
+      V oldValue = getValue();
+      values[pos] = value;
+      return oldValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      return Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+}
+
+// End InsertionOrderedOpenHashMap.java
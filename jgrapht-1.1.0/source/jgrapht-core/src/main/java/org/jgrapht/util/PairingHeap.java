@@ -0,0 +1,213 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+/**
+ * An addressable pairing heap.
+ *
+ * <p>A pairing heap is a heap-ordered multiway tree which is restructured lazily. Insertion and
+ * decrease-key link a single node with the root and take constant time, while removal of the
+ * minimum combines the children of the root in two passes and takes O(log n) amortized time. In
+ * practice pairing heaps are known to outperform Fibonacci heaps, whose nodes are larger and whose
+ * consolidation touches more memory.
+ *
+ * <p><b>Note that this implementation is not synchronized.</b>
+ *
+ * @param <T> the type of data stored in the heap
+ * @since October 2017
+ */
+public class PairingHeap<T> implements AddressableHeap<T> {
+  private Node<T> root;
+  private int size;
+
+  // identifies the elements currently in the heap, replaced when the heap is cleared
+  private Object owner = new Object();
+
+  /** Construct a new empty heap. */
+  public PairingHeap() {}
+
+  @Override
+  public Handle<T> insert(double key, T data) {
+    Node<T> node = new Node<>(owner, key, data);
+    root = root == null ? node : link(root, node);
+    size++;
+    return node;
+  }
+
+  @Override
+  public Handle<T> min() {
+    return root;
+  }
+
+  @Override
+  public Handle<T> removeMin() {
+    Node<T> min = root;
+    if (min == null) {
+      return null;
+    }
+    root = combine(min.child);
+    min.child = null;
+    min.owner = null;
+    size--;
+    return min;
+  }
+
+  @Override
+  public void decreaseKey(Handle<T> handle, double key) {
+    if (!(handle instanceof Node)) {
+      throw new IllegalArgumentException("Invalid heap node");
+    }
+    Node<T> node = (Node<T>) handle;
+    if (node.owner != owner) {
+      throw new IllegalArgumentException("Invalid heap node");
+    }
+    if (key > node.key) {
+      throw new IllegalArgumentException(
+          "decreaseKey() got larger key value. Current key: " + node.key + " new key: " + key);
+    }
+    node.key = key;
+    if (node == root) {
+      return;
+    }
+
+    // cut the subtree of the node and link it with the root
+    if (node.prev.child == node) {
+      node.prev.child = node.next;
+    } else {
+      node.prev.next = node.next;
+    }
+    if (node.next != null) {
+      node.next.prev = node.prev;
+    }
+    node.next = null;
+    node.prev = null;
+    root = link(root, node);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return root == null;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    root = null;
+    size = 0;
+    owner = new Object();
+  }
+
+  /** Links two trees, making the root with the larger key the first child of the other root. */
+  private static <T> Node<T> link(Node<T> a, Node<T> b) {
+    if (b.key < a.key) {
+      Node<T> tmp = a;
+      a = b;
+      b = tmp;
+    }
+    b.next = a.child;
+    if (a.child != null) {
+      a.child.prev = b;
+    }
+    b.prev = a;
+    a.child = b;
+    return a;
+  }
+
+  /** Combines a list of siblings into a single tree using the two-pass method. */
+  private static <T> Node<T> combine(Node<T> first) {
+    if (first == null) {
+      return null;
+    }
+
+    // link pairs from left to right, collecting the results in reverse order
+    Node<T> pairs = null;
+    Node<T> cur = first;
+    while (cur != null) {
+      Node<T> a = cur;
+      Node<T> b = a.next;
+      a.prev = null;
+      if (b == null) {
+        a.next = pairs;
+        pairs = a;
+        break;
+      }
+      cur = b.next;
+      a.next = null;
+      b.next = null;
+      b.prev = null;
+      Node<T> linked = link(a, b);
+      linked.next = pairs;
+      pairs = linked;
+    }
+
+    // link the results from right to left
+    Node<T> result = pairs;
+    Node<T> rest = result.next;
+    result.next = null;
+    while (rest != null) {
+      Node<T> next = rest.next;
+      rest.next = null;
+      result = link(result, rest);
+      rest = next;
+    }
+    result.prev = null;
+    return result;
+  }
+
+  private static final class Node<T> implements Handle<T> {
+    Object owner;
+    final T data;
+    double key;
+
+    // first child
+    Node<T> child;
+
+    // next sibling
+    Node<T> next;
+
+    // previous sibling, or parent for the first child
+    Node<T> prev;
+
+    Node(Object owner, double key, T data) {
+      this.owner = owner;
+      this.key = key;
+      this.data = data;
+    }
+
+    @Override
+    public double getKey() {
+      return key;
+    }
+
+    @Override
+    public T getData() {
+      return data;
+    }
+
+    @Override
+    public String toString() {
+      return Double.toString(key);
+    }
+  }
+}
+
+// End PairingHeap.java
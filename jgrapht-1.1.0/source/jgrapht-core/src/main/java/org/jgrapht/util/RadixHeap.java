@@ -0,0 +1,254 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+/**
+ * An addressable monotone radix heap with non-negative <code>double</code> keys.
+ *
+ * <p>A radix heap requires that no key is ever smaller than the last key removed from the heap,
+ * which holds for instance for the distances settled by Dijkstra's algorithm with non-negative edge
+ * weights. The elements are distributed into buckets according to the most significant bit in which
+ * the bit representation of their key differs from the bit representation of the last removed key,
+ * since the bit representations of non-negative doubles are ordered like the doubles themselves.
+ * When the bucket of the minimum is exhausted, the next non-empty bucket is redistributed into
+ * lower buckets. Every element moves to lower buckets only, hence all operations take O(1)
+ * amortized time besides a scan over 65 buckets.
+ *
+ * <p><b>Note that this implementation is not synchronized.</b>
+ *
+ * @param <T> the type of data stored in the heap
+ * @since October 2017
+ */
+public class RadixHeap<T> implements AddressableHeap<T> {
+  private static final int BUCKETS = Long.SIZE + 1;
+
+  private final Node<T>[] buckets = TypeUtil.uncheckedCast(new Node<?>[BUCKETS], null);
+  private double lastKey;
+  private long lastBits;
+  private int size;
+
+  // the minimum while the first bucket is empty, or null if not known yet
+  private Node<T> min;
+
+  /** Construct a new empty heap. */
+  public RadixHeap() {}
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if the key is smaller than the last removed key, negative or
+   *     NaN
+   */
+  @Override
+  public Handle<T> insert(double key, T data) {
+    checkKey(key);
+    Node<T> node = new Node<>(this, key + 0d, data);
+    add(node);
+    size++;
+    if (min != null && node.key < min.key) {
+      min = node;
+    }
+    return node;
+  }
+
+  @Override
+  public Handle<T> min() {
+    if (size == 0) {
+      return null;
+    }
+    if (buckets[0] != null) {
+      return buckets[0];
+    }
+    if (min == null) {
+      min = findMin(firstBucket());
+    }
+    return min;
+  }
+
+  @Override
+  public Handle<T> removeMin() {
+    if (size == 0) {
+      return null;
+    }
+    if (buckets[0] == null) {
+      redistribute();
+    }
+    Node<T> first = buckets[0];
+    unlink(first);
+    first.bucket = -1;
+    size--;
+    return first;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if the key is smaller than the last removed key
+   */
+  @Override
+  public void decreaseKey(Handle<T> handle, double key) {
+    if (!(handle instanceof Node)) {
+      throw new IllegalArgumentException("Invalid heap node");
+    }
+    Node<T> node = (Node<T>) handle;
+    if (node.heap != this || node.bucket < 0) {
+      throw new IllegalArgumentException("Invalid heap node");
+    }
+    if (key > node.key) {
+      throw new IllegalArgumentException(
+          "decreaseKey() got larger key value. Current key: " + node.key + " new key: " + key);
+    }
+    checkKey(key);
+    unlink(node);
+    node.key = key + 0d;
+    add(node);
+    if (min != null && node.key < min.key) {
+      min = node;
+    }
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    for (int i = 0; i < BUCKETS; i++) {
+      for (Node<T> node = buckets[i]; node != null; node = node.next) {
+        node.bucket = -1;
+      }
+    }
+    Arrays.fill(buckets, null);
+    min = null;
+    lastKey = 0d;
+    lastBits = 0L;
+    size = 0;
+  }
+
+  private void checkKey(double key) {
+    if (!(key >= lastKey)) {
+      throw new IllegalArgumentException(
+          "Key " + key + " is smaller than the last removed key " + lastKey);
+    }
+  }
+
+  private void add(Node<T> node) {
+    long diff = Double.doubleToLongBits(node.key) ^ lastBits;
+    int bucket = Long.SIZE - Long.numberOfLeadingZeros(diff);
+    node.bucket = bucket;
+    node.prev = null;
+    node.next = buckets[bucket];
+    if (node.next != null) {
+      node.next.prev = node;
+    }
+    buckets[bucket] = node;
+  }
+
+  private void unlink(Node<T> node) {
+    if (node.prev == null) {
+      buckets[node.bucket] = node.next;
+    } else {
+      node.prev.next = node.next;
+    }
+    if (node.next != null) {
+      node.next.prev = node.prev;
+    }
+  }
+
+  private int firstBucket() {
+    int i = 0;
+    while (buckets[i] == null) {
+      i++;
+    }
+    return i;
+  }
+
+  private Node<T> findMin(int bucket) {
+    Node<T> result = buckets[bucket];
+    for (Node<T> node = result.next; node != null; node = node.next) {
+      if (node.key < result.key) {
+        result = node;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Makes the minimum the last removed key and moves the elements of the first non-empty bucket
+   * into lower buckets.
+   */
+  private void redistribute() {
+    int i = firstBucket();
+    if (min == null) {
+      min = findMin(i);
+    }
+    lastKey = min.key;
+    lastBits = Double.doubleToLongBits(lastKey);
+    min = null;
+
+    Node<T> first = buckets[i];
+    buckets[i] = null;
+
+    Node<T> node = first;
+    while (node != null) {
+      Node<T> next = node.next;
+      add(node);
+      node = next;
+    }
+  }
+
+  private static final class Node<T> implements Handle<T> {
+    final RadixHeap<T> heap;
+    final T data;
+    double key;
+    int bucket;
+    Node<T> prev;
+    Node<T> next;
+
+    Node(RadixHeap<T> heap, double key, T data) {
+      this.heap = heap;
+      this.key = key;
+      this.data = data;
+    }
+
+    @Override
+    public double getKey() {
+      return key;
+    }
+
+    @Override
+    public T getData() {
+      return data;
+    }
+
+    @Override
+    public String toString() {
+      return Double.toString(key);
+    }
+  }
+}
+
+// End RadixHeap.java
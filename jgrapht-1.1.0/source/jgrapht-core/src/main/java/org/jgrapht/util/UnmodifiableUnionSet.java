@@ -0,0 +1,126 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * An unmodifiable live view of the union of two sets.
+ *
+ * <p>The view does not copy the two sets. It iterates over the first set and then over the
+ * elements of the second set which are not contained in the first one, so that each element is
+ * returned once. {@link #contains(Object)} queries both sets. {@link #size()} iterates over the
+ * smaller of the two sets in order to count the common elements, which takes time linear in the
+ * size of the smaller set but allocates nothing. Changes to the underlying sets are immediately
+ * visible through the view.
+ *
+ * @param <E> the element type
+ */
+public class UnmodifiableUnionSet<E> extends AbstractSet<E> implements Serializable {
+  private static final long serialVersionUID = -1937327799873331354L;
+
+  private final Set<E> first;
+  private final Set<E> second;
+
+  /**
+   * Constructs a new union view.
+   *
+   * @param first the first set
+   * @param second the second set
+   * @throws NullPointerException if any of the two sets is null
+   */
+  public UnmodifiableUnionSet(Set<E> first, Set<E> second) {
+    this.first = Objects.requireNonNull(first);
+    this.second = Objects.requireNonNull(second);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Iterator<E> iterator() {
+    return new Iterator<E>() {
+      private final Iterator<E> firstIt = first.iterator();
+      private final Iterator<E> secondIt = second.iterator();
+      private E next = null;
+      private boolean hasNext = advance();
+
+      @Override
+      public boolean hasNext() {
+        return hasNext;
+      }
+
+      @Override
+      public E next() {
+        if (!hasNext) {
+          throw new NoSuchElementException();
+        }
+        E result = next;
+        hasNext = advance();
+        return result;
+      }
+
+      private boolean advance() {
+        if (firstIt.hasNext()) {
+          next = firstIt.next();
+          return true;
+        }
+        while (secondIt.hasNext()) {
+          E e = secondIt.next();
+          if (!first.contains(e)) {
+            next = e;
+            return true;
+          }
+        }
+        next = null;
+        return false;
+      }
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This operation takes time linear in the size of the smaller of the two sets.
+   */
+  @Override
+  public int size() {
+    Set<E> smaller = first.size() <= second.size() ? first : second;
+    Set<E> larger = smaller == first ? second : first;
+    int common = 0;
+    for (E e : smaller) {
+      if (larger.contains(e)) {
+        common++;
+      }
+    }
+    return first.size() + second.size() - common;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean isEmpty() {
+    return first.isEmpty() && second.isEmpty();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean contains(Object o) {
+    return first.contains(o) || second.contains(o);
+  }
+}
+
+// End UnmodifiableUnionSet.java
@@ -17,6 +17,7 @@
  */
 package org.jgrapht.alg;
 
+import java.util.*;
 import junit.framework.*;
 import org.jgrapht.*;
 import org.jgrapht.graph.*;
@@ -127,6 +128,131 @@ public class ConnectivityInspectorTest extends TestCase {
     inspector = new ConnectivityInspector<>(g);
     assertEquals(false, inspector.isGraphConnected());
   }
+
+  /** Tests that the components are amended under random modifications. */
+  public void testIncrementalMaintenance() {
+    checkIncremental(new Pseudograph<>(DefaultEdge.class), false, false);
+    checkIncremental(new DirectedPseudograph<>(DefaultEdge.class), false, false);
+    checkIncremental(new Pseudograph<>(DefaultEdge.class), true, false);
+  }
+
+  /** Tests that the components are amended under random batches of modifications. */
+  public void testIncrementalBatchMaintenance() {
+    checkIncremental(new Pseudograph<>(DefaultEdge.class), false, true);
+    checkIncremental(new DirectedPseudograph<>(DefaultEdge.class), false, true);
+  }
+
+  private void checkIncremental(
+      Graph<Integer, DefaultEdge> base, boolean partial, boolean batched) {
+    Random rng = new Random(17);
+    DefaultListenableGraph<Integer, DefaultEdge> g = new DefaultListenableGraph<>(base);
+    ConnectivityInspector<Integer, DefaultEdge> inspector = new ConnectivityInspector<>(g);
+    g.addGraphListener(inspector);
+    for (int i = 0; i < 30; i++) {
+      g.addVertex(i);
+    }
+
+    for (int step = 0; step < 600; step++) {
+      if (batched && step % 5 == 0) {
+        g.beginBatch();
+      }
+      int op = rng.nextInt(10);
+      List<Integer> vertices = new ArrayList<>(g.vertexSet());
+      if (op < 5 && !vertices.isEmpty()) {
+        g.addEdge(
+            vertices.get(rng.nextInt(vertices.size())), vertices.get(rng.nextInt(vertices.size())));
+      } else if (op < 8 && !g.edgeSet().isEmpty()) {
+        List<DefaultEdge> edges = new ArrayList<>(g.edgeSet());
+        g.removeEdge(edges.get(rng.nextInt(edges.size())));
+      } else if (op < 9 && !vertices.isEmpty()) {
+        g.removeVertex(vertices.get(rng.nextInt(vertices.size())));
+      } else {
+        g.addVertex(30 + step);
+      }
+      if (batched) {
+        if (step % 5 < 4) {
+          continue;
+        }
+        g.commitBatch();
+      }
+
+      ConnectivityInspector<Integer, DefaultEdge> expected = new ConnectivityInspector<>(g);
+      Integer v = g.vertexSet().isEmpty() ? null : g.vertexSet().iterator().next();
+      if (partial) {
+        if (v != null) {
+          assertEquals(expected.connectedSetOf(v), inspector.connectedSetOf(v));
+        }
+      } else {
+        assertEquals(expected.isGraphConnected(), inspector.isGraphConnected());
+        assertEquals(
+            new HashSet<>(expected.connectedSets()), new HashSet<>(inspector.connectedSets()));
+        for (Integer u : g.vertexSet()) {
+          assertEquals(expected.connectedSetOf(u), inspector.connectedSetOf(u));
+        }
+      }
+    }
+  }
+
+  /** Tests removals of edges on parallel paths, where all but the last have a replacement. */
+  public void testParallelPaths() {
+    DefaultListenableGraph<Integer, DefaultEdge> g =
+        new DefaultListenableGraph<>(new Pseudograph<>(DefaultEdge.class));
+    g.addVertex(0);
+    g.addVertex(1);
+    List<DefaultEdge> middleEdges = new ArrayList<>();
+    int next = 2;
+    for (int p = 0; p < 10; p++) {
+      int previous = 0;
+      for (int i = 0; i < 20; i++) {
+        g.addVertex(next);
+        DefaultEdge e = g.addEdge(previous, next);
+        if (i == 10) {
+          middleEdges.add(e);
+        }
+        previous = next++;
+      }
+      g.addEdge(previous, 1);
+    }
+    ConnectivityInspector<Integer, DefaultEdge> inspector = new ConnectivityInspector<>(g);
+    g.addGraphListener(inspector);
+    assertTrue(inspector.isGraphConnected());
+
+    for (int p = 0; p < middleEdges.size() - 1; p++) {
+      g.removeEdge(middleEdges.get(p));
+      assertTrue(inspector.isGraphConnected());
+    }
+    g.removeEdge(middleEdges.get(middleEdges.size() - 1));
+    assertEquals(2, inspector.connectedSets().size());
+    assertEquals(new ConnectivityInspector<>(g).connectedSetOf(0), inspector.connectedSetOf(0));
+  }
+
+  /** Tests that a batch of additions is applied to the components. */
+  public void testBatch() {
+    DefaultListenableGraph<String, DefaultEdge> g =
+        new DefaultListenableGraph<>(new Pseudograph<>(DefaultEdge.class));
+    g.addVertex(V1);
+    g.addVertex(V2);
+    ConnectivityInspector<String, DefaultEdge> inspector = new ConnectivityInspector<>(g);
+    g.addGraphListener(inspector);
+    assertEquals(2, inspector.connectedSets().size());
+
+    g.beginBatch();
+    g.addVertex(V3);
+    g.addVertex(V4);
+    g.addEdge(V1, V3);
+    g.addEdge(V2, V4);
+    g.commitBatch();
+    assertEquals(2, inspector.connectedSets().size());
+    assertTrue(inspector.pathExists(V1, V3));
+    assertFalse(inspector.pathExists(V1, V4));
+
+    g.beginBatch();
+    g.addEdge(V3, V4);
+    g.removeVertex(V2);
+    g.commitBatch();
+    assertTrue(inspector.isGraphConnected());
+    assertEquals(new HashSet<>(Arrays.asList(V1, V3, V4)), inspector.connectedSetOf(V4));
+  }
 }
 
 // End ConnectivityInspectorTest.java
@@ -0,0 +1,130 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+import junit.framework.*;
+
+/** Tests for {@link EulerTourForest}. */
+public class EulerTourForestTest extends TestCase {
+  private static final int N = 12;
+
+  /** Compares the forest with a plain adjacency structure under random modifications. */
+  public void testRandomOperations() {
+    Random rng = new Random(3);
+    for (int round = 0; round < 20; round++) {
+      EulerTourForest<Integer> forest = new EulerTourForest<>();
+      List<Set<Integer>> adjacency = new ArrayList<>();
+      long[] weights = new long[N];
+      for (int v = 0; v < N; v++) {
+        forest.addVertex(v, 0);
+        adjacency.add(new HashSet<>());
+      }
+      for (int step = 0; step < 300; step++) {
+        int u = rng.nextInt(N);
+        int v = rng.nextInt(N);
+        int op = rng.nextInt(3);
+        if (op == 0 && !reachable(adjacency, u).contains(v)) {
+          forest.link(u, v);
+          adjacency.get(u).add(v);
+          adjacency.get(v).add(u);
+        } else if (op == 1 && !adjacency.get(u).isEmpty()) {
+          v = adjacency.get(u).iterator().next();
+          assertFalse(forest.cut(u, u));
+          assertTrue(forest.cut(u, v));
+          adjacency.get(u).remove(v);
+          adjacency.get(v).remove(u);
+        } else if (op == 2) {
+          long delta = weights[u] > 0 ? -1 : 1;
+          weights[u] += delta;
+          forest.addWeight(u, delta);
+        }
+        assertSameForest(adjacency, weights, forest);
+      }
+    }
+  }
+
+  /** Tests that a tree which is added at once is the same as one linked edge by edge. */
+  public void testAddTree() {
+    EulerTourForest<Integer> forest = new EulerTourForest<>();
+    List<Set<Integer>> adjacency = new ArrayList<>();
+    long[] weights = new long[N];
+    Map<Integer, List<Integer>> children = new HashMap<>();
+    for (int v = 0; v < N; v++) {
+      adjacency.add(new HashSet<>());
+      weights[v] = v % 3;
+      if (v > 0 && v < N - 2) {
+        int parent = (v - 1) / 3;
+        children.computeIfAbsent(parent, k -> new ArrayList<>()).add(v);
+        adjacency.get(v).add(parent);
+        adjacency.get(parent).add(v);
+      }
+    }
+    forest.addTree(0, children, v -> weights[v]);
+    forest.addTree(N - 2, Collections.emptyMap(), v -> weights[v]);
+    forest.addVertex(N - 1, weights[N - 1]);
+    assertSameForest(adjacency, weights, forest);
+
+    assertTrue(forest.cut(1, 0));
+    adjacency.get(0).remove(1);
+    adjacency.get(1).remove(0);
+    forest.link(N - 1, 4);
+    adjacency.get(N - 1).add(4);
+    adjacency.get(4).add(N - 1);
+    assertSameForest(adjacency, weights, forest);
+  }
+
+  private static void assertSameForest(
+      List<Set<Integer>> adjacency, long[] weights, EulerTourForest<Integer> forest) {
+    for (int v = 0; v < N; v++) {
+      Set<Integer> tree = reachable(adjacency, v);
+      assertEquals(tree, forest.treeVertices(v));
+      assertEquals(tree.size(), forest.treeSize(v));
+      for (int u = 0; u < N; u++) {
+        assertEquals(tree.contains(u), forest.connected(v, u));
+        assertEquals(adjacency.get(v).contains(u), forest.containsEdge(v, u));
+      }
+      Set<Integer> weighted = new HashSet<>();
+      for (int u : tree) {
+        if (weights[u] > 0) {
+          weighted.add(u);
+        }
+      }
+      Set<Integer> actual = new HashSet<>();
+      forest.weightedVertices(v).forEachRemaining(actual::add);
+      assertEquals(weighted, actual);
+    }
+  }
+
+  private static Set<Integer> reachable(List<Set<Integer>> adjacency, int v) {
+    Set<Integer> seen = new HashSet<>();
+    ArrayDeque<Integer> queue = new ArrayDeque<>();
+    seen.add(v);
+    queue.add(v);
+    while (!queue.isEmpty()) {
+      for (int u : adjacency.get(queue.poll())) {
+        if (seen.add(u)) {
+          queue.add(u);
+        }
+      }
+    }
+    return seen;
+  }
+}
+
+// End EulerTourForestTest.java
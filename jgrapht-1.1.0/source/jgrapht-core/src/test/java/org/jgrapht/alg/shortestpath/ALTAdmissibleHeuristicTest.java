@@ -21,6 +21,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
@@ -123,4 +124,93 @@ public class ALTAdmissibleHeuristicTest {
       }
     }
   }
+
+  @Test
+  public void testLandmarkSelection() {
+    final int n = 200;
+    final int landmarksCount = 6;
+
+    Random rng = new Random(21);
+
+    List<Supplier<Graph<Integer, DefaultWeightedEdge>>> graphs = new ArrayList<>();
+    graphs.add(() -> new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+    graphs.add(() -> new WeightedPseudograph<>(DefaultWeightedEdge.class));
+
+    Comparator<Double> comparator = new ToleranceDoubleComparator();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (Supplier<Graph<Integer, DefaultWeightedEdge>> gSupplier : graphs) {
+        Graph<Integer, DefaultWeightedEdge> g = gSupplier.get();
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, 4 * n, 5, true, true)
+            .generateGraph(g, new IntegerVertexFactory(), null);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+          g.setEdgeWeight(e, rng.nextDouble());
+        }
+
+        List<Set<Integer>> selections =
+            Arrays.asList(
+                ALTAdmissibleHeuristic.selectFarthestLandmarks(g, landmarksCount, rng),
+                ALTAdmissibleHeuristic.selectAvoidLandmarks(g, landmarksCount, rng));
+        for (Set<Integer> landmarks : selections) {
+          assertEquals(landmarksCount, landmarks.size());
+          assertTrue(g.vertexSet().containsAll(landmarks));
+
+          AStarAdmissibleHeuristic<Integer> h = new ALTAdmissibleHeuristic<>(g, landmarks, pool);
+          ShortestPathAlgorithm<Integer, DefaultWeightedEdge> sp1 = new DijkstraShortestPath<>(g);
+          ShortestPathAlgorithm<Integer, DefaultWeightedEdge> sp2 = new AStarShortestPath<>(g, h);
+          for (int i = 0; i < 20; i++) {
+            Integer v = rng.nextInt(n);
+            SingleSourcePaths<Integer, DefaultWeightedEdge> paths = sp1.getPaths(v);
+            for (Integer u : g.vertexSet()) {
+              assertTrue(comparator.compare(h.getCostEstimate(v, u), paths.getWeight(u)) <= 0);
+              assertEquals(paths.getWeight(u), sp2.getPathWeight(v, u), 1e-9);
+            }
+          }
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyLandmarks() {
+    Graph<Integer, DefaultWeightedEdge> g = new WeightedPseudograph<>(DefaultWeightedEdge.class);
+    Graphs.addEdgeWithVertices(g, 1, 2, 1.0);
+    ALTAdmissibleHeuristic.selectFarthestLandmarks(g, 3, new Random(1));
+  }
+
+  @Test
+  public void testAvoidLandmarksOnTrees() {
+    Graph<Integer, DefaultWeightedEdge> star = new WeightedPseudograph<>(DefaultWeightedEdge.class);
+    for (int i = 1; i < 4; i++) {
+      Graphs.addEdgeWithVertices(star, 0, i, 1.0);
+    }
+    Graph<Integer, DefaultWeightedEdge> path = new WeightedPseudograph<>(DefaultWeightedEdge.class);
+    Graph<Integer, DefaultWeightedEdge> directedPath =
+        new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+    for (int i = 1; i < 5; i++) {
+      Graphs.addEdgeWithVertices(path, i - 1, i, 1.0);
+      Graphs.addEdgeWithVertices(directedPath, i - 1, i, 1.0);
+    }
+    Graph<Integer, DefaultWeightedEdge> forest =
+        new WeightedPseudograph<>(DefaultWeightedEdge.class);
+    Graphs.addEdgeWithVertices(forest, 0, 1, 1.0);
+    Graphs.addEdgeWithVertices(forest, 2, 3, 1.0);
+    forest.addVertex(4);
+
+    for (long seed = 0; seed < 10; seed++) {
+      for (Graph<Integer, DefaultWeightedEdge> g : Arrays.asList(star, path, directedPath, forest)) {
+        int n = g.vertexSet().size();
+        for (int count = 1; count <= n; count++) {
+          Set<Integer> landmarks =
+              ALTAdmissibleHeuristic.selectAvoidLandmarks(g, count, new Random(seed));
+          assertEquals(count, landmarks.size());
+          assertTrue(g.vertexSet().containsAll(landmarks));
+        }
+        assertEquals(
+            g.vertexSet(), ALTAdmissibleHeuristic.selectFarthestLandmarks(g, n, new Random(seed)));
+      }
+    }
+  }
 }
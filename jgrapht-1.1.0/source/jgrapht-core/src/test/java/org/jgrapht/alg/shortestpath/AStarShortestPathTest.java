@@ -17,10 +17,13 @@
  */
 package org.jgrapht.alg.shortestpath;
 
+import java.util.*;
+import java.util.function.*;
 import junit.framework.*;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 /**
  * Test class for AStarShortestPath implementation
@@ -121,6 +124,41 @@ public class AStarShortestPathTest extends TestCase {
     assertTrue(aStarShortestPath2.isConsistentHeuristic(new EuclideanDistance()));
   }
 
+  /** Test the open list with different heaps. */
+  public void testHeapSuppliers() {
+    this.readLabyrinth(labyrinth1);
+    for (Supplier<AddressableHeap<Node>> heapSupplier :
+        Arrays.<Supplier<AddressableHeap<Node>>>asList(
+            DaryHeap::new, PairingHeap::new, RadixHeap::new)) {
+      AStarShortestPath<Node, DefaultWeightedEdge> aStarShortestPath =
+          new AStarShortestPath<>(graph, new ManhattanDistance(), heapSupplier);
+      GraphPath<Node, DefaultWeightedEdge> path =
+          aStarShortestPath.getPath(sourceNode, targetNode);
+      assertNotNull(path);
+      assertEquals(47, (int) path.getWeight());
+      assertEquals(47, path.getEdgeList().size());
+    }
+  }
+
+  /** Test that subclasses see the open list if it is a Fibonacci heap. */
+  public void testProtectedOpenList() {
+    this.readLabyrinth(labyrinth1);
+    List<Integer> openNodes = new ArrayList<>();
+    AStarShortestPath<Node, DefaultWeightedEdge> aStarShortestPath =
+        new AStarShortestPath<Node, DefaultWeightedEdge>(graph, new ManhattanDistance()) {
+          @Override
+          public GraphPath<Node, DefaultWeightedEdge> getPath(Node source, Node target) {
+            GraphPath<Node, DefaultWeightedEdge> path = super.getPath(source, target);
+            openNodes.add(openList.size());
+            openNodes.add(vertexToHeapNodeMap.size());
+            return path;
+          }
+        };
+    assertEquals(47, (int) aStarShortestPath.getPathWeight(sourceNode, targetNode));
+    assertTrue(openNodes.get(1) > openNodes.get(0));
+    assertTrue(openNodes.get(0) > 0);
+  }
+
   /** Test on a graph where there is no path from the source node to the target node. */
   public void testLabyrinth2() {
     this.readLabyrinth(labyrinth2);
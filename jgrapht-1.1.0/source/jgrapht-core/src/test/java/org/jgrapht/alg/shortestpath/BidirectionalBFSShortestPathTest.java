@@ -0,0 +1,163 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.*;
+import java.util.concurrent.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.traverse.*;
+
+/** Tests for {@link BidirectionalBFSShortestPath}. */
+public class BidirectionalBFSShortestPathTest extends TestCase {
+
+  public void testSmallDirected() {
+    Graph<String, DefaultWeightedEdge> g =
+        new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+    Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d", "e", "f"));
+    g.setEdgeWeight(g.addEdge("a", "b"), 1.0);
+    g.setEdgeWeight(g.addEdge("b", "c"), 1.0);
+    g.setEdgeWeight(g.addEdge("c", "d"), 1.0);
+    g.setEdgeWeight(g.addEdge("a", "d"), 10.0);
+    g.addEdge("d", "e");
+    g.addEdge("f", "a");
+
+    BidirectionalBFSShortestPath<String, DefaultWeightedEdge> bfs =
+        new BidirectionalBFSShortestPath<>(g);
+    GraphPath<String, DefaultWeightedEdge> p = bfs.getPath("a", "e");
+    assertEquals(Arrays.asList("a", "d", "e"), p.getVertexList());
+    assertEquals(2.0, p.getWeight(), 0.0);
+    assertEquals(Arrays.asList("a", "b"), bfs.getPath("a", "b").getVertexList());
+    assertEquals(0.0, bfs.getPathWeight("c", "c"), 0.0);
+    assertNull(bfs.getPath("e", "a"));
+    assertNull(bfs.getPath("a", "f"));
+    assertEquals(Double.POSITIVE_INFINITY, bfs.getPathWeight("b", "a"));
+    assertEquals(3.0, bfs.getPathWeight("f", "e"), 0.0);
+
+    // later queries observe modifications of the graph
+    g.removeVertex("d");
+    assertNull(bfs.getPath("a", "e"));
+    g.addEdge("c", "e");
+    assertEquals(Arrays.asList("f", "a", "b", "c", "e"), bfs.getPath("f", "e").getVertexList());
+
+    try {
+      bfs.getPath("a", "x");
+      fail("Unknown sink accepted");
+    } catch (IllegalArgumentException e) {
+    }
+  }
+
+  public void testAgainstBreadthFirstIterator() {
+    Graph<Integer, DefaultEdge> ba = new SimpleGraph<>(DefaultEdge.class);
+    new BarabasiAlbertGraphGenerator<Integer, DefaultEdge>(5, 2, 3000, 17)
+        .generateGraph(ba, new IntegerVertexFactory(), null);
+    check(ba, new Random(3));
+
+    Graph<Integer, DefaultEdge> gnm = new DirectedPseudograph<>(DefaultEdge.class);
+    new GnmRandomGraphGenerator<Integer, DefaultEdge>(2000, 5000, 5, true, true)
+        .generateGraph(gnm, new IntegerVertexFactory(), null);
+    check(gnm, new Random(5));
+  }
+
+  public void testConcurrentQueries() throws Exception {
+    Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+    new GnmRandomGraphGenerator<Integer, DefaultEdge>(1000, 3000, 7, true, true)
+        .generateGraph(g, new IntegerVertexFactory(), null);
+    BidirectionalBFSShortestPath<Integer, DefaultEdge> bfs = new BidirectionalBFSShortestPath<>(g);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        int seed = t;
+        futures.add(
+            executor.submit(
+                () -> {
+                  Random rng = new Random(seed);
+                  for (int i = 0; i < 20; i++) {
+                    Integer source = rng.nextInt(1000);
+                    Map<Integer, Integer> depths = depths(g, source);
+                    for (int j = 0; j < 20; j++) {
+                      Integer sink = rng.nextInt(1000);
+                      assertPath(g, source, sink, depths.get(sink), bfs.getPath(source, sink));
+                    }
+                  }
+                }));
+      }
+      for (Future<?> f : futures) {
+        f.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static void check(Graph<Integer, DefaultEdge> g, Random rng) {
+    BidirectionalBFSShortestPath<Integer, DefaultEdge> bfs = new BidirectionalBFSShortestPath<>(g);
+    int n = g.vertexSet().size();
+    for (int i = 0; i < 10; i++) {
+      Integer source = rng.nextInt(n);
+      Map<Integer, Integer> depths = depths(g, source);
+      for (int j = 0; j < 50; j++) {
+        Integer sink = rng.nextInt(n);
+        assertPath(g, source, sink, depths.get(sink), bfs.getPath(source, sink));
+      }
+    }
+  }
+
+  private static Map<Integer, Integer> depths(Graph<Integer, DefaultEdge> g, Integer source) {
+    Map<Integer, Integer> depths = new HashMap<>();
+    BreadthFirstIterator<Integer, DefaultEdge> it = new BreadthFirstIterator<>(g, Collections.singletonList(source), true);
+    while (it.hasNext()) {
+      Integer v = it.next();
+      depths.put(v, it.getDepth(v));
+    }
+    return depths;
+  }
+
+  private static void assertPath(
+      Graph<Integer, DefaultEdge> g,
+      Integer source,
+      Integer sink,
+      Integer depth,
+      GraphPath<Integer, DefaultEdge> p) {
+    if (depth == null) {
+      assertNull(p);
+      return;
+    }
+    assertNotNull(p);
+    assertEquals(depth.intValue(), p.getLength());
+    assertEquals((double) depth, p.getWeight(), 0.0);
+    List<Integer> vertices = p.getVertexList();
+    assertEquals(source, vertices.get(0));
+    assertEquals(sink, vertices.get(vertices.size() - 1));
+    List<DefaultEdge> edges = p.getEdgeList();
+    for (int i = 0; i < edges.size(); i++) {
+      DefaultEdge e = edges.get(i);
+      assertEquals(vertices.get(i + 1), Graphs.getOppositeVertex(g, e, vertices.get(i)));
+      if (g.getType().isDirected()) {
+        assertEquals(vertices.get(i), g.getEdgeSource(e));
+      }
+    }
+  }
+}
+
+// End BidirectionalBFSShortestPathTest.java
@@ -0,0 +1,201 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+/** Tests for {@link ContractionHierarchyShortestPath}. */
+public class ContractionHierarchyShortestPathTest extends TestCase {
+
+  public void testSmallDirected() {
+    Graph<String, DefaultWeightedEdge> g =
+        new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+    Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d", "e", "f"));
+    Graphs.addEdge(g, "a", "b", 1.0);
+    Graphs.addEdge(g, "b", "c", 1.0);
+    Graphs.addEdge(g, "a", "c", 3.0);
+    Graphs.addEdge(g, "c", "d", 0.0);
+    Graphs.addEdge(g, "d", "c", 0.0);
+    Graphs.addEdge(g, "d", "e", 2.0);
+    Graphs.addEdge(g, "e", "e", 1.0);
+    Graphs.addEdge(g, "f", "a", 1.0);
+
+    ContractionHierarchyShortestPath<String, DefaultWeightedEdge> ch =
+        new ContractionHierarchyShortestPath<>(g);
+    GraphPath<String, DefaultWeightedEdge> p = ch.getPath("a", "e");
+    assertEquals(Arrays.asList("a", "b", "c", "d", "e"), p.getVertexList());
+    assertEquals(4.0, p.getWeight(), 0.0);
+    assertEquals(4.0, ch.getPathWeight("a", "e"), 0.0);
+    assertNull(ch.getPath("a", "f"));
+    assertEquals(Double.POSITIVE_INFINITY, ch.getPathWeight("e", "a"), 0.0);
+    assertEquals(0.0, ch.getPath("c", "c").getWeight(), 0.0);
+    assertEquals(6, ch.getHierarchy().getVertexCount());
+
+    try {
+      ch.getPath("a", "x");
+      fail("Missing sink accepted");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  public void testNegativeWeight() {
+    Graph<String, DefaultWeightedEdge> g =
+        new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+    Graphs.addEdgeWithVertices(g, "a", "b", -1.0);
+    try {
+      new ContractionHierarchyPrecomputation<>(g).computeContractionHierarchy();
+      fail("Negative weight accepted");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  public void testAgainstDijkstra() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (boolean directed : new boolean[] {true, false}) {
+        Graph<Integer, DefaultWeightedEdge> g = createGraph(directed, 2000, 6000, 5);
+        ContractionHierarchy<Integer, DefaultWeightedEdge> hierarchy =
+            new ContractionHierarchyPrecomputation<>(g, pool).computeContractionHierarchy();
+        check(g, new ContractionHierarchyShortestPath<>(g, hierarchy), 11);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  public void testHierarchySize() {
+    // a grid with parallel edges, where the longer parallel edges must not be used
+    Graph<Integer, DefaultWeightedEdge> g = new WeightedPseudograph<>(DefaultWeightedEdge.class);
+    new GridGraphGenerator<Integer, DefaultWeightedEdge>(50, 50)
+        .generateGraph(g, new IntegerVertexFactory(), null);
+    Random rng = new Random(17);
+    for (DefaultWeightedEdge e : new ArrayList<>(g.edgeSet())) {
+      g.setEdgeWeight(e, 1 + rng.nextInt(10));
+      Graphs.addEdge(g, g.getEdgeSource(e), g.getEdgeTarget(e), 10 + rng.nextInt(10));
+    }
+    ContractionHierarchy<Integer, DefaultWeightedEdge> hierarchy =
+        new ContractionHierarchyPrecomputation<>(g).computeContractionHierarchy();
+    assertTrue(hierarchy.getShortcutCount() < 8 * 2500);
+    check(g, new ContractionHierarchyShortestPath<>(g, hierarchy), 19);
+
+    g = createGraph(true, 1000, 4000, 23);
+    hierarchy = new ContractionHierarchyPrecomputation<>(g).computeContractionHierarchy();
+    assertTrue(hierarchy.getShortcutCount() < 4 * 4000);
+    check(g, new ContractionHierarchyShortestPath<>(g, hierarchy), 29);
+  }
+
+  public void testSerialization() throws Exception {
+    Graph<Integer, DefaultWeightedEdge> g = createGraph(true, 300, 1200, 7);
+    ContractionHierarchy<Integer, DefaultWeightedEdge> hierarchy =
+        new ContractionHierarchyPrecomputation<>(g).computeContractionHierarchy();
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(hierarchy);
+    }
+    ContractionHierarchy<Integer, DefaultWeightedEdge> copy;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      copy = TypeUtil.uncheckedCast(in.readObject(), null);
+    }
+    assertEquals(hierarchy.getShortcutCount(), copy.getShortcutCount());
+    assertEquals(hierarchy.getRank(42), copy.getRank(42));
+
+    ContractionHierarchyShortestPath<Integer, DefaultWeightedEdge> ch =
+        new ContractionHierarchyShortestPath<>(g, copy);
+    DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(g);
+    Random rng = new Random(3);
+    for (int i = 0; i < 200; i++) {
+      int s = rng.nextInt(300);
+      int t = rng.nextInt(300);
+      assertEquals(dijkstra.getPathWeight(s, t), ch.getPathWeight(s, t), 1e-9);
+      GraphPath<Integer, DefaultWeightedEdge> p = ch.getPath(s, t);
+      assertEquals(p == null, dijkstra.getPath(s, t) == null);
+      if (p != null) {
+        assertEquals(p.getEdgeList().size() + 1, p.getVertexList().size());
+      }
+    }
+  }
+
+  private static Graph<Integer, DefaultWeightedEdge> createGraph(
+      boolean directed, int n, int m, long seed) {
+    Graph<Integer, DefaultWeightedEdge> g =
+        directed
+            ? new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class)
+            : new WeightedPseudograph<>(DefaultWeightedEdge.class);
+    new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, m, seed, true, true)
+        .generateGraph(g, new IntegerVertexFactory(), null);
+    Random rng = new Random(seed);
+    for (DefaultWeightedEdge e : g.edgeSet()) {
+      // some zero and equal weights, and otherwise weights with rounding errors
+      int kind = rng.nextInt(10);
+      g.setEdgeWeight(e, kind == 0 ? 0.0 : kind == 1 ? 1.0 : rng.nextDouble() * 10);
+    }
+    return g;
+  }
+
+  private static void check(
+      Graph<Integer, DefaultWeightedEdge> g,
+      ContractionHierarchyShortestPath<Integer, DefaultWeightedEdge> ch,
+      long seed) {
+    Random rng = new Random(seed);
+    int n = g.vertexSet().size();
+    for (int i = 0; i < 20; i++) {
+      Integer source = rng.nextInt(n);
+      SingleSourcePaths<Integer, DefaultWeightedEdge> expected =
+          new DijkstraShortestPath<>(g).getPaths(source);
+      for (int j = 0; j < 50; j++) {
+        Integer sink = rng.nextInt(n);
+        double weight = expected.getWeight(sink);
+        GraphPath<Integer, DefaultWeightedEdge> p = ch.getPath(source, sink);
+        if (weight == Double.POSITIVE_INFINITY) {
+          assertNull(p);
+          continue;
+        }
+        assertEquals(weight, p.getWeight(), 1e-9);
+        List<Integer> vertices = p.getVertexList();
+        assertEquals(source, vertices.get(0));
+        assertEquals(sink, vertices.get(vertices.size() - 1));
+        double sum = 0;
+        Integer v = source;
+        for (DefaultWeightedEdge e : p.getEdgeList()) {
+          if (g.getType().isDirected()) {
+            assertEquals(v, g.getEdgeSource(e));
+          }
+          v = Graphs.getOppositeVertex(g, e, v);
+          sum += g.getEdgeWeight(e);
+        }
+        assertEquals(sink, v);
+        assertEquals(weight, sum, 1e-9);
+      }
+    }
+  }
+}
+
+// End ContractionHierarchyShortestPathTest.java
@@ -0,0 +1,121 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.*;
+import java.util.concurrent.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+
+/** Tests for {@link DeltaSteppingShortestPath}. */
+public class DeltaSteppingShortestPathTest extends TestCase {
+
+  public void testSmallDirected() {
+    Graph<String, DefaultWeightedEdge> g =
+        new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+    Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d", "e"));
+    Graphs.addEdge(g, "a", "b", 1.0);
+    Graphs.addEdge(g, "b", "c", 1.0);
+    Graphs.addEdge(g, "a", "c", 5.0);
+    Graphs.addEdge(g, "c", "d", 0.0);
+    Graphs.addEdge(g, "d", "c", 0.0);
+    Graphs.addEdge(g, "e", "a", 1.0);
+
+    DeltaSteppingShortestPath<String, DefaultWeightedEdge> alg =
+        new DeltaSteppingShortestPath<>(g, 0.5);
+    assertEquals(0.5, alg.getDelta(), 0.0);
+    GraphPath<String, DefaultWeightedEdge> p = alg.getPath("a", "d");
+    assertEquals(Arrays.asList("a", "b", "c", "d"), p.getVertexList());
+    assertEquals(2.0, p.getWeight(), 0.0);
+    assertNull(alg.getPath("a", "e"));
+    SingleSourcePaths<String, DefaultWeightedEdge> paths = alg.getPaths("a");
+    assertEquals(2.0, paths.getWeight("c"), 0.0);
+    assertEquals(Double.POSITIVE_INFINITY, paths.getWeight("e"), 0.0);
+    assertEquals(0.0, paths.getWeight("a"), 0.0);
+  }
+
+  public void testNegativeWeight() {
+    Graph<String, DefaultWeightedEdge> g =
+        new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+    Graphs.addEdgeWithVertices(g, "a", "b", -1.0);
+    try {
+      new DeltaSteppingShortestPath<>(g);
+      fail("Negative weight accepted");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  public void testAgainstDijkstra() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Random rng = new Random(7);
+      for (boolean directed : new boolean[] {true, false}) {
+        Graph<Integer, DefaultWeightedEdge> g =
+            directed
+                ? new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class)
+                : new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(5000, 30000, 3, true, true)
+            .generateGraph(g, new IntegerVertexFactory(), null);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+          // a few zero weights and heavy edges, and otherwise weights with rounding errors
+          int kind = rng.nextInt(10);
+          g.setEdgeWeight(e, kind == 0 ? 0.0 : kind == 1 ? 50.0 : rng.nextDouble() * 10);
+        }
+        for (double delta : new double[] {0.1, 2.0, 1000.0}) {
+          check(g, new DeltaSteppingShortestPath<>(g, delta, pool));
+        }
+        check(g, new DeltaSteppingShortestPath<>(g));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static void check(
+      Graph<Integer, DefaultWeightedEdge> g,
+      DeltaSteppingShortestPath<Integer, DefaultWeightedEdge> alg) {
+    for (Integer source : Arrays.asList(0, 100, 4000)) {
+      SingleSourcePaths<Integer, DefaultWeightedEdge> expected =
+          new DijkstraShortestPath<>(g).getPaths(source);
+      SingleSourcePaths<Integer, DefaultWeightedEdge> actual = alg.getPaths(source);
+      for (Integer v : g.vertexSet()) {
+        double weight = expected.getWeight(v);
+        assertEquals(weight, actual.getWeight(v), 1e-9);
+        GraphPath<Integer, DefaultWeightedEdge> p = actual.getPath(v);
+        if (weight == Double.POSITIVE_INFINITY) {
+          assertNull(p);
+          continue;
+        }
+        assertEquals(source, p.getStartVertex());
+        assertEquals(v, p.getEndVertex());
+        double sum = 0;
+        for (DefaultWeightedEdge e : p.getEdgeList()) {
+          sum += g.getEdgeWeight(e);
+        }
+        assertEquals(weight, sum, 1e-9);
+      }
+    }
+  }
+}
+
+// End DeltaSteppingShortestPathTest.java
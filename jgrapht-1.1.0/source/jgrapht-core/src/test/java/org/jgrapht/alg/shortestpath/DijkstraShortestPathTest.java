@@ -18,9 +18,11 @@
 package org.jgrapht.alg.shortestpath;
 
 import java.util.*;
+import java.util.function.*;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 /**
  * .
@@ -152,6 +154,106 @@ public class DijkstraShortestPathTest extends ShortestPathTestCase {
     } catch (IllegalArgumentException e) {
     }
   }
+
+  public void testQueryContext() {
+    Random rng = new Random(7);
+    for (boolean directed : new boolean[] {true, false}) {
+      IntGraph intGraph =
+          directed
+              ? new IntDirectedWeightedGraph(true, true)
+              : new IntUndirectedWeightedGraph(true, true);
+      Graph<Integer, DefaultWeightedEdge> graph =
+          directed
+              ? new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class)
+              : new WeightedPseudograph<>(DefaultWeightedEdge.class);
+      for (int v = 0; v < 200; v++) {
+        intGraph.addVertex(v);
+        graph.addVertex(v);
+      }
+      for (int i = 0; i < 600; i++) {
+        int s = rng.nextInt(200);
+        int t = rng.nextInt(200);
+        double weight = rng.nextInt(10);
+        intGraph.setEdgeWeight(intGraph.addEdge(s, t), weight);
+        graph.setEdgeWeight(graph.addEdge(s, t), weight);
+      }
+
+      DijkstraShortestPath<Integer, Integer>.QueryContext intContext =
+          new DijkstraShortestPath<>(intGraph).createQueryContext();
+      DijkstraShortestPath<Integer, DefaultWeightedEdge>.QueryContext context =
+          new DijkstraShortestPath<>(graph).createQueryContext();
+      BellmanFordShortestPath<Integer, DefaultWeightedEdge> expected =
+          new BellmanFordShortestPath<>(graph);
+
+      for (int i = 0; i < 300; i++) {
+        Integer s = rng.nextInt(200);
+        Integer t = rng.nextInt(200);
+        double weight = expected.getPathWeight(s, t);
+        assertEquals(weight, context.getPathWeight(s, t), 1e-9);
+        assertEquals(weight, intContext.getPathWeight(s, t), 1e-9);
+        assertPath(graph, s, t, weight, context.getPath(s, t));
+        assertPath(intGraph, s, t, weight, intContext.getPath(s, t));
+      }
+
+      try {
+        context.getPath(0, 200);
+        fail("Unknown sink accepted");
+      } catch (IllegalArgumentException e) {
+      }
+
+      // contexts of int graphs observe new vertices
+      intGraph.addVertex(200);
+      intGraph.setEdgeWeight(intGraph.addEdge(0, 200), 1.0);
+      assertEquals(1.0, intContext.getPathWeight(0, 200), 0.0);
+    }
+  }
+
+  public void testHeapSuppliers() {
+    Random rng = new Random(11);
+    Graph<Integer, DefaultWeightedEdge> g =
+        new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+    for (int v = 0; v < 300; v++) {
+      g.addVertex(v);
+    }
+    for (int i = 0; i < 1500; i++) {
+      g.setEdgeWeight(g.addEdge(rng.nextInt(300), rng.nextInt(300)), rng.nextDouble());
+    }
+
+    List<Supplier<AddressableHeap<Integer>>> heapSuppliers =
+        Arrays.asList(DaryHeap::new, () -> new DaryHeap<>(4), PairingHeap::new, RadixHeap::new);
+    for (Integer source : Arrays.asList(0, 17, 123)) {
+      SingleSourcePaths<Integer, DefaultWeightedEdge> expected =
+          new DijkstraShortestPath<>(g).getPaths(source);
+      for (Supplier<AddressableHeap<Integer>> heapSupplier : heapSuppliers) {
+        DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra =
+            new DijkstraShortestPath<>(g, Double.POSITIVE_INFINITY, heapSupplier);
+        SingleSourcePaths<Integer, DefaultWeightedEdge> paths = dijkstra.getPaths(source);
+        for (Integer v : g.vertexSet()) {
+          assertEquals(expected.getWeight(v), paths.getWeight(v), 1e-9);
+          assertEquals(expected.getWeight(v), dijkstra.getPathWeight(source, v), 1e-9);
+        }
+      }
+    }
+  }
+
+  private static <E> void assertPath(
+      Graph<Integer, E> g, Integer source, Integer sink, double weight, GraphPath<Integer, E> p) {
+    if (weight == Double.POSITIVE_INFINITY) {
+      assertNull(p);
+      return;
+    }
+    assertEquals(source, p.getStartVertex());
+    assertEquals(sink, p.getEndVertex());
+    assertEquals(weight, p.getWeight(), 1e-9);
+    double sum = 0d;
+    Integer v = source;
+    for (E e : p.getEdgeList()) {
+      sum += g.getEdgeWeight(e);
+      v = Graphs.getOppositeVertex(g, e, v);
+    }
+    assertEquals(sink, v);
+    assertEquals(weight, sum, 1e-9);
+  }
 }
 
 // End DijkstraShortestPathTest.java
@@ -0,0 +1,104 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.*;
+import java.util.concurrent.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.traverse.*;
+
+/** Tests for {@link ParallelBFSShortestPath}. */
+public class ParallelBFSShortestPathTest extends TestCase {
+
+  public void testSmallDirected() {
+    Graph<String, DefaultEdge> g = new DefaultDirectedGraph<>(DefaultEdge.class);
+    Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d", "e"));
+    g.addEdge("a", "b");
+    g.addEdge("b", "c");
+    g.addEdge("a", "c");
+    g.addEdge("c", "d");
+    g.addEdge("e", "a");
+
+    ParallelBFSShortestPath<String, DefaultEdge> bfs = new ParallelBFSShortestPath<>(g);
+    ParallelBFSShortestPath<String, DefaultEdge>.Search search = bfs.search("a");
+    assertEquals(0, search.getDistance("a"));
+    assertEquals(1, search.getDistance("c"));
+    assertEquals(2, search.getDistance("d"));
+    assertEquals(-1, search.getDistance("e"));
+    assertEquals("c", search.getParent("d"));
+    assertNull(search.getParent("a"));
+    assertNull(search.getSpanningTreeEdge("e"));
+
+    GraphPath<String, DefaultEdge> p = bfs.getPath("a", "d");
+    assertEquals(Arrays.asList("a", "c", "d"), p.getVertexList());
+    assertEquals(2.0, p.getWeight(), 0.0);
+    assertNull(bfs.getPath("a", "e"));
+    assertEquals(2.0, bfs.getPaths("a").getWeight("d"), 0.0);
+  }
+
+  public void testAgainstBreadthFirstIterator() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Graph<Integer, DefaultEdge> ba = new SimpleGraph<>(DefaultEdge.class);
+      new BarabasiAlbertGraphGenerator<Integer, DefaultEdge>(5, 3, 20000, 17)
+          .generateGraph(ba, new IntegerVertexFactory(), null);
+      check(ba, pool);
+
+      Graph<Integer, DefaultEdge> gnm = new DirectedPseudograph<>(DefaultEdge.class);
+      new GnmRandomGraphGenerator<Integer, DefaultEdge>(8000, 40000, 5, true, true)
+          .generateGraph(gnm, new IntegerVertexFactory(), null);
+      check(gnm, pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static void check(Graph<Integer, DefaultEdge> g, ForkJoinPool pool) {
+    ParallelBFSShortestPath<Integer, DefaultEdge> bfs = new ParallelBFSShortestPath<>(g, pool);
+    for (Integer source : Arrays.asList(0, 100, 4000)) {
+      ParallelBFSShortestPath<Integer, DefaultEdge>.Search search = bfs.search(source);
+      BreadthFirstIterator<Integer, DefaultEdge> it = new BreadthFirstIterator<>(g, Collections.singletonList(source), true);
+      Set<Integer> reached = new HashSet<>();
+      while (it.hasNext()) {
+        reached.add(it.next());
+      }
+      for (Integer v : g.vertexSet()) {
+        if (!reached.contains(v)) {
+          assertEquals(-1, search.getDistance(v));
+          continue;
+        }
+        assertEquals(it.getDepth(v), search.getDistance(v));
+        DefaultEdge e = search.getSpanningTreeEdge(v);
+        if (v.equals(source)) {
+          assertNull(e);
+          continue;
+        }
+        Integer parent = search.getParent(v);
+        assertEquals(search.getDistance(v) - 1, search.getDistance(parent));
+        assertEquals(parent, Graphs.getOppositeVertex(g, e, v));
+        assertEquals(search.indexOf(parent), search.getParents()[search.indexOf(v)]);
+      }
+    }
+  }
+}
+
+// End ParallelBFSShortestPathTest.java
@@ -25,6 +25,7 @@ import org.jgrapht.alg.interfaces.SpanningTreeAlgorithm.*;
 import org.jgrapht.alg.util.*;
 import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 public class MinimumSpanningTreeTest extends TestCase {
   // ~ Static fields/initializers ---------------------------------------------
@@ -127,6 +128,14 @@ public class MinimumSpanningTreeTest extends TestCase {
 
       assertEquals(tree1.getWeight(), tree2.getWeight(), 1e-9);
       assertEquals(tree2.getWeight(), tree3.getWeight(), 1e-9);
+
+      SpanningTree<DefaultWeightedEdge> tree4 =
+          new PrimMinimumSpanningTree<>(g, PairingHeap<Integer>::new).getSpanningTree();
+      SpanningTree<DefaultWeightedEdge> tree5 =
+          new PrimMinimumSpanningTree<>(g, () -> new DaryHeap<Integer>(4)).getSpanningTree();
+      assertEquals(tree1.getWeight(), tree4.getWeight(), 1e-9);
+      assertEquals(tree1.getWeight(), tree5.getWeight(), 1e-9);
+      assertEquals(numberVertices - 1, tree4.getEdges().size());
     }
   }
 
@@ -214,6 +214,63 @@ public class NeighborCacheTest {
     exception.expectMessage("no such vertex");
     cache.neighborListOf(B);
   }
+
+  @Test
+  public void testHighDegreeMultigraph() {
+    Random rng = new Random(5);
+    for (Graph<Integer, DefaultEdge> base :
+        Arrays.<Graph<Integer, DefaultEdge>>asList(
+            new Pseudograph<>(DefaultEdge.class), new DirectedPseudograph<>(DefaultEdge.class))) {
+      ListenableGraph<Integer, DefaultEdge> graph = new DefaultListenableGraph<>(base);
+      NeighborCache<Integer, DefaultEdge> cache = new NeighborCache<>(graph);
+      graph.addGraphListener(cache);
+      for (int v = 0; v < 40; v++) {
+        graph.addVertex(v);
+      }
+
+      for (int step = 0; step < 2000; step++) {
+        if (rng.nextInt(3) > 0 || graph.edgeSet().isEmpty()) {
+          // concentrate the edges around a few vertices to exceed the indexing threshold
+          graph.addEdge(rng.nextInt(4), rng.nextInt(40));
+        } else {
+          List<DefaultEdge> edges = new ArrayList<>(graph.edgeSet());
+          graph.removeEdge(edges.get(rng.nextInt(edges.size())));
+        }
+
+        int v = rng.nextInt(40);
+        assertEquals(new HashSet<>(Graphs.neighborListOf(graph, v)), cache.neighborsOf(v));
+        assertEquals(sorted(Graphs.neighborListOf(graph, v)), sorted(cache.neighborListOf(v)));
+        assertEquals(sorted(Graphs.successorListOf(graph, v)), sorted(cache.successorListOf(v)));
+        assertEquals(
+            sorted(Graphs.predecessorListOf(graph, v)), sorted(cache.predecessorListOf(v)));
+      }
+    }
+  }
+
+  @Test
+  public void testUndirectedSharesEntries() {
+    ListenableGraph<String, DefaultEdge> graph =
+        new DefaultListenableGraph<>(new Pseudograph<>(DefaultEdge.class));
+    NeighborCache<String, DefaultEdge> cache = new NeighborCache<>(graph);
+    graph.addGraphListener(cache);
+    Graphs.addAllVertices(graph, Arrays.asList(V1, V2, V3));
+    graph.addEdge(V1, V2);
+    graph.addEdge(V1, V1);
+
+    assertTrue(cache.neighborsOf(V1) == cache.successorsOf(V1));
+    assertTrue(cache.neighborsOf(V1) == cache.predecessorsOf(V1));
+    assertEquals(new HashSet<>(Arrays.asList(V1, V2)), cache.neighborsOf(V1));
+
+    graph.addEdge(V1, V3);
+    graph.removeEdge(V1, V1);
+    assertEquals(new HashSet<>(Arrays.asList(V2, V3)), cache.successorsOf(V1));
+  }
+
+  private static List<Integer> sorted(List<Integer> list) {
+    List<Integer> result = new ArrayList<>(list);
+    Collections.sort(result);
+    return result;
+  }
 }
 
 // End NeighborCacheTest.java
@@ -0,0 +1,188 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.event;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+/** Unit tests for {@link AsyncGraphListener}. */
+public class AsyncGraphListenerTest {
+
+  @Test
+  public void testOrderingAndBackpressure() throws InterruptedException {
+    DefaultListenableGraph<Integer, DefaultEdge> g =
+        new DefaultListenableGraph<>(new SimpleGraph<>(DefaultEdge.class), true);
+    RecordingListener recorder = new RecordingListener();
+    CountDownLatch gate = new CountDownLatch(1);
+    recorder.gate = gate;
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      AsyncGraphListener<Integer, DefaultEdge> async =
+          new AsyncGraphListener<>(recorder, executor, 2);
+      g.addGraphListener(async);
+      assertEquals(2, async.getCapacity());
+
+      Thread producer =
+          new Thread(
+              () -> {
+                for (int i = 0; i < 10; i++) {
+                  g.addVertex(i);
+                }
+                for (int i = 1; i < 10; i++) {
+                  g.addEdge(i - 1, i);
+                }
+                g.removeVertex(0);
+              });
+      producer.start();
+
+      // the first event is held by the gated delegate and the buffer fills up
+      while (async.getBlockedCount() == 0 || async.getQueueDepth() < 2) {
+        Thread.sleep(1);
+      }
+      assertEquals(2, async.getQueueDepth());
+
+      gate.countDown();
+      producer.join();
+      assertTrue(async.awaitIdle(10, TimeUnit.SECONDS));
+
+      assertEquals(0, async.getQueueDepth());
+      assertEquals(2, async.getMaxQueueDepth());
+      assertEquals(21, async.getDeliveredCount());
+
+      List<String> expected = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        expected.add("+" + i);
+      }
+      for (int i = 1; i < 10; i++) {
+        expected.add("+(" + (i - 1) + "," + i + ")");
+      }
+      expected.add("-(0,1)");
+      expected.add("-0");
+      assertEquals(expected, recorder.events);
+    } finally {
+      // interrupt the gated delegate if an assertion failed
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testBatch() throws InterruptedException {
+    DefaultListenableGraph<Integer, DefaultEdge> g =
+        new DefaultListenableGraph<>(new SimpleGraph<>(DefaultEdge.class));
+    RecordingListener recorder = new RecordingListener();
+    AsyncGraphListener<Integer, DefaultEdge> async =
+        new AsyncGraphListener<>(recorder, Runnable::run, 1);
+    g.addGraphListener(async);
+
+    g.beginBatch();
+    g.addVertex(1);
+    g.addVertex(2);
+    g.addEdge(1, 2);
+    g.commitBatch();
+
+    assertTrue(async.awaitIdle(0, TimeUnit.SECONDS));
+    assertEquals(1, async.getDeliveredCount());
+    assertEquals(Arrays.asList("batch"), recorder.events);
+  }
+
+  @Test
+  public void testErrorInDelegate() throws InterruptedException {
+    DefaultListenableGraph<Integer, DefaultEdge> g =
+        new DefaultListenableGraph<>(new SimpleGraph<>(DefaultEdge.class));
+    RecordingListener recorder =
+        new RecordingListener() {
+          @Override
+          public void vertexAdded(GraphVertexChangeEvent<Integer> e) {
+            if (e.getVertex() == 0) {
+              throw new AssertionError();
+            }
+            super.vertexAdded(e);
+          }
+        };
+
+    ExecutorService executor =
+        Executors.newSingleThreadExecutor(
+            r -> {
+              Thread t = new Thread(r);
+              t.setUncaughtExceptionHandler((thread, ex) -> {});
+              return t;
+            });
+    try {
+      AsyncGraphListener<Integer, DefaultEdge> async =
+          new AsyncGraphListener<>(recorder, executor, 1);
+      g.addGraphListener(async);
+      for (int i = 0; i < 5; i++) {
+        g.addVertex(i);
+      }
+
+      assertTrue(async.awaitIdle(10, TimeUnit.SECONDS));
+      assertEquals(4, async.getDeliveredCount());
+      assertEquals(Arrays.asList("+1", "+2", "+3", "+4"), recorder.events);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static class RecordingListener implements GraphListener<Integer, DefaultEdge> {
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch gate;
+
+    private void record(String event) {
+      if (gate != null) {
+        try {
+          gate.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      events.add(event);
+    }
+
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<Integer, DefaultEdge> e) {
+      record("+(" + e.getEdgeSource() + "," + e.getEdgeTarget() + ")");
+    }
+
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<Integer, DefaultEdge> e) {
+      record("-(" + e.getEdgeSource() + "," + e.getEdgeTarget() + ")");
+    }
+
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<Integer> e) {
+      record("+" + e.getVertex());
+    }
+
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<Integer> e) {
+      record("-" + e.getVertex());
+    }
+
+    @Override
+    public void graphChanged(GraphBatchChangeEvent<Integer, DefaultEdge> e) {
+      record("batch");
+    }
+  }
+}
+
+// End AsyncGraphListenerTest.java
@@ -319,6 +319,88 @@ public class AsSubgraphTest extends TestCase {
     assertEquals(0, sg.outDegreeOf(3));
     assertEquals(1, sg.outDegreeOf(4));
   }
+
+  public void testLazyInducedSubgraph() {
+    for (boolean directed : new boolean[] {true, false}) {
+      ListenableGraph<Integer, DefaultEdge> g =
+          new DefaultListenableGraph<>(
+              directed
+                  ? new DirectedPseudograph<>(DefaultEdge.class)
+                  : new Pseudograph<>(DefaultEdge.class));
+      Random rng = new Random(7);
+      for (int i = 0; i < 20; i++) {
+        g.addVertex(i);
+      }
+      for (int i = 0; i < 80; i++) {
+        g.addEdge(rng.nextInt(20), rng.nextInt(20));
+      }
+      Set<Integer> subset = new HashSet<>(Arrays.asList(0, 1, 2, 3, 5, 8, 13));
+      AsSubgraph<Integer, DefaultEdge> eager = new AsSubgraph<>(g, subset);
+      AsSubgraph<Integer, DefaultEdge> lazy = new AsSubgraph<>(g, subset, true);
+
+      assertSameSubgraph(eager, lazy);
+      // the returned sets are copies, as in eager mode
+      lazy.edgesOf(1).clear();
+      lazy.outgoingEdgesOf(1).clear();
+      lazy.incomingEdgesOf(1).clear();
+      assertEquals(eager.edgesOf(1), lazy.edgesOf(1));
+      assertSameSubgraph(eager, lazy);
+
+      // base modifications invalidate the cached edges
+      g.addEdge(1, 2);
+      g.addEdge(3, 3);
+      g.removeEdge(g.edgesOf(5).iterator().next());
+      g.removeVertex(8);
+      assertSameSubgraph(eager, lazy);
+
+      // direct modifications materialize the edge set
+      DefaultEdge e = lazy.edgesOf(1).iterator().next();
+      assertTrue(lazy.removeEdge(e));
+      assertFalse(lazy.containsEdge(e));
+      assertTrue(eager.removeEdge(e));
+      assertEquals(eager.edgeSet(), lazy.edgeSet());
+      assertSameSubgraph(eager, lazy);
+    }
+  }
+
+  public void testLazyInducedSubgraphOfUnlistenableGraph() {
+    Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+    Random rng = new Random(5);
+    for (int i = 0; i < 20; i++) {
+      g.addVertex(i);
+    }
+    for (int i = 0; i < 80; i++) {
+      g.addEdge(rng.nextInt(20), rng.nextInt(20));
+    }
+    Set<Integer> subset = new HashSet<>(Arrays.asList(0, 1, 2, 3, 5, 8, 13));
+    AsSubgraph<Integer, DefaultEdge> lazy = new AsSubgraph<>(g, subset, true);
+    assertSameSubgraph(new AsSubgraph<>(g, subset), lazy);
+
+    // without notifications nothing is cached
+    g.addEdge(1, 2);
+    g.addEdge(3, 3);
+    g.removeEdge(g.outgoingEdgesOf(5).iterator().next());
+    assertSameSubgraph(new AsSubgraph<>(g, subset), lazy);
+  }
+
+  private static void assertSameSubgraph(
+      Graph<Integer, DefaultEdge> expected, Graph<Integer, DefaultEdge> actual) {
+    assertEquals(expected.vertexSet(), actual.vertexSet());
+    for (Integer v : expected.vertexSet()) {
+      assertEquals(expected.edgesOf(v), actual.edgesOf(v));
+      assertEquals(expected.incomingEdgesOf(v), actual.incomingEdgesOf(v));
+      assertEquals(expected.outgoingEdgesOf(v), actual.outgoingEdgesOf(v));
+      assertEquals(expected.degreeOf(v), actual.degreeOf(v));
+      assertEquals(expected.inDegreeOf(v), actual.inDegreeOf(v));
+      assertEquals(expected.outDegreeOf(v), actual.outDegreeOf(v));
+      for (Integer u : expected.vertexSet()) {
+        assertEquals(expected.getAllEdges(v, u), actual.getAllEdges(v, u));
+      }
+      for (DefaultEdge e : expected.edgesOf(v)) {
+        assertTrue(actual.containsEdge(e));
+      }
+    }
+  }
 }
 
 // End SubgraphTest.java
@@ -0,0 +1,140 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import org.jgrapht.*;
+import org.junit.*;
+
+/** Unit tests for {@link BitSetMaskSubgraph}. */
+public class BitSetMaskSubgraphTest {
+
+  @Test
+  public void testUndirected() {
+    Graph<Integer, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+    Graphs.addAllVertices(g, Arrays.asList(1, 2, 3, 4, 5));
+    DefaultEdge e12 = g.addEdge(1, 2);
+    DefaultEdge e13 = g.addEdge(1, 3);
+    DefaultEdge e23 = g.addEdge(2, 3);
+    DefaultEdge e24_1 = g.addEdge(2, 4);
+    DefaultEdge e24_2 = g.addEdge(2, 4);
+    DefaultEdge e24_3 = g.addEdge(2, 4);
+    DefaultEdge e35 = g.addEdge(3, 5);
+    DefaultEdge e44 = g.addEdge(4, 4);
+    g.addEdge(4, 5);
+
+    BitSetMaskSubgraph<Integer, DefaultEdge> sg =
+        new BitSetMaskSubgraph<>(g, v -> v.equals(5), e -> e.equals(e24_3));
+
+    assertFalse(sg.getType().isModifiable());
+    assertEquals(4, sg.vertexSet().size());
+    assertEquals(6, sg.edgeSet().size());
+    assertEquals(new HashSet<>(Arrays.asList(e12, e24_1, e24_2, e23)), sg.edgesOf(2));
+    assertEquals(new HashSet<>(Arrays.asList(e24_1, e24_2, e44)), sg.edgesOf(4));
+    assertEquals(3, sg.edgesOf(4).size());
+    assertEquals(4, sg.degreeOf(4));
+    assertEquals(4, sg.inDegreeOf(2));
+    assertEquals(new HashSet<>(Arrays.asList(e24_1, e24_2)), sg.getAllEdges(4, 2));
+    assertNull(sg.getEdge(1, 4));
+    assertFalse(sg.containsEdge(e35));
+
+    assertTrue(sg.unmaskVertex(5));
+    assertFalse(sg.unmaskVertex(5));
+    assertTrue(sg.containsEdge(e35));
+    assertEquals(8, sg.edgeSet().size());
+    assertTrue(sg.unmaskEdge(e24_3));
+    assertEquals(5, sg.degreeOf(2));
+    assertTrue(sg.maskVertex(2));
+    assertEquals(4, sg.vertexSet().size());
+    assertEquals(4, sg.edgeSet().size());
+    assertEquals(Collections.singleton(e13), sg.edgesOf(1));
+    assertTrue(sg.maskEdge(e44));
+    assertEquals(1, sg.degreeOf(4));
+  }
+
+  @Test
+  public void testAgainstMaskSubgraph() {
+    for (boolean directed : new boolean[] {true, false}) {
+      Graph<Integer, DefaultEdge> g =
+          directed
+              ? new DirectedPseudograph<>(DefaultEdge.class)
+              : new Pseudograph<>(DefaultEdge.class);
+      Random rng = new Random(11);
+      for (int i = 0; i < 30; i++) {
+        g.addVertex(i);
+      }
+      for (int i = 0; i < 150; i++) {
+        g.addEdge(rng.nextInt(30), rng.nextInt(30));
+      }
+      List<DefaultEdge> edges = new ArrayList<>(g.edgeSet());
+
+      Set<Integer> maskedVertices = new HashSet<>();
+      Set<DefaultEdge> maskedEdges = new HashSet<>();
+      Graph<Integer, DefaultEdge> expected =
+          new MaskSubgraph<>(g, maskedVertices::contains, maskedEdges::contains);
+      BitSetMaskSubgraph<Integer, DefaultEdge> actual = new BitSetMaskSubgraph<>(g);
+
+      for (int round = 0; round < 200; round++) {
+        int v = rng.nextInt(30);
+        DefaultEdge e = edges.get(rng.nextInt(edges.size()));
+        switch (rng.nextInt(4)) {
+          case 0:
+            assertEquals(maskedVertices.add(v), actual.maskVertex(v));
+            break;
+          case 1:
+            assertEquals(maskedVertices.remove(v), actual.unmaskVertex(v));
+            break;
+          case 2:
+            assertEquals(maskedEdges.add(e), actual.maskEdge(e));
+            break;
+          default:
+            assertEquals(maskedEdges.remove(e), actual.unmaskEdge(e));
+            break;
+        }
+        assertSameGraph(expected, actual);
+      }
+    }
+  }
+
+  private static void assertSameGraph(
+      Graph<Integer, DefaultEdge> expected, Graph<Integer, DefaultEdge> actual) {
+    assertEquals(expected.vertexSet(), actual.vertexSet());
+    assertEquals(expected.vertexSet().size(), actual.vertexSet().size());
+    assertEquals(expected.edgeSet(), actual.edgeSet());
+    assertEquals(expected.edgeSet().size(), actual.edgeSet().size());
+    for (Integer v : expected.vertexSet()) {
+      assertEquals(expected.degreeOf(v), actual.degreeOf(v));
+      assertEquals(expected.inDegreeOf(v), actual.inDegreeOf(v));
+      assertEquals(expected.outDegreeOf(v), actual.outDegreeOf(v));
+      assertEquals(expected.edgesOf(v), actual.edgesOf(v));
+      assertEquals(expected.edgesOf(v).size(), actual.edgesOf(v).size());
+      assertEquals(expected.incomingEdgesOf(v), actual.incomingEdgesOf(v));
+      assertEquals(expected.incomingEdgesOf(v).size(), actual.incomingEdgesOf(v).size());
+      assertEquals(expected.outgoingEdgesOf(v), actual.outgoingEdgesOf(v));
+      assertEquals(expected.outgoingEdgesOf(v).size(), actual.outgoingEdgesOf(v).size());
+      for (Integer u : expected.vertexSet()) {
+        assertEquals(
+            new HashSet<>(expected.getAllEdges(v, u)), new HashSet<>(actual.getAllEdges(v, u)));
+      }
+    }
+  }
+}
+
+// End BitSetMaskSubgraphTest.java
@@ -0,0 +1,206 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.util.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.builder.*;
+
+/** Unit tests for {@link CompressedSparseRowGraph}. */
+public class CompressedSparseRowGraphTest extends TestCase {
+  // ~ Methods ----------------------------------------------------------------
+
+  public void testDirected() {
+    Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+    Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3, 4));
+    DefaultEdge e01 = g.addEdge(0, 1);
+    DefaultEdge e03 = g.addEdge(0, 3);
+    DefaultEdge e02 = g.addEdge(0, 2);
+    DefaultEdge e02b = g.addEdge(0, 2);
+    DefaultEdge e21 = g.addEdge(2, 1);
+    DefaultEdge e22 = g.addEdge(2, 2);
+    DefaultEdge e32 = g.addEdge(3, 2);
+
+    CompressedSparseRowGraph<Integer, DefaultEdge> csr = new CompressedSparseRowGraph<>(g);
+
+    assertTrue(csr.getType().isDirected());
+    assertFalse(csr.getType().isModifiable());
+    assertEquals(g.vertexSet(), csr.vertexSet());
+    assertEquals(g.edgeSet(), csr.edgeSet());
+    assertEquals(new ArrayList<>(g.vertexSet()), new ArrayList<>(csr.vertexSet()));
+    assertEquals(new ArrayList<>(g.edgeSet()), new ArrayList<>(csr.edgeSet()));
+
+    for (Integer v : g.vertexSet()) {
+      assertEquals(g.outgoingEdgesOf(v), csr.outgoingEdgesOf(v));
+      assertEquals(g.incomingEdgesOf(v), csr.incomingEdgesOf(v));
+      assertEquals(g.edgesOf(v), csr.edgesOf(v));
+      assertEquals(g.edgesOf(v).size(), csr.edgesOf(v).size());
+      assertEquals(g.degreeOf(v), csr.degreeOf(v));
+      assertEquals(g.inDegreeOf(v), csr.inDegreeOf(v));
+      assertEquals(g.outDegreeOf(v), csr.outDegreeOf(v));
+      for (Integer u : g.vertexSet()) {
+        assertEquals(g.getAllEdges(v, u), csr.getAllEdges(v, u));
+        assertEquals(g.containsEdge(v, u), csr.containsEdge(v, u));
+      }
+    }
+
+    assertEquals(e01, csr.getEdge(0, 1));
+    assertEquals(e03, csr.getEdge(0, 3));
+    assertEquals(new HashSet<>(Arrays.asList(e02, e02b)), csr.getAllEdges(0, 2));
+    assertEquals(e21, csr.getEdge(2, 1));
+    assertEquals(e22, csr.getEdge(2, 2));
+    assertEquals(e32, csr.getEdge(3, 2));
+    assertNull(csr.getEdge(1, 0));
+    assertNull(csr.getEdge(0, 5));
+    assertNull(csr.getAllEdges(0, 5));
+    assertEquals(5, csr.edgesOf(2).size());
+    assertEquals(Integer.valueOf(2), csr.getEdgeSource(e21));
+    assertEquals(Integer.valueOf(1), csr.getEdgeTarget(e21));
+    assertEquals(Graph.DEFAULT_EDGE_WEIGHT, csr.getEdgeWeight(e21));
+    assertTrue(csr.outgoingEdgesOf(0).contains(e02));
+    assertFalse(csr.incomingEdgesOf(0).contains(e02));
+    assertTrue(csr.edgesOf(4).isEmpty());
+  }
+
+  public void testUndirectedWeighted() {
+    Graph<String, DefaultWeightedEdge> g = new WeightedPseudograph<>(DefaultWeightedEdge.class);
+    Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d"));
+    Graphs.addEdge(g, "a", "b", 1.0);
+    Graphs.addEdge(g, "c", "a", 2.0);
+    Graphs.addEdge(g, "b", "b", 3.0);
+    Graphs.addEdge(g, "b", "c", 4.0);
+    Graphs.addEdge(g, "c", "b", 5.0);
+
+    CompressedSparseRowGraph<String, DefaultWeightedEdge> csr = new CompressedSparseRowGraph<>(g);
+
+    assertTrue(csr.getType().isUndirected());
+    assertTrue(csr.getType().isWeighted());
+    for (String v : g.vertexSet()) {
+      assertEquals(g.edgesOf(v), csr.edgesOf(v));
+      assertEquals(g.outgoingEdgesOf(v), csr.outgoingEdgesOf(v));
+      assertEquals(g.incomingEdgesOf(v), csr.incomingEdgesOf(v));
+      assertEquals(g.degreeOf(v), csr.degreeOf(v));
+      for (String u : g.vertexSet()) {
+        assertEquals(g.getAllEdges(v, u), csr.getAllEdges(v, u));
+        assertEquals(g.getAllEdges(v, u), csr.getAllEdges(u, v));
+      }
+    }
+    for (DefaultWeightedEdge e : g.edgeSet()) {
+      assertEquals(g.getEdgeWeight(e), csr.getEdgeWeight(e));
+      assertEquals(g.getEdgeSource(e), csr.getEdgeSource(e));
+      assertEquals(g.getEdgeTarget(e), csr.getEdgeTarget(e));
+    }
+    assertEquals(5, csr.degreeOf("b"));
+    assertEquals(2.0, csr.getEdgeWeight(csr.getEdge("a", "c")));
+  }
+
+  public void testIndices() {
+    Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+    Graphs.addAllVertices(g, Arrays.asList("x", "y", "z"));
+    DefaultEdge e = g.addEdge("z", "x");
+
+    CompressedSparseRowGraph<String, DefaultEdge> csr = new CompressedSparseRowGraph<>(g);
+    assertEquals(0, csr.getVertexIndex("x"));
+    assertEquals(2, csr.getVertexIndex("z"));
+    assertEquals("y", csr.getVertex(1));
+    assertEquals(0, csr.getEdgeIndex(e));
+    assertEquals(e, csr.getEdge(0));
+
+    try {
+      csr.getVertexIndex("w");
+      fail("No such vertex");
+    } catch (IllegalArgumentException ignore) {
+    }
+    try {
+      csr.edgesOf("w");
+      fail("No such vertex");
+    } catch (IllegalArgumentException ignore) {
+    }
+    try {
+      csr.getEdgeSource(new DefaultEdge());
+      fail("No such edge");
+    } catch (IllegalArgumentException ignore) {
+    }
+  }
+
+  public void testUnmodifiable() {
+    Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+    Graphs.addAllVertices(g, Arrays.asList("x", "y"));
+    DefaultEdge e = g.addEdge("x", "y");
+    CompressedSparseRowGraph<String, DefaultEdge> csr = new CompressedSparseRowGraph<>(g);
+
+    try {
+      csr.addVertex("z");
+      fail("Graph is unmodifiable");
+    } catch (UnsupportedOperationException ignore) {
+    }
+    try {
+      csr.removeEdge(e);
+      fail("Graph is unmodifiable");
+    } catch (UnsupportedOperationException ignore) {
+    }
+    try {
+      csr.vertexSet().remove("x");
+      fail("Graph is unmodifiable");
+    } catch (UnsupportedOperationException ignore) {
+    }
+    try {
+      csr.edgesOf("x").clear();
+      fail("Graph is unmodifiable");
+    } catch (UnsupportedOperationException ignore) {
+    }
+  }
+
+  public void testBuilderAndAlgorithms() {
+    Graph<Integer, DefaultWeightedEdge> g =
+        new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+    new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(100, 1000, 17)
+        .generateGraph(g, new IntegerVertexFactory(), null);
+    Random rng = new Random(17);
+    for (DefaultWeightedEdge e : g.edgeSet()) {
+      g.setEdgeWeight(e, rng.nextDouble());
+    }
+
+    CompressedSparseRowGraph<Integer, DefaultWeightedEdge> csr =
+        new GraphBuilder<>(
+                new SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge>(
+                    DefaultWeightedEdge.class))
+            .addGraph(g)
+            .buildAsCompressed();
+
+    assertEquals(g.vertexSet(), csr.vertexSet());
+    assertEquals(g.edgeSet(), csr.edgeSet());
+    for (Integer target : g.vertexSet()) {
+      GraphPath<Integer, DefaultWeightedEdge> expected =
+          new DijkstraShortestPath<>(g).getPath(0, target);
+      GraphPath<Integer, DefaultWeightedEdge> actual =
+          new DijkstraShortestPath<>(csr).getPath(0, target);
+      if (expected == null) {
+        assertNull(actual);
+      } else {
+        assertEquals(expected.getWeight(), actual.getWeight(), 1e-9);
+      }
+    }
+  }
+}
+
+// End CompressedSparseRowGraphTest.java
@@ -0,0 +1,192 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import junit.framework.*;
+import org.jgrapht.*;
+
+/** Unit tests for {@link ConcurrentGraph}. */
+public class ConcurrentGraphTest extends TestCase {
+  // ~ Methods ----------------------------------------------------------------
+
+  public void testDirectedRandomOperations() {
+    randomOperations(
+        new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class),
+        new ConcurrentGraph<>(DefaultWeightedEdge.class, true, true, true, true));
+  }
+
+  public void testUndirectedRandomOperations() {
+    randomOperations(
+        new WeightedPseudograph<>(DefaultWeightedEdge.class),
+        new ConcurrentGraph<>(DefaultWeightedEdge.class, false, true, true, true));
+  }
+
+  public void testGraphType() {
+    Graph<String, DefaultEdge> g =
+        new ConcurrentGraph<>(DefaultEdge.class, false, false, false, false);
+    assertTrue(g.getType().isSimple());
+    g.addVertex("a");
+    g.addVertex("b");
+    assertNotNull(g.addEdge("a", "b"));
+    assertNull(g.addEdge("b", "a"));
+    try {
+      g.addEdge("a", "a");
+      fail("Loops are not allowed");
+    } catch (IllegalArgumentException ignore) {
+    }
+    try {
+      g.setEdgeWeight(g.getEdge("a", "b"), 2d);
+      fail("Graph is unweighted");
+    } catch (UnsupportedOperationException ignore) {
+    }
+    assertEquals(Graph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(g.getEdge("a", "b")));
+  }
+
+  public void testRemovedEdgeRemainsResolvable() {
+    Graph<String, DefaultWeightedEdge> g =
+        new ConcurrentGraph<>(DefaultWeightedEdge.class, true, false, false, true);
+    g.addVertex("a");
+    g.addVertex("b");
+    DefaultWeightedEdge e = g.addEdge("a", "b");
+    g.setEdgeWeight(e, 5d);
+    Set<DefaultWeightedEdge> snapshot = g.outgoingEdgesOf("a");
+
+    g.removeVertex("b");
+    assertFalse(g.containsEdge(e));
+    assertEquals(Collections.singleton(e), snapshot);
+    assertEquals("a", g.getEdgeSource(e));
+    assertEquals("b", g.getEdgeTarget(e));
+    assertEquals(5d, g.getEdgeWeight(e));
+    assertTrue(g.outgoingEdgesOf("a").isEmpty());
+  }
+
+  public void testConcurrentReadersAndWriter() throws Exception {
+    final int n = 50;
+    final ConcurrentGraph<Integer, DefaultWeightedEdge> g =
+        new ConcurrentGraph<>(DefaultWeightedEdge.class, true, false, true, true);
+    for (int v = 0; v < n; v++) {
+      g.addVertex(v);
+    }
+    final AtomicBoolean done = new AtomicBoolean();
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<?>> readers = new ArrayList<>();
+    for (int r = 0; r < 3; r++) {
+      readers.add(
+          executor.submit(
+              () -> {
+                try {
+                  while (!done.get()) {
+                    for (int v = 0; v < n; v++) {
+                      for (DefaultWeightedEdge e : g.outgoingEdgesOf(v)) {
+                        assertEquals(Integer.valueOf(v), g.getEdgeSource(e));
+                        assertTrue(g.getEdgeWeight(e) >= 0d);
+                      }
+                      for (DefaultWeightedEdge e : g.edgeSet()) {
+                        assertNotNull(g.getEdgeTarget(e));
+                      }
+                    }
+                  }
+                } catch (Throwable t) {
+                  failure.compareAndSet(null, t);
+                }
+              }));
+    }
+
+    Random rng = new Random(7);
+    for (int i = 0; i < 5000; i++) {
+      Integer s = rng.nextInt(n);
+      Integer t = rng.nextInt(n);
+      DefaultWeightedEdge e = g.getEdge(s, t);
+      if (e == null) {
+        e = g.addEdge(s, t);
+        g.setEdgeWeight(e, rng.nextDouble());
+      } else if (rng.nextBoolean()) {
+        g.removeEdge(e);
+      } else {
+        g.setEdgeWeight(e, rng.nextDouble());
+      }
+    }
+    done.set(true);
+    for (Future<?> f : readers) {
+      f.get();
+    }
+    executor.shutdown();
+    if (failure.get() != null) {
+      throw new AssertionError(failure.get());
+    }
+  }
+
+  private static void randomOperations(
+      Graph<Integer, DefaultWeightedEdge> expected, Graph<Integer, DefaultWeightedEdge> actual) {
+    final int n = 20;
+    Random rng = new Random(5);
+    for (int v = 0; v < n; v++) {
+      expected.addVertex(v);
+      actual.addVertex(v);
+    }
+    List<DefaultWeightedEdge> edges = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      int op = rng.nextInt(10);
+      if (op < 5 || edges.isEmpty()) {
+        Integer s = rng.nextInt(n);
+        Integer t = rng.nextInt(n);
+        DefaultWeightedEdge e = expected.addEdge(s, t);
+        assertTrue(actual.addEdge(s, t, e));
+        double w = rng.nextDouble();
+        expected.setEdgeWeight(e, w);
+        actual.setEdgeWeight(e, w);
+        edges.add(e);
+      } else if (op < 9) {
+        DefaultWeightedEdge e = edges.remove(rng.nextInt(edges.size()));
+        assertTrue(expected.removeEdge(e));
+        assertTrue(actual.removeEdge(e));
+      } else {
+        Integer v = rng.nextInt(n);
+        assertTrue(expected.removeVertex(v));
+        assertTrue(actual.removeVertex(v));
+        edges.retainAll(expected.edgeSet());
+        expected.addVertex(v);
+        actual.addVertex(v);
+      }
+
+      Integer v = rng.nextInt(n);
+      assertEquals(expected.degreeOf(v), actual.degreeOf(v));
+      assertEquals(expected.inDegreeOf(v), actual.inDegreeOf(v));
+      assertEquals(expected.outDegreeOf(v), actual.outDegreeOf(v));
+      assertEquals(expected.edgesOf(v), actual.edgesOf(v));
+      assertEquals(expected.incomingEdgesOf(v), actual.incomingEdgesOf(v));
+      assertEquals(expected.outgoingEdgesOf(v), actual.outgoingEdgesOf(v));
+      Integer t = rng.nextInt(n);
+      assertEquals(expected.getAllEdges(v, t), actual.getAllEdges(v, t));
+      assertEquals(expected.containsEdge(v, t), actual.containsEdge(v, t));
+    }
+    assertEquals(expected.vertexSet(), actual.vertexSet());
+    assertEquals(expected.edgeSet(), actual.edgeSet());
+    for (DefaultWeightedEdge e : expected.edgeSet()) {
+      assertEquals(expected.getEdgeSource(e), actual.getEdgeSource(e));
+      assertEquals(expected.getEdgeTarget(e), actual.getEdgeTarget(e));
+      assertEquals(expected.getEdgeWeight(e), actual.getEdgeWeight(e));
+    }
+  }
+}
+
+// End ConcurrentGraphTest.java
@@ -252,6 +252,108 @@ public class GraphBuilderTest extends EnhancedTestCase {
     assertTrue(g2.containsEdge(v3, v4));
   }
 
+  public void testAddEdges() {
+    Graph<String, DefaultEdge> g =
+        new GraphBuilder<>(new SimpleGraph<String, DefaultEdge>(DefaultEdge.class))
+            .addEdge(v1, v2)
+            .addEdges(Arrays.asList(v1, v2, v3, v2), Arrays.asList(v2, v3, v4, v1))
+            .build();
+
+    assertEquals(4, g.vertexSet().size());
+    assertEquals(3, g.edgeSet().size());
+    assertTrue(g.containsEdge(v2, v3));
+    assertTrue(g.containsEdge(v3, v4));
+
+    Graph<String, DefaultEdge> unmodifiable =
+        new GraphBuilder<>(new SimpleGraph<String, DefaultEdge>(DefaultEdge.class))
+            .addEdges(Arrays.asList(v5, v6), Arrays.asList(v6, v7))
+            .buildAsUnmodifiable();
+    assertEquals(2, unmodifiable.edgeSet().size());
+  }
+
+  public void testAddAllEdgesBulk() {
+    final int n = 20000;
+    List<Integer> sources = new ArrayList<>();
+    List<Integer> targets = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      sources.add(i % 1000);
+      targets.add((i * 31 + 7) % 997 + 1000);
+    }
+    SimpleDirectedGraph<Integer, DefaultEdge> expected =
+        new SimpleDirectedGraph<>(DefaultEdge.class);
+    for (int i = 0; i < n; i++) {
+      Graphs.addEdgeWithVertices(expected, sources.get(i), targets.get(i));
+    }
+
+    SimpleDirectedGraph<Integer, DefaultEdge> checked =
+        new SimpleDirectedGraph<>(DefaultEdge.class);
+    Set<DefaultEdge> edgeSetView = checked.edgeSet();
+    List<DefaultEdge> edges = checked.addAllEdgesBulk(sources, targets, false);
+    assertEquals(n, edges.size());
+    assertEquals(expected.edgeSet().size(), checked.edgeSet().size());
+    assertEquals(expected.edgeSet().size(), edgeSetView.size());
+    assertEquals(expected.vertexSet(), checked.vertexSet());
+    for (int i = 0; i < n; i++) {
+      DefaultEdge e = edges.get(i);
+      if (e != null) {
+        assertSame(e, checked.getEdge(sources.get(i), targets.get(i)));
+      }
+    }
+
+    SimpleDirectedGraph<Integer, DefaultEdge> unchecked =
+        new SimpleDirectedGraph<>(DefaultEdge.class);
+    unchecked.ensureCapacity(expected.vertexSet().size(), expected.edgeSet().size());
+    List<Integer> uniqueSources = new ArrayList<>();
+    List<Integer> uniqueTargets = new ArrayList<>();
+    for (DefaultEdge e : expected.edgeSet()) {
+      uniqueSources.add(expected.getEdgeSource(e));
+      uniqueTargets.add(expected.getEdgeTarget(e));
+    }
+    unchecked.addAllEdgesBulk(uniqueSources, uniqueTargets, true);
+    assertEquals(expected.vertexSet(), unchecked.vertexSet());
+    assertEquals(expected.edgeSet().size(), unchecked.edgeSet().size());
+    for (Integer v : expected.vertexSet()) {
+      assertEquals(expected.outDegreeOf(v), unchecked.outDegreeOf(v));
+      assertEquals(expected.inDegreeOf(v), unchecked.inDegreeOf(v));
+    }
+  }
+
+  public void testAddAllEdgesBulkChunks() {
+    final int n = 20000;
+    final int chunk = 100;
+    DirectedPseudograph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+    List<DefaultEdge> edges = new ArrayList<>();
+    for (int start = 0; start < n; start += chunk) {
+      List<Integer> sources = new ArrayList<>();
+      List<Integer> targets = new ArrayList<>();
+      for (int i = start; i < start + chunk; i++) {
+        sources.add(i);
+        targets.add(i + 1);
+      }
+      edges.addAll(g.addAllEdgesBulk(sources, targets, true));
+    }
+    assertEquals(n + 1, g.vertexSet().size());
+    assertEquals(edges, new ArrayList<>(g.edgeSet()));
+    for (int i = 0; i < n; i++) {
+      assertSame(edges.get(i), g.getEdge(i, i + 1));
+    }
+  }
+
+  public void testAddAllEdgesBulkRejectsLoops() {
+    SimpleGraph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+    try {
+      g.addAllEdgesBulk(Arrays.asList(v1), Arrays.asList(v1), false);
+      fail("Loops are not allowed");
+    } catch (IllegalArgumentException ignore) {
+    }
+    try {
+      g.addAllEdgesBulk(Arrays.asList(v1), Arrays.asList(v1, v2), false);
+      fail("Lists have different sizes");
+    } catch (IllegalArgumentException ignore) {
+    }
+    assertTrue(g.edgeSet().isEmpty());
+  }
+
   public void testAddVertexPseudograph() {
     Pseudograph<String, DefaultEdge> g =
         Pseudograph.<String, DefaultEdge>createBuilder(DefaultEdge.class).addVertex(v1).build();
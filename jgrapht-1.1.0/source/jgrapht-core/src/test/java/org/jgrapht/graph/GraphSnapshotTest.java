@@ -0,0 +1,215 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.*;
+import org.jgrapht.util.*;
+
+/** Unit tests for {@link AbstractBaseGraph#snapshot()}. */
+public class GraphSnapshotTest extends TestCase {
+  // ~ Methods ----------------------------------------------------------------
+
+  public void testDirectedSnapshots() {
+    snapshotsDuringRandomOperations(
+        new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class), true);
+  }
+
+  public void testUndirectedSnapshots() {
+    snapshotsDuringRandomOperations(new WeightedPseudograph<>(DefaultWeightedEdge.class), false);
+  }
+
+  public void testSnapshotIsImmutable() {
+    Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+    g.addVertex("a");
+    g.addVertex("b");
+    g.addEdge("a", "b");
+    Graph<String, DefaultEdge> snapshot = ((AbstractBaseGraph<String, DefaultEdge>) g).snapshot();
+    assertFalse(snapshot.getType().isModifiable());
+    try {
+      snapshot.addVertex("c");
+      fail("Snapshot is immutable");
+    } catch (UnsupportedOperationException ignore) {
+    }
+    try {
+      snapshot.edgesOf("a").clear();
+      fail("Snapshot is immutable");
+    } catch (UnsupportedOperationException ignore) {
+    }
+  }
+
+  public void testAlgorithmOnSnapshot() {
+    Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+    for (int i = 0; i < 4; i++) {
+      g.addVertex(i);
+    }
+    g.addEdge(0, 1);
+    g.addEdge(2, 3);
+    Set<DefaultEdge> edgesOfOne =
+        ((AbstractBaseGraph<Integer, DefaultEdge>) g).snapshot().edgesOf(1);
+    Graph<Integer, DefaultEdge> snapshot = ((AbstractBaseGraph<Integer, DefaultEdge>) g).snapshot();
+
+    g.addEdge(1, 2);
+    g.removeVertex(0);
+    assertTrue(new ConnectivityInspector<>(g).isGraphConnected());
+    assertEquals(2, new ConnectivityInspector<>(snapshot).connectedSets().size());
+    assertEquals(1, edgesOfOne.size());
+    assertEquals(4, snapshot.vertexSet().size());
+  }
+
+  public void testReadSnapshotWhileModifying() throws InterruptedException {
+    final int n = 20;
+    AbstractBaseGraph<Integer, DefaultWeightedEdge> g =
+        new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+    Random rng = new Random(23);
+    for (int v = 0; v < n; v++) {
+      g.addVertex(v);
+    }
+    List<DefaultWeightedEdge> edges = new ArrayList<>();
+    for (int i = 0; i < 60; i++) {
+      edges.add(g.addEdge(rng.nextInt(n), rng.nextInt(n)));
+    }
+    Graph<Integer, DefaultWeightedEdge> snapshot = g.snapshot();
+    Graph<Integer, DefaultWeightedEdge> copy = TypeUtil.uncheckedCast(g.clone(), null);
+    Map<DefaultWeightedEdge, Double> weights = new HashMap<>();
+    for (DefaultWeightedEdge e : g.edgeSet()) {
+      weights.put(e, g.getEdgeWeight(e));
+    }
+
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread reader =
+        new Thread(
+            () -> {
+              try {
+                while (!done.get()) {
+                  assertSameGraph(copy, weights, snapshot, true);
+                  new ConnectivityInspector<>(snapshot).connectedSets();
+                }
+              } catch (Throwable t) {
+                failure.set(t);
+              }
+            });
+    reader.start();
+    try {
+      for (int i = 0; i < 20000 && reader.isAlive(); i++) {
+        int op = rng.nextInt(10);
+        if (op < 3 || edges.isEmpty()) {
+          edges.add(g.addEdge(rng.nextInt(n), rng.nextInt(n)));
+        } else if (op < 6) {
+          g.setEdgeWeight(edges.get(rng.nextInt(edges.size())), rng.nextDouble());
+        } else if (op < 9) {
+          g.removeEdge(edges.remove(rng.nextInt(edges.size())));
+        } else {
+          Integer v = rng.nextInt(n);
+          g.removeVertex(v);
+          edges.retainAll(g.edgeSet());
+          g.addVertex(v);
+        }
+      }
+    } finally {
+      done.set(true);
+      reader.join();
+    }
+    if (failure.get() != null) {
+      throw new AssertionError(failure.get());
+    }
+    assertSameGraph(copy, weights, snapshot, true);
+  }
+
+  private static void snapshotsDuringRandomOperations(
+      AbstractBaseGraph<Integer, DefaultWeightedEdge> g, boolean directed) {
+    final int n = 20;
+    Random rng = new Random(19);
+    for (int v = 0; v < n; v++) {
+      g.addVertex(v);
+    }
+    List<Graph<Integer, DefaultWeightedEdge>> snapshots = new ArrayList<>();
+    List<Graph<Integer, DefaultWeightedEdge>> copies = new ArrayList<>();
+    List<Map<DefaultWeightedEdge, Double>> weights = new ArrayList<>();
+    List<DefaultWeightedEdge> edges = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) {
+      if (i % 500 == 0) {
+        snapshots.add(g.snapshot());
+        copies.add(TypeUtil.uncheckedCast(g.clone(), null));
+        // the copy shares the edges, and thus their weights, with the graph
+        Map<DefaultWeightedEdge, Double> w = new HashMap<>();
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+          w.put(e, g.getEdgeWeight(e));
+        }
+        weights.add(w);
+      }
+      int op = rng.nextInt(10);
+      if (op < 4 || edges.isEmpty()) {
+        Integer s = rng.nextInt(n);
+        Integer t = rng.nextInt(n);
+        g.addVertex(s);
+        g.addVertex(t);
+        edges.add(g.addEdge(s, t));
+      } else if (op < 6) {
+        g.setEdgeWeight(edges.get(rng.nextInt(edges.size())), rng.nextDouble());
+      } else if (op < 9) {
+        g.removeEdge(edges.remove(rng.nextInt(edges.size())));
+      } else {
+        Integer v = rng.nextInt(n);
+        g.removeVertex(v);
+        edges.retainAll(g.edgeSet());
+        if (rng.nextBoolean()) {
+          g.addVertex(v);
+        }
+      }
+    }
+    for (int i = 0; i < snapshots.size(); i++) {
+      assertSameGraph(copies.get(i), weights.get(i), snapshots.get(i), directed);
+    }
+  }
+
+  private static void assertSameGraph(
+      Graph<Integer, DefaultWeightedEdge> expected,
+      Map<DefaultWeightedEdge, Double> expectedWeights,
+      Graph<Integer, DefaultWeightedEdge> actual,
+      boolean directed) {
+    assertEquals(expected.vertexSet(), actual.vertexSet());
+    assertEquals(expected.vertexSet().size(), actual.vertexSet().size());
+    assertEquals(expected.edgeSet(), actual.edgeSet());
+    assertEquals(expected.edgeSet().size(), actual.edgeSet().size());
+    for (DefaultWeightedEdge e : expected.edgeSet()) {
+      assertEquals(expected.getEdgeSource(e), actual.getEdgeSource(e));
+      assertEquals(expected.getEdgeTarget(e), actual.getEdgeTarget(e));
+      assertEquals(expectedWeights.get(e), actual.getEdgeWeight(e));
+    }
+    for (Integer v : expected.vertexSet()) {
+      assertEquals(expected.degreeOf(v), actual.degreeOf(v));
+      assertEquals(expected.inDegreeOf(v), actual.inDegreeOf(v));
+      assertEquals(expected.outDegreeOf(v), actual.outDegreeOf(v));
+      assertEquals(expected.edgesOf(v), actual.edgesOf(v));
+      assertEquals(expected.incomingEdgesOf(v), actual.incomingEdgesOf(v));
+      assertEquals(expected.outgoingEdgesOf(v), actual.outgoingEdgesOf(v));
+      for (Integer u : expected.vertexSet()) {
+        assertEquals(expected.getAllEdges(v, u), actual.getAllEdges(v, u));
+        assertEquals(expected.containsEdge(v, u), actual.containsEdge(v, u));
+      }
+    }
+    assertEquals(directed, actual.getType().isDirected());
+  }
+}
+
+// End GraphSnapshotTest.java
@@ -0,0 +1,242 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.util.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.flow.*;
+
+/** Unit tests for {@link ImplicitEdgeGraph}. */
+public class ImplicitEdgeGraphTest extends TestCase {
+  // ~ Methods ----------------------------------------------------------------
+
+  public void testDirected() {
+    ImplicitEdgeGraph<String> g = new ImplicitEdgeGraph<>(true, true, true, false);
+    Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+    Long ab = g.addEdge("a", "b");
+    Long bc = g.addEdge("b", "c");
+    Long bc2 = g.addEdge("b", "c");
+    Long cc = g.addEdge("c", "c");
+
+    assertEquals(Long.valueOf(0), ab);
+    assertEquals(Long.valueOf((1L << 32) | 1), bc2);
+    assertEquals("b", g.getEdgeSource(bc));
+    assertEquals("c", g.getEdgeTarget(bc));
+    assertEquals(4, g.edgeSet().size());
+    assertEquals(new HashSet<>(Arrays.asList(bc, bc2)), g.getAllEdges("b", "c"));
+    assertNull(g.getEdge("c", "b"));
+    assertEquals(2, g.outDegreeOf("b"));
+    assertEquals(3, g.inDegreeOf("c"));
+    assertEquals(4, g.degreeOf("c"));
+    assertEquals(new HashSet<>(Arrays.asList(bc, bc2, cc)), g.edgesOf("c"));
+    assertEquals(3, g.edgesOf("c").size());
+    assertEquals(new HashSet<>(Arrays.asList(ab, bc, bc2)), g.edgesOf("b"));
+    assertEquals(Graph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(ab));
+
+    assertTrue(g.removeEdge(bc));
+    assertFalse(g.containsEdge(bc));
+    assertEquals(bc, g.getEdgeFactory().createEdge("b", "a"));
+    assertEquals(bc, g.addEdge("b", "a"));
+    assertTrue(g.removeVertex("b"));
+    assertEquals(1, g.edgeSet().size());
+    assertEquals("c", g.getEdgeSource(cc));
+    assertTrue(g.addVertex("d"));
+    assertEquals(0, g.degreeOf("d"));
+    assertFalse(g.containsEdge(ab));
+
+    try {
+      g.setEdgeWeight(cc, 2.0);
+      fail("Graph is unweighted");
+    } catch (UnsupportedOperationException ignore) {
+    }
+  }
+
+  public void testUndirectedWeighted() {
+    ImplicitEdgeGraph<Integer> g = new ImplicitEdgeGraph<>(false, false, false, true);
+    Graphs.addAllVertices(g, Arrays.asList(1, 2, 3));
+    Long e = Graphs.addEdge(g, 1, 2, 3.0);
+    assertNull(g.addEdge(2, 1));
+    assertEquals(e, g.getEdge(2, 1));
+    assertEquals(3.0, g.getEdgeWeight(e), 0.0);
+    assertEquals(Collections.singleton(e), g.edgesOf(2));
+    assertEquals(Collections.singleton(e), g.outgoingEdgesOf(2));
+    assertEquals(1, g.degreeOf(2));
+    g.setEdgeWeight(e, 5.0);
+    assertEquals(5.0, g.getEdgeWeight(e), 0.0);
+    try {
+      g.addEdge(1, 1);
+      fail("Loops are not allowed");
+    } catch (IllegalArgumentException ignore) {
+    }
+
+    // explicit edges must belong to the source vertex
+    Long f = (2L << 32) | 3;
+    try {
+      g.addEdge(1, 3, f);
+      fail("Edge of another vertex");
+    } catch (IllegalArgumentException ignore) {
+    }
+    assertTrue(g.addEdge(3, 1, f));
+    assertEquals(Integer.valueOf(3), g.getEdgeSource(f));
+    // the skipped slots are reused
+    assertEquals(Long.valueOf((2L << 32) | 2), g.addEdge(3, 2));
+  }
+
+  public void testAgainstPseudograph() {
+    for (boolean directed : new boolean[] {true, false}) {
+      Graph<Integer, DefaultWeightedEdge> expected =
+          directed
+              ? new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class)
+              : new WeightedPseudograph<>(DefaultWeightedEdge.class);
+      ImplicitEdgeGraph<Integer> actual = new ImplicitEdgeGraph<>(directed, true, true, true);
+      Map<DefaultWeightedEdge, Long> edges = new HashMap<>();
+      Random rng = new Random(17);
+      for (int i = 0; i < 20; i++) {
+        expected.addVertex(i);
+        actual.addVertex(i);
+      }
+      for (int round = 0; round < 2000; round++) {
+        int u = rng.nextInt(25);
+        int v = rng.nextInt(25);
+        int op = rng.nextInt(10);
+        if (op < 6) {
+          if (expected.containsVertex(u) && expected.containsVertex(v)) {
+            double w = rng.nextInt(10);
+            edges.put(Graphs.addEdge(expected, u, v, w), Graphs.addEdge(actual, u, v, w));
+          }
+        } else if (op < 8) {
+          DefaultWeightedEdge e = expected.getEdge(u, v);
+          if (e != null) {
+            assertTrue(actual.removeEdge(edges.remove(e)));
+            expected.removeEdge(e);
+          }
+        } else if (op < 9) {
+          if (!expected.containsVertex(u)) {
+            continue;
+          }
+          for (DefaultWeightedEdge e : expected.edgesOf(u)) {
+            edges.remove(e);
+          }
+          assertEquals(expected.removeVertex(u), actual.removeVertex(u));
+        } else {
+          assertEquals(expected.addVertex(u), actual.addVertex(u));
+        }
+      }
+
+      assertEquals(expected.vertexSet(), actual.vertexSet());
+      assertEquals(expected.edgeSet().size(), actual.edgeSet().size());
+      assertEquals(new HashSet<>(edges.values()), actual.edgeSet());
+      for (Map.Entry<DefaultWeightedEdge, Long> entry : edges.entrySet()) {
+        DefaultWeightedEdge e = entry.getKey();
+        Long f = entry.getValue();
+        assertEquals(expected.getEdgeSource(e), actual.getEdgeSource(f));
+        assertEquals(expected.getEdgeTarget(e), actual.getEdgeTarget(f));
+        assertEquals(expected.getEdgeWeight(e), actual.getEdgeWeight(f), 0.0);
+      }
+      for (Integer v : expected.vertexSet()) {
+        assertEquals(expected.degreeOf(v), actual.degreeOf(v));
+        assertEquals(expected.inDegreeOf(v), actual.inDegreeOf(v));
+        assertEquals(expected.outDegreeOf(v), actual.outDegreeOf(v));
+        assertEquals(map(expected.edgesOf(v), edges), actual.edgesOf(v));
+        assertEquals(expected.edgesOf(v).size(), actual.edgesOf(v).size());
+        assertEquals(map(expected.incomingEdgesOf(v), edges), actual.incomingEdgesOf(v));
+        assertEquals(map(expected.outgoingEdgesOf(v), edges), actual.outgoingEdgesOf(v));
+        for (Integer u : expected.vertexSet()) {
+          assertEquals(map(expected.getAllEdges(v, u), edges), actual.getAllEdges(v, u));
+        }
+      }
+
+      @SuppressWarnings("unchecked")
+      ImplicitEdgeGraph<Integer> copy = (ImplicitEdgeGraph<Integer>) actual.clone();
+      assertEquals(actual.edgeSet(), copy.edgeSet());
+      Integer v = actual.vertexSet().iterator().next();
+      copy.removeVertex(v);
+      assertTrue(actual.containsVertex(v));
+      assertEquals(expected.edgeSet().size(), actual.edgeSet().size());
+    }
+  }
+
+  public void testMaximumFlow() {
+    ImplicitEdgeGraph<Integer> g = new ImplicitEdgeGraph<>(true, false, false, true);
+    Graph<Integer, DefaultWeightedEdge> h =
+        new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+    Random rng = new Random(5);
+    for (int i = 0; i < 30; i++) {
+      g.addVertex(i);
+      h.addVertex(i);
+    }
+    for (int i = 0; i < 150; i++) {
+      int u = rng.nextInt(30);
+      int v = rng.nextInt(30);
+      if (u != v && !h.containsEdge(u, v)) {
+        double w = 1 + rng.nextInt(20);
+        Graphs.addEdge(g, u, v, w);
+        Graphs.addEdge(h, u, v, w);
+      }
+    }
+    assertEquals(
+        new EdmondsKarpMFImpl<>(h).getMaximumFlow(0, 29).getValue(),
+        new EdmondsKarpMFImpl<>(g).getMaximumFlow(0, 29).getValue(),
+        1e-9);
+  }
+
+  public void testFreeSlotsStayBounded() throws ReflectiveOperationException {
+    ImplicitEdgeGraph<String> g = new ImplicitEdgeGraph<>(true, true, false, false);
+    Graphs.addAllVertices(g, Arrays.asList("a", "b"));
+    Long e0 = g.addEdge("a", "b");
+    Long e1 = g.addEdge("a", "b");
+    Long e2 = g.addEdge("a", "b");
+    for (int i = 0; i < 100000; i++) {
+      assertTrue(g.removeEdge(e1));
+      assertEquals(e1, g.addEdge("a", "b"));
+    }
+    assertTrue(g.removeEdge(e0));
+    assertTrue(g.removeEdge(e2));
+    for (int i = 0; i < 100000; i++) {
+      assertTrue(g.addEdge("a", "b", e2));
+      assertTrue(g.removeEdge(e2));
+    }
+    assertEquals(2, freeSlotsCount(g, "a"));
+    assertEquals(e2, g.addEdge("a", "b"));
+    assertEquals(e0, g.addEdge("a", "b"));
+    assertEquals(Long.valueOf(3), g.addEdge("a", "b"));
+    assertEquals(0, freeSlotsCount(g, "a"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static int freeSlotsCount(ImplicitEdgeGraph<String> g, String v)
+      throws ReflectiveOperationException {
+    java.lang.reflect.Field count = ImplicitEdgeGraph.class.getDeclaredField("freeSlotsCount");
+    java.lang.reflect.Field index = ImplicitEdgeGraph.class.getDeclaredField("index");
+    count.setAccessible(true);
+    index.setAccessible(true);
+    int i = ((Map<?, Integer>) index.get(g)).get(v);
+    return ((int[]) count.get(g))[i];
+  }
+
+  private static Set<Long> map(Set<DefaultWeightedEdge> edges, Map<DefaultWeightedEdge, Long> ids) {
+    Set<Long> result = new HashSet<>();
+    for (DefaultWeightedEdge e : edges) {
+      result.add(ids.get(e));
+    }
+    return result;
+  }
+}
+
+// End ImplicitEdgeGraphTest.java
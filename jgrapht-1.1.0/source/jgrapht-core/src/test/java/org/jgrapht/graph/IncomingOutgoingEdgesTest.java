@@ -17,10 +17,11 @@
  */
 package org.jgrapht.graph;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 import java.util.*;
 import org.jgrapht.*;
+import org.jgrapht.graph.specifics.*;
 import org.junit.*;
 
 /**
@@ -141,4 +142,82 @@ public class IncomingOutgoingEdgesTest {
     assertEquals(new HashSet<>(Arrays.asList(e24, e44)), g.outgoingEdgesOf("v4"));
     assertEquals(new HashSet<>(Arrays.asList(e52, e55_1, e55_2)), g.outgoingEdgesOf("v5"));
   }
+
+  /** Test that the edges of a vertex in a directed graph are a live view. */
+  @Test
+  public void testDirectedEdgesOfView() {
+    Graph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+    g.addVertex("v1");
+    g.addVertex("v2");
+    DefaultEdge e12 = g.addEdge("v1", "v2");
+    DefaultEdge e11 = g.addEdge("v1", "v1");
+
+    Set<DefaultEdge> edges = g.edgesOf("v1");
+    assertEquals(2, edges.size());
+    assertEquals(Arrays.asList(e12, e11), new ArrayList<>(edges));
+
+    DefaultEdge e21 = g.addEdge("v2", "v1");
+    DefaultEdge e11b = g.addEdge("v1", "v1");
+    assertEquals(4, edges.size());
+    assertEquals(new HashSet<>(Arrays.asList(e12, e11, e21, e11b)), edges);
+    assertEquals(4, new ArrayList<>(edges).size());
+    assertTrue(edges.contains(e21));
+
+    g.removeEdge(e11);
+    assertEquals(3, edges.size());
+    assertFalse(edges.contains(e11));
+
+    try {
+      edges.remove(e12);
+      fail("Edges of a vertex are unmodifiable");
+    } catch (UnsupportedOperationException ignore) {
+    }
+    try {
+      edges.add(e11);
+      fail("Edges of a vertex are unmodifiable");
+    } catch (UnsupportedOperationException ignore) {
+    }
+  }
+
+  /** Test that the number of edges of a vertex accounts for self-loops with every specifics. */
+  @Test
+  public void testDirectedEdgesOfSizeWithLoops() {
+    for (int kind = 0; kind < 3; kind++) {
+      final int specifics = kind;
+      Graph<String, DefaultEdge> g =
+          new DirectedPseudograph<String, DefaultEdge>(DefaultEdge.class) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected Specifics<String, DefaultEdge> createSpecifics(boolean directed) {
+              switch (specifics) {
+                case 0:
+                  return new DirectedSpecifics<>(this);
+                case 1:
+                  return new FastLookupDirectedSpecifics<>(this);
+                default:
+                  return new CompactFastLookupDirectedSpecifics<>(this);
+              }
+            }
+          };
+      g.addVertex("v1");
+      g.addVertex("v2");
+      DefaultEdge e11 = g.addEdge("v1", "v1");
+      g.addEdge("v1", "v1");
+      g.addEdge("v1", "v2");
+      g.addEdge("v2", "v1");
+
+      Set<DefaultEdge> edges = g.edgesOf("v1");
+      assertEquals(4, edges.size());
+      assertEquals(4, new ArrayList<>(edges).size());
+      assertEquals(6, g.degreeOf("v1"));
+
+      g.removeEdge(e11);
+      assertEquals(3, edges.size());
+      assertEquals(3, new ArrayList<>(edges).size());
+      g.removeVertex("v2");
+      assertEquals(1, edges.size());
+      assertEquals(1, g.edgesOf("v1").size());
+    }
+  }
 }
@@ -0,0 +1,198 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.util.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.alg.spanning.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.traverse.*;
+
+/** Unit tests for {@link IntGraph} and the algorithms specialized for it. */
+public class IntGraphTest extends TestCase {
+  // ~ Methods ----------------------------------------------------------------
+
+  public void testDirected() {
+    IntDirectedGraph g = new IntDirectedGraph(true, true);
+    Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 4));
+    Integer e01 = g.addEdge(0, 1);
+    Integer e12 = g.addEdge(1, 2);
+    Integer e12b = g.addEdge(1, 2);
+    Integer e22 = g.addEdge(2, 2);
+
+    assertTrue(g.getType().isDirected());
+    assertEquals(5, g.getVertexCapacity());
+    assertFalse(g.containsVertex(3));
+    assertEquals(4, g.vertexSet().size());
+    assertEquals(4, g.edgeSet().size());
+    assertEquals(new HashSet<>(Arrays.asList(e12, e12b)), g.getAllEdges(1, 2));
+    assertEquals(e22, g.getEdge(2, 2));
+    assertNull(g.getEdge(1, 0));
+    assertEquals(2, g.outDegreeOf(1));
+    assertEquals(3, g.inDegreeOf(2));
+    assertEquals(4, g.degreeOf(2));
+    assertEquals(new HashSet<>(Arrays.asList(e01, e12, e12b)), g.edgesOf(1));
+    assertEquals(Graph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(e01));
+
+    assertTrue(g.removeEdge(e12));
+    assertFalse(g.containsEdge(e12));
+    assertEquals(e12b, g.getEdge(1, 2));
+    assertTrue(g.removeVertex(1));
+    assertEquals(1, g.edgeSet().size());
+    assertEquals(Integer.valueOf(2), g.getEdgeSource(e22));
+
+    try {
+      g.addVertex(-1);
+      fail("Negative vertex");
+    } catch (IllegalArgumentException ignore) {
+    }
+    try {
+      g.setEdgeWeight(e22, 2.0);
+      fail("Graph is unweighted");
+    } catch (UnsupportedOperationException ignore) {
+    }
+  }
+
+  public void testUndirectedSimple() {
+    IntUndirectedWeightedGraph g = new IntUndirectedWeightedGraph(false, false);
+    Graphs.addAllVertices(g, Arrays.asList(0, 1, 2));
+    Integer e = Graphs.addEdge(g, 0, 1, 3.0);
+    assertNull(g.addEdge(1, 0));
+    assertEquals(e, g.getEdge(1, 0));
+    assertEquals(3.0, g.getEdgeWeight(e));
+    assertEquals(1, g.degreeOf(1));
+    try {
+      g.addEdge(2, 2);
+      fail("Loops not allowed");
+    } catch (IllegalArgumentException ignore) {
+    }
+  }
+
+  public void testEdgeReuse() {
+    IntDirectedGraph g = new IntDirectedGraph(true, true);
+    Graphs.addAllVertices(g, Arrays.asList(0, 1));
+    for (int i = 0; i < 4; i++) {
+      assertEquals(Integer.valueOf(i), g.addEdge(0, 1));
+    }
+    g.removeEdge(Integer.valueOf(1));
+    g.removeEdge(Integer.valueOf(3));
+    assertEquals(Integer.valueOf(1), g.addEdge(0, 1));
+    assertEquals(Integer.valueOf(3), g.addEdge(0, 1));
+
+    // explicit edges and edges from the factory reuse released identifiers
+    assertTrue(g.addEdge(0, 1, 6));
+    EdgeFactory<Integer, Integer> factory = g.getEdgeFactory();
+    for (int i = 0; i < 1000; i++) {
+      g.removeEdge(Integer.valueOf(6));
+      assertTrue(g.addEdge(0, 1, 6));
+      Integer e = factory.createEdge(0, 1);
+      assertTrue(g.addEdge(0, 1, e));
+      assertTrue(g.removeEdge(e));
+    }
+    assertEquals(7, g.getEdgeCapacity());
+    assertEquals(Integer.valueOf(4), factory.createEdge(0, 1));
+    assertEquals(Integer.valueOf(5), factory.createEdge(0, 1));
+    assertEquals(Integer.valueOf(4), g.addEdge(0, 1));
+    assertEquals(Integer.valueOf(5), g.addEdge(0, 1));
+    assertEquals(Integer.valueOf(7), g.addEdge(0, 1));
+
+    try {
+      g.addVertex(Integer.MAX_VALUE);
+      fail("Vertex too large");
+    } catch (IllegalArgumentException ignore) {
+    }
+    try {
+      g.addEdge(0, 1, Integer.MAX_VALUE);
+      fail("Edge too large");
+    } catch (IllegalArgumentException ignore) {
+    }
+  }
+
+  public void testAlgorithms() {
+    for (boolean directed : new boolean[] {true, false}) {
+      IntGraph g =
+          directed ? new IntDirectedWeightedGraph() : new IntUndirectedWeightedGraph(true, true);
+      new GnmRandomGraphGenerator<Integer, Integer>(200, 300, 7, true, true)
+          .generateGraph(g, new IntegerVertexFactory(), null);
+      Random rng = new Random(7);
+      for (Integer e : g.edgeSet()) {
+        g.setEdgeWeight(e, rng.nextDouble());
+      }
+      Graph<Integer, Integer> h =
+          directed
+              ? new DirectedWeightedPseudograph<>(g.getEdgeFactory())
+              : new WeightedPseudograph<>(g.getEdgeFactory());
+      Graphs.addAllVertices(h, g.vertexSet());
+      for (Integer e : g.edgeSet()) {
+        h.addEdge(g.getEdgeSource(e), g.getEdgeTarget(e), e);
+        h.setEdgeWeight(e, g.getEdgeWeight(e));
+      }
+
+      for (Integer v : g.vertexSet()) {
+        assertEquals(h.outgoingEdgesOf(v), g.outgoingEdgesOf(v));
+        assertEquals(h.incomingEdgesOf(v), g.incomingEdgesOf(v));
+        assertEquals(h.degreeOf(v), g.degreeOf(v));
+      }
+
+      assertEquals(toList(new BreadthFirstIterator<>(h)), toList(new BreadthFirstIterator<>(g)));
+      assertEquals(
+          toList(new BreadthFirstIterator<>(h, 3)), toList(new BreadthFirstIterator<>(g, 3)));
+
+      assertEquals(
+          new HashSet<>(new ConnectivityInspector<>(h).connectedSets()),
+          new HashSet<>(new ConnectivityInspector<>(g).connectedSets()));
+      assertEquals(
+          new ConnectivityInspector<>(h).connectedSetOf(5),
+          new ConnectivityInspector<>(g).connectedSetOf(5));
+
+      assertEquals(
+          new KruskalMinimumSpanningTree<>(h).getSpanningTree().getWeight(),
+          new KruskalMinimumSpanningTree<>(g).getSpanningTree().getWeight(),
+          1e-9);
+
+      for (Integer target : g.vertexSet()) {
+        GraphPath<Integer, Integer> expected = new DijkstraShortestPath<>(h).getPath(0, target);
+        GraphPath<Integer, Integer> actual = new DijkstraShortestPath<>(g).getPath(0, target);
+        if (expected == null) {
+          assertNull(actual);
+          continue;
+        }
+        assertEquals(expected.getWeight(), actual.getWeight(), 1e-9);
+        assertEquals(target, actual.getEndVertex());
+        assertEquals(
+            new DijkstraShortestPath<>(h).getPaths(0).getWeight(target),
+            new DijkstraShortestPath<>(g).getPaths(0).getWeight(target),
+            1e-9);
+      }
+    }
+  }
+
+  private static <V> List<V> toList(Iterator<V> it) {
+    List<V> result = new ArrayList<>();
+    while (it.hasNext()) {
+      result.add(it.next());
+    }
+    return result;
+  }
+}
+
+// End IntGraphTest.java
@@ -17,8 +17,10 @@
  */
 package org.jgrapht.graph;
 
+import java.util.*;
 import junit.framework.*;
 import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
 import org.jgrapht.event.*;
 
 /**
@@ -184,6 +186,127 @@ public class ListenableGraphTest extends TestCase {
     assertEquals(null, lastRemovedEdge);
   }
 
+  /** Tests that a batch is coalesced and delivered as a single event. */
+  public void testBatch() {
+    init();
+
+    DefaultListenableGraph<Object, DefaultEdge> g =
+        new DefaultListenableGraph<>(new SimpleGraph<>(DefaultEdge.class));
+    g.addVertex("v1");
+    g.addVertex("v2");
+    g.addVertex("v3");
+    DefaultEdge e12 = g.addEdge("v1", "v2");
+
+    List<GraphBatchChangeEvent<Object, DefaultEdge>> batches = new ArrayList<>();
+    g.addGraphListener(
+        new MyGraphListener<DefaultEdge>() {
+          @Override
+          public void graphChanged(GraphBatchChangeEvent<Object, DefaultEdge> e) {
+            batches.add(e);
+          }
+        });
+    NeighborCache<Object, DefaultEdge> cache = new NeighborCache<>(g);
+    g.addGraphListener(cache);
+    assertEquals(new HashSet<>(Arrays.asList("v1")), cache.neighborsOf("v2"));
+
+    g.beginBatch();
+    assertTrue(g.isBatchInProgress());
+    g.addVertex("v4");
+    g.addVertex("v5");
+    DefaultEdge e23 = g.addEdge("v2", "v3");
+    DefaultEdge e45 = g.addEdge("v4", "v5");
+    g.removeVertex("v5");
+    g.beginBatch();
+    g.removeEdge(e12);
+    g.commitBatch();
+    assertTrue(batches.isEmpty());
+    g.commitBatch();
+    assertFalse(g.isBatchInProgress());
+
+    assertEquals(null, lastAddedVertex);
+    assertEquals(null, lastAddedEdge);
+    assertEquals(1, batches.size());
+    GraphBatchChangeEvent<Object, DefaultEdge> batch = batches.get(0);
+    assertEquals(GraphBatchChangeEvent.BATCH_CHANGED, batch.getType());
+    assertEquals(Collections.singleton("v4"), batch.getAddedVertices());
+    assertTrue(batch.getRemovedVertices().isEmpty());
+    assertEquals(Collections.singleton(e23), batch.getAddedEdges());
+    assertEquals(Collections.singleton(e12), batch.getRemovedEdges());
+    assertFalse(batch.getAddedEdges().contains(e45));
+    assertEquals("v1", batch.getRemovedEdgeSource(e12));
+    assertEquals("v3", batch.getAddedEdgeTarget(e23));
+
+    assertEquals(new HashSet<>(Arrays.asList("v3")), cache.neighborsOf("v2"));
+
+    g.beginBatch();
+    g.addVertex("v6");
+    g.removeVertex("v6");
+    g.commitBatch();
+    assertEquals(1, batches.size());
+
+    try {
+      g.commitBatch();
+      fail("No batch in progress");
+    } catch (IllegalStateException e) {
+    }
+  }
+
+  /** Tests that an aborted batch leaves batch mode and delivers the changes made so far. */
+  public void testAbortBatch() {
+    init();
+
+    DefaultListenableGraph<Object, DefaultEdge> g =
+        new DefaultListenableGraph<>(new SimpleGraph<>(DefaultEdge.class));
+    NeighborCache<Object, DefaultEdge> cache = new NeighborCache<>(g);
+    g.addGraphListener(cache);
+    g.addVertex("v1");
+    g.addVertex("v2");
+    assertTrue(cache.neighborsOf("v1").isEmpty());
+
+    g.beginBatch();
+    try {
+      g.beginBatch();
+      g.addEdge("v1", "v2");
+      g.addEdge("v1", "v3");
+      fail("Vertex v3 is not in the graph");
+    } catch (IllegalArgumentException e) {
+      g.abortBatch();
+    }
+    assertFalse(g.isBatchInProgress());
+    assertEquals(Collections.singleton("v2"), cache.neighborsOf("v1"));
+
+    g.addVertex("v3");
+    g.addEdge("v1", "v3");
+    assertEquals(new HashSet<>(Arrays.asList("v2", "v3")), cache.neighborsOf("v1"));
+
+    g.abortBatch();
+    assertFalse(g.isBatchInProgress());
+  }
+
+  /** Tests that listeners without batch support receive the replayed events. */
+  public void testBatchReplay() {
+    init();
+
+    DefaultListenableGraph<Object, DefaultEdge> g =
+        new DefaultListenableGraph<>(new SimpleGraph<>(DefaultEdge.class));
+    g.addGraphListener(new MyGraphListener<>());
+    g.addVertex("v1");
+    init();
+
+    g.beginBatch();
+    g.addVertex("v2");
+    DefaultEdge e = g.addEdge("v1", "v2");
+    g.removeVertex("v1");
+    assertEquals(null, lastAddedVertex);
+    g.commitBatch();
+
+    assertEquals("v2", lastAddedVertex);
+    assertEquals("v1", lastRemovedVertex);
+    assertEquals(null, lastAddedEdge);
+    assertEquals(null, lastRemovedEdge);
+    assertFalse(g.containsEdge(e));
+  }
+
   private void init() {
     lastAddedEdge = null;
     lastAddedVertex = null;
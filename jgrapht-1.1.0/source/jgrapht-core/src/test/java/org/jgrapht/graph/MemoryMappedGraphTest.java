@@ -0,0 +1,223 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import junit.framework.*;
+import org.jgrapht.*;
+
+/** Unit tests for {@link MemoryMappedGraph}. */
+public class MemoryMappedGraphTest extends TestCase {
+  // ~ Instance fields --------------------------------------------------------
+
+  private Path file;
+
+  // ~ Methods ----------------------------------------------------------------
+
+  @Override
+  protected void setUp() throws IOException {
+    file = Files.createTempFile("jgrapht", ".graph");
+  }
+
+  @Override
+  protected void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  public void testDirected() throws IOException {
+    Graph<String, DefaultWeightedEdge> g =
+        new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+    randomGraph(g, 40, 300);
+    MemoryMappedGraph.write(g, file);
+    // small segments so that the arrays span many of them
+    assertSameGraph(g, new MemoryMappedGraph(file, 6));
+  }
+
+  public void testUndirected() throws IOException {
+    Graph<String, DefaultWeightedEdge> g = new WeightedPseudograph<>(DefaultWeightedEdge.class);
+    randomGraph(g, 40, 300);
+    MemoryMappedGraph.write(g, file);
+    assertSameGraph(g, new MemoryMappedGraph(file, 3));
+    assertSameGraph(g, new MemoryMappedGraph(file));
+  }
+
+  public void testUnweightedAndEmpty() throws IOException {
+    Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+    MemoryMappedGraph.write(g, file);
+    MemoryMappedGraph mapped = new MemoryMappedGraph(file);
+    assertTrue(mapped.vertexSet().isEmpty());
+    assertTrue(mapped.edgeSet().isEmpty());
+
+    g.addVertex("a");
+    g.addVertex("b");
+    g.addEdge("a", "b");
+    MemoryMappedGraph.write(g, file);
+    mapped = new MemoryMappedGraph(file);
+    assertFalse(mapped.getType().isWeighted());
+    assertFalse(mapped.getType().isModifiable());
+    assertEquals(Graph.DEFAULT_EDGE_WEIGHT, mapped.getEdgeWeight(0L));
+    assertEquals(Long.valueOf(0), mapped.getEdge(1, 0));
+    try {
+      mapped.addVertex(2);
+      fail("Graph is unmodifiable");
+    } catch (UnsupportedOperationException ignore) {
+    }
+    try {
+      mapped.getEdgeSource(1L);
+      fail("No such edge");
+    } catch (IllegalArgumentException ignore) {
+    }
+  }
+
+  public void testBuilder() throws IOException {
+    MemoryMappedGraph.Builder builder = new MemoryMappedGraph.Builder(true, true);
+    Graphs.addAllVertices(builder, Arrays.asList(0, 2, 3));
+    EdgeFactory<Integer, Long> ef = builder.getEdgeFactory();
+    Long e1 = ef.createEdge(3, 0);
+    assertTrue(builder.addEdge(3, 0, e1));
+    builder.setEdgeWeight(e1, 5d);
+    Long e2 = builder.addEdge(0, 2);
+    builder.setEdgeWeight(e2, 7d);
+    builder.addEdge(0, 0);
+    try {
+      builder.addEdge(0, 2, 10L);
+      fail("Edges must be numbered consecutively");
+    } catch (IllegalArgumentException ignore) {
+    }
+    try {
+      builder.addEdge(0, 1);
+      fail("No such vertex");
+    } catch (IllegalArgumentException ignore) {
+    }
+
+    MemoryMappedGraph g = builder.write(file);
+    assertEquals(4, g.vertexSet().size());
+    assertEquals(3, g.getEdgeCount());
+    assertEquals(0, g.degreeOf(1));
+    assertEquals(5d, g.getEdgeWeight(g.getEdge(3, 0)));
+    assertEquals(7d, g.getEdgeWeight(g.getEdge(0, 2)));
+    assertEquals(2, g.outDegreeOf(0));
+    assertEquals(2, g.inDegreeOf(0));
+    assertEquals(3, g.edgesOf(0).size());
+    assertEquals(4, g.degreeOf(0));
+  }
+
+  public void testClose() throws IOException {
+    MemoryMappedGraph.Builder builder = new MemoryMappedGraph.Builder(false, false);
+    Graphs.addAllVertices(builder, Arrays.asList(0, 1, 2));
+    builder.addEdge(0, 1);
+    builder.addEdge(2, 1);
+    assertEquals(2, builder.getEdgeCount());
+    MemoryMappedGraph g = builder.write(file);
+    Set<Long> edges = g.edgesOf(1);
+    g.close();
+    try {
+      edges.iterator().next();
+      fail("Graph is closed");
+    } catch (RuntimeException ignore) {
+    }
+
+    // the file can be replaced once it is no longer mapped
+    builder.addEdge(0, 2);
+    try (MemoryMappedGraph replaced = builder.write(file)) {
+      assertEquals(3, replaced.getEdgeCount());
+      assertEquals(2, replaced.degreeOf(2));
+    }
+  }
+
+  public void testInvalidFile() throws IOException {
+    Files.write(file, new byte[64]);
+    try {
+      new MemoryMappedGraph(file);
+      fail("Not a graph file");
+    } catch (IOException ignore) {
+    }
+  }
+
+  private static void randomGraph(Graph<String, DefaultWeightedEdge> g, int n, int m) {
+    Random rng = new Random(3);
+    for (int i = 0; i < n; i++) {
+      g.addVertex("v" + i);
+    }
+    for (int i = 0; i < m; i++) {
+      DefaultWeightedEdge e = g.addEdge("v" + rng.nextInt(n), "v" + rng.nextInt(n));
+      g.setEdgeWeight(e, rng.nextInt(100));
+    }
+  }
+
+  private static <E> void assertSameGraph(Graph<String, E> expected, MemoryMappedGraph actual) {
+    List<String> vertices = new ArrayList<>(expected.vertexSet());
+    assertEquals(vertices.size(), actual.vertexSet().size());
+    assertEquals(expected.edgeSet().size(), actual.edgeSet().size());
+    assertEquals(expected.getType().isDirected(), actual.getType().isDirected());
+    for (int v = 0; v < vertices.size(); v++) {
+      String vertex = vertices.get(v);
+      assertEquals(expected.degreeOf(vertex), actual.degreeOf(v));
+      assertEquals(expected.inDegreeOf(vertex), actual.inDegreeOf(v));
+      assertEquals(expected.outDegreeOf(vertex), actual.outDegreeOf(v));
+      assertEquals(
+          describe(expected, vertices, vertex, expected.outgoingEdgesOf(vertex)),
+          describe(actual, v, actual.outgoingEdgesOf(v)));
+      assertEquals(
+          describe(expected, vertices, vertex, expected.incomingEdgesOf(vertex)),
+          describe(actual, v, actual.incomingEdgesOf(v)));
+      assertEquals(
+          describe(expected, vertices, vertex, expected.edgesOf(vertex)),
+          describe(actual, v, actual.edgesOf(v)));
+      assertEquals(expected.edgesOf(vertex).size(), actual.edgesOf(v).size());
+      for (Long e : actual.edgesOf(v)) {
+        assertTrue(actual.edgesOf(v).contains(e));
+        assertTrue(actual.outgoingEdgesOf(v).contains(e) || actual.incomingEdgesOf(v).contains(e));
+      }
+      for (int u = 0; u < vertices.size(); u++) {
+        Set<E> edges = expected.getAllEdges(vertex, vertices.get(u));
+        assertEquals(edges.size(), actual.getAllEdges(v, u).size());
+        assertEquals(edges.isEmpty(), actual.getEdge(v, u) == null);
+        for (Long e : actual.getAllEdges(v, u)) {
+          assertTrue(actual.outgoingEdgesOf(v).contains(e));
+        }
+      }
+    }
+  }
+
+  /*
+   * The opposite vertex and weight of each edge, sorted.
+   */
+  private static <E> List<String> describe(
+      Graph<String, E> g, List<String> vertices, String v, Set<E> edges) {
+    List<String> result = new ArrayList<>();
+    for (E e : edges) {
+      result.add(vertices.indexOf(Graphs.getOppositeVertex(g, e, v)) + ":" + g.getEdgeWeight(e));
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  private static List<String> describe(MemoryMappedGraph g, int v, Set<Long> edges) {
+    List<String> result = new ArrayList<>();
+    for (Long e : edges) {
+      result.add(Graphs.getOppositeVertex(g, e, v) + ":" + g.getEdgeWeight(e));
+    }
+    Collections.sort(result);
+    return result;
+  }
+}
+
+// End MemoryMappedGraphTest.java
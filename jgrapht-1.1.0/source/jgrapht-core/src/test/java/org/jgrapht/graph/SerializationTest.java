@@ -18,7 +18,10 @@
 package org.jgrapht.graph;
 
 import java.io.*;
+import java.util.*;
 import org.jgrapht.*;
+import org.jgrapht.graph.specifics.*;
+import org.jgrapht.util.*;
 
 /**
  * SerializationTest tests serialization and deserialization of JGraphT objects.
@@ -90,6 +93,72 @@ public class SerializationTest extends EnhancedTestCase {
     assertEquals(graph1.toString(), graph2.toString());
   }
 
+  /** Tests serialization of a graph whose vertices have identity hash codes. */
+  public void testIdentityVertices() throws Exception {
+    DefaultDirectedGraph<Node, DefaultEdge> graph1 = new DefaultDirectedGraph<>(DefaultEdge.class);
+    List<Node> nodes = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      nodes.add(new Node());
+      graph1.addVertex(nodes.get(i));
+    }
+    for (int i = 1; i < 50; i++) {
+      graph1.addEdge(nodes.get(i - 1), nodes.get(i));
+    }
+
+    DefaultDirectedGraph<Node, DefaultEdge> graph2 =
+        TypeUtil.uncheckedCast(serializeAndDeserialize(graph1), null);
+    List<Node> nodes2 = new ArrayList<>(graph2.vertexSet());
+    assertEquals(50, nodes2.size());
+    for (int i = 0; i < 50; i++) {
+      assertTrue(graph2.containsVertex(nodes2.get(i)));
+      assertEquals(i == 0 ? 0 : 1, graph2.inDegreeOf(nodes2.get(i)));
+    }
+    assertFalse(graph2.containsVertex(nodes.get(0)));
+    assertNotNull(graph2.addEdge(nodes2.get(49), nodes2.get(0)));
+  }
+
+  /** Tests edge lookups after serialization of graphs whose vertices have identity hash codes. */
+  public void testIdentityVertexEdges() throws Exception {
+    checkIdentityVertexEdges(new DirectedPseudograph<>(DefaultEdge.class));
+    checkIdentityVertexEdges(new Pseudograph<>(DefaultEdge.class));
+    checkIdentityVertexEdges(new CompactDirectedPseudograph());
+    checkIdentityVertexEdges(new CompactPseudograph());
+  }
+
+  private void checkIdentityVertexEdges(Graph<Node, DefaultEdge> graph1) throws Exception {
+    List<Node> nodes = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      nodes.add(new Node());
+      graph1.addVertex(nodes.get(i));
+    }
+    for (int i = 1; i < 50; i++) {
+      graph1.addEdge(nodes.get(i - 1), nodes.get(i));
+    }
+    graph1.addEdge(nodes.get(0), nodes.get(1));
+    graph1.addEdge(nodes.get(0), nodes.get(1));
+
+    Graph<Node, DefaultEdge> graph2 =
+        TypeUtil.uncheckedCast(serializeAndDeserialize(graph1), null);
+    List<Node> nodes2 = new ArrayList<>(graph2.vertexSet());
+    for (int i = 1; i < 50; i++) {
+      Node u = nodes2.get(i - 1);
+      Node v = nodes2.get(i);
+      DefaultEdge e = graph2.getEdge(u, v);
+      assertNotNull(e);
+      assertTrue(graph2.containsEdge(u, v));
+      assertEquals(i == 1 ? 3 : 1, graph2.getAllEdges(u, v).size());
+      assertTrue(graph2.getAllEdges(u, v).contains(e));
+      assertSame(u, graph2.getEdgeSource(e));
+    }
+    assertNull(graph2.getEdge(nodes2.get(0), nodes2.get(2)));
+
+    graph2.removeEdge(nodes2.get(0), nodes2.get(1));
+    assertEquals(2, graph2.getAllEdges(nodes2.get(0), nodes2.get(1)).size());
+    graph2.removeVertex(nodes2.get(25));
+    assertNull(graph2.getEdge(nodes2.get(24), nodes2.get(25)));
+    assertNotNull(graph2.getEdge(nodes2.get(26), nodes2.get(27)));
+  }
+
   private Object serializeAndDeserialize(Object obj) throws Exception {
     ByteArrayOutputStream bout = new ByteArrayOutputStream();
     ObjectOutputStream out = new ObjectOutputStream(bout);
@@ -103,6 +172,37 @@ public class SerializationTest extends EnhancedTestCase {
     obj = in.readObject();
     return obj;
   }
+
+  /** A vertex without equals and hashCode. */
+  private static class Node implements Serializable {
+    private static final long serialVersionUID = 1L;
+  }
+
+  private static class CompactDirectedPseudograph extends DirectedPseudograph<Node, DefaultEdge> {
+    private static final long serialVersionUID = 1L;
+
+    CompactDirectedPseudograph() {
+      super(DefaultEdge.class);
+    }
+
+    @Override
+    protected Specifics<Node, DefaultEdge> createSpecifics(boolean directed) {
+      return new CompactFastLookupDirectedSpecifics<>(this);
+    }
+  }
+
+  private static class CompactPseudograph extends Pseudograph<Node, DefaultEdge> {
+    private static final long serialVersionUID = 1L;
+
+    CompactPseudograph() {
+      super(DefaultEdge.class);
+    }
+
+    @Override
+    protected Specifics<Node, DefaultEdge> createSpecifics(boolean directed) {
+      return new CompactFastLookupUndirectedSpecifics<>(this);
+    }
+  }
 }
 
 // End SerializationTest.java
@@ -0,0 +1,186 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import java.util.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+/**
+ * Unit tests for {@link CompactFastLookupDirectedSpecifics} and {@link
+ * CompactFastLookupUndirectedSpecifics}.
+ */
+public class CompactFastLookupSpecificsTest extends TestCase {
+  // ~ Methods ----------------------------------------------------------------
+
+  public void testDirectedRandomOperations() {
+    Graph<Integer, DefaultEdge> expected =
+        new DirectedPseudograph<Integer, DefaultEdge>(DefaultEdge.class) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected Specifics<Integer, DefaultEdge> createSpecifics(boolean directed) {
+            return new DirectedSpecifics<>(this);
+          }
+        };
+    Graph<Integer, DefaultEdge> actual =
+        new DirectedPseudograph<Integer, DefaultEdge>(DefaultEdge.class) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected Specifics<Integer, DefaultEdge> createSpecifics(boolean directed) {
+            return new CompactFastLookupDirectedSpecifics<>(this);
+          }
+        };
+    randomOperations(expected, actual);
+  }
+
+  public void testUndirectedRandomOperations() {
+    Graph<Integer, DefaultEdge> expected =
+        new Pseudograph<Integer, DefaultEdge>(DefaultEdge.class) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected Specifics<Integer, DefaultEdge> createSpecifics(boolean directed) {
+            return new UndirectedSpecifics<>(this);
+          }
+        };
+    Graph<Integer, DefaultEdge> actual =
+        new Pseudograph<Integer, DefaultEdge>(DefaultEdge.class) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected Specifics<Integer, DefaultEdge> createSpecifics(boolean directed) {
+            return new CompactFastLookupUndirectedSpecifics<>(this);
+          }
+        };
+    randomOperations(expected, actual);
+  }
+
+  public void testReadOnlyEdgeSets() {
+    Graph<String, DefaultEdge> g = new CompactDirectedMultigraph<>();
+    Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+    DefaultEdge e1 = g.addEdge("a", "b");
+    DefaultEdge e2 = g.addEdge("a", "b");
+    DefaultEdge e3 = g.addEdge("a", "b");
+
+    assertEquals(e1, g.getEdge("a", "b"));
+    assertNull(g.getEdge("b", "a"));
+    assertTrue(g.getAllEdges("b", "a").isEmpty());
+    assertNull(g.getAllEdges("a", "d"));
+
+    Set<DefaultEdge> edges = g.getAllEdges("a", "b");
+    assertEquals(new HashSet<>(Arrays.asList(e1, e2, e3)), edges);
+    try {
+      edges.remove(e1);
+      fail("Set is read-only");
+    } catch (UnsupportedOperationException ignore) {
+    }
+
+    assertEquals(edges, g.removeAllEdges("a", "b"));
+    assertEquals(3, edges.size());
+    assertFalse(g.containsEdge("a", "b"));
+    assertTrue(g.edgeSet().isEmpty());
+  }
+
+  public void testManyParallelEdges() {
+    Graph<String, DefaultEdge> g = new CompactDirectedMultigraph<>();
+    Graphs.addAllVertices(g, Arrays.asList("a", "b"));
+    List<DefaultEdge> added = new ArrayList<>();
+    List<Set<DefaultEdge>> views = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      added.add(g.addEdge("a", "b"));
+      views.add(g.getAllEdges("a", "b"));
+    }
+
+    // sets handed out earlier are not affected by later additions or removals
+    g.removeEdge(added.get(0));
+    g.addEdge("a", "b");
+    for (int i = 0; i < views.size(); i++) {
+      assertEquals(new ArrayList<>(added.subList(0, i + 1)), new ArrayList<>(views.get(i)));
+    }
+    assertEquals(1000, g.getAllEdges("a", "b").size());
+    assertFalse(g.getAllEdges("a", "b").contains(added.get(0)));
+    assertEquals(added.get(1), g.getEdge("a", "b"));
+
+    for (int i = 1; i < 1000; i++) {
+      assertTrue(g.removeEdge(added.get(i)));
+    }
+    assertEquals(1, g.getAllEdges("a", "b").size());
+  }
+
+  private static void randomOperations(
+      Graph<Integer, DefaultEdge> expected, Graph<Integer, DefaultEdge> actual) {
+    final int n = 30;
+    Random rng = new Random(11);
+    for (int v = 0; v < n; v++) {
+      expected.addVertex(v);
+      actual.addVertex(v);
+    }
+    List<DefaultEdge> edges = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      int op = rng.nextInt(10);
+      if (op < 5 || edges.isEmpty()) {
+        Integer s = rng.nextInt(n);
+        Integer t = rng.nextInt(n);
+        DefaultEdge e = expected.addEdge(s, t);
+        assertTrue(actual.addEdge(s, t, e));
+        edges.add(e);
+      } else if (op < 9) {
+        DefaultEdge e = edges.remove(rng.nextInt(edges.size()));
+        assertTrue(expected.removeEdge(e));
+        assertTrue(actual.removeEdge(e));
+      } else {
+        Integer v = rng.nextInt(n);
+        expected.removeVertex(v);
+        actual.removeVertex(v);
+        edges.retainAll(expected.edgeSet());
+        expected.addVertex(v);
+        actual.addVertex(v);
+      }
+
+      Integer s = rng.nextInt(n);
+      Integer t = rng.nextInt(n);
+      assertEquals(expected.getAllEdges(s, t), actual.getAllEdges(s, t));
+      assertEquals(expected.containsEdge(s, t), actual.containsEdge(s, t));
+      assertEquals(expected.getEdge(s, t) == null, actual.getEdge(s, t) == null);
+    }
+    for (Integer s : expected.vertexSet()) {
+      for (Integer t : expected.vertexSet()) {
+        assertEquals(expected.getAllEdges(s, t), actual.getAllEdges(s, t));
+        assertEquals(expected.getEdge(s, t), actual.getEdge(s, t));
+      }
+    }
+  }
+
+  private static class CompactDirectedMultigraph<V> extends DirectedMultigraph<V, DefaultEdge> {
+    private static final long serialVersionUID = 1L;
+
+    CompactDirectedMultigraph() {
+      super(DefaultEdge.class);
+    }
+
+    @Override
+    protected Specifics<V, DefaultEdge> createSpecifics(boolean directed) {
+      return new CompactFastLookupDirectedSpecifics<>(this);
+    }
+  }
+}
+
+// End CompactFastLookupSpecificsTest.java
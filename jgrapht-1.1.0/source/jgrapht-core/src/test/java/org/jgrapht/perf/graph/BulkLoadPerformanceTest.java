@@ -0,0 +1,101 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.graph;
+
+import java.util.*;
+import java.util.concurrent.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Benchmark for loading a large edge list into a graph, comparing one call to {@link
+ * Graph#addEdge(Object, Object)} per edge against {@link AbstractBaseGraph#addAllEdgesBulk(List,
+ * List, boolean)}.
+ */
+public class BulkLoadPerformanceTest extends TestCase {
+  public static final int PERF_BENCHMARK_VERTICES_COUNT = 100000;
+  public static final int PERF_BENCHMARK_EDGES_COUNT = 1000000;
+  public static final long SEED = 23;
+
+  @State(Scope.Benchmark)
+  private abstract static class BulkLoadBenchmarkBase {
+    protected List<Integer> sources;
+    protected List<Integer> targets;
+
+    @Setup
+    public void setup() {
+      Random rng = new Random(SEED);
+      sources = new ArrayList<>(PERF_BENCHMARK_EDGES_COUNT);
+      targets = new ArrayList<>(PERF_BENCHMARK_EDGES_COUNT);
+      for (int i = 0; i < PERF_BENCHMARK_EDGES_COUNT; i++) {
+        sources.add(rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT));
+        targets.add(rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT));
+      }
+    }
+
+    abstract void load(DirectedPseudograph<Integer, DefaultEdge> graph);
+
+    @Benchmark
+    public Graph<Integer, DefaultEdge> loadGraph() {
+      DirectedPseudograph<Integer, DefaultEdge> graph =
+          new DirectedPseudograph<>(DefaultEdge.class);
+      load(graph);
+      return graph;
+    }
+  }
+
+  public static class PerEdgeLoadBenchmark extends BulkLoadBenchmarkBase {
+    @Override
+    void load(DirectedPseudograph<Integer, DefaultEdge> graph) {
+      for (int i = 0; i < sources.size(); i++) {
+        Graphs.addEdgeWithVertices(graph, sources.get(i), targets.get(i));
+      }
+    }
+  }
+
+  public static class BulkLoadBenchmark extends BulkLoadBenchmarkBase {
+    @Override
+    void load(DirectedPseudograph<Integer, DefaultEdge> graph) {
+      graph.ensureCapacity(PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_COUNT);
+      graph.addAllEdgesBulk(sources, targets, true);
+    }
+  }
+
+  public void testBulkLoadBenchmark() throws RunnerException {
+    Options opt =
+        new OptionsBuilder()
+            .include(".*" + PerEdgeLoadBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + BulkLoadBenchmark.class.getSimpleName() + ".*")
+            .mode(Mode.SingleShotTime)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
+
+// End BulkLoadPerformanceTest.java
@@ -0,0 +1,163 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.graph;
+
+import java.util.*;
+import java.util.concurrent.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Benchmark with several reader threads and a single writer thread sharing a graph. The readers
+ * repeatedly sum the weights of the outgoing edges of random vertices, while the writer updates
+ * edge weights and adds and removes edges. A {@link ConcurrentGraph} is compared against a regular
+ * graph guarded by a single global lock.
+ */
+public class ConcurrentGraphPerformanceTest extends TestCase {
+  public static final int PERF_BENCHMARK_VERTICES_COUNT = 1000;
+  public static final int PERF_BENCHMARK_EDGES_COUNT = 20000;
+  public static final int PERF_BENCHMARK_READERS = 3;
+  public static final long SEED = 13;
+
+  @State(Scope.Group)
+  private abstract static class ConcurrentGraphBenchmarkBase {
+    protected Graph<Integer, DefaultWeightedEdge> graph;
+    protected List<DefaultWeightedEdge> edges;
+
+    @Setup
+    public void setup() {
+      graph = createGraph();
+      new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+              PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_COUNT, SEED, false, false)
+          .generateGraph(graph, new IntegerVertexFactory(), null);
+      edges = new ArrayList<>(graph.edgeSet());
+    }
+
+    abstract Graph<Integer, DefaultWeightedEdge> createGraph();
+
+    abstract double read(Integer v);
+
+    abstract void write(int index, double weight);
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(PERF_BENCHMARK_READERS)
+    public double reader() {
+      return read(ThreadLocalRandom.current().nextInt(PERF_BENCHMARK_VERTICES_COUNT));
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void writer() {
+      ThreadLocalRandom rng = ThreadLocalRandom.current();
+      write(rng.nextInt(edges.size()), rng.nextDouble());
+    }
+
+    /*
+     * Replace an edge by a new one between two random vertices. The number of edges stays fixed.
+     */
+    protected void replaceEdge(int index, double weight) {
+      DefaultWeightedEdge e = edges.get(index);
+      ThreadLocalRandom rng = ThreadLocalRandom.current();
+      Integer s = rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT);
+      Integer t = rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT);
+      if (graph.containsEdge(s, t) || s.equals(t)) {
+        graph.setEdgeWeight(e, weight);
+        return;
+      }
+      graph.removeEdge(e);
+      DefaultWeightedEdge newEdge = graph.addEdge(s, t);
+      graph.setEdgeWeight(newEdge, weight);
+      edges.set(index, newEdge);
+    }
+
+    protected double sumOutgoingWeights(Integer v) {
+      double sum = 0d;
+      for (DefaultWeightedEdge e : graph.outgoingEdgesOf(v)) {
+        sum += graph.getEdgeWeight(e);
+      }
+      return sum;
+    }
+  }
+
+  public static class ConcurrentGraphBenchmark extends ConcurrentGraphBenchmarkBase {
+    @Override
+    Graph<Integer, DefaultWeightedEdge> createGraph() {
+      return new ConcurrentGraph<>(DefaultWeightedEdge.class, true, false, false, true);
+    }
+
+    @Override
+    double read(Integer v) {
+      return sumOutgoingWeights(v);
+    }
+
+    @Override
+    void write(int index, double weight) {
+      replaceEdge(index, weight);
+    }
+  }
+
+  public static class GlobalLockGraphBenchmark extends ConcurrentGraphBenchmarkBase {
+    private final Object lock = new Object();
+
+    @Override
+    Graph<Integer, DefaultWeightedEdge> createGraph() {
+      return new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+    }
+
+    @Override
+    double read(Integer v) {
+      synchronized (lock) {
+        return sumOutgoingWeights(v);
+      }
+    }
+
+    @Override
+    void write(int index, double weight) {
+      synchronized (lock) {
+        replaceEdge(index, weight);
+      }
+    }
+  }
+
+  public void testConcurrentGraphBenchmark() throws RunnerException {
+    Options opt =
+        new OptionsBuilder()
+            .include(".*" + ConcurrentGraphBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + GlobalLockGraphBenchmark.class.getSimpleName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
+
+// End ConcurrentGraphPerformanceTest.java
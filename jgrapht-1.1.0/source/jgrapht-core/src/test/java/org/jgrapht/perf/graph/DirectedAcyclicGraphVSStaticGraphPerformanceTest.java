@@ -135,6 +135,44 @@ public class DirectedAcyclicGraphVSStaticGraphPerformanceTest extends TestCase {
     }
   }
 
+  /**
+   * Query-only variant: the random graph is compressed into a {@link CompressedSparseRowGraph} and
+   * a single static cycle detection is performed on the compressed graph.
+   */
+  @State(Scope.Benchmark)
+  public static class CompressedGraphWithCycleDetectorRandomGraphBenchmark {
+    @Setup(Level.Iteration)
+    public void setup() {}
+
+    @Benchmark
+    public void run() {
+      int trialsPerConfiguration = 10;
+      int maxVertices = 1024;
+      int maxConnectednessFactor = 4;
+
+      for (int numVertices = 1024; numVertices <= maxVertices; numVertices *= 2) {
+        for (int connectednessFactor = 1;
+            (connectednessFactor <= maxConnectednessFactor)
+                && (connectednessFactor < (numVertices - 1));
+            connectednessFactor *= 2) {
+          for (int seed = 0; seed < trialsPerConfiguration; seed++) {
+            Graph<Long, DefaultEdge> sourceGraph = new SimpleDirectedGraph<>(DefaultEdge.class);
+            RepeatableRandomGraphGenerator<Long, DefaultEdge> gen =
+                new RepeatableRandomGraphGenerator<>(
+                    numVertices, numVertices * connectednessFactor, seed);
+            gen.generateGraph(sourceGraph, new LongVertexFactory(), null);
+
+            CompressedSparseRowGraph<Long, DefaultEdge> compareGraph =
+                new CompressedSparseRowGraph<>(sourceGraph);
+
+            CycleDetector<Long, DefaultEdge> cycleDetector = new CycleDetector<>(compareGraph);
+            cycleDetector.detectCycles();
+          }
+        }
+      }
+    }
+  }
+
   public void testDirectedAcyclicGraphVSStaticGraphRandomGraphBenchmark() throws RunnerException {
     Options opt =
         new OptionsBuilder()
@@ -143,6 +181,10 @@ public class DirectedAcyclicGraphVSStaticGraphPerformanceTest extends TestCase {
                 ".*"
                     + StaticGraphWithCycleDetectorRandomGraphBenchmark.class.getSimpleName()
                     + ".*")
+            .include(
+                ".*"
+                    + CompressedGraphWithCycleDetectorRandomGraphBenchmark.class.getSimpleName()
+                    + ".*")
             .mode(Mode.SingleShotTime)
             .timeUnit(TimeUnit.MILLISECONDS)
             .warmupIterations(5)
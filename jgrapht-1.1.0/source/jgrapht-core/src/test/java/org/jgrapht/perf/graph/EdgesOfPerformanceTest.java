@@ -0,0 +1,124 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.graph;
+
+import java.util.*;
+import java.util.concurrent.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+import org.openjdk.jmh.profile.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Benchmark for {@link Graph#edgesOf(Object)} on directed graphs, as used in the inner loops of
+ * algorithms like coreness or greedy coloring. The live view returned by the graph is compared
+ * against copying the incoming and outgoing edges into a new set on every call, which is how the
+ * edges of a vertex used to be computed. Run with the GC profiler in order to compare the
+ * allocation rates.
+ */
+public class EdgesOfPerformanceTest extends TestCase {
+  public static final int PERF_BENCHMARK_VERTICES_COUNT = 1000;
+  public static final int PERF_BENCHMARK_EDGES_COUNT = 50000;
+  public static final long SEED = 17;
+
+  @State(Scope.Benchmark)
+  private abstract static class EdgesOfBenchmarkBase {
+    protected Graph<Integer, DefaultEdge> graph;
+
+    @Setup
+    public void setup() {
+      graph = new DirectedPseudograph<>(DefaultEdge.class);
+      new GnmRandomGraphGenerator<Integer, DefaultEdge>(
+              PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_COUNT, SEED, true, true)
+          .generateGraph(graph, new IntegerVertexFactory(), null);
+    }
+
+    abstract Set<DefaultEdge> edgesOf(Integer v);
+
+    @Benchmark
+    public int sizeOfEdges() {
+      int total = 0;
+      for (Integer v : graph.vertexSet()) {
+        total += edgesOf(v).size();
+      }
+      return total;
+    }
+
+    @Benchmark
+    public void iterateEdges(Blackhole blackhole) {
+      for (Integer v : graph.vertexSet()) {
+        for (DefaultEdge e : edgesOf(v)) {
+          blackhole.consume(e);
+        }
+      }
+    }
+  }
+
+  public static class LiveViewEdgesOfBenchmark extends EdgesOfBenchmarkBase {
+    @Override
+    Set<DefaultEdge> edgesOf(Integer v) {
+      return graph.edgesOf(v);
+    }
+  }
+
+  public static class CopyingEdgesOfBenchmark extends EdgesOfBenchmarkBase {
+    @Override
+    Set<DefaultEdge> edgesOf(Integer v) {
+      ArrayUnenforcedSet<DefaultEdge> inAndOut = new ArrayUnenforcedSet<>(graph.incomingEdgesOf(v));
+      inAndOut.addAll(graph.outgoingEdgesOf(v));
+      Set<DefaultEdge> loops = graph.getAllEdges(v, v);
+      for (int i = 0; i < inAndOut.size(); ) {
+        DefaultEdge e = inAndOut.get(i);
+        if (loops.contains(e)) {
+          inAndOut.remove(i);
+          loops.remove(e);
+        } else {
+          i++;
+        }
+      }
+      return Collections.unmodifiableSet(inAndOut);
+    }
+  }
+
+  public void testEdgesOfBenchmark() throws RunnerException {
+    Options opt =
+        new OptionsBuilder()
+            .include(".*" + LiveViewEdgesOfBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + CopyingEdgesOfBenchmark.class.getSimpleName() + ".*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .forks(1)
+            .addProfiler(GCProfiler.class)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
+
+// End EdgesOfPerformanceTest.java
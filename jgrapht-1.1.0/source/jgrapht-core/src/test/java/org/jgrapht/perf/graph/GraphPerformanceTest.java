@@ -20,6 +20,7 @@ package org.jgrapht.perf.graph;
 import java.util.*;
 import java.util.concurrent.*;
 import junit.framework.*;
+import org.jgrapht.*;
 import org.jgrapht.alg.*;
 import org.jgrapht.alg.flow.*;
 import org.jgrapht.alg.interfaces.*;
@@ -98,13 +99,13 @@ public class GraphPerformanceTest extends TestCase {
         Integer sink = vertices[vertices.length - 1];
 
         // Run various algorithms on the graph
-        double length = this.calculateShorestPath(graph, source, sink);
+        double length = calculateShorestPath(graph, source, sink);
         blackhole.consume(length);
 
-        double maxFlow = this.calculateMaxFlow(graph, source, sink);
+        double maxFlow = calculateMaxFlow(graph, source, sink);
         blackhole.consume(maxFlow);
 
-        boolean isStronglyConnected = this.isStronglyConnected(graph);
+        boolean isStronglyConnected = isStronglyConnected(graph);
         blackhole.consume(isStronglyConnected);
 
         // Destroy some random edges in the graph
@@ -112,31 +113,6 @@ public class GraphPerformanceTest extends TestCase {
       }
     }
 
-    private double calculateShorestPath(
-        SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph,
-        Integer source,
-        Integer sink) {
-      DijkstraShortestPath<Integer, DefaultWeightedEdge> shortestPathAlg =
-          new DijkstraShortestPath<>(graph);
-      return shortestPathAlg.getPath(source, sink).getWeight();
-    }
-
-    private double calculateMaxFlow(
-        SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph,
-        Integer source,
-        Integer sink) {
-      EdmondsKarpMFImpl<Integer, DefaultWeightedEdge> maximumFlowAlg =
-          new EdmondsKarpMFImpl<>(graph);
-      return maximumFlowAlg.getMaximumFlow(source, sink).getValue();
-    }
-
-    private boolean isStronglyConnected(
-        SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph) {
-      StrongConnectivityAlgorithm<Integer, DefaultWeightedEdge> strongConnectivityAlg =
-          new GabowStrongConnectivityInspector<>(graph);
-      return strongConnectivityAlg.isStronglyConnected();
-    }
-
     private void destroyRandomEdges(
         SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph) {
       int nrVertices = graph.vertexSet().size();
@@ -177,11 +153,72 @@ public class GraphPerformanceTest extends TestCase {
     }
   }
 
+  /**
+   * Immutable compressed sparse row copy of the same random SimpleDirectedWeightedGraph. The
+   * construction time includes building the source graph. The compressed graph cannot be
+   * modified, therefore the benchmark only runs the algorithms and skips the destruction of the
+   * graph.
+   */
+  @State(Scope.Benchmark)
+  public static class CompressedDirectedGraphBenchmark {
+
+    private Blackhole blackhole;
+    private GnmRandomGraphGenerator<Integer, DefaultWeightedEdge> rgg;
+    private CompressedSparseRowGraph<Integer, DefaultWeightedEdge> graph;
+
+    @Setup
+    public void setup() {
+      blackhole = new Blackhole();
+    }
+
+    /** Benchmark 1: graph construction, including the compression */
+    @Benchmark
+    public void generateGraphBenchmark() {
+      for (int i = 0; i < NR_GRAPHS; i++) {
+        rgg =
+            new GnmRandomGraphGenerator<>(
+                PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_COUNT, SEED + i);
+        graph = constructGraph();
+      }
+    }
+
+    /** Benchmark 2: Simulate graph usage: Create a graph and perform various algorithms */
+    @Benchmark
+    public void graphPerformanceBenchmark() {
+      for (int i = 0; i < NR_GRAPHS; i++) {
+        rgg =
+            new GnmRandomGraphGenerator<>(
+                PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_COUNT, SEED + i);
+        graph = constructGraph();
+
+        Integer source = graph.getVertex(0);
+        Integer sink = graph.getVertex(graph.vertexSet().size() - 1);
+
+        double length = calculateShorestPath(graph, source, sink);
+        blackhole.consume(length);
+
+        double maxFlow = calculateMaxFlow(graph, source, sink);
+        blackhole.consume(maxFlow);
+
+        boolean isStronglyConnected = isStronglyConnected(graph);
+        blackhole.consume(isStronglyConnected);
+      }
+    }
+
+    private CompressedSparseRowGraph<Integer, DefaultWeightedEdge> constructGraph() {
+      SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph =
+          new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+      rgg.generateGraph(graph, new IntegerVertexFactory(1), null);
+      return new CompressedSparseRowGraph<>(graph);
+    }
+  }
+
   public void testRandomGraphBenchmark() throws RunnerException {
     Options opt =
         new OptionsBuilder()
             .include(".*" + MemoryEfficientDirectedGraphBenchmark.class.getSimpleName() + ".*")
             .include(".*" + FastLookupDirectedGraphBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + CompressedDirectedGraphBenchmark.class.getSimpleName() + ".*")
             .mode(Mode.AverageTime)
             .timeUnit(TimeUnit.MILLISECONDS)
             // .warmupTime(TimeValue.seconds(1))
@@ -196,6 +233,25 @@ public class GraphPerformanceTest extends TestCase {
     new Runner(opt).run();
   }
 
+  private static double calculateShorestPath(
+      Graph<Integer, DefaultWeightedEdge> graph, Integer source, Integer sink) {
+    DijkstraShortestPath<Integer, DefaultWeightedEdge> shortestPathAlg =
+        new DijkstraShortestPath<>(graph);
+    return shortestPathAlg.getPath(source, sink).getWeight();
+  }
+
+  private static double calculateMaxFlow(
+      Graph<Integer, DefaultWeightedEdge> graph, Integer source, Integer sink) {
+    EdmondsKarpMFImpl<Integer, DefaultWeightedEdge> maximumFlowAlg = new EdmondsKarpMFImpl<>(graph);
+    return maximumFlowAlg.getMaximumFlow(source, sink).getValue();
+  }
+
+  private static boolean isStronglyConnected(Graph<Integer, DefaultWeightedEdge> graph) {
+    StrongConnectivityAlgorithm<Integer, DefaultWeightedEdge> strongConnectivityAlg =
+        new GabowStrongConnectivityInspector<>(graph);
+    return strongConnectivityAlg.isStronglyConnected();
+  }
+
   /**
    * Creates an memory efficient graph implementation.
    *
@@ -0,0 +1,168 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.shortestpath;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.alg.spanning.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/** A small benchmark comparing the addressable heaps in Dijkstra's and Prim's algorithms. */
+public class AddressableHeapPerformanceTest extends TestCase {
+
+  public static final int PERF_BENCHMARK_VERTICES_COUNT = 10000;
+  public static final int PERF_BENCHMARK_EDGES_COUNT = 100000;
+  public static final long SEED = 17l;
+
+  @State(Scope.Benchmark)
+  private abstract static class DijkstraBenchmarkBase {
+    private Graph<Integer, DefaultWeightedEdge> graph;
+
+    abstract Supplier<AddressableHeap<Integer>> createHeapSupplier();
+
+    @Setup(Level.Trial)
+    public void setup() {
+      graph = createGraph(new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+    }
+
+    @Benchmark
+    public void run() {
+      new DijkstraShortestPath<>(graph, Double.POSITIVE_INFINITY, createHeapSupplier()).getPaths(0);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  private abstract static class PrimBenchmarkBase {
+    private Graph<Integer, DefaultWeightedEdge> graph;
+
+    abstract Supplier<AddressableHeap<Integer>> createHeapSupplier();
+
+    @Setup(Level.Trial)
+    public void setup() {
+      graph = createGraph(new WeightedPseudograph<>(DefaultWeightedEdge.class));
+    }
+
+    @Benchmark
+    public void run() {
+      new PrimMinimumSpanningTree<>(graph, createHeapSupplier()).getSpanningTree();
+    }
+  }
+
+  public static class DijkstraFibonacciHeapBenchmark extends DijkstraBenchmarkBase {
+    @Override
+    Supplier<AddressableHeap<Integer>> createHeapSupplier() {
+      return FibonacciHeap::new;
+    }
+  }
+
+  public static class DijkstraBinaryHeapBenchmark extends DijkstraBenchmarkBase {
+    @Override
+    Supplier<AddressableHeap<Integer>> createHeapSupplier() {
+      return DaryHeap::new;
+    }
+  }
+
+  public static class DijkstraFourAryHeapBenchmark extends DijkstraBenchmarkBase {
+    @Override
+    Supplier<AddressableHeap<Integer>> createHeapSupplier() {
+      return () -> new DaryHeap<>(4);
+    }
+  }
+
+  public static class DijkstraPairingHeapBenchmark extends DijkstraBenchmarkBase {
+    @Override
+    Supplier<AddressableHeap<Integer>> createHeapSupplier() {
+      return PairingHeap::new;
+    }
+  }
+
+  public static class DijkstraRadixHeapBenchmark extends DijkstraBenchmarkBase {
+    @Override
+    Supplier<AddressableHeap<Integer>> createHeapSupplier() {
+      return RadixHeap::new;
+    }
+  }
+
+  public static class PrimFibonacciHeapBenchmark extends PrimBenchmarkBase {
+    @Override
+    Supplier<AddressableHeap<Integer>> createHeapSupplier() {
+      return FibonacciHeap::new;
+    }
+  }
+
+  public static class PrimBinaryHeapBenchmark extends PrimBenchmarkBase {
+    @Override
+    Supplier<AddressableHeap<Integer>> createHeapSupplier() {
+      return DaryHeap::new;
+    }
+  }
+
+  public static class PrimFourAryHeapBenchmark extends PrimBenchmarkBase {
+    @Override
+    Supplier<AddressableHeap<Integer>> createHeapSupplier() {
+      return () -> new DaryHeap<>(4);
+    }
+  }
+
+  public static class PrimPairingHeapBenchmark extends PrimBenchmarkBase {
+    @Override
+    Supplier<AddressableHeap<Integer>> createHeapSupplier() {
+      return PairingHeap::new;
+    }
+  }
+
+  private static Graph<Integer, DefaultWeightedEdge> createGraph(
+      Graph<Integer, DefaultWeightedEdge> graph) {
+    new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+            PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_COUNT, SEED, true, true)
+        .generateGraph(graph, new IntegerVertexFactory(), null);
+    Random rng = new Random(SEED);
+    for (DefaultWeightedEdge e : graph.edgeSet()) {
+      graph.setEdgeWeight(e, rng.nextDouble());
+    }
+    return graph;
+  }
+
+  public void testRandomGraphBenchmark() throws RunnerException {
+    Options opt =
+        new OptionsBuilder()
+            .include(".*" + AddressableHeapPerformanceTest.class.getSimpleName() + ".*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(5)
+            .measurementIterations(10)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
+
+// End AddressableHeapPerformanceTest.java
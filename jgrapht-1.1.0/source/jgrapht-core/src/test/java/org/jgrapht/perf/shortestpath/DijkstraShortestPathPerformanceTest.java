@@ -33,7 +33,9 @@ import org.openjdk.jmh.runner.*;
 
 /**
  * A small benchmark comparing Dijkstra like algorithms. The benchmark creates a random graph and
- * computes all-pairs shortest paths.
+ * computes all-pairs shortest paths. A second benchmark compares sequential and parallel
+ * single-source shortest paths on a larger random graph. A third benchmark reports the time and the
+ * number of shortcuts of the contraction hierarchy preprocessing for growing random graphs.
  *
  * @author Dimitrios Michail
  */
@@ -43,6 +45,11 @@ public class DijkstraShortestPathPerformanceTest extends TestCase {
   private static final int WARMUP_REPEAT = 5;
   private static final int REPEAT = 10;
   private static final long SEED = 13l;
+  private static final int SINGLE_SOURCE_VERTICES_COUNT = 200000;
+  private static final int SINGLE_SOURCE_EDGES_COUNT = 2000000;
+  private static final int SINGLE_SOURCE_QUERIES = 5;
+  private static final int[] CONTRACTION_VERTICES_COUNTS = {300, 1000, 3000};
+  private static final int CONTRACTION_EDGES_PER_VERTEX = 4;
 
   private abstract static class BenchmarkBase {
     protected Random rng = new Random(SEED);
@@ -190,6 +197,111 @@ public class DijkstraShortestPathPerformanceTest extends TestCase {
     }
   }
 
+  private abstract static class SingleSourceBenchmarkBase extends BenchmarkBase {
+    @Override
+    public void setup() {
+      if (graph != null) {
+        return;
+      }
+      DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> weightedGraph =
+          new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+      new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+              SINGLE_SOURCE_VERTICES_COUNT, SINGLE_SOURCE_EDGES_COUNT, SEED, true, true)
+          .generateGraph(weightedGraph, new IntegerVertexFactory(), null);
+      for (DefaultWeightedEdge e : weightedGraph.edgeSet()) {
+        weightedGraph.setEdgeWeight(e, rng.nextDouble());
+      }
+      this.graph = weightedGraph;
+    }
+
+    @Override
+    public void run() {
+      ShortestPathAlgorithm<Integer, DefaultWeightedEdge> sp = createSolver(graph);
+      for (int i = 0; i < SINGLE_SOURCE_QUERIES; i++) {
+        sp.getPaths(i * (SINGLE_SOURCE_VERTICES_COUNT / SINGLE_SOURCE_QUERIES));
+      }
+    }
+  }
+
+  public static class DijkstraSingleSourceBenchmark extends SingleSourceBenchmarkBase {
+    @Override
+    ShortestPathAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+        Graph<Integer, DefaultWeightedEdge> graph) {
+      return new DijkstraShortestPath<>(graph);
+    }
+
+    @Override
+    public String toString() {
+      return "Dijkstra";
+    }
+  }
+
+  public static class DeltaSteppingSingleSourceBenchmark extends SingleSourceBenchmarkBase {
+    @Override
+    ShortestPathAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+        Graph<Integer, DefaultWeightedEdge> graph) {
+      return new DeltaSteppingShortestPath<>(graph);
+    }
+
+    @Override
+    public String toString() {
+      return "Delta-stepping (" + ForkJoinPool.commonPool().getParallelism() + " threads)";
+    }
+  }
+
+  public void testSingleSourceBenchmark() {
+    System.out.println("Single-Source Shortest Paths Benchmark");
+    System.out.println("---------");
+    System.out.println(
+        "Using G(n,m) random graph with n = "
+            + SINGLE_SOURCE_VERTICES_COUNT
+            + ", m = "
+            + SINGLE_SOURCE_EDGES_COUNT
+            + ", "
+            + SINGLE_SOURCE_QUERIES
+            + " sources");
+
+    List<Supplier<BenchmarkBase>> algFactory = new ArrayList<>();
+    algFactory.add(() -> new DijkstraSingleSourceBenchmark());
+    algFactory.add(() -> new DeltaSteppingSingleSourceBenchmark());
+    runBenchmarks(algFactory);
+  }
+
+  public void testContractionHierarchyBenchmark() {
+    System.out.println("Contraction Hierarchy Preprocessing Benchmark");
+    System.out.println("---------");
+    System.out.println(
+        "Using G(n,m) random graphs with m = "
+            + CONTRACTION_EDGES_PER_VERTEX
+            + "n, "
+            + ForkJoinPool.commonPool().getParallelism()
+            + " threads");
+
+    Random rng = new Random(SEED);
+    StopWatch watch = new StopWatch();
+    for (int n : CONTRACTION_VERTICES_COUNTS) {
+      DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> graph =
+          new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+      new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+              n, CONTRACTION_EDGES_PER_VERTEX * n, SEED, true, true)
+          .generateGraph(graph, new IntegerVertexFactory(), null);
+      for (DefaultWeightedEdge e : graph.edgeSet()) {
+        graph.setEdgeWeight(e, rng.nextDouble());
+      }
+
+      // the first run warms up
+      new ContractionHierarchyPrecomputation<>(graph).computeContractionHierarchy();
+      System.gc();
+      watch.start();
+      ContractionHierarchy<Integer, DefaultWeightedEdge> hierarchy =
+          new ContractionHierarchyPrecomputation<>(graph).computeContractionHierarchy();
+      double elapsed = watch.getElapsed(TimeUnit.MILLISECONDS);
+      System.out.printf(
+          "n = %-8d : preprocessing %.3f (ms) | %d shortcuts\n",
+          n, elapsed, hierarchy.getShortcutCount());
+    }
+  }
+
   public void testBenchmark() throws RunnerException {
     System.out.println("All-Pairs Shortest Paths Benchmark");
     System.out.println("---------");
@@ -198,8 +310,6 @@ public class DijkstraShortestPathPerformanceTest extends TestCase {
             + PERF_BENCHMARK_VERTICES_COUNT
             + ", p = "
             + PERF_BENCHMARK_EDGES_PROP);
-    System.out.println("Warmup phase " + WARMUP_REPEAT + " executions");
-    System.out.println("Averaging results over " + REPEAT + " executions");
 
     List<Supplier<BenchmarkBase>> algFactory = new ArrayList<>();
     algFactory.add(() -> new ClosestFirstIteratorBenchmark());
@@ -208,6 +318,12 @@ public class DijkstraShortestPathPerformanceTest extends TestCase {
     algFactory.add(() -> new ALTBenchmark(1));
     algFactory.add(() -> new ALTBenchmark(5));
     algFactory.add(() -> new BidirectionalDijkstraBenchmark());
+    runBenchmarks(algFactory);
+  }
+
+  private static void runBenchmarks(List<Supplier<BenchmarkBase>> algFactory) {
+    System.out.println("Warmup phase " + WARMUP_REPEAT + " executions");
+    System.out.println("Averaging results over " + REPEAT + " executions");
 
     for (Supplier<BenchmarkBase> alg : algFactory) {
 
@@ -17,7 +17,9 @@
  */
 package org.jgrapht.traverse;
 
+import java.util.*;
 import org.jgrapht.*;
+import org.jgrapht.event.*;
 import org.jgrapht.graph.*;
 
 /**
@@ -71,6 +73,140 @@ public class BreadthFirstIteratorTest extends CrossComponentIteratorTest {
       Graph<String, DefaultWeightedEdge> g, Iterable<String> startVertex) {
     return new BreadthFirstIterator<>(g, startVertex);
   }
+
+  /** Tests the depths and parents recorded by the iterator. */
+  public void testDepthAndParent() {
+    Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+    Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d", "e", "f"));
+    DefaultEdge ab = g.addEdge("a", "b");
+    g.addEdge("a", "c");
+    DefaultEdge bd = g.addEdge("b", "d");
+    g.addEdge("c", "d");
+
+    BreadthFirstIterator<String, DefaultEdge> it =
+        new BreadthFirstIterator<>(g, Collections.singletonList("a"), true);
+    it.setCrossComponentTraversal(true);
+    it.forEachRemaining(v -> {});
+
+    assertEquals(0, it.getDepth("a"));
+    assertNull(it.getParent("a"));
+    assertNull(it.getSpanningTreeEdge("a"));
+    assertEquals(1, it.getDepth("b"));
+    assertEquals(ab, it.getSpanningTreeEdge("b"));
+    assertEquals(2, it.getDepth("d"));
+    assertEquals("b", it.getParent("d"));
+    assertEquals(bd, it.getSpanningTreeEdge("d"));
+    assertEquals(0, it.getDepth("e"));
+
+    it = new BreadthFirstIterator<>(g, Collections.singletonList("c"), true);
+    it.next();
+    try {
+      it.getDepth("e");
+      fail("Vertex has not been encountered");
+    } catch (IllegalArgumentException e) {
+    }
+
+    it = new BreadthFirstIterator<>(g, "a");
+    it.next();
+    try {
+      it.getParent("a");
+      fail("Search tree is not recorded");
+    } catch (IllegalStateException e) {
+    }
+  }
+
+  /** Tests that the primitive traversal of an IntGraph agrees with the generic one. */
+  public void testIntGraph() {
+    Random rng = new Random(3);
+    IntUndirectedGraph ig = new IntUndirectedGraph(true, true);
+    Graph<Integer, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+    for (int v = 0; v < 60; v++) {
+      ig.addVertex(v);
+      g.addVertex(v);
+    }
+    for (int i = 0; i < 70; i++) {
+      int s = rng.nextInt(60);
+      int t = rng.nextInt(60);
+      ig.addEdge(s, t);
+      g.addEdge(s, t);
+    }
+
+    BreadthFirstIterator<Integer, DefaultEdge> expected =
+        new BreadthFirstIterator<>(g, null, true);
+    List<Integer> expectedOrder = new ArrayList<>();
+    expected.forEachRemaining(expectedOrder::add);
+
+    List<Integer> leanOrder = new ArrayList<>();
+    new BreadthFirstIterator<>(ig).forEachRemaining(leanOrder::add);
+    assertEquals(expectedOrder, leanOrder);
+
+    for (boolean listen : new boolean[] {false, true}) {
+      BreadthFirstIterator<Integer, Integer> it = new BreadthFirstIterator<>(ig, null, true);
+      if (listen) {
+        it.addTraversalListener(new TraversalListenerAdapter<>());
+      }
+      List<Integer> order = new ArrayList<>();
+      it.forEachRemaining(order::add);
+      assertEquals(expectedOrder, order);
+      for (int v = 0; v < 60; v++) {
+        assertEquals(expected.getDepth(v), it.getDepth(v));
+        assertEquals(expected.getParent(v), it.getParent(v));
+        Integer e = it.getSpanningTreeEdge(v);
+        if (e == null) {
+          assertNull(it.getParent(v));
+        } else {
+          assertEquals(v, (int) Graphs.getOppositeVertex(ig, e, it.getParent(v)));
+        }
+      }
+    }
+  }
+
+  /** Tests that the traversal of an IntGraph calls the encounter methods of subclasses. */
+  public void testIntGraphEncounters() {
+    Random rng = new Random(5);
+    IntUndirectedGraph ig = new IntUndirectedGraph(true, true);
+    Graph<Integer, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+    for (int v = 0; v < 40; v++) {
+      ig.addVertex(v);
+      g.addVertex(v);
+    }
+    for (int i = 0; i < 80; i++) {
+      int s = rng.nextInt(40);
+      int t = rng.nextInt(40);
+      ig.addEdge(s, t);
+      g.addEdge(s, t);
+    }
+
+    List<String> expected = new ArrayList<>();
+    new RecordingIterator<>(g, expected).forEachRemaining(v -> {});
+    List<String> actual = new ArrayList<>();
+    new RecordingIterator<>(ig, actual).forEachRemaining(v -> {});
+    assertEquals(expected, actual);
+    assertTrue(actual.size() > 40);
+  }
+
+  /** Records the vertices it encounters. */
+  private static class RecordingIterator<E> extends BreadthFirstIterator<Integer, E> {
+    private final List<String> encounters;
+
+    RecordingIterator(Graph<Integer, E> g, List<String> encounters) {
+      super(g);
+      this.encounters = encounters;
+    }
+
+    @Override
+    protected void encounterVertex(Integer vertex, E edge) {
+      String source = edge == null ? "" : " " + getGraph().getEdgeSource(edge);
+      encounters.add("first " + vertex + source);
+      super.encounterVertex(vertex, edge);
+    }
+
+    @Override
+    protected void encounterVertexAgain(Integer vertex, E edge) {
+      encounters.add("again " + vertex + " " + getGraph().getEdgeSource(edge));
+      super.encounterVertexAgain(vertex, edge);
+    }
+  }
 }
 
 // End BreadthFirstIteratorTest.java
@@ -17,8 +17,11 @@
  */
 package org.jgrapht.traverse;
 
+import java.util.*;
+import java.util.function.*;
 import org.jgrapht.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 /**
  * Tests for ClosestFirstIterator.
@@ -69,6 +72,28 @@ public class ClosestFirstIteratorTest extends CrossComponentIteratorTest {
     assertEquals("1,2,3,5,6,7,9,4,8,orphan", result.toString());
   }
 
+  public void testHeapSuppliers() {
+    Graph<String, DefaultWeightedEdge> graph = createDirectedGraph();
+    for (Supplier<AddressableHeap<String>> heapSupplier :
+        Arrays.<Supplier<AddressableHeap<String>>>asList(
+            DaryHeap::new, PairingHeap::new, RadixHeap::new)) {
+      result = new StringBuffer();
+      ClosestFirstIterator<String, DefaultWeightedEdge> iterator =
+          new ClosestFirstIterator<>(graph, "1", 301, heapSupplier);
+
+      while (iterator.hasNext()) {
+        result.append(iterator.next());
+
+        if (iterator.hasNext()) {
+          result.append(',');
+        }
+      }
+
+      assertEquals("1,2,3,5,6,7", result.toString());
+      assertEquals(graph.getEdge("1", "2"), iterator.getSpanningTreeEdge("2"));
+    }
+  }
+
   // NOTE: the edge weights make the result deterministic
   @Override
   String getExpectedStr1() {
@@ -19,6 +19,7 @@ package org.jgrapht.traverse;
 
 import java.util.*;
 import org.jgrapht.*;
+import org.jgrapht.event.*;
 import org.jgrapht.graph.*;
 
 /**
@@ -139,6 +140,101 @@ public class DepthFirstIteratorTest extends CrossComponentIteratorTest {
     String expected = "ABCGIFEHJKLD";
     assertEquals(expected, actual);
   }
+
+  /** Tests that the primitive traversal of an IntGraph visits the vertices in the same order. */
+  public void testIntGraph() {
+    Random rng = new Random(11);
+    IntDirectedGraph ig = new IntDirectedGraph(true, true);
+    Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+    for (int v = 0; v < 50; v++) {
+      ig.addVertex(v);
+      g.addVertex(v);
+    }
+    for (int i = 0; i < 120; i++) {
+      int s = rng.nextInt(50);
+      int t = rng.nextInt(50);
+      ig.addEdge(s, t);
+      g.addEdge(s, t);
+    }
+
+    for (int start : new int[] {0, 17}) {
+      List<Integer> expected = new ArrayList<>();
+      new DepthFirstIterator<>(g, start).forEachRemaining(expected::add);
+      List<Integer> actual = new ArrayList<>();
+      new DepthFirstIterator<>(ig, start).forEachRemaining(actual::add);
+      assertEquals(expected, actual);
+    }
+
+    List<Integer> expectedFinish = new ArrayList<>();
+    DepthFirstIterator<Integer, DefaultEdge> it = new DepthFirstIterator<>(g);
+    it.addTraversalListener(
+        new TraversalListenerAdapter<Integer, DefaultEdge>() {
+          @Override
+          public void vertexFinished(VertexTraversalEvent<Integer> e) {
+            expectedFinish.add(e.getVertex());
+          }
+        });
+    it.forEachRemaining(v -> {});
+    List<Integer> actualFinish = new ArrayList<>();
+    DepthFirstIterator<Integer, Integer> iit = new DepthFirstIterator<>(ig);
+    iit.addTraversalListener(
+        new TraversalListenerAdapter<Integer, Integer>() {
+          @Override
+          public void vertexFinished(VertexTraversalEvent<Integer> e) {
+            actualFinish.add(e.getVertex());
+          }
+        });
+    iit.forEachRemaining(v -> {});
+    assertEquals(expectedFinish, actualFinish);
+    assertEquals(50, actualFinish.size());
+  }
+
+  /** Tests that the traversal of an IntGraph calls the encounter methods of subclasses. */
+  public void testIntGraphEncounters() {
+    Random rng = new Random(7);
+    IntDirectedGraph ig = new IntDirectedGraph(true, true);
+    Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+    for (int v = 0; v < 40; v++) {
+      ig.addVertex(v);
+      g.addVertex(v);
+    }
+    for (int i = 0; i < 80; i++) {
+      int s = rng.nextInt(40);
+      int t = rng.nextInt(40);
+      ig.addEdge(s, t);
+      g.addEdge(s, t);
+    }
+
+    List<String> expected = new ArrayList<>();
+    new RecordingIterator<>(g, expected).forEachRemaining(v -> {});
+    List<String> actual = new ArrayList<>();
+    new RecordingIterator<>(ig, actual).forEachRemaining(v -> {});
+    assertEquals(expected, actual);
+    assertTrue(actual.size() > 40);
+  }
+
+  /** Records the vertices it encounters. */
+  private static class RecordingIterator<E> extends DepthFirstIterator<Integer, E> {
+    private final List<String> encounters;
+
+    RecordingIterator(Graph<Integer, E> g, List<String> encounters) {
+      super(g);
+      this.encounters = encounters;
+    }
+
+    @Override
+    protected void encounterVertex(Integer vertex, E edge) {
+      String source = edge == null ? "" : " " + getGraph().getEdgeSource(edge);
+      encounters.add("first " + vertex + source);
+      super.encounterVertex(vertex, edge);
+    }
+
+    @Override
+    protected void encounterVertexAgain(Integer vertex, E edge) {
+      encounters.add("again " + vertex + " " + getGraph().getEdgeSource(edge));
+      super.encounterVertexAgain(vertex, edge);
+    }
+  }
 }
 
 // End DepthFirstIteratorTest.java
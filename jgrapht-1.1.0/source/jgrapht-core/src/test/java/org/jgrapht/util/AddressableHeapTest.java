@@ -0,0 +1,172 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+import java.util.function.*;
+import junit.framework.*;
+
+/** Tests for the {@link AddressableHeap} implementations. */
+public class AddressableHeapTest extends TestCase {
+
+  private static final List<Supplier<AddressableHeap<Integer>>> HEAPS =
+      Arrays.asList(
+          FibonacciHeap::new,
+          DaryHeap::new,
+          () -> new DaryHeap<>(4),
+          PairingHeap::new,
+          RadixHeap::new);
+
+  public void testBasic() {
+    for (Supplier<AddressableHeap<Integer>> supplier : HEAPS) {
+      AddressableHeap<Integer> heap = supplier.get();
+      assertTrue(heap.isEmpty());
+      assertNull(heap.min());
+      assertNull(heap.removeMin());
+
+      AddressableHeap.Handle<Integer> h5 = heap.insert(5.0, 5);
+      AddressableHeap.Handle<Integer> h3 = heap.insert(3.0, 3);
+      AddressableHeap.Handle<Integer> h7 = heap.insert(7.0, 7);
+      assertEquals(3, heap.size());
+      assertSame(h3, heap.min());
+
+      heap.decreaseKey(h7, 1.0);
+      assertEquals(1.0, h7.getKey(), 0.0);
+      assertSame(h7, heap.removeMin());
+      assertSame(h3, heap.removeMin());
+
+      // removed elements keep their key and data
+      assertEquals(3.0, h3.getKey(), 0.0);
+      assertEquals(Integer.valueOf(3), h3.getData());
+
+      try {
+        heap.decreaseKey(h5, 6.0);
+        fail("Larger key accepted");
+      } catch (IllegalArgumentException e) {
+      }
+      assertSame(h5, heap.removeMin());
+      assertTrue(heap.isEmpty());
+      assertEquals(0, heap.size());
+
+      heap.insert(8.0, 8);
+      heap.clear();
+      assertTrue(heap.isEmpty());
+      assertNull(heap.removeMin());
+    }
+  }
+
+  public void testForeignHandle() {
+    for (Supplier<AddressableHeap<Integer>> supplier : HEAPS) {
+      AddressableHeap<Integer> heap = supplier.get();
+      AddressableHeap.Handle<Integer> other = supplier.get().insert(1.0, 1);
+      heap.insert(2.0, 2);
+      try {
+        heap.decreaseKey(other, 0.0);
+        if (!(heap instanceof FibonacciHeap)) {
+          fail("Handle of another heap accepted");
+        }
+      } catch (IllegalArgumentException e) {
+      }
+    }
+  }
+
+  public void testRadixHeapMonotone() {
+    RadixHeap<Integer> heap = new RadixHeap<>();
+    try {
+      heap.insert(-1.0, 1);
+      fail("Negative key accepted");
+    } catch (IllegalArgumentException e) {
+    }
+    heap.insert(2.0, 2);
+    AddressableHeap.Handle<Integer> h = heap.insert(4.0, 4);
+    heap.removeMin();
+    try {
+      heap.insert(1.0, 1);
+      fail("Key below the last removed key accepted");
+    } catch (IllegalArgumentException e) {
+    }
+    try {
+      heap.decreaseKey(h, 1.5);
+      fail("Key below the last removed key accepted");
+    } catch (IllegalArgumentException e) {
+    }
+    heap.decreaseKey(h, 2.0);
+    heap.insert(Double.POSITIVE_INFINITY, 5);
+    assertEquals(2.0, heap.removeMin().getKey(), 0.0);
+    assertEquals(Double.POSITIVE_INFINITY, heap.removeMin().getKey(), 0.0);
+  }
+
+  public void testRandomOperations() {
+    for (Supplier<AddressableHeap<Integer>> supplier : HEAPS) {
+      AddressableHeap<Integer> heap = supplier.get();
+      boolean monotone = heap instanceof RadixHeap;
+      Random rng = new Random(17);
+
+      Map<Integer, AddressableHeap.Handle<Integer>> handles = new HashMap<>();
+      TreeSet<Integer> model =
+          new TreeSet<>(
+              (a, b) -> {
+                int c = Double.compare(handles.get(a).getKey(), handles.get(b).getKey());
+                return c != 0 ? c : Integer.compare(a, b);
+              });
+      List<Integer> elements = new ArrayList<>();
+      double last = 0d;
+      int next = 0;
+
+      for (int round = 0; round < 20000; round++) {
+        int op = rng.nextInt(10);
+        if (op < 4) {
+          int x = next++;
+          double key = last + rng.nextInt(1000) / 8d;
+          handles.put(x, heap.insert(key, x));
+          model.add(x);
+          elements.add(x);
+        } else if (op < 7 && !elements.isEmpty()) {
+          Integer x = elements.get(rng.nextInt(elements.size()));
+          AddressableHeap.Handle<Integer> h = handles.get(x);
+          double key = h.getKey() - rng.nextInt(100) / 8d;
+          if (monotone) {
+            key = Math.max(key, last);
+          }
+          model.remove(x);
+          heap.decreaseKey(h, key);
+          model.add(x);
+        } else if (!model.isEmpty()) {
+          double minKey = handles.get(model.first()).getKey();
+          assertEquals(minKey, heap.min().getKey(), 0.0);
+          AddressableHeap.Handle<Integer> min = heap.removeMin();
+          assertEquals(minKey, min.getKey(), 0.0);
+          assertTrue(model.remove(min.getData()));
+          elements.remove(min.getData());
+          last = minKey;
+        }
+        assertEquals(model.size(), heap.size());
+      }
+
+      while (!model.isEmpty()) {
+        double minKey = handles.get(model.first()).getKey();
+        AddressableHeap.Handle<Integer> min = heap.removeMin();
+        assertEquals(minKey, min.getKey(), 0.0);
+        assertTrue(model.remove(min.getData()));
+      }
+      assertTrue(heap.isEmpty());
+    }
+  }
+}
+
+// End AddressableHeapTest.java
@@ -0,0 +1,198 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.io.*;
+import java.util.*;
+import junit.framework.*;
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+/** Unit tests for {@link InsertionOrderedOpenHashMap}. */
+public class InsertionOrderedOpenHashMapTest extends TestCase {
+  // ~ Methods ----------------------------------------------------------------
+
+  public void testBasics() {
+    Map<String, Integer> m = new InsertionOrderedOpenHashMap<>();
+    assertTrue(m.isEmpty());
+    assertNull(m.put("c", 1));
+    assertNull(m.put("a", null));
+    assertNull(m.put("b", 3));
+    assertEquals(Integer.valueOf(1), m.put("c", 4));
+    assertEquals(3, m.size());
+    assertTrue(m.containsKey("a"));
+    assertNull(m.get("a"));
+    assertFalse(m.containsKey("d"));
+    assertEquals(Arrays.asList("c", "a", "b"), new ArrayList<>(m.keySet()));
+    assertEquals(Arrays.asList(4, null, 3), new ArrayList<>(m.values()));
+
+    assertTrue(m.keySet().remove("a"));
+    assertFalse(m.keySet().remove("a"));
+    assertNull(m.put("a", 5));
+    assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(m.keySet()));
+
+    Map<String, Integer> expected = new HashMap<>();
+    expected.put("a", 5);
+    expected.put("b", 3);
+    expected.put("c", 4);
+    assertEquals(expected, m);
+    assertEquals(expected.hashCode(), m.hashCode());
+
+    try {
+      m.put(null, 1);
+      fail("Null keys are not supported");
+    } catch (NullPointerException ignore) {
+    }
+  }
+
+  public void testRandomOperations() {
+    Random rng = new Random(33);
+    Map<Integer, Integer> expected = new LinkedHashMap<>();
+    Map<Integer, Integer> actual = new InsertionOrderedOpenHashMap<>();
+    for (int i = 0; i < 100000; i++) {
+      Integer key = rng.nextInt(500);
+      int op = rng.nextInt(10);
+      if (op < 6) {
+        assertEquals(expected.put(key, i), actual.put(key, i));
+      } else if (op < 9) {
+        assertEquals(expected.remove(key), actual.remove(key));
+      } else {
+        assertEquals(expected.get(key), actual.get(key));
+        assertEquals(expected.containsKey(key), actual.containsKey(key));
+      }
+      assertEquals(expected.size(), actual.size());
+      if (i % 1000 == 0) {
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entrySet()));
+      }
+    }
+    assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entrySet()));
+  }
+
+  public void testIteratorRemove() {
+    Map<Integer, String> m = new InsertionOrderedOpenHashMap<>();
+    for (int i = 0; i < 100; i++) {
+      m.put(i, String.valueOf(i));
+    }
+    Iterator<Integer> it = m.keySet().iterator();
+    while (it.hasNext()) {
+      if (it.next() % 3 != 0) {
+        it.remove();
+      }
+    }
+    assertEquals(34, m.size());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i % 3 == 0, m.containsKey(i));
+    }
+
+    Iterator<Map.Entry<Integer, String>> entries = m.entrySet().iterator();
+    entries.next().setValue("zero");
+    assertEquals("zero", m.get(0));
+    m.put(1000, "x");
+    try {
+      entries.next();
+      fail("Concurrent modification");
+    } catch (ConcurrentModificationException ignore) {
+    }
+
+    m.clear();
+    assertTrue(m.isEmpty());
+    assertFalse(m.keySet().iterator().hasNext());
+  }
+
+  public void testEnsureCapacity() {
+    InsertionOrderedOpenHashMap<Integer, Integer> m = new InsertionOrderedOpenHashMap<>();
+    for (int i = 0; i < 10; i++) {
+      m.put(i, i);
+    }
+    m.remove(3);
+    m.remove(7);
+    m.ensureCapacity(1000);
+    for (int i = 10; i < 1000; i++) {
+      m.put(i, i);
+    }
+    assertEquals(998, m.size());
+    Iterator<Integer> it = m.keySet().iterator();
+    for (int i = 0; i < 1000; i++) {
+      if (i != 3 && i != 7) {
+        assertEquals(Integer.valueOf(i), it.next());
+        assertEquals(Integer.valueOf(i), m.get(i));
+      }
+    }
+    assertFalse(m.containsKey(3));
+  }
+
+  public void testGraphVertexMap() {
+    Graph<String, DefaultEdge> g =
+        new DefaultDirectedGraph<String, DefaultEdge>(DefaultEdge.class) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected VertexMapFactory<String> createVertexMapFactory() {
+            return TreeMap::new;
+          }
+        };
+    Graphs.addAllVertices(g, Arrays.asList("c", "a", "b"));
+    g.addEdge("c", "a");
+    assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(g.vertexSet()));
+    assertEquals(1, g.outDegreeOf("c"));
+
+    Graph<String, DefaultEdge> h = new DefaultDirectedGraph<>(DefaultEdge.class);
+    Graphs.addAllVertices(h, Arrays.asList("c", "a", "b"));
+    h.removeVertex("a");
+    h.addVertex("a");
+    assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(h.vertexSet()));
+  }
+  public void testSerialization() throws Exception {
+    // identity hash codes of the deserialized keys differ from those of the original keys
+    InsertionOrderedOpenHashMap<DefaultEdge, Integer> m = new InsertionOrderedOpenHashMap<>();
+    List<DefaultEdge> keys = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      DefaultEdge e = new DefaultEdge();
+      keys.add(e);
+      m.put(e, i);
+    }
+    m.remove(keys.get(10));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(Arrays.asList(m, keys));
+    }
+    List<Object> copy;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      copy = TypeUtil.uncheckedCast(in.readObject(), null);
+    }
+    Map<DefaultEdge, Integer> m2 = TypeUtil.uncheckedCast(copy.get(0), null);
+    List<DefaultEdge> keys2 = TypeUtil.uncheckedCast(copy.get(1), null);
+
+    assertEquals(49, m2.size());
+    assertFalse(m2.containsKey(keys2.get(10)));
+    for (int i = 0; i < 50; i++) {
+      if (i != 10) {
+        assertEquals(Integer.valueOf(i), m2.get(keys2.get(i)));
+      }
+    }
+    List<DefaultEdge> order = new ArrayList<>(keys2);
+    order.remove(10);
+    assertEquals(order, new ArrayList<>(m2.keySet()));
+    m2.put(keys2.get(10), 10);
+    assertEquals(keys2.get(10), new ArrayList<>(m2.keySet()).get(49));
+  }
+}
+
+// End InsertionOrderedOpenHashMapTest.java
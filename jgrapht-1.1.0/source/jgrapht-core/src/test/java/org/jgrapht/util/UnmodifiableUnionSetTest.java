@@ -0,0 +1,71 @@
+/*
+ * (C) Copyright 2017-2017, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+import junit.framework.*;
+
+/** Unit tests for {@link UnmodifiableUnionSet}. */
+public class UnmodifiableUnionSetTest extends TestCase {
+  // ~ Methods ----------------------------------------------------------------
+
+  public void testUnion() {
+    Set<Integer> a = new LinkedHashSet<>(Arrays.asList(1, 2, 3));
+    Set<Integer> b = new LinkedHashSet<>(Arrays.asList(3, 4));
+    Set<Integer> union = new UnmodifiableUnionSet<>(a, b);
+
+    assertEquals(4, union.size());
+    assertEquals(Arrays.asList(1, 2, 3, 4), new ArrayList<>(union));
+    assertTrue(union.contains(4));
+    assertFalse(union.contains(5));
+    assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4)), union);
+
+    // the view is live
+    b.add(5);
+    a.add(4);
+    assertEquals(5, union.size());
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), new ArrayList<>(union));
+
+    assertTrue(new UnmodifiableUnionSet<>(new HashSet<>(), Collections.emptySet()).isEmpty());
+  }
+
+  public void testUnmodifiable() {
+    Set<Integer> union =
+        new UnmodifiableUnionSet<>(new HashSet<>(Arrays.asList(1)), new HashSet<>(Arrays.asList(2)));
+    try {
+      union.add(3);
+      fail("Union is unmodifiable");
+    } catch (UnsupportedOperationException ignore) {
+    }
+    try {
+      union.remove(1);
+      fail("Union is unmodifiable");
+    } catch (UnsupportedOperationException ignore) {
+    }
+    Iterator<Integer> it = union.iterator();
+    it.next();
+    it.next();
+    try {
+      it.next();
+      fail("No more elements");
+    } catch (NoSuchElementException ignore) {
+    }
+  }
+}
+
+// End UnmodifiableUnionSetTest.java